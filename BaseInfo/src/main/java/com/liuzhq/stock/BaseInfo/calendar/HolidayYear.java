@@ -0,0 +1,160 @@
+package com.liuzhq.stock.BaseInfo.calendar;
+
+import com.liuzhq.stock.BaseInfo.entity.SysHoliday;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 单个年份的节假日数据（不可变，同步完成后整体替换）
+ * 结构：
+ * 1. 按日期升序的 epochDay 数组 + 同下标的名称、标志位数组，按日期查名称/是否节假日为二分查找，不产生对象
+ * 2. 按日期升序的只读明细列表，以及按月预先切好的只读子列表，查询时直接返回，不做解析和过滤
+ * 注意：明细列表中的 SysHoliday 为共享实例，调用方不能修改
+ */
+public final class HolidayYear {
+
+    private static final byte FLAG_HOLIDAY = 1;
+    private static final byte FLAG_MAKEUP_WORK = 1 << 1;
+
+    private final int year;
+    /** 日期（epochDay，升序） */
+    private final int[] epochDays;
+    /** 节假日名称，与 epochDays 同下标 */
+    private final String[] names;
+    /** 标志位：法定节假日 / 调休补班，与 epochDays 同下标 */
+    private final byte[] flags;
+    /** 全年明细（只读，按日期升序） */
+    private final List<SysHoliday> rows;
+    /** 各月明细（只读），下标为月份，0 不使用 */
+    private final List<List<SysHoliday>> monthRows;
+
+    private HolidayYear(int year, List<SysHoliday> sortedRows) {
+        this.year = year;
+        int size = sortedRows.size();
+        this.epochDays = new int[size];
+        this.names = new String[size];
+        this.flags = new byte[size];
+        for (int i = 0; i < size; i++) {
+            SysHoliday holiday = sortedRows.get(i);
+            epochDays[i] = (int) holiday.getHolidayDate().toEpochDay();
+            names[i] = holiday.getHolidayName() == null ? null : holiday.getHolidayName().intern();
+            byte flag = 0;
+            if (Objects.equals(holiday.getIsHoliday(), 1)) {
+                flag |= FLAG_HOLIDAY;
+            }
+            if (Objects.equals(holiday.getIsMakeupWork(), 1)) {
+                flag |= FLAG_MAKEUP_WORK;
+            }
+            flags[i] = flag;
+        }
+        this.rows = Collections.unmodifiableList(sortedRows);
+
+        // 已按日期升序，同一月份的数据连续，直接切子列表
+        List<List<SysHoliday>> months = new ArrayList<>(13);
+        for (int month = 0; month <= 12; month++) {
+            months.add(Collections.emptyList());
+        }
+        int start = 0;
+        while (start < size) {
+            int month = sortedRows.get(start).getHolidayDate().getMonthValue();
+            int end = start;
+            while (end < size && sortedRows.get(end).getHolidayDate().getMonthValue() == month) {
+                end++;
+            }
+            months.set(month, rows.subList(start, end));
+            start = end;
+        }
+        this.monthRows = Collections.unmodifiableList(months);
+    }
+
+    /**
+     * 根据数据库明细构建（只保留该年份且日期不为空的记录）
+     */
+    public static HolidayYear of(int year, Collection<SysHoliday> holidays) {
+        List<SysHoliday> sortedRows = new ArrayList<>(holidays.size());
+        for (SysHoliday holiday : holidays) {
+            if (holiday.getHolidayDate() != null && holiday.getHolidayDate().getYear() == year) {
+                sortedRows.add(holiday);
+            }
+        }
+        sortedRows.sort(Comparator.comparing(SysHoliday::getHolidayDate));
+        return new HolidayYear(year, sortedRows);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    /**
+     * 查询明细
+     * @param month 月份，为空时返回全年
+     * @return 只读列表
+     */
+    public List<SysHoliday> list(Integer month) {
+        if (month == null) {
+            return rows;
+        }
+        if (month < 1 || month > 12) {
+            return Collections.emptyList();
+        }
+        return monthRows.get(month);
+    }
+
+    /**
+     * 指定日期的明细，不在节假日表中返回null
+     */
+    public SysHoliday get(LocalDate date) {
+        int i = indexOf(date);
+        return i < 0 ? null : rows.get(i);
+    }
+
+    public boolean contains(LocalDate date) {
+        return indexOf(date) >= 0;
+    }
+
+    /**
+     * 节假日名称（周六/周日/春节等），不在节假日表中返回null
+     */
+    public String nameOf(LocalDate date) {
+        int i = indexOf(date);
+        return i < 0 ? null : names[i];
+    }
+
+    /**
+     * 是否为法定节假日（含周末）
+     */
+    public boolean isHoliday(LocalDate date) {
+        int i = indexOf(date);
+        return i >= 0 && (flags[i] & FLAG_HOLIDAY) != 0;
+    }
+
+    /**
+     * 是否为调休补班日
+     */
+    public boolean isMakeupWork(LocalDate date) {
+        int i = indexOf(date);
+        return i >= 0 && (flags[i] & FLAG_MAKEUP_WORK) != 0;
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date == null || date.getYear() != year) {
+            return -1;
+        }
+        return Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+    }
+}
@@ -0,0 +1,271 @@
+package com.liuzhq.stock.BaseInfo.calendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * 交易日历（不可变，构建后整体替换）
+ * 结构：
+ * 1. 按年对齐的交易日位图（bit=1 表示交易日）
+ * 2. 按天索引的「前一个/后一个交易日」数组，以及交易日序号数组
+ * 3. 按顺序排列的交易日 epochDay 数组
+ * 覆盖年份内的 isTradeDay / 最近交易日 / 前N个交易日 / 区间交易日数 均为 O(1) 且不产生对象；
+ * 覆盖范围之外按「周一至周五为交易日」兜底
+ */
+public final class TradeCalendar {
+
+    /**
+     * 空日历：没有任何节假日数据时使用，只排除周末
+     */
+    public static final TradeCalendar EMPTY = new TradeCalendar(0, -1, new int[0]);
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    /** 覆盖的起止年份（含） */
+    private final int firstYear;
+    private final int lastYear;
+    /** 起始年份1月1日的 epochDay */
+    private final int baseEpochDay;
+    /** 覆盖的总天数 */
+    private final int span;
+    /** 每一年在位图中的起始偏移 */
+    private final int[] yearOffsets;
+    /** 交易日位图 */
+    private final long[] tradeBits;
+    /** 小于等于当天的最近交易日 epochDay */
+    private final int[] prevTradeDays;
+    /** 大于等于当天的最近交易日 epochDay */
+    private final int[] nextTradeDays;
+    /** 截止当天（含）的交易日个数 */
+    private final int[] tradeOrdinals;
+    /** 所有交易日的 epochDay（升序） */
+    private final int[] tradeDays;
+
+    private TradeCalendar(int firstYear, int lastYear, int[] closedEpochDays) {
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        if (lastYear < firstYear) {
+            this.baseEpochDay = 0;
+            this.span = 0;
+            this.yearOffsets = new int[0];
+            this.tradeBits = new long[0];
+            this.prevTradeDays = new int[0];
+            this.nextTradeDays = new int[0];
+            this.tradeOrdinals = new int[0];
+            this.tradeDays = new int[0];
+            return;
+        }
+
+        this.baseEpochDay = (int) LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.span = (int) LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - baseEpochDay;
+        this.yearOffsets = new int[lastYear - firstYear + 2];
+        for (int year = firstYear; year <= lastYear + 1; year++) {
+            yearOffsets[year - firstYear] = (int) LocalDate.of(year, 1, 1).toEpochDay() - baseEpochDay;
+        }
+
+        // 1. 先按周一至周五置位，再清掉节假日
+        this.tradeBits = new long[(span + 63) >>> 6];
+        for (int i = 0; i < span; i++) {
+            if (!isWeekend(baseEpochDay + i)) {
+                tradeBits[i >>> 6] |= 1L << i;
+            }
+        }
+        for (int epochDay : closedEpochDays) {
+            int i = epochDay - baseEpochDay;
+            if (i >= 0 && i < span) {
+                tradeBits[i >>> 6] &= ~(1L << i);
+            }
+        }
+
+        // 2. 预计算前/后交易日及序号
+        this.prevTradeDays = new int[span];
+        this.nextTradeDays = new int[span];
+        this.tradeOrdinals = new int[span];
+        int count = 0;
+        int prev = NONE;
+        for (int i = 0; i < span; i++) {
+            if (testBit(i)) {
+                prev = baseEpochDay + i;
+                count++;
+            }
+            prevTradeDays[i] = prev;
+            tradeOrdinals[i] = count;
+        }
+        this.tradeDays = new int[count];
+        int next = NONE;
+        for (int i = span - 1; i >= 0; i--) {
+            if (testBit(i)) {
+                next = baseEpochDay + i;
+                tradeDays[tradeOrdinals[i] - 1] = next;
+            }
+            nextTradeDays[i] = next;
+        }
+    }
+
+    /**
+     * 根据休市日期构建交易日历
+     * @param closedDates 休市日期（节假日，周末可不传）
+     * @param firstYear 覆盖的起始年份
+     * @param lastYear 覆盖的结束年份
+     */
+    public static TradeCalendar of(Collection<LocalDate> closedDates, int firstYear, int lastYear) {
+        int[] closedEpochDays = new int[closedDates.size()];
+        int i = 0;
+        for (LocalDate date : closedDates) {
+            closedEpochDays[i++] = (int) date.toEpochDay();
+        }
+        return new TradeCalendar(firstYear, lastYear, closedEpochDays);
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    /**
+     * 指定年份是否在日历覆盖范围内
+     */
+    public boolean covers(int year) {
+        return year >= firstYear && year <= lastYear;
+    }
+
+    /**
+     * 指定年份的交易日天数
+     */
+    public int tradeDayCountOfYear(int year) {
+        if (!covers(year)) {
+            return -1;
+        }
+        int start = yearOffsets[year - firstYear];
+        int end = yearOffsets[year - firstYear + 1] - 1;
+        return tradeOrdinals[end] - (start == 0 ? 0 : tradeOrdinals[start - 1]);
+    }
+
+    public boolean isTradeDay(LocalDate date) {
+        return isTradeDay((int) date.toEpochDay());
+    }
+
+    public boolean isTradeDay(int epochDay) {
+        int i = epochDay - baseEpochDay;
+        if (i < 0 || i >= span) {
+            return !isWeekend(epochDay);
+        }
+        return testBit(i);
+    }
+
+    /**
+     * 小于等于指定日期的最近交易日
+     */
+    public LocalDate prevOrSameTradeDate(LocalDate date) {
+        return LocalDate.ofEpochDay(prevOrSameTradeDay((int) date.toEpochDay()));
+    }
+
+    public int prevOrSameTradeDay(int epochDay) {
+        int i = epochDay - baseEpochDay;
+        if (i >= span) {
+            // 超出覆盖范围：先按周末规则回退，回退进覆盖范围后再查表
+            int day = epochDay;
+            while (day - baseEpochDay >= span && isWeekend(day)) {
+                day--;
+            }
+            return day - baseEpochDay >= span ? day : prevOrSameTradeDay(day);
+        }
+        if (i >= 0 && prevTradeDays[i] != NONE) {
+            return prevTradeDays[i];
+        }
+        int day = i >= 0 ? baseEpochDay - 1 : epochDay;
+        while (isWeekend(day)) {
+            day--;
+        }
+        return day;
+    }
+
+    /**
+     * 大于等于指定日期的最近交易日
+     */
+    public LocalDate nextOrSameTradeDate(LocalDate date) {
+        return LocalDate.ofEpochDay(nextOrSameTradeDay((int) date.toEpochDay()));
+    }
+
+    public int nextOrSameTradeDay(int epochDay) {
+        int i = epochDay - baseEpochDay;
+        if (i < 0) {
+            int day = epochDay;
+            while (day < baseEpochDay && isWeekend(day)) {
+                day++;
+            }
+            return day < baseEpochDay ? day : nextOrSameTradeDay(day);
+        }
+        if (i < span && nextTradeDays[i] != NONE) {
+            return nextTradeDays[i];
+        }
+        int day = i < span ? baseEpochDay + span : epochDay;
+        while (isWeekend(day)) {
+            day++;
+        }
+        return day;
+    }
+
+    /**
+     * 以指定日期（含）为基准，往前数第 n 个交易日（n=0 即最近交易日）
+     */
+    public LocalDate minusTradeDays(LocalDate date, int n) {
+        return LocalDate.ofEpochDay(minusTradeDays((int) date.toEpochDay(), n));
+    }
+
+    public int minusTradeDays(int epochDay, int n) {
+        int day = prevOrSameTradeDay(epochDay);
+        int i = day - baseEpochDay;
+        if (i >= 0 && i < span) {
+            int ordinal = tradeOrdinals[i] - 1 - n;
+            if (ordinal >= 0) {
+                return tradeDays[ordinal];
+            }
+        }
+        // 覆盖范围之外逐日回退
+        for (int k = 0; k < n; k++) {
+            day = prevOrSameTradeDay(day - 1);
+        }
+        return day;
+    }
+
+    /**
+     * 闭区间 [start, end] 内的交易日数量
+     */
+    public int countTradeDays(LocalDate start, LocalDate end) {
+        return countTradeDays((int) start.toEpochDay(), (int) end.toEpochDay());
+    }
+
+    public int countTradeDays(int startEpochDay, int endEpochDay) {
+        if (endEpochDay < startEpochDay) {
+            return 0;
+        }
+        int s = startEpochDay - baseEpochDay;
+        int e = endEpochDay - baseEpochDay;
+        if (s >= 0 && e < span) {
+            return tradeOrdinals[e] - (s == 0 ? 0 : tradeOrdinals[s - 1]);
+        }
+        int count = 0;
+        for (int day = startEpochDay; day <= endEpochDay; day++) {
+            if (isTradeDay(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean testBit(int i) {
+        return (tradeBits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * 1970-01-01 为周四，epochDay 对 7 取模即可判断星期
+     */
+    private static boolean isWeekend(int epochDay) {
+        int dow = Math.floorMod(epochDay + 3, 7);
+        return dow >= 5;
+    }
+}
@@ -0,0 +1,32 @@
+package com.liuzhq.stock.BaseInfo.calendar;
+
+import java.time.LocalTime;
+
+/**
+ * A股交易时段（含集合竞价）：9:25-11:30、13:00-15:00
+ */
+public final class TradingSession {
+
+    public static final LocalTime MORNING_OPEN = LocalTime.of(9, 25);
+    public static final LocalTime MORNING_CLOSE = LocalTime.of(11, 30);
+    public static final LocalTime AFTERNOON_OPEN = LocalTime.of(13, 0);
+    public static final LocalTime AFTERNOON_CLOSE = LocalTime.of(15, 0);
+
+    private TradingSession() {
+    }
+
+    /**
+     * 指定时间是否处于交易时段内（不判断是否交易日）
+     */
+    public static boolean isOpen(LocalTime time) {
+        return (!time.isBefore(MORNING_OPEN) && !time.isAfter(MORNING_CLOSE))
+                || (!time.isBefore(AFTERNOON_OPEN) && !time.isAfter(AFTERNOON_CLOSE));
+    }
+
+    /**
+     * 指定时间是否已收盘
+     */
+    public static boolean isClosed(LocalTime time) {
+        return time.isAfter(AFTERNOON_CLOSE);
+    }
+}
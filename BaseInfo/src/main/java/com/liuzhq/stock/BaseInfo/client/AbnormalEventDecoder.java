@@ -0,0 +1,82 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import com.liuzhq.stock.BaseInfo.event.AbnormalEventPage;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 盘面异动事件解析：Python 接口 /xuangubao/event/history 的响应转换为 StockAbnormalEvent
+ * 单次响应最多几百条，直接用 fastjson 解析
+ */
+final class AbnormalEventDecoder {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    private AbnormalEventDecoder() {
+    }
+
+    static AbnormalEventPage decode(String body, Long sinceId) {
+        if (StringUtils.isBlank(body)) {
+            throw new IllegalStateException("Python接口返回空响应");
+        }
+        JSONObject result = JSON.parseObject(body);
+        Integer code = result.getInteger("code");
+        if (code == null || code != 200) {
+            throw new IllegalStateException("获取盘面异动事件失败: " + result.getString("msg"));
+        }
+
+        JSONArray data = result.getJSONArray("data");
+        List<StockAbnormalEvent> events = new ArrayList<>(data == null ? 0 : data.size());
+        if (data != null) {
+            for (int i = 0; i < data.size(); i++) {
+                StockAbnormalEvent event = toEvent(data.getJSONObject(i));
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+        }
+
+        AbnormalEventPage page = new AbnormalEventPage();
+        page.setEvents(events);
+        Long lastId = result.getLong("last_id");
+        page.setLastId(lastId != null ? lastId : sinceId);
+        page.setHasMore(Boolean.TRUE.equals(result.getBoolean("has_more")));
+        return page;
+    }
+
+    private static StockAbnormalEvent toEvent(JSONObject item) {
+        Long id = item.getLong("id");
+        Long timestamp = item.getLong("event_timestamp");
+        if (id == null || timestamp == null || timestamp <= 0) {
+            return null;
+        }
+        LocalDateTime eventTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(timestamp), ZONE);
+
+        StockAbnormalEvent event = new StockAbnormalEvent();
+        event.setId(id);
+        event.setTradeDate(eventTime.toLocalDate());
+        event.setEventTime(eventTime);
+        event.setEventType(item.getInteger("event_type"));
+        event.setDirection(item.getInteger("good_or_bad"));
+        event.setTarget(item.getString("target"));
+        event.setStockCode(item.getString("stock_code"));
+        event.setStockName(item.getString("stock_name"));
+        event.setPlateId(item.getLong("plate_id"));
+        event.setPlateName(item.getString("plate_name"));
+        event.setPrice(item.getBigDecimal("price"));
+        event.setChangePercent(item.getBigDecimal("pcp"));
+        event.setSpeedPercent(item.getBigDecimal("mtm"));
+        JSONArray related = item.getJSONArray("related");
+        event.setRelatedData(related == null || related.isEmpty() ? null : related.toJSONString());
+        return event;
+    }
+}
@@ -0,0 +1,170 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单个接口的熔断器
+ * 1. 关闭：按最近 windowSize 次调用结果统计失败率，调用次数达到 minCalls 且失败率达到阈值时打开
+ * 2. 打开：openMillis 内的调用直接拒绝，不再等待超时；到期后进入半开
+ * 3. 半开：同时只放行一个探测调用，成功则关闭并清空统计，失败则重新打开
+ * 健康检查也会驱动状态：服务不可达时直接打开，恢复后打开中的熔断器立即允许探测
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final long openMillis;
+
+    /** 最近调用结果的环形窗口，true 表示失败 */
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probing;
+
+    private long openCount;
+    private long rejectedCount;
+
+    /**
+     * @param failureRateThreshold 失败率阈值（百分比）
+     */
+    public CircuitBreaker(String name, int windowSize, int minCalls, int failureRateThreshold, long openMillis) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, this.window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 申请一次调用，返回 false 表示被熔断拒绝
+     * 返回 true 后必须调用 onSuccess / onFailure / onIgnored 之一
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                rejectedCount++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                rejectedCount++;
+                return false;
+            }
+            probing = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && windowCount >= minCalls
+                && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            open();
+        }
+    }
+
+    /**
+     * 调用未实际发出（如并发已满、请求被取消），不计入统计
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+        }
+    }
+
+    /**
+     * 健康检查发现服务不可达：直接打开
+     */
+    public synchronized void forceOpen() {
+        if (state != State.OPEN) {
+            open();
+        } else {
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 健康检查发现服务已恢复：打开中的熔断器不再等待到期，下一次调用即作为探测
+     */
+    public synchronized void allowProbe() {
+        if (state == State.OPEN) {
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("state", getState());
+        stats.put("windowCalls", windowCount);
+        stats.put("windowFailures", windowFailures);
+        stats.put("openCount", openCount);
+        stats.put("rejectedCount", rejectedCount);
+        if (state == State.OPEN) {
+            stats.put("openedAt", openedAt);
+        }
+        return stats;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        probing = false;
+        openCount++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probing = false;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
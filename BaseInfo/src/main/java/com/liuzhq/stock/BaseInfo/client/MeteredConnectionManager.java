@@ -0,0 +1,90 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * 带统计的连接池：记录连接租用次数、等待时长、租用超时次数和新建连接数
+ * 新建连接数 / 租用次数 即 keep-alive 未命中率
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong leaseWaitNanos = new AtomicLong();
+    private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong leaseTimeoutCount = new AtomicLong();
+    private final AtomicLong connectCount = new AtomicLong();
+
+    public MeteredConnectionManager(long timeToLive, TimeUnit timeUnit) {
+        super(timeToLive, timeUnit);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    long waited = System.nanoTime() - start;
+                    leaseCount.incrementAndGet();
+                    leaseWaitNanos.addAndGet(waited);
+                    maxLeaseWaitNanos.accumulate(waited);
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeoutCount.incrementAndGet();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context)
+            throws IOException {
+        connectCount.incrementAndGet();
+        super.connect(managedConn, route, connectTimeout, context);
+    }
+
+    /**
+     * 连接池状态及租用统计
+     */
+    public Map<String, Object> getStats() {
+        PoolStats total = getTotalStats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxTotal", total.getMax());
+        stats.put("leased", total.getLeased());
+        stats.put("available", total.getAvailable());
+        stats.put("pending", total.getPending());
+        long leases = leaseCount.get();
+        stats.put("leaseCount", leases);
+        stats.put("leaseTimeoutCount", leaseTimeoutCount.get());
+        stats.put("avgLeaseWaitMicros", leases > 0 ? leaseWaitNanos.get() / leases / 1000 : 0);
+        stats.put("maxLeaseWaitMicros", maxLeaseWaitNanos.get() / 1000);
+        long connects = connectCount.get();
+        stats.put("connectCount", connects);
+        stats.put("keepAliveReuseRate", leases > 0 ? Math.round((1 - (double) connects / leases) * 10000) / 100.0 : 0.0);
+        return stats;
+    }
+}
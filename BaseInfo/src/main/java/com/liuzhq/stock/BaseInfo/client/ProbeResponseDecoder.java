@@ -0,0 +1,50 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 健康探测响应的校验
+ * Python 服务在上游失败时仍返回 HTTP 200，错误放在响应体的 code 中，与业务调用一样要求 code 为 200；
+ * 只读取顶层的 code、msg，data 等其余字段直接跳过，不保存
+ */
+final class ProbeResponseDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final int SUCCESS_CODE = 200;
+
+    private ProbeResponseDecoder() {
+    }
+
+    /**
+     * @throws IllegalStateException code 不为 200 时
+     */
+    static void check(InputStream inputStream) throws IOException {
+        Integer code = null;
+        String msg = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("探测响应不是JSON对象");
+            }
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                if ("code".equals(name)) {
+                    code = token == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                } else if ("msg".equals(name)) {
+                    msg = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (code == null || code != SUCCESS_CODE) {
+            throw new IllegalStateException("探测返回错误码: " + code + ", 消息: " + msg);
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.liuzhq.stock.BaseInfo.client;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
-import com.alibaba.fastjson.JSONObject;
 import com.liuzhq.stock.BaseInfo.config.ApiConfig;
 import com.liuzhq.stock.BaseInfo.config.ApiConfigManager;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+import com.liuzhq.stock.BaseInfo.event.AbnormalEventPage;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpMethod;
@@ -13,19 +24,27 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Python API客户端（完全适配Python FastAPI服务）
@@ -42,13 +61,45 @@ public class PythonApiClient {
     @Qualifier("pythonApiRestTemplate")
     private RestTemplate restTemplate;
 
+    @Autowired
+    private MeteredConnectionManager pythonApiConnectionManager;
+
+    @Autowired
+    private CloseableHttpAsyncClient pythonApiAsyncHttpClient;
+
+    @Autowired
+    private PoolingNHttpClientConnectionManager pythonApiAsyncConnectionManager;
+
+    @Autowired
+    private PythonApiTimeouts pythonApiTimeouts;
+
     @Autowired
     private ApiConfigManager apiConfigManager;
 
+    @Autowired
+    private PythonApiGuard pythonApiGuard;
+
+    @Autowired
+    @Qualifier("pythonApiAsyncExecutor")
+    private Executor pythonApiAsyncExecutor;
+
     /**
      * 通用API调用方法
      */
     public String callApi(String apiName, Map<String, Object> params) throws UnsupportedEncodingException {
+        ResponseEntity<String> response = callApi(apiName, params, restTemplate.responseEntityExtractor(String.class));
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response.getBody();
+        } else {
+            log.error("API调用失败，状态码: {}, API: {}", response.getStatusCode(), apiName);
+            throw new RuntimeException("API调用失败，状态码: " + response.getStatusCode());
+        }
+    }
+
+    /**
+     * 通用API调用方法（自定义响应处理，可直接读取响应流）
+     */
+    public <T> T callApi(String apiName, Map<String, Object> params, ResponseExtractor<T> responseExtractor) throws UnsupportedEncodingException {
         ApiConfig config = apiConfigManager.getApiConfig(apiName);
         if (config == null || !config.isEnabled()) {
             throw new IllegalArgumentException("API不存在或已禁用: " + apiName);
@@ -56,31 +107,188 @@ public class PythonApiClient {
 
         String fullUrl = buildUrlWithParams(apiConfigManager.getFullUrl(apiName), params);
 
+        PythonApiGuard.Permit permit = pythonApiGuard.acquire(config, true);
         try {
             log.debug("调用Python API: {} {}", config.getMethod(), fullUrl);
 
-            ResponseEntity<String> response = restTemplate.exchange(
+            T result = restTemplate.execute(
                     fullUrl,
                     HttpMethod.valueOf(config.getMethod()),
                     null,
-                    String.class
+                    responseExtractor
             );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            } else {
-                log.error("API调用失败，状态码: {}, URL: {}", response.getStatusCode(), fullUrl);
-                throw new RuntimeException("API调用失败，状态码: " + response.getStatusCode());
-            }
+            permit.success();
+            return result;
         } catch (HttpClientErrorException.NotFound e) {
+            permit.complete(e.getRawStatusCode());
             log.error("API调用404错误: {}", fullUrl, e);
             throw new RuntimeException("API接口不存在，请检查Python服务是否正常运行: " + fullUrl + "。可能的原因是API路径配置错误或Python服务未启动。");
+        } catch (RestClientResponseException e) {
+            permit.complete(e.getRawStatusCode());
+            log.error("调用Python API失败: {}", fullUrl, e);
+            throw new RuntimeException("调用Python API失败: " + e.getMessage());
         } catch (Exception e) {
+            permit.complete(e);
             log.error("调用Python API失败: {}", fullUrl, e);
             throw new RuntimeException("调用Python API失败: " + e.getMessage());
         }
     }
 
+    /**
+     * 健康探测：不经过熔断和并发隔离，使用 ApiConfig.probeParams 作为参数，只校验响应体中的 code，不保存数据
+     * @throws Exception 连接失败、超时、非2xx状态码，或响应体 code 不为 200
+     */
+    public void probe(ApiConfig config) throws Exception {
+        String fullUrl = buildUrlWithParams(apiConfigManager.getFullUrl(config.getName()), config.getProbeParams());
+        restTemplate.execute(fullUrl, HttpMethod.valueOf(config.getMethod()), null, response -> {
+            ProbeResponseDecoder.check(response.getBody());
+            return null;
+        });
+    }
+
+    /**
+     * 异步响应处理（在 pythonApiAsyncExecutor 中执行，已按 Content-Encoding 解压）
+     */
+    @FunctionalInterface
+    public interface EntityReader<T> {
+        T read(HttpEntity entity) throws IOException;
+    }
+
+    /**
+     * 通用API异步调用方法：请求由异步HTTP客户端发出，等待响应期间不占用调用线程
+     */
+    public CompletableFuture<String> callApiAsync(String apiName, Map<String, Object> params) {
+        return callApiAsync(apiName, params, entity -> EntityUtils.toString(entity, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 通用API异步调用方法（自定义响应处理）
+     * 1. 非2xx状态码、网络错误、超时都以 RuntimeException 结束返回的 future
+     * 2. 响应体完整接收后才交给 reader，reader 在解析线程池中执行，不占用IO线程
+     */
+    public <T> CompletableFuture<T> callApiAsync(String apiName, Map<String, Object> params, EntityReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ApiConfig config = apiConfigManager.getApiConfig(apiName);
+        if (config == null || !config.isEnabled()) {
+            result.completeExceptionally(new IllegalArgumentException("API不存在或已禁用: " + apiName));
+            return result;
+        }
+
+        String fullUrl;
+        HttpUriRequest request;
+        try {
+            fullUrl = buildUrlWithParams(apiConfigManager.getFullUrl(apiName), params);
+            URI uri = URI.create(fullUrl);
+            request = RequestBuilder.create(config.getMethod())
+                    .setUri(uri)
+                    .setConfig(pythonApiTimeouts.forPath(uri.getPath()))
+                    .addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .build();
+        } catch (Exception e) {
+            result.completeExceptionally(new RuntimeException("调用Python API失败: " + e.getMessage(), e));
+            return result;
+        }
+
+        PythonApiGuard.Permit permit;
+        try {
+            permit = pythonApiGuard.acquire(config, false);
+        } catch (PythonApiUnavailableException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        log.debug("异步调用Python API: {} {}", config.getMethod(), fullUrl);
+        CompletableFuture<HttpResponse> responseFuture = new CompletableFuture<>();
+        try {
+            pythonApiAsyncHttpClient.execute(request, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse response) {
+                    permit.complete(response.getStatusLine().getStatusCode());
+                    responseFuture.complete(response);
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    permit.failure(e.getMessage());
+                    responseFuture.completeExceptionally(e);
+                }
+
+                @Override
+                public void cancelled() {
+                    permit.ignore();
+                    responseFuture.completeExceptionally(new CancellationException("请求已取消"));
+                }
+            });
+        } catch (Exception e) {
+            // 客户端已关闭等情况
+            permit.ignore();
+            responseFuture.completeExceptionally(e);
+        }
+
+        responseFuture.thenApplyAsync(response -> {
+            int status = response.getStatusLine().getStatusCode();
+            if (status == 404) {
+                throw new RuntimeException("API接口不存在，请检查Python服务是否正常运行: " + fullUrl + "。可能的原因是API路径配置错误或Python服务未启动。");
+            }
+            if (status < 200 || status >= 300) {
+                throw new RuntimeException("API调用失败，状态码: " + status);
+            }
+            try {
+                return reader.read(decodeEntity(response.getEntity()));
+            } catch (IOException e) {
+                throw new RuntimeException("解析Python API响应失败: " + e.getMessage(), e);
+            }
+        }, pythonApiAsyncExecutor).whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error("异步调用Python API失败: {}", fullUrl, cause);
+            result.completeExceptionally(cause instanceof RuntimeException ? cause
+                    : new RuntimeException("调用Python API失败: " + cause.getMessage(), cause));
+        });
+        return result;
+    }
+
+    /**
+     * 响应体为gzip时解压（异步客户端不会自动处理 Content-Encoding）
+     */
+    private static HttpEntity decodeEntity(HttpEntity entity) {
+        if (entity != null && entity.getContentEncoding() != null
+                && "gzip".equalsIgnoreCase(entity.getContentEncoding().getValue())) {
+            return new GzipDecompressingEntity(entity);
+        }
+        return entity;
+    }
+
+    /**
+     * 熔断器与并发隔离状态
+     */
+    public Map<String, Object> getGuardStats() {
+        return pythonApiGuard.getStats();
+    }
+
+    /**
+     * HTTP连接池状态及租用统计
+     */
+    public Map<String, Object> getConnectionPoolStats() {
+        return pythonApiConnectionManager.getStats();
+    }
+
+    /**
+     * 异步HTTP连接池状态
+     */
+    public Map<String, Object> getAsyncConnectionPoolStats() {
+        PoolStats totalStats = pythonApiAsyncConnectionManager.getTotalStats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("leased", totalStats.getLeased());
+        stats.put("pending", totalStats.getPending());
+        stats.put("available", totalStats.getAvailable());
+        stats.put("max", totalStats.getMax());
+        return stats;
+    }
+
     /**
      * 构建带参数的URL
      */
@@ -107,10 +315,10 @@ public class PythonApiClient {
     }
 
     /**
-     * 获取股票池数据
+     * 获取股票池数据（流式解析）
+     * 直接在响应流上解析为 StockPool，不再生成完整的响应字符串、JSONObject 和 Map
      */
-    public List<Map<String, Object>> getStockPoolData(String poolKey, LocalDate tradeDate) throws UnsupportedEncodingException {
-        // 根据poolKey确定对应的API名称
+    public List<StockPool> getStockPoolList(String poolKey, LocalDate tradeDate) throws UnsupportedEncodingException {
         String apiName = getApiNameForPoolKey(poolKey);
 
         Map<String, Object> params = new HashMap<>();
@@ -118,33 +326,35 @@ public class PythonApiClient {
             params.put("trade_date", tradeDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         }
 
-        String response = callApi(apiName, params);
+        return callApi(apiName, params, response -> {
+            try {
+                return StockPoolStreamDecoder.decode(response.getBody(), poolKey);
+            } catch (IOException e) {
+                log.error("解析股票池数据失败", e);
+                throw new RuntimeException("解析股票池数据失败: " + e.getMessage());
+            }
+        });
+    }
 
+    /**
+     * 异步获取股票池数据（流式解析，见 getStockPoolList）
+     */
+    public CompletableFuture<List<StockPool>> getStockPoolListAsync(String poolKey, LocalDate tradeDate) {
+        String apiName;
         try {
-            JSONObject result = JSON.parseObject(response);
-            Integer code = result.getInteger("code");
-            if (code != null && code == 200) {
-                JSONArray data = result.getJSONArray("data");
-                if (data != null && !data.isEmpty()) {
-                    List<Map<String, Object>> resultData = new ArrayList<>();
-                    for (int i = 0; i < data.size(); i++) {
-                        if (data.get(i) instanceof JSONObject) {
-                            JSONObject obj = (JSONObject) data.get(i);
-                            resultData.add(obj.getInnerMap());
-                        }
-                    }
-                    return resultData;
-                }
-            } else {
-                log.error("获取股票池数据失败，错误码: {}, 消息: {}", code, result.getString("msg"));
-                throw new RuntimeException("获取股票池数据失败: " + result.getString("msg"));
-            }
-        } catch (Exception e) {
-            log.error("解析股票池数据失败", e);
-            throw new RuntimeException("解析股票池数据失败: " + e.getMessage());
+            apiName = getApiNameForPoolKey(poolKey);
+        } catch (IllegalArgumentException e) {
+            CompletableFuture<List<StockPool>> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        if (tradeDate != null) {
+            params.put("trade_date", tradeDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         }
 
-        return Collections.emptyList();
+        return callApiAsync(apiName, params, entity -> StockPoolStreamDecoder.decode(entity.getContent(), poolKey));
     }
 
     /**
@@ -181,6 +391,21 @@ public class PythonApiClient {
         return callApi("eastmoney_statistics", Collections.emptyMap());
     }
 
+    /**
+     * 获取全市场实时行情并流式解析为列式快照
+     * @param version 生成快照的版本号
+     */
+    public QuoteSnapshot getRealTimeQuoteSnapshot(long version) throws UnsupportedEncodingException {
+        return callApi("eastmoney_realtime", Collections.emptyMap(), response -> {
+            try {
+                return QuoteStreamDecoder.decode(response.getBody(), version);
+            } catch (IOException e) {
+                log.error("解析实时行情数据失败", e);
+                throw new RuntimeException("解析实时行情数据失败: " + e.getMessage());
+            }
+        });
+    }
+
     /**
      * 搜索股票
      */
@@ -193,5 +418,16 @@ public class PythonApiClient {
 
         return callApi("eastmoney_search", params);
     }
-}
 
+    /**
+     * 增量获取盘面异动事件
+     * @param sinceId 上次拉取到的最大事件ID，为空时只取最新一页
+     */
+    public AbnormalEventPage getAbnormalEvents(Long sinceId) throws UnsupportedEncodingException {
+        Map<String, Object> params = new HashMap<>();
+        if (sinceId != null) {
+            params.put("since_id", sinceId);
+        }
+        return AbnormalEventDecoder.decode(callApi("xuangubao_event_history", params), sinceId);
+    }
+}
@@ -0,0 +1,203 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.liuzhq.stock.BaseInfo.config.ApiConfig;
+import com.liuzhq.stock.BaseInfo.health.ApiHealthRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Python接口调用保护：每个接口一个熔断器，每个数据提供方一个并发隔离
+ * 1. 熔断打开时调用直接抛出 PythonApiUnavailableException，不再等待超时
+ * 2. 同一提供方同时进行的调用数达到上限时，同步调用最多等待 max-wait-ms，异步调用不等待
+ * 3. ApiHealthChecker 的判定结果通过 onHealthCheck 反馈到对应接口的熔断器
+ * 4. 每次调用的耗时和结果记录到 ApiHealthRegistry
+ * 调用被拒绝时只有行情快照会继续返回上一次成功的数据（QuoteSnapshotServiceImpl 保留当前版本）；
+ * 股票池查询本地无数据时返回空列表，其他调用直接把 PythonApiUnavailableException 抛给调用方
+ */
+@Slf4j
+@Component
+public class PythonApiGuard {
+
+    @Value("${python.api.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${python.api.breaker.min-calls:10}")
+    private int minCalls;
+
+    @Value("${python.api.breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${python.api.breaker.open-ms:10000}")
+    private long openMillis;
+
+    @Value("${python.api.bulkhead.max-concurrent:20}")
+    private int maxConcurrent;
+
+    @Value("${python.api.bulkhead.max-wait-ms:100}")
+    private long maxWaitMillis;
+
+    @Autowired
+    private ApiHealthRegistry apiHealthRegistry;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * 申请一次调用
+     * @param blocking 并发已满时是否等待（同步调用等待 max-wait-ms，异步调用不等待）
+     * @throws PythonApiUnavailableException 熔断打开或并发已满
+     */
+    public Permit acquire(ApiConfig config, boolean blocking) {
+        CircuitBreaker breaker = breakerOf(config.getName());
+        if (!breaker.tryAcquire()) {
+            throw new PythonApiUnavailableException("Python接口已熔断，暂不调用: " + config.getName());
+        }
+        Bulkhead bulkhead = bulkheadOf(config.getProvider());
+        if (!bulkhead.tryAcquire(blocking ? maxWaitMillis : 0)) {
+            breaker.onIgnored();
+            throw new PythonApiUnavailableException("Python接口并发已满，暂不调用: " + config.getName());
+        }
+        return new Permit(config.getName(), breaker, bulkhead, apiHealthRegistry);
+    }
+
+    /**
+     * 接口当前是否处于熔断打开状态（半开时允许探测，不算打开）
+     */
+    public boolean isOpen(String apiName) {
+        return getBreakerState(apiName) == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * 接口的熔断器状态，还没有调用过时返回 null
+     */
+    public CircuitBreaker.State getBreakerState(String apiName) {
+        CircuitBreaker breaker = breakers.get(apiName);
+        return breaker == null ? null : breaker.getState();
+    }
+
+    /**
+     * 健康判定结果反馈：接口判定为不可用时打开熔断器，恢复后让打开中的熔断器立即允许探测
+     */
+    public void onHealthCheck(String apiName, boolean available) {
+        CircuitBreaker breaker = breakerOf(apiName);
+        if (available) {
+            breaker.allowProbe();
+        } else {
+            breaker.forceOpen();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> breakerStats = new ArrayList<>();
+        breakers.values().forEach(breaker -> breakerStats.add(breaker.getStats()));
+        List<Map<String, Object>> bulkheadStats = new ArrayList<>();
+        bulkheads.values().forEach(bulkhead -> bulkheadStats.add(bulkhead.getStats()));
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("breakers", breakerStats);
+        stats.put("bulkheads", bulkheadStats);
+        return stats;
+    }
+
+    private CircuitBreaker breakerOf(String apiName) {
+        return breakers.computeIfAbsent(apiName,
+                name -> new CircuitBreaker(name, windowSize, minCalls, failureRateThreshold, openMillis));
+    }
+
+    private Bulkhead bulkheadOf(String provider) {
+        String key = provider == null ? "default" : provider;
+        return bulkheads.computeIfAbsent(key, name -> new Bulkhead(name, maxConcurrent));
+    }
+
+    /**
+     * 一次调用的许可，结束时调用 success / failure / ignore 之一（重复调用无效）
+     */
+    public static class Permit {
+
+        private final String apiName;
+        private final CircuitBreaker breaker;
+        private final Bulkhead bulkhead;
+        private final ApiHealthRegistry apiHealthRegistry;
+        private final long startMillis = System.currentTimeMillis();
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+
+        private Permit(String apiName, CircuitBreaker breaker, Bulkhead bulkhead, ApiHealthRegistry apiHealthRegistry) {
+            this.apiName = apiName;
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+            this.apiHealthRegistry = apiHealthRegistry;
+        }
+
+        public void success() {
+            if (finished.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onSuccess();
+                apiHealthRegistry.record(apiName, System.currentTimeMillis() - startMillis, true, null, false);
+            }
+        }
+
+        public void failure(String error) {
+            if (finished.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onFailure();
+                apiHealthRegistry.record(apiName, System.currentTimeMillis() - startMillis, false, error, false);
+                if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                    log.warn("Python接口{}调用失败，熔断器已打开", apiName);
+                }
+            }
+        }
+
+        public void ignore() {
+            if (finished.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onIgnored();
+            }
+        }
+
+        /**
+         * 按HTTP状态码结束：404（接口未注册/服务未就绪）和5xx计为失败，
+         * 其余状态码（含参数错误等4xx）说明服务正常响应，计为成功
+         */
+        public void complete(int status) {
+            if (status == 404 || status >= 500) {
+                failure("HTTP " + status);
+            } else {
+                success();
+            }
+        }
+
+        /**
+         * 按异常结束：连接失败、超时、读取响应中断计为失败；
+         * 响应已正常返回、异常来自响应解析（JSON格式、业务错误码等）时不计入熔断，计为成功
+         */
+        public void complete(Throwable e) {
+            if (isTransportError(e)) {
+                failure(e.getMessage());
+            } else {
+                success();
+            }
+        }
+
+        private static boolean isTransportError(Throwable e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof JsonProcessingException) {
+                    return false;
+                }
+                if (cause instanceof IOException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+
+/**
+ * Python 接口请求工厂：每个请求使用该接口自己的超时（见 PythonApiTimeouts）
+ */
+public class PythonApiRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private final PythonApiTimeouts timeouts;
+
+    public PythonApiRequestFactory(HttpClient httpClient, PythonApiTimeouts timeouts) {
+        super(httpClient);
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(timeouts.forPath(uri.getPath()));
+        return context;
+    }
+}
@@ -0,0 +1,46 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import com.liuzhq.stock.BaseInfo.config.ApiConfig;
+import com.liuzhq.stock.BaseInfo.config.ApiConfigManager;
+import com.liuzhq.stock.BaseInfo.health.ApiHealthRegistry;
+import org.apache.http.client.config.RequestConfig;
+
+/**
+ * Python 接口超时：按请求路径找到对应的 ApiConfig，生成该接口自己的 RequestConfig（同步、异步客户端共用）
+ * 1. 读取超时 = ApiConfig.timeout（未配置时用默认值），接口状态正常时按最近的 p99 耗时收紧（见 ApiHealthRegistry）
+ * 2. 连接超时取 min(默认连接超时, 读取超时)，本机服务连接不上应尽快失败
+ * 3. 从连接池租用连接的等待时间单独限制，连接池被占满时快速失败，不拖住调用方
+ */
+public class PythonApiTimeouts {
+
+    private final ApiConfigManager apiConfigManager;
+    private final ApiHealthRegistry apiHealthRegistry;
+    private final int connectTimeout;
+    private final int defaultReadTimeout;
+    private final int leaseTimeout;
+
+    public PythonApiTimeouts(ApiConfigManager apiConfigManager, ApiHealthRegistry apiHealthRegistry,
+                             int connectTimeout, int defaultReadTimeout, int leaseTimeout) {
+        this.apiConfigManager = apiConfigManager;
+        this.apiHealthRegistry = apiHealthRegistry;
+        this.connectTimeout = connectTimeout;
+        this.defaultReadTimeout = defaultReadTimeout;
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    /**
+     * @param path 请求路径（不含参数）
+     */
+    public RequestConfig forPath(String path) {
+        ApiConfig config = apiConfigManager.findByPath(path);
+        int readTimeout = config != null && config.getTimeout() > 0 ? config.getTimeout() : defaultReadTimeout;
+        if (config != null) {
+            readTimeout = apiHealthRegistry.effectiveTimeout(config, readTimeout);
+        }
+        return RequestConfig.custom()
+                .setConnectTimeout(Math.min(connectTimeout, readTimeout))
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(leaseTimeout)
+                .build();
+    }
+}
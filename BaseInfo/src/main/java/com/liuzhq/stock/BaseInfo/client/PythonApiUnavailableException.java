@@ -0,0 +1,11 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+/**
+ * Python接口暂不可用（熔断打开或并发已满），调用未发出，调用方应直接使用已有数据
+ */
+public class PythonApiUnavailableException extends RuntimeException {
+
+    public PythonApiUnavailableException(String message) {
+        super(message);
+    }
+}
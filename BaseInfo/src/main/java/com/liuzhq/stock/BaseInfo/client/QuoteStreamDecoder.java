@@ -0,0 +1,130 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * 实时行情接口响应的流式解析器
+ * 直接在响应 InputStream 上逐 token 解析，数值字段写入 QuoteSnapshot 的列数组，
+ * 不生成完整的响应字符串、JSONObject 和每只股票的 Map
+ */
+@Slf4j
+public final class QuoteStreamDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final int SUCCESS_CODE = 200;
+
+    private static final QuoteField[] FIELDS = QuoteField.values();
+
+    private QuoteStreamDecoder() {
+    }
+
+    /**
+     * 解析 {"code":200,"msg":"...","trade_date":"yyyy-MM-dd","data":[{...}, ...]}
+     * @param version 生成快照的版本号
+     * @throws RuntimeException code 不为 200 时
+     */
+    public static QuoteSnapshot decode(InputStream inputStream, long version) throws IOException {
+        Integer code = null;
+        String msg = null;
+        QuoteSnapshot.Builder builder = new QuoteSnapshot.Builder();
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("实时行情响应不是JSON对象");
+            }
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (name) {
+                    case "code":
+                        code = token == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                        break;
+                    case "msg":
+                        msg = parser.getValueAsString();
+                        break;
+                    case "trade_date":
+                        String tradeDate = parser.getValueAsString();
+                        if (StringUtils.isNotBlank(tradeDate)) {
+                            builder.tradeDate(LocalDate.parse(tradeDate, DATE_FORMATTER));
+                        }
+                        break;
+                    case "data":
+                        if (token == JsonToken.START_ARRAY) {
+                            decodeArray(parser, builder);
+                        } else {
+                            parser.skipChildren();
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+
+        if (code == null || code != SUCCESS_CODE) {
+            log.error("获取实时行情数据失败，错误码: {}, 消息: {}", code, msg);
+            throw new RuntimeException("获取实时行情数据失败: " + msg);
+        }
+        return builder.build(version);
+    }
+
+    private static void decodeArray(JsonParser parser, QuoteSnapshot.Builder builder) throws IOException {
+        double[] values = new double[QuoteField.COUNT];
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String symbol = null;
+            String stockName = null;
+            Arrays.fill(values, 0.0);
+
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                token = parser.nextToken();
+                if ("symbol".equals(name)) {
+                    symbol = parser.getValueAsString();
+                    continue;
+                }
+                if ("name".equals(name)) {
+                    stockName = parser.getValueAsString();
+                    continue;
+                }
+                QuoteField field = QuoteField.ofJsonName(name);
+                if (field == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                // 数值缺失/NaN 按 0 处理，与 Python 端 parse_stock_data 一致
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    double value = parser.getDoubleValue();
+                    values[field.ordinal()] = Double.isNaN(value) ? 0.0 : value;
+                }
+            }
+
+            if (StringUtils.isBlank(symbol)) {
+                continue;
+            }
+            int row = builder.addRow(symbol, stockName);
+            for (QuoteField field : FIELDS) {
+                builder.set(row, field, values[field.ordinal()]);
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.liuzhq.stock.BaseInfo.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+import com.liuzhq.stock.BaseInfo.plate.PlateNameTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 股票池接口响应的流式解析器
+ * 直接在响应 InputStream 上逐 token 解析，每条记录直接填充 StockPool，
+ * 不再经过 String -> JSONObject -> Map -> StockPool 三次完整物化；
+ * 字段分发使用按股票池类型预先构建的「JSON字段名 -> 字段」表，类型转换规则与原 convertToXxx 保持一致
+ */
+@Slf4j
+public final class StockPoolStreamDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int SUCCESS_CODE = 200;
+
+    /** 股票池类型 -> (JSON字段名 -> 字段) */
+    private static final Map<String, Map<String, Field>> NAME_TABLES = new HashMap<>();
+
+    /** 股票池类型 -> 需要默认值的字段（缺失时与原逻辑一致：数值为0，其余为null） */
+    private static final Map<String, Field[]> DEFAULT_FIELDS = new HashMap<>();
+
+    static {
+        for (String poolKey : Field.ALL_POOLS) {
+            Map<String, Field> nameTable = new HashMap<>();
+            List<Field> defaultFields = new ArrayList<>();
+            for (Field field : Field.values()) {
+                if (field.appliesTo(poolKey)) {
+                    nameTable.put(field.jsonName, field);
+                    if (field.defaultSetter != null) {
+                        defaultFields.add(field);
+                    }
+                }
+            }
+            NAME_TABLES.put(poolKey, nameTable);
+            DEFAULT_FIELDS.put(poolKey, defaultFields.toArray(new Field[0]));
+        }
+    }
+
+    private StockPoolStreamDecoder() {
+    }
+
+    /**
+     * 解析 {"code":200,"msg":"...","data":[{...}, ...]}
+     * @throws RuntimeException code 不为 200 时
+     */
+    public static List<StockPool> decode(InputStream inputStream, String poolKey) throws IOException {
+        Map<String, Field> nameTable = NAME_TABLES.get(poolKey);
+        if (nameTable == null) {
+            throw new IllegalArgumentException("不支持的股票池类型: " + poolKey);
+        }
+
+        Integer code = null;
+        String msg = null;
+        List<StockPool> result = Collections.emptyList();
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("股票池响应不是JSON对象");
+            }
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (name) {
+                    case "code":
+                        code = token == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                        break;
+                    case "msg":
+                        msg = parser.getValueAsString();
+                        break;
+                    case "data":
+                        if (token == JsonToken.START_ARRAY) {
+                            result = decodeArray(parser, poolKey, nameTable);
+                        } else {
+                            parser.skipChildren();
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+
+        if (code == null || code != SUCCESS_CODE) {
+            log.error("获取股票池数据失败，错误码: {}, 消息: {}", code, msg);
+            throw new RuntimeException("获取股票池数据失败: " + msg);
+        }
+        return result;
+    }
+
+    private static List<StockPool> decodeArray(JsonParser parser, String poolKey, Map<String, Field> nameTable) throws IOException {
+        Field[] defaultFields = DEFAULT_FIELDS.get(poolKey);
+        LocalDateTime now = LocalDateTime.now();
+        List<StockPool> result = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            StockPool stockPool = new StockPool();
+            for (Field field : defaultFields) {
+                field.defaultSetter.setDefault(stockPool);
+            }
+
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                Field field = nameTable.get(name);
+                if (field == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                field.reader.read(parser, stockPool);
+            }
+
+            if (stockPool.getTradeDate() == null) {
+                stockPool.setTradeDate(LocalDate.now());
+            }
+            if ("broken_zt".equals(poolKey)) {
+                stockPool.setLimitDays(1);
+            }
+            stockPool.setPoolType(poolKey);
+            stockPool.setPlateNames(PlateNameTable.encodeFromJson(stockPool.getRelatedPlates()));
+            stockPool.setCreateTime(now);
+            stockPool.setUpdateTime(now);
+            result.add(stockPool);
+        }
+        return result;
+    }
+
+    // ========== 值读取（与原 convertToInteger / convertToBigDecimal / convertToLocalDateTime 规则一致） ==========
+
+    private static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getValueAsInt();
+            case VALUE_NUMBER_FLOAT:
+                return (int) parser.getDoubleValue();
+            case VALUE_STRING:
+                String text = parser.getText();
+                if (text.isEmpty()) {
+                    return 0;
+                }
+                try {
+                    return Integer.parseInt(text);
+                } catch (NumberFormatException e) {
+                    log.warn("转换Integer失败：{}", text, e);
+                    return 0;
+                }
+            case START_OBJECT:
+            case START_ARRAY:
+                parser.skipChildren();
+                return 0;
+            default:
+                return 0;
+        }
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return BigDecimal.valueOf(parser.getLongValue()).setScale(2);
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDecimalValue();
+            case VALUE_STRING:
+                String text = parser.getText();
+                if (text.isEmpty()) {
+                    return BigDecimal.ZERO;
+                }
+                try {
+                    return new BigDecimal(text).setScale(2, RoundingMode.HALF_UP);
+                } catch (NumberFormatException e) {
+                    log.warn("转换BigDecimal失败：{}", text, e);
+                    return BigDecimal.ZERO;
+                }
+            case START_OBJECT:
+            case START_ARRAY:
+                parser.skipChildren();
+                return BigDecimal.ZERO;
+            default:
+                return BigDecimal.ZERO;
+        }
+    }
+
+    private static LocalDateTime readDateTime(JsonParser parser) throws IOException {
+        String text = readString(parser);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text, DATETIME_FORMATTER);
+        } catch (Exception e) {
+            log.error("日期转换失败：{}", text, e);
+            return null;
+        }
+    }
+
+    private static LocalDate readDate(JsonParser parser) throws IOException {
+        String text = readString(parser);
+        return text == null || text.isEmpty() ? null : LocalDate.parse(text, DATE_FORMATTER);
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+        void read(JsonParser parser, StockPool stockPool) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface DefaultSetter {
+        void setDefault(StockPool stockPool);
+    }
+
+    /**
+     * 响应字段定义：JSON字段名、适用的股票池（null 表示全部）、读取方式、缺失时的默认值
+     */
+    private enum Field {
+        TRADE_DATE("trade_date", null, (p, s) -> s.setTradeDate(readDate(p)), null),
+        STOCK_CODE("stock_code", null, (p, s) -> s.setStockCode(readString(p)), null),
+        STOCK_NAME("stock_name", null, (p, s) -> s.setStockName(readString(p)), null),
+        STOCK_TYPE("stock_type", null, (p, s) -> s.setStockType(readInteger(p)), s -> s.setStockType(0)),
+        PRICE("price", null, (p, s) -> s.setPrice(readDecimal(p)), s -> s.setPrice(BigDecimal.ZERO)),
+        CHANGE_PERCENT("change_percent", null, (p, s) -> s.setChangePercent(readDecimal(p)), s -> s.setChangePercent(BigDecimal.ZERO)),
+        TURNOVER_RATIO("turnover_ratio", null, (p, s) -> s.setTurnoverRatio(readDecimal(p)), s -> s.setTurnoverRatio(BigDecimal.ZERO)),
+        CIRCULATION_MARKET_CAP("circulation_market_cap", null, (p, s) -> s.setCirculationMarketCap(readDecimal(p)), s -> s.setCirculationMarketCap(BigDecimal.ZERO)),
+        TOTAL_MARKET_CAP("total_market_cap", null, (p, s) -> s.setTotalMarketCap(readDecimal(p)), s -> s.setTotalMarketCap(BigDecimal.ZERO)),
+        ISSUE_PRICE("issue_price", null, (p, s) -> s.setIssuePrice(readDecimal(p)), s -> s.setIssuePrice(BigDecimal.ZERO)),
+        LISTED_DATE("listed_date", null, (p, s) -> s.setListedDate(readDateTime(p)), null),
+        BUY_LOCK_RATIO("buy_lock_ratio", null, (p, s) -> s.setBuyLockRatio(readDecimal(p)), s -> s.setBuyLockRatio(BigDecimal.ZERO)),
+        SELL_LOCK_RATIO("sell_lock_ratio", null, (p, s) -> s.setSellLockRatio(readDecimal(p)), s -> s.setSellLockRatio(BigDecimal.ZERO)),
+        CURRENT_LOCK_AMOUNT("current_lock_amount", null, (p, s) -> s.setCurrentLockAmount(readDecimal(p)), s -> s.setCurrentLockAmount(BigDecimal.ZERO)),
+        MAX_LOCK_AMOUNT("max_lock_amount", null, (p, s) -> s.setMaxLockAmount(readDecimal(p)), s -> s.setMaxLockAmount(BigDecimal.ZERO)),
+        STOCK_REASON("stock_reason", null, (p, s) -> s.setStockReason(readString(p)), null),
+        RELATED_PLATES("related_plates", null, (p, s) -> s.setRelatedPlates(readString(p)), null),
+
+        // 涨停池 / 强势股池
+        LIMIT_UP_DAYS("limit_up_days", pools("zt", "super_stock"), (p, s) -> s.setLimitDays(readInteger(p)), s -> s.setLimitDays(0)),
+        BREAK_LIMIT_UP_TIMES("break_limit_up_times", pools("zt", "broken_zt"), (p, s) -> s.setBreakLimitTimes(readInteger(p)), s -> s.setBreakLimitTimes(0)),
+        FIRST_LIMIT_UP_TIME("first_limit_up_time", pools("zt", "broken_zt", "super_stock"), (p, s) -> s.setFirstLimitUpTime(readDateTime(p)), null),
+        LAST_LIMIT_UP_TIME("last_limit_up_time", pools("zt", "super_stock"), (p, s) -> s.setLastLimitUpTime(readDateTime(p)), null),
+        M_DAYS_N_BOARDS("m_days_n_boards", pools("super_stock"), (p, s) -> s.setMDaysNBoards(readString(p)), null),
+
+        // 跌停池
+        LIMIT_DOWN_DAYS("limit_down_days", pools("dt"), (p, s) -> s.setLimitDays(readInteger(p)), s -> s.setLimitDays(0)),
+        BREAK_LIMIT_DOWN_TIMES("break_limit_down_times", pools("dt"), (p, s) -> s.setBreakLimitTimes(readInteger(p)), s -> s.setBreakLimitTimes(0)),
+        FIRST_LIMIT_DOWN_TIME("first_limit_down_time", pools("dt"), (p, s) -> s.setFirstLimitDownTime(readDateTime(p)), null),
+        LAST_LIMIT_DOWN_TIME("last_limit_down_time", pools("dt"), (p, s) -> s.setLastLimitDownTime(readDateTime(p)), null),
+
+        // 昨日涨停池
+        YESTERDAY_LIMIT_UP_DAYS("yesterday_limit_up_days", pools("yesterday_zt"), (p, s) -> s.setLimitDays(readInteger(p)), s -> s.setLimitDays(0)),
+        YESTERDAY_BREAK_LIMIT_UP_TIMES("yesterday_break_limit_up_times", pools("yesterday_zt"), (p, s) -> s.setYesterdayBreakLimitUpTimes(readInteger(p)), s -> s.setYesterdayBreakLimitUpTimes(0)),
+        YESTERDAY_FIRST_LIMIT_UP_TIME("yesterday_first_limit_up_time", pools("yesterday_zt"), (p, s) -> s.setYesterdayFirstLimitUpTime(readDateTime(p)), null),
+        YESTERDAY_LAST_LIMIT_UP_TIME("yesterday_last_limit_up_time", pools("yesterday_zt"), (p, s) -> s.setYesterdayLastLimitUpTime(readDateTime(p)), null),
+
+        // 炸板池
+        LAST_BREAK_LIMIT_UP_TIME("last_break_limit_up_time", pools("broken_zt"), (p, s) -> s.setLastBreakLimitUpTime(readDateTime(p)), null);
+
+        private static final String[] ALL_POOLS = {"zt", "dt", "yesterday_zt", "broken_zt", "super_stock"};
+
+        private final String jsonName;
+        private final Set<String> pools;
+        private final FieldReader reader;
+        private final DefaultSetter defaultSetter;
+
+        Field(String jsonName, Set<String> pools, FieldReader reader, DefaultSetter defaultSetter) {
+            this.jsonName = jsonName;
+            this.pools = pools;
+            this.reader = reader;
+            this.defaultSetter = defaultSetter;
+        }
+
+        private boolean appliesTo(String poolKey) {
+            return pools == null || pools.contains(poolKey);
+        }
+
+        private static Set<String> pools(String... poolKeys) {
+            return new HashSet<>(Arrays.asList(poolKeys));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.liuzhq.stock.BaseInfo.config;
 
 import lombok.Data;
 
+import java.util.Map;
+
 /**
  * API配置实体
  */
@@ -15,4 +17,6 @@ public class ApiConfig {
     private String category;  // 分类
     private int timeout;      // 超时时间
     private boolean enabled;  // 是否启用
+    private long sloMillis;   // p99耗时目标（毫秒），超过视为降级，0表示使用默认值
+    private Map<String, Object> probeParams; // 健康探测时的请求参数（必填参数的接口需要配置）
 }
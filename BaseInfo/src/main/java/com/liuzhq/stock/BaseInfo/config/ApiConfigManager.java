@@ -3,86 +3,191 @@ package com.liuzhq.stock.BaseInfo.config;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 
 import javax.annotation.PostConstruct;
-import java.io.File;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * API配置管理器 - 动态加载和管理Python API配置
+ * 1. 配置位置由 python.api.config-location 指定，支持 classpath: 、file: 前缀和普通文件路径（打包后可指向外部文件）
+ * 2. 每次加载构建完整的不可变快照（ApiConfigSnapshot），通过一次 volatile 写整体替换，读取方无锁且不会看到空配置
+ * 3. 配置文件在文件系统上时（外部文件或未打包的 classpath 目录）用 WatchService 监听修改，自动重新加载；
+ *    重新加载失败（文件缺失、JSON有误）时保留当前配置
  */
 @Component
 @Slf4j
 public class ApiConfigManager {
 
-    private volatile Map<String, ApiConfig> apiConfigs = new ConcurrentHashMap<>();
-    private volatile Map<String, String> providerBaseUrls = new ConcurrentHashMap<>();
+    /**
+     * 各数据提供方的服务地址
+     */
+    private static final Map<String, String> PROVIDER_BASE_URLS;
+    private static final String DEFAULT_BASE_URL = "http://localhost:8000";
+
+    static {
+        Map<String, String> baseUrls = new HashMap<>();
+        baseUrls.put("eastmoney", DEFAULT_BASE_URL);
+        baseUrls.put("xuangubao", DEFAULT_BASE_URL);
+        PROVIDER_BASE_URLS = Collections.unmodifiableMap(baseUrls);
+    }
+
+    @Value("${python.api.config-location:classpath:stock_api_service/api_config.json}")
+    private String configLocation;
+
+    @Value("${python.api.config-watch.enabled:true}")
+    private boolean watchEnabled;
+
+    /**
+     * 监听到修改后等待该时长再加载（编辑器保存时可能连续触发多次事件，合并为一次加载）
+     */
+    @Value("${python.api.config-watch.reload-delay-ms:500}")
+    private long reloadDelayMillis;
+
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    private volatile ApiConfigSnapshot snapshot;
+
+    /**
+     * 最近一次成功加载的文件内容，内容未变化（如只修改了时间戳）时不重新加载
+     */
+    private String loadedContent;
+
+    private WatchService watchService;
 
     @PostConstruct
     public void init() {
-        loadApiConfigsFromPython();
-        loadProviderBaseUrls();
+        Resource resource = resolveConfigResource();
+        ApiConfigSnapshot loaded = null;
+        try {
+            loaded = loadFrom(resource, 1);
+        } catch (Exception e) {
+            log.error("加载API配置失败：{}", configLocation, e);
+        }
+        // 文件不存在或加载失败时使用默认配置
+        snapshot = loaded != null ? loaded
+                : new ApiConfigSnapshot(1, "default", initializeDefaultConfigs().values(), PROVIDER_BASE_URLS, DEFAULT_BASE_URL);
+
+        if (watchEnabled) {
+            startWatcher(resource);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("关闭API配置文件监听失败", e);
+            }
+        }
     }
 
     /**
-     * 从Python脚本目录加载API配置
+     * 从配置文件加载，文件不存在时返回 null
      */
-    private void loadApiConfigsFromPython() {
-        try {
-            String configPath = System.getProperty("user.dir") + "/src/main/resources/stock_api_service/api_config.json";
-            File configFile = new File(configPath);
-            if (configFile.exists()) {
-                String configContent = FileUtils.readFileToString(configFile, StandardCharsets.UTF_8);
-                // 解析JSON配置
-                JSONObject jsonObject = JSONObject.parseObject(configContent);
-                JSONArray apisArray = jsonObject.getJSONArray("apis");
-
-                for (int i = 0; i < apisArray.size(); i++) {
-                    JSONObject apiObj = apisArray.getJSONObject(i);
-                    ApiConfig config = new ApiConfig();
-                    config.setName(apiObj.getString("name"));
-                    config.setMethod(apiObj.getString("method"));
-                    config.setPath(apiObj.getString("path"));
-                    config.setDescription(apiObj.getString("description"));
-                    config.setProvider(apiObj.getString("provider"));
-                    config.setCategory(apiObj.getString("category"));
-                    config.setTimeout(apiObj.getIntValue("timeout"));
-                    config.setEnabled(apiObj.getBooleanValue("enabled"));
-
-                    apiConfigs.put(config.getName(), config);
-                }
-                log.info("成功加载 {} 个API配置", apisArray.size());
-            } else {
-                // 如果JSON文件不存在，创建默认配置
-                initializeDefaultConfigs();
+    private ApiConfigSnapshot loadFrom(Resource resource, long version) throws IOException {
+        if (!resource.exists()) {
+            log.warn("API配置文件不存在：{}", configLocation);
+            return null;
+        }
+        String configContent;
+        try (InputStream inputStream = resource.getInputStream()) {
+            configContent = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        }
+        ApiConfigSnapshot loaded = new ApiConfigSnapshot(version, configLocation,
+                parseConfigs(configContent).values(), PROVIDER_BASE_URLS, DEFAULT_BASE_URL);
+        loadedContent = configContent;
+        log.info("成功加载 {} 个API配置，来源：{}，版本：{}", loaded.getAll().size(), configLocation, version);
+        return loaded;
+    }
+
+    /**
+     * 解析 api_config.json
+     */
+    private Map<String, ApiConfig> parseConfigs(String configContent) {
+        JSONObject jsonObject = JSONObject.parseObject(configContent);
+        JSONArray apisArray = jsonObject.getJSONArray("apis");
+        if (apisArray == null) {
+            throw new IllegalArgumentException("API配置缺少 apis 节点");
+        }
+
+        Map<String, ApiConfig> apiConfigs = new LinkedHashMap<>();
+        for (int i = 0; i < apisArray.size(); i++) {
+            JSONObject apiObj = apisArray.getJSONObject(i);
+            ApiConfig config = new ApiConfig();
+            config.setName(apiObj.getString("name"));
+            config.setMethod(apiObj.getString("method"));
+            config.setPath(apiObj.getString("path"));
+            config.setDescription(apiObj.getString("description"));
+            config.setProvider(apiObj.getString("provider"));
+            config.setCategory(apiObj.getString("category"));
+            config.setTimeout(apiObj.getIntValue("timeout"));
+            config.setEnabled(apiObj.getBooleanValue("enabled"));
+            config.setSloMillis(apiObj.getLongValue("sloMillis"));
+            JSONObject probeParams = apiObj.getJSONObject("probeParams");
+            if (probeParams != null) {
+                config.setProbeParams(Collections.unmodifiableMap(probeParams.getInnerMap()));
             }
-        } catch (Exception e) {
-            log.error("加载API配置失败", e);
-            // 发生错误时使用默认配置
-            initializeDefaultConfigs();
+            if (config.getName() == null || config.getPath() == null) {
+                throw new IllegalArgumentException("第" + (i + 1) + "个API配置缺少 name 或 path");
+            }
+            apiConfigs.put(config.getName(), config);
+        }
+        return apiConfigs;
+    }
+
+    /**
+     * 不带前缀的位置按文件路径处理（DefaultResourceLoader 默认会按 classpath 处理）
+     */
+    private Resource resolveConfigResource() {
+        String location = configLocation.trim();
+        if (!location.startsWith(ResourceLoader.CLASSPATH_URL_PREFIX) && !location.startsWith("file:")
+                && !location.contains("://")) {
+            location = "file:" + location;
         }
+        return resourceLoader.getResource(location);
     }
 
     /**
      * 初始化默认配置（当JSON配置文件不存在时使用）
      */
-    private void initializeDefaultConfigs() {
+    private Map<String, ApiConfig> initializeDefaultConfigs() {
+        Map<String, ApiConfig> apiConfigs = new LinkedHashMap<>();
         log.info("使用默认API配置");
 
         // 东方财富API
-        initializeDefaultEastMoneyConfigs();
+        initializeDefaultEastMoneyConfigs(apiConfigs);
 
         // 选股宝API
-        initializeDefaultXuanGuBaoConfigs();
+        initializeDefaultXuanGuBaoConfigs(apiConfigs);
 
         log.warn("使用默认配置，建议创建 api_config.json 文件以获得更好的灵活性");
+        return apiConfigs;
     }
 
-    private void initializeDefaultEastMoneyConfigs() {
+    private void initializeDefaultEastMoneyConfigs(Map<String, ApiConfig> apiConfigs) {
         apiConfigs.put("eastmoney_realtime", createApiConfig(
                 "eastmoney_realtime", "GET", "/api/eastmoney/api/stock/a/realtime",
                 "东方财富实时行情", "eastmoney", "realtime", 30000, true
@@ -91,13 +196,18 @@ public class ApiConfigManager {
                 "eastmoney_statistics", "GET", "/api/eastmoney/api/stock/a/realtime/statistics",
                 "东方财富实时行情统计", "eastmoney", "statistics", 30000, true
         ));
-        apiConfigs.put("eastmoney_search", createApiConfig(
+        ApiConfig search = createApiConfig(
                 "eastmoney_search", "GET", "/api/eastmoney/api/stock/search",
                 "东方财富股票搜索", "eastmoney", "search", 30000, true
-        ));
+        );
+        Map<String, Object> probeParams = new HashMap<>();
+        probeParams.put("keyword", "600000");
+        probeParams.put("limit", 1);
+        search.setProbeParams(probeParams);
+        apiConfigs.put("eastmoney_search", search);
     }
 
-    private void initializeDefaultXuanGuBaoConfigs() {
+    private void initializeDefaultXuanGuBaoConfigs(Map<String, ApiConfig> apiConfigs) {
         apiConfigs.put("xuangubao_zt_pool", createApiConfig(
                 "xuangubao_zt_pool", "GET", "/api/xuangubao/stock/pool/zt",
                 "选股宝涨停池", "xuangubao", "stock_pool", 30000, true
@@ -118,6 +228,10 @@ public class ApiConfigManager {
                 "xuangubao_super_stock_pool", "GET", "/api/xuangubao/stock/pool/super_stock",
                 "选股宝强势股池", "xuangubao", "stock_pool", 30000, true
         ));
+        apiConfigs.put("xuangubao_event_history", createApiConfig(
+                "xuangubao_event_history", "GET", "/api/xuangubao/event/history",
+                "选股宝盘面异动事件（按since_id增量拉取）", "xuangubao", "event", 5000, true
+        ));
     }
 
     private ApiConfig createApiConfig(String name, String method, String path, String description,
@@ -134,42 +248,151 @@ public class ApiConfigManager {
         return config;
     }
 
-    private void loadProviderBaseUrls() {
-        providerBaseUrls.put("eastmoney", "http://localhost:8000");
-        providerBaseUrls.put("xuangubao", "http://localhost:8000");
+    /**
+     * 监听配置文件所在目录，只有配置文件本身的创建/修改触发重新加载
+     */
+    private void startWatcher(Resource resource) {
+        Path configFile;
+        try {
+            if (!resource.isFile()) {
+                log.info("API配置位于 {}，不在文件系统上，不监听修改", configLocation);
+                return;
+            }
+            configFile = resource.getFile().toPath().toAbsolutePath();
+        } catch (IOException e) {
+            log.info("API配置位于 {}，无法定位到文件，不监听修改", configLocation);
+            return;
+        }
+        Path directory = configFile.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            log.warn("API配置文件所在目录不存在，不监听修改：{}", configFile);
+            return;
+        }
+
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.warn("监听API配置文件失败：{}", configFile, e);
+            return;
+        }
+
+        Thread watcher = new Thread(() -> watchLoop(configFile.getFileName()), "api-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("开始监听API配置文件：{}", configFile);
+    }
+
+    private void watchLoop(Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("API配置文件所在目录已不可访问，停止监听");
+                    return;
+                }
+                if (!changed) {
+                    continue;
+                }
+
+                Thread.sleep(reloadDelayMillis);
+                WatchKey pending;
+                while ((pending = watchService.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                refreshConfigs();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 应用关闭
+        }
     }
 
     /**
      * 获取API配置
      */
     public ApiConfig getApiConfig(String apiName) {
-        return apiConfigs.get(apiName);
+        return snapshot.get(apiName);
     }
 
     /**
-     * 获取完整的API URL
+     * 获取全部API配置
+     */
+    public Collection<ApiConfig> getAllApiConfigs() {
+        return snapshot.getAll();
+    }
+
+    /**
+     * 按请求路径查找API配置（HTTP客户端按接口设置超时时使用），找不到返回 null
+     */
+    public ApiConfig findByPath(String path) {
+        if (path == null) {
+            return null;
+        }
+        return snapshot.findByPath(path);
+    }
+
+    /**
+     * 获取完整的API URL（加载时已拼好）
      */
     public String getFullUrl(String apiName) {
-        ApiConfig config = getApiConfig(apiName);
-        if (config == null) {
+        String fullUrl = snapshot.getFullUrl(apiName);
+        if (fullUrl == null) {
             throw new IllegalArgumentException("找不到API配置: " + apiName);
         }
-        String baseUrl = providerBaseUrls.get(config.getProvider());
-        // 如果路径已经包含provider前缀，则不需要重复添加
-        String fullPath = config.getPath();
-        if (!fullPath.startsWith("/")) {
-            fullPath = "/" + fullPath;
+        return fullUrl;
+    }
+
+    /**
+     * 刷新配置：构建新快照后整体替换，失败或文件内容未变化时保留当前配置
+     * @return 是否替换了配置
+     */
+    public synchronized boolean refreshConfigs() {
+        ApiConfigSnapshot current = snapshot;
+        Resource resource = resolveConfigResource();
+        try {
+            if (resource.exists()) {
+                String content;
+                try (InputStream inputStream = resource.getInputStream()) {
+                    content = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+                }
+                if (content.equals(loadedContent)) {
+                    log.debug("API配置文件内容未变化，不重新加载");
+                    return false;
+                }
+            }
+            ApiConfigSnapshot loaded = loadFrom(resource, current.getVersion() + 1);
+            if (loaded == null) {
+                log.warn("API配置文件不存在，保留当前配置（版本{}）", current.getVersion());
+                return false;
+            }
+            snapshot = loaded;
+            return true;
+        } catch (Exception e) {
+            log.error("重新加载API配置失败，保留当前配置（版本{}）：{}", current.getVersion(), configLocation, e);
+            return false;
         }
-        return baseUrl + fullPath;
     }
 
     /**
-     * 刷新配置
+     * 当前配置的版本、来源和加载时间
      */
-    public void refreshConfigs() {
-        apiConfigs.clear();
-        loadApiConfigsFromPython();
+    public Map<String, Object> getConfigInfo() {
+        ApiConfigSnapshot current = snapshot;
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("version", current.getVersion());
+        info.put("source", current.getSource());
+        info.put("loadedAt", current.getLoadedAt());
+        info.put("apiCount", current.getAll().size());
+        info.put("watching", watchService != null);
+        return info;
     }
 }
-
-
@@ -0,0 +1,86 @@
+package com.liuzhq.stock.BaseInfo.config;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一次加载得到的完整API配置（不可变）
+ * 按名称、按路径的索引和完整URL在构建时一次算好，读取方无锁、无字符串拼接；
+ * 重新加载时构建新的快照整体替换，读取方不会看到加载到一半的配置
+ */
+final class ApiConfigSnapshot {
+
+    private final long version;
+    private final String source;
+    private final long loadedAt;
+    private final Map<String, ApiConfig> byName;
+    private final Map<String, ApiConfig> byPath;
+    private final Map<String, String> fullUrls;
+
+    /**
+     * @param source 配置来源（文件位置，或 default 表示内置默认配置）
+     * @param providerBaseUrls 各数据提供方的服务地址
+     * @param defaultBaseUrl 未登记的数据提供方使用的服务地址
+     */
+    ApiConfigSnapshot(long version, String source, Collection<ApiConfig> configs,
+                      Map<String, String> providerBaseUrls, String defaultBaseUrl) {
+        this.version = version;
+        this.source = source;
+        this.loadedAt = System.currentTimeMillis();
+
+        Map<String, ApiConfig> nameIndex = new LinkedHashMap<>();
+        Map<String, ApiConfig> pathIndex = new HashMap<>();
+        Map<String, String> urls = new HashMap<>();
+        for (ApiConfig config : configs) {
+            String path = normalizePath(config.getPath());
+            nameIndex.put(config.getName(), config);
+            pathIndex.put(path, config);
+            String baseUrl = providerBaseUrls.getOrDefault(config.getProvider(), defaultBaseUrl);
+            urls.put(config.getName(), baseUrl + path);
+        }
+        this.byName = Collections.unmodifiableMap(nameIndex);
+        this.byPath = pathIndex;
+        this.fullUrls = urls;
+    }
+
+    ApiConfig get(String apiName) {
+        return byName.get(apiName);
+    }
+
+    /**
+     * @param path 请求路径（以 / 开头）
+     */
+    ApiConfig findByPath(String path) {
+        return byPath.get(path);
+    }
+
+    String getFullUrl(String apiName) {
+        return fullUrls.get(apiName);
+    }
+
+    Collection<ApiConfig> getAll() {
+        return byName.values();
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    private static String normalizePath(String path) {
+        if (path == null) {
+            return "/";
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+}
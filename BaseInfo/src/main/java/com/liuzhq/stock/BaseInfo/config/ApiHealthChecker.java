@@ -1,42 +1,159 @@
 package com.liuzhq.stock.BaseInfo.config;
 
+import com.liuzhq.stock.BaseInfo.client.CircuitBreaker;
 import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
+import com.liuzhq.stock.BaseInfo.client.PythonApiGuard;
+import com.liuzhq.stock.BaseInfo.dto.ApiHealthDto;
+import com.liuzhq.stock.BaseInfo.health.ApiHealth;
+import com.liuzhq.stock.BaseInfo.health.ApiHealthRegistry;
+import com.liuzhq.stock.BaseInfo.health.LatencyHistogram;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * API健康检查组件
+ * 1. 每秒重新判定各启用接口的状态（统计来自业务调用和健康探测，见 ApiHealthRegistry）
+ * 2. 接口在当前探测间隔内没有任何调用时才探测：UP 按 interval-ms，DEGRADED 收紧到 degraded-interval-ms，DOWN 收紧到 down-interval-ms
+ * 3. 状态变为 DOWN 时打开该接口的熔断器，从 DOWN 恢复时让熔断器立即允许探测
  */
 @Component
 @Slf4j
 public class ApiHealthChecker {
-    
+
     @Autowired
     private PythonApiClient pythonApiClient;
-    
-    @Scheduled(fixedDelay = 300000) // 每5分钟检查一次
+
+    @Autowired
+    private PythonApiGuard pythonApiGuard;
+
+    @Autowired
+    private ApiConfigManager apiConfigManager;
+
+    @Autowired
+    private ApiHealthRegistry apiHealthRegistry;
+
+    @Autowired
+    @Qualifier("apiHealthProbeExecutor")
+    private Executor apiHealthProbeExecutor;
+
+    @Value("${python.api.health.interval-ms:300000}")
+    private long intervalMillis;
+
+    @Value("${python.api.health.degraded-interval-ms:30000}")
+    private long degradedIntervalMillis;
+
+    @Value("${python.api.health.down-interval-ms:10000}")
+    private long downIntervalMillis;
+
+    @Value("${python.api.http.read-timeout-ms:30000}")
+    private int defaultReadTimeout;
+
+    /**
+     * 正在探测的接口
+     */
+    private final Set<String> probing = ConcurrentHashMap.newKeySet();
+
+    @Scheduled(fixedDelayString = "${python.api.health.tick-ms:1000}")
     public void checkApiHealth() {
-        log.info("开始检查Python API服务健康状况");
-        
-        try {
-            // 测试基本连接
-            String healthCheckUrl = "http://localhost:8000/";
-            ResponseEntity<String> response = restTemplate.getForEntity(healthCheckUrl, String.class);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Python API服务连接正常");
-            } else {
-                log.warn("Python API服务连接异常，状态码：{}", response.getStatusCode());
+        long now = System.currentTimeMillis();
+        for (ApiConfig config : apiConfigManager.getAllApiConfigs()) {
+            if (!config.isEnabled()) {
+                continue;
+            }
+            ApiHealth health = apiHealthRegistry.healthOf(config.getName());
+            ApiHealth.Status previous = health.getStatus();
+            ApiHealth.Status status = apiHealthRegistry.evaluate(config);
+            if (status == ApiHealth.Status.DOWN && previous != ApiHealth.Status.DOWN) {
+                pythonApiGuard.onHealthCheck(config.getName(), false);
+            } else if (previous == ApiHealth.Status.DOWN && status != ApiHealth.Status.DOWN) {
+                pythonApiGuard.onHealthCheck(config.getName(), true);
+            }
+
+            if (now - health.getLastActivityAt() >= intervalOf(status)) {
+                submitProbe(config);
             }
-        } catch (Exception e) {
-            log.error("Python API服务不可达", e);
         }
     }
-    
-    @Autowired
-    private RestTemplate restTemplate;
+
+    /**
+     * 各启用接口的健康状态
+     */
+    public List<ApiHealthDto> getHealthStatus() {
+        List<ApiHealthDto> result = new ArrayList<>();
+        for (ApiConfig config : apiConfigManager.getAllApiConfigs()) {
+            if (!config.isEnabled()) {
+                continue;
+            }
+            ApiHealth health = apiHealthRegistry.healthOf(config.getName());
+            LatencyHistogram.Snapshot snapshot = health.snapshot();
+            CircuitBreaker.State breakerState = pythonApiGuard.getBreakerState(config.getName());
+            int timeout = config.getTimeout() > 0 ? config.getTimeout() : defaultReadTimeout;
+
+            ApiHealthDto dto = new ApiHealthDto();
+            dto.setApiName(config.getName());
+            dto.setProvider(config.getProvider());
+            dto.setStatus(health.getStatus().name());
+            dto.setBreakerState(breakerState == null ? null : breakerState.name());
+            dto.setCalls(snapshot.getCalls());
+            dto.setErrorRate(snapshot.getErrorRate());
+            dto.setP50(snapshot.getP50());
+            dto.setP99(snapshot.getP99());
+            dto.setSloMillis(apiHealthRegistry.sloOf(config));
+            dto.setTimeoutMillis(timeout);
+            dto.setEffectiveTimeoutMillis(apiHealthRegistry.effectiveTimeout(config, timeout));
+            dto.setConsecutiveFailures(health.getConsecutiveFailures());
+            dto.setProbeIntervalMillis(intervalOf(health.getStatus()));
+            dto.setLastCallAt(health.getLastCallAt());
+            dto.setLastProbeAt(health.getLastProbeAt());
+            dto.setLastError(health.getLastError());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private long intervalOf(ApiHealth.Status status) {
+        switch (status) {
+            case DOWN:
+                return downIntervalMillis;
+            case DEGRADED:
+                return degradedIntervalMillis;
+            default:
+                return intervalMillis;
+        }
+    }
+
+    private void submitProbe(ApiConfig config) {
+        String apiName = config.getName();
+        if (!probing.add(apiName)) {
+            return;
+        }
+        try {
+            apiHealthProbeExecutor.execute(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    pythonApiClient.probe(config);
+                    apiHealthRegistry.record(apiName, System.currentTimeMillis() - start, true, null, true);
+                } catch (Exception e) {
+                    apiHealthRegistry.record(apiName, System.currentTimeMillis() - start, false, e.getMessage(), true);
+                    log.warn("Python接口{}健康探测失败：{}", apiName, e.getMessage());
+                } finally {
+                    probing.remove(apiName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            probing.remove(apiName);
+            log.warn("Python接口{}健康探测任务被拒绝", apiName);
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package com.liuzhq.stock.BaseInfo.config;
+
+import com.liuzhq.stock.BaseInfo.client.MeteredConnectionManager;
+import com.liuzhq.stock.BaseInfo.client.PythonApiRequestFactory;
+import com.liuzhq.stock.BaseInfo.client.PythonApiTimeouts;
+import com.liuzhq.stock.BaseInfo.health.ApiHealthRegistry;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Python 服务专用的 HTTP 客户端
+ * 1. 连接池按同步并发量配置（所有接口都是同一个 host:port，单路由上限与总上限一致），连接复用，避免每次请求重新建立TCP连接
+ * 2. 服务端未返回 Keep-Alive 时按 keep-alive-ms 复用，后台线程定期清理过期和空闲连接
+ * 3. 默认发送 Accept-Encoding: gzip 并自动解压
+ * 4. 每个接口使用 api_config.json 中自己的超时（见 PythonApiTimeouts）
+ * 5. 另有一个基于NIO的异步客户端（独立连接池，少量IO线程处理全部连接），供 PythonApiClient.callApiAsync 使用，
+ *    等待Python响应期间不占用任何线程，过期和空闲连接由 PythonApiConnectionEvictTask 定期清理
+ */
+@Configuration
+public class PythonApiClientConfig {
+
+    @Value("${python.api.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${python.api.http.connect-timeout-ms:2000}")
+    private int connectTimeout;
+
+    @Value("${python.api.http.read-timeout-ms:30000}")
+    private int defaultReadTimeout;
+
+    @Value("${python.api.http.lease-timeout-ms:2000}")
+    private int leaseTimeout;
+
+    @Value("${python.api.http.keep-alive-ms:30000}")
+    private long keepAliveMillis;
+
+    @Value("${python.api.http.idle-evict-ms:30000}")
+    private long idleEvictMillis;
+
+    @Value("${python.api.http.async-io-threads:2}")
+    private int asyncIoThreads;
+
+    @Bean
+    public PythonApiTimeouts pythonApiTimeouts(ApiConfigManager apiConfigManager, ApiHealthRegistry apiHealthRegistry) {
+        return new PythonApiTimeouts(apiConfigManager, apiHealthRegistry, connectTimeout, defaultReadTimeout, leaseTimeout);
+    }
+
+    @Bean(destroyMethod = "close")
+    public MeteredConnectionManager pythonApiConnectionManager() {
+        // 连接最长存活时间，超过后不再复用
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(5, TimeUnit.MINUTES);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        // 空闲超过2秒的连接复用前先检查是否已被服务端关闭
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pythonApiHttpClient(MeteredConnectionManager pythonApiConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(pythonApiConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PoolingNHttpClientConnectionManager pythonApiAsyncConnectionManager() throws IOReactorException {
+        DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                .setIoThreadCount(asyncIoThreads)
+                .setConnectTimeout(connectTimeout)
+                .setSoKeepAlive(true)
+                .build());
+        PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(ioReactor);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient pythonApiAsyncHttpClient(PoolingNHttpClientConnectionManager pythonApiAsyncConnectionManager) {
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(pythonApiAsyncConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .build();
+        client.start();
+        return client;
+    }
+
+    /**
+     * 专门用于Python API的RestTemplate
+     */
+    @Bean("pythonApiRestTemplate")
+    public RestTemplate pythonApiRestTemplate(CloseableHttpClient pythonApiHttpClient, PythonApiTimeouts pythonApiTimeouts) {
+        return new RestTemplate(new PythonApiRequestFactory(pythonApiHttpClient, pythonApiTimeouts));
+    }
+
+    /**
+     * 服务端返回了 Keep-Alive 时按其复用，否则按 keep-alive-ms 复用
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : keepAliveMillis;
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.liuzhq.stock.BaseInfo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 线程池配置
+ */
+@Configuration
+public class ThreadPoolConfig {
+
+    /**
+     * 股票池同步线程池
+     * 异步拉取完成后的快照比对和批量入库在这里执行，队列有界，满了由调用线程执行，避免无限堆积
+     */
+    @Bean("stockPoolSyncExecutor")
+    public ThreadPoolTaskExecutor stockPoolSyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(5);
+        executor.setMaxPoolSize(5);
+        executor.setQueueCapacity(50);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("stock-pool-sync-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 股票搜索索引的后台重建线程池
+     * 同时只有一个重建任务，正在重建时的新请求直接丢弃（重建总是读取最新的行情快照）
+     */
+    @Bean("stockSearchIndexExecutor")
+    public ThreadPoolTaskExecutor stockSearchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("stock-search-index-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 服务端推送线程池
+     * 单线程按发布顺序把帧分发到各连接的发送队列（补发缓冲区也只在该线程中访问），不做网络写出；
+     * 队列满时丢弃新帧，不阻塞同步/行情刷新线程
+     */
+    @Bean("stockPushExecutor")
+    public ThreadPoolTaskExecutor stockPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("stock-push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 服务端推送写出线程池
+     * 每个连接同时最多一个写出任务（按连接串行写出），慢连接只占用一个线程；
+     * 队列满时拒绝，帧留在连接的发送队列中，下一次入队时重新调度
+     */
+    @Bean("stockPushSendExecutor")
+    public ThreadPoolTaskExecutor stockPushSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("stock-push-send-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Python异步调用的响应解析线程池
+     * 异步HTTP客户端的IO线程只负责收发，收到完整响应后在这里解析（行情/股票池响应较大，不能占用IO线程）；
+     * 队列满时拒绝，对应的调用以异常结束
+     */
+    @Bean("pythonApiAsyncExecutor")
+    public ThreadPoolTaskExecutor pythonApiAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("python-api-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Python接口健康探测线程池
+     * 同一个接口同时只有一个探测；探测可能等到接口超时，不能占用定时任务线程
+     */
+    @Bean("apiHealthProbeExecutor")
+    public ThreadPoolTaskExecutor apiHealthProbeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(32);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("api-health-probe-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,77 @@
+package com.liuzhq.stock.BaseInfo.controller;
+
+import com.liuzhq.common.response.ResultModel;
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import com.liuzhq.stock.BaseInfo.service.AbnormalEventService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 盘面异动事件接口
+ */
+@RestController
+@RequestMapping("/baseInfo/event")
+@Api(tags = "盘面异动事件接口")
+@Slf4j
+public class AbnormalEventController {
+
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private AbnormalEventService abnormalEventService;
+
+    /**
+     * 最近的异动事件（内存），前端带上已收到的最大ID即可增量获取
+     */
+    @GetMapping("/recent")
+    @ApiOperation("获取最近的盘面异动事件")
+    public ResultModel<List<StockAbnormalEvent>> getRecent(
+            @ApiParam(value = "只返回ID大于该值的事件", required = false)
+            @RequestParam(required = false) Long sinceId,
+            @ApiParam(value = "股票代码（如603986.SS）", required = false)
+            @RequestParam(required = false) String stockCode,
+            @ApiParam(value = "最多返回条数，默认100", required = false)
+            @RequestParam(defaultValue = "100") Integer limit) {
+        int size = Math.min(Math.max(1, limit), MAX_LIMIT);
+        return ResultModel.success(abnormalEventService.recent(sinceId, stockCode, size), "获取成功");
+    }
+
+    /**
+     * 指定交易日的异动事件（数据库）
+     */
+    @GetMapping("/history")
+    @ApiOperation("查询指定交易日的盘面异动事件")
+    public ResultModel<List<StockAbnormalEvent>> getHistory(
+            @ApiParam(value = "交易日期，格式yyyy-MM-dd", required = true)
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate,
+            @ApiParam(value = "股票代码（如603986.SS）", required = false)
+            @RequestParam(required = false) String stockCode) {
+        try {
+            return ResultModel.success(abnormalEventService.queryByDate(tradeDate, stockCode), "查询成功");
+        } catch (Exception e) {
+            log.error("查询盘面异动事件失败，日期：{}", tradeDate, e);
+            return ResultModel.error("查询盘面异动事件失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 拉取状态
+     */
+    @GetMapping("/stats")
+    @ApiOperation("获取盘面异动事件拉取状态")
+    public ResultModel<Map<String, Object>> getStats() {
+        return ResultModel.success(abnormalEventService.getStats(), "获取成功");
+    }
+}
@@ -0,0 +1,56 @@
+package com.liuzhq.stock.BaseInfo.controller;
+
+import com.liuzhq.common.response.ResultModel;
+import com.liuzhq.stock.BaseInfo.dto.PlateStatDto;
+import com.liuzhq.stock.BaseInfo.service.PlateAggregationService;
+import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 板块统计接口
+ */
+@RestController
+@RequestMapping("/baseInfo/plate")
+@Api(tags = "板块统计接口")
+@Slf4j
+public class PlateController {
+
+    @Autowired
+    private PlateAggregationService plateAggregationService;
+
+    @Autowired
+    private SysHolidayService sysHolidayService;
+
+    /**
+     * 热门板块TopN
+     */
+    @GetMapping("/top")
+    @ApiOperation("热门板块TopN")
+    public ResultModel<List<PlateStatDto>> topPlates(
+            @ApiParam(value = "交易日期，格式yyyy-MM-dd，默认当天", required = false)
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate,
+            @ApiParam(value = "返回条数，默认10", required = false)
+            @RequestParam(defaultValue = "10") Integer limit,
+            @ApiParam(value = "排序方式（zt=涨停家数, ladder=连板高度, change=平均涨幅, broken=炸板家数, dt=跌停家数），默认zt", required = false)
+            @RequestParam(defaultValue = "zt") String sortBy) {
+        try {
+            LocalDate validTradeDate = sysHolidayService.getValidTradeDate(tradeDate == null ? LocalDate.now() : tradeDate);
+            return ResultModel.success(plateAggregationService.topPlates(validTradeDate, limit, sortBy), "查询成功");
+        } catch (Exception e) {
+            log.error("查询热门板块失败，日期：{}", tradeDate, e);
+            return ResultModel.error("查询热门板块失败：" + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.liuzhq.stock.BaseInfo.controller;
+
+import com.liuzhq.common.response.ResultModel;
+import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
+import com.liuzhq.stock.BaseInfo.config.ApiConfigManager;
+import com.liuzhq.stock.BaseInfo.config.ApiHealthChecker;
+import com.liuzhq.stock.BaseInfo.dto.ApiHealthDto;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Python 服务调用状态接口
+ */
+@RestController
+@RequestMapping("/baseInfo/pythonApi")
+@Api(tags = "Python服务调用状态接口")
+public class PythonApiController {
+
+    @Autowired
+    private PythonApiClient pythonApiClient;
+
+    @Autowired
+    private ApiHealthChecker apiHealthChecker;
+
+    @Autowired
+    private ApiConfigManager apiConfigManager;
+
+    /**
+     * 当前API配置的版本、来源和加载时间
+     */
+    @GetMapping("/config")
+    @ApiOperation("获取当前API配置信息")
+    public ResultModel<Map<String, Object>> getConfigInfo() {
+        return ResultModel.success(apiConfigManager.getConfigInfo(), "获取成功");
+    }
+
+    /**
+     * 立即重新加载API配置（文件未变化或加载失败时保留当前配置）
+     */
+    @PostMapping("/config/reload")
+    @ApiOperation("重新加载API配置")
+    public ResultModel<Map<String, Object>> reloadConfig() {
+        boolean reloaded = apiConfigManager.refreshConfigs();
+        return ResultModel.success(apiConfigManager.getConfigInfo(), reloaded ? "已重新加载" : "配置未变化或加载失败，保留当前配置");
+    }
+
+    /**
+     * 各接口健康状态（p50/p99耗时、失败率、熔断器状态、实际超时）
+     */
+    @GetMapping("/health")
+    @ApiOperation("获取Python接口健康状态")
+    public ResultModel<List<ApiHealthDto>> getHealth() {
+        return ResultModel.success(apiHealthChecker.getHealthStatus(), "获取成功");
+    }
+
+    /**
+     * 连接池、熔断器与并发隔离统计
+     */
+    @GetMapping("/stats")
+    @ApiOperation("获取Python服务连接池及熔断统计")
+    public ResultModel<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connectionPool", pythonApiClient.getConnectionPoolStats());
+        stats.put("asyncConnectionPool", pythonApiClient.getAsyncConnectionPoolStats());
+        stats.put("guard", pythonApiClient.getGuardStats());
+        return ResultModel.success(stats, "获取成功");
+    }
+}
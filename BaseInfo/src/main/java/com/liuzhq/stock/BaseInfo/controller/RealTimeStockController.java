@@ -1,20 +1,42 @@
 package com.liuzhq.stock.BaseInfo.controller;
 
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.liuzhq.common.response.ResultModel;
-import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
+import com.liuzhq.stock.BaseInfo.dto.MarketBreadthDto;
+import com.liuzhq.stock.BaseInfo.dto.QuoteDto;
+import com.liuzhq.stock.BaseInfo.dto.SeriesPointDto;
+import com.liuzhq.stock.BaseInfo.dto.StockSearchDto;
+import com.liuzhq.stock.BaseInfo.quote.Board;
+import com.liuzhq.stock.BaseInfo.quote.MarketCapBucket;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteRanking;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.RankingFilter;
+import com.liuzhq.stock.BaseInfo.service.IntradaySeriesService;
+import com.liuzhq.stock.BaseInfo.service.MarketBreadthService;
+import com.liuzhq.stock.BaseInfo.service.QuoteRankingService;
+import com.liuzhq.stock.BaseInfo.service.QuoteSnapshotService;
+import com.liuzhq.stock.BaseInfo.service.StockSearchService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * 实时行情数据接口控制器
  */
@@ -28,32 +50,30 @@ import org.springframework.web.bind.annotation.RestController;
 public class RealTimeStockController {
 
     @Autowired
-    private PythonApiClient pythonApiClient;
+    private QuoteSnapshotService quoteSnapshotService;
+
+    @Autowired
+    private QuoteRankingService quoteRankingService;
+
+    @Autowired
+    private StockSearchService stockSearchService;
+
+    @Autowired
+    private MarketBreadthService marketBreadthService;
+
+    @Autowired
+    private IntradaySeriesService intradaySeriesService;
 
     /**
-     * 获取A股实时行情数据
+     * 获取A股实时行情数据（读取定时刷新的内存行情快照，不再单独调用Python实时行情接口）
      */
     @GetMapping("/a/realtime")
     @ApiOperation("获取A股实时行情")
     public ResultModel<JSONObject> getRealTimeData() {
         log.info("调用实时行情接口获取A股实时数据");
         try {
-            String response = pythonApiClient.getRealTimeStockData();
-
-            if (StringUtils.isBlank(response)) {
-                log.warn("Python实时行情接口返回空响应");
-                return ResultModel.success(new JSONObject(), "暂无数据");
-            }
-
-            JSONObject result = JSONObject.parseObject(response);
-            Integer code = result.getInteger("code");
-            if (code == null || code != 200) {
-                String msg = result.getString("msg") != null ? result.getString("msg") : "未知错误";
-                log.error("Python实时行情接口业务异常：{}", msg);
-                return ResultModel.error("获取实时行情数据失败：" + msg);
-            }
-
-            return ResultModel.success(result, "获取成功");
+            QuoteSnapshot snapshot = quoteSnapshotService.current();
+            return ResultModel.success(quoteSnapshotService.toJson(snapshot), "获取成功").withFreshness(snapshot.toFreshness());
         } catch (Exception e) {
             log.error("调用Python实时行情接口失败", e);
             return ResultModel.error("获取实时行情数据失败：" + e.getMessage());
@@ -61,142 +81,189 @@ public class RealTimeStockController {
     }
 
     /**
-     * 获取沪深京A股实时行情统计数据
+     * 获取沪深京A股实时行情统计数据（随行情快照增量更新，不再调用Python统计接口）
      */
     @GetMapping("/a/statistics")
     @ApiOperation("获取A股实时行情统计数据")
-    public ResultModel<JSONObject> getRealTimeStatistics() {
-        log.info("调用实时行情统计接口");
+    public ResultModel<MarketBreadthDto> getRealTimeStatistics() {
         try {
-            String response = pythonApiClient.getRealTimeStatistics();
+            MarketBreadthDto statistics = marketBreadthService.getStatistics();
+            return ResultModel.success(statistics, "获取成功")
+                    .withFreshness(marketBreadthService.current().getSnapshot().toFreshness());
+        } catch (Exception e) {
+            log.error("获取实时行情统计数据失败", e);
+            return ResultModel.error("获取实时行情统计数据失败：" + e.getMessage());
+        }
+    }
 
-            if (StringUtils.isBlank(response)) {
-                log.warn("Python实时行情统计接口返回空响应");
-                return ResultModel.success(new JSONObject(), "暂无数据");
-            }
+    /**
+     * 按股票代码查询实时行情（读取内存快照）
+     */
+    @GetMapping("/quote")
+    @ApiOperation("按股票代码查询实时行情")
+    public ResultModel<List<QuoteDto>> getQuotes(
+            @ApiParam(value = "股票代码，多个以逗号分隔", required = true)
+            @RequestParam String symbols) {
+        try {
+            List<String> symbolList = Arrays.stream(symbols.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotBlank)
+                    .collect(Collectors.toList());
+            QuoteSnapshot snapshot = quoteSnapshotService.current();
+            return ResultModel.success(quoteSnapshotService.getQuotes(snapshot, symbolList), "获取成功")
+                    .withFreshness(snapshot.toFreshness());
+        } catch (Exception e) {
+            log.error("查询实时行情失败，股票代码：{}", symbols, e);
+            return ResultModel.error("查询实时行情失败：" + e.getMessage());
+        }
+    }
 
-            JSONObject result = JSONObject.parseObject(response);
-            Integer code = result.getInteger("code");
-            if (code == null || code != 200) {
-                String msg = result.getString("msg") != null ? result.getString("msg") : "未知错误";
-                log.error("Python实时行情统计接口业务异常：{}", msg);
-                return ResultModel.error("获取实时行情统计数据失败：" + msg);
-            }
+    /**
+     * 单只股票当日分时序列（默认每分钟一个点）
+     */
+    @GetMapping("/series")
+    @ApiOperation("获取单只股票分时序列")
+    public ResultModel<List<SeriesPointDto>> getSeries(
+            @ApiParam(value = "股票代码", required = true)
+            @RequestParam String symbol,
+            @ApiParam(value = "交易日（yyyy-MM-dd），默认最近一个交易日", required = false)
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate) {
+        try {
+            return ResultModel.success(intradaySeriesService.series(symbol, tradeDate), "获取成功");
+        } catch (Exception e) {
+            log.error("获取分时序列失败，股票代码：{}", symbol, e);
+            return ResultModel.error("获取分时序列失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 分时序列缓冲区状态
+     */
+    @GetMapping("/series/stats")
+    @ApiOperation("获取分时序列缓冲区状态")
+    public ResultModel<Map<String, Object>> getSeriesStats() {
+        return ResultModel.success(intradaySeriesService.getStats(), "获取成功");
+    }
 
-            return ResultModel.success(result, "获取成功");
+    /**
+     * 指定时间的全市场（或指定股票）横截面
+     */
+    @GetMapping("/cross-section")
+    @ApiOperation("获取指定时间的行情横截面")
+    public ResultModel<List<SeriesPointDto>> getCrossSection(
+            @ApiParam(value = "时间（HH:mm:ss），取不晚于该时间的最近一次快照", required = true)
+            @RequestParam @DateTimeFormat(pattern = "HH:mm:ss") LocalTime time,
+            @ApiParam(value = "股票代码，多个以逗号分隔，默认全部", required = false)
+            @RequestParam(required = false) String symbols,
+            @ApiParam(value = "交易日（yyyy-MM-dd），默认最近一个交易日", required = false)
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate) {
+        try {
+            List<String> symbolList = StringUtils.isBlank(symbols) ? Collections.emptyList()
+                    : Arrays.stream(symbols.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotBlank)
+                    .collect(Collectors.toList());
+            return ResultModel.success(intradaySeriesService.crossSection(time, symbolList, tradeDate), "获取成功");
         } catch (Exception e) {
-            log.error("调用Python实时行情统计接口失败", e);
-            return ResultModel.error("获取实时行情统计数据失败：" + e.getMessage());
+            log.error("获取行情横截面失败，时间：{}", time, e);
+            return ResultModel.error("获取行情横截面失败：" + e.getMessage());
         }
     }
 
     /**
-     * 搜索股票
+     * 搜索股票（代码、名称、拼音首字母，读取内存索引）
      */
     @GetMapping("/search")
     @ApiOperation("搜索股票")
     public ResultModel<JSONObject> searchStock(
-            @ApiParam(value = "搜索关键词", required = true)
+            @ApiParam(value = "搜索关键词：股票代码、名称或拼音首字母", required = true)
             @RequestParam String keyword,
-            @ApiParam(value = "返回数量，默认10", required = false)
+            @ApiParam(value = "返回数量，默认10，最多50", required = false)
             @RequestParam(defaultValue = "10") Integer limit) {
-        log.info("调用股票搜索接口，关键词：{}，限制：{}", keyword, limit);
+        log.debug("调用股票搜索接口，关键词：{}，限制：{}", keyword, limit);
 
         try {
-            String response = pythonApiClient.searchStock(keyword, limit);
+            List<StockSearchDto> data = stockSearchService.search(keyword, limit);
 
-            if (StringUtils.isBlank(response)) {
-                log.warn("Python股票搜索接口返回空响应，关键词：{}", keyword);
-                return ResultModel.success(new JSONObject(), "未找到匹配的股票");
-            }
-
-            JSONObject result = JSONObject.parseObject(response);
-            Integer code = result.getInteger("code");
-            if (code == null || code != 200) {
-                String msg = result.getString("msg") != null ? result.getString("msg") : "未知错误";
-                log.error("Python股票搜索接口业务异常：{}", msg);
-                return ResultModel.error("搜索股票失败：" + msg);
-            }
-
-            return ResultModel.success(result, "搜索成功");
+            JSONObject result = new JSONObject();
+            result.put("keyword", keyword);
+            result.put("data", data);
+            result.put("count", data.size());
+            return ResultModel.success(result, data.isEmpty() ? "未找到匹配的股票" : "搜索成功");
         } catch (Exception e) {
-            log.error("调用Python股票搜索接口失败，关键词：{}", keyword, e);
+            log.error("搜索股票失败，关键词：{}", keyword, e);
             return ResultModel.error("搜索股票失败：" + e.getMessage());
         }
     }
 
     /**
-     * 获取实时行情中的涨跌幅排行榜
+     * 获取实时行情排行榜（基于内存行情快照，不再调用Python统计接口）
      */
     @GetMapping("/rankings")
-    @ApiOperation("获取实时行情涨跌幅排行榜")
+    @ApiOperation("获取实时行情排行榜")
     public ResultModel<JSONObject> getRankings(
-            @ApiParam(value = "排行榜类型：price(价格), change(涨跌幅), volume(成交量)", required = true)
+            @ApiParam(value = "排行字段：price(价格), change(涨跌幅), volume(成交量)，或任意行情字段名如 turnover_rate、price_speed", required = true)
             @RequestParam String type,
+            @ApiParam(value = "排序方向：desc(默认)、asc", required = false)
+            @RequestParam(defaultValue = "desc") String order,
             @ApiParam(value = "返回数量，默认10", required = false)
-            @RequestParam(defaultValue = "10") Integer limit) {
-        log.info("调用实时行情排行榜接口，类型：{}，限制：{}", type, limit);
+            @RequestParam(defaultValue = "10") Integer limit,
+            @ApiParam(value = "板块：sh(沪市主板)、kcb(科创板)、sz(深市主板)、cyb(创业板)、bj(北交所)", required = false)
+            @RequestParam(required = false) String board,
+            @ApiParam(value = "ST筛选：true 只看ST，false 排除ST，不传不限", required = false)
+            @RequestParam(required = false) Boolean st,
+            @ApiParam(value = "市值分档：small(50亿以下)、mid(50-200亿)、large(200-1000亿)、mega(1000亿以上)", required = false)
+            @RequestParam(required = false) String capBucket) {
+        log.info("调用实时行情排行榜接口，类型：{}，排序：{}，限制：{}", type, order, limit);
 
         try {
-            // 调用实时统计接口获取排行榜数据
-            String response = pythonApiClient.getRealTimeStatistics();
-
-            if (StringUtils.isBlank(response)) {
-                log.warn("Python实时行情统计接口返回空响应");
-                return ResultModel.success(new JSONObject(), "暂无排行榜数据");
+            QuoteField field = getRankingFieldByType(type);
+            if (field == null) {
+                return ResultModel.error("不支持的排行榜类型：" + type);
             }
-
-            JSONObject result = JSONObject.parseObject(response);
-            Integer code = result.getInteger("code");
-            if (code == null || code != 200) {
-                String msg = result.getString("msg") != null ? result.getString("msg") : "未知错误";
-                log.error("Python实时行情统计接口业务异常：{}", msg);
-                return ResultModel.error("获取排行榜数据失败：" + msg);
+            RankingFilter filter = new RankingFilter();
+            if (StringUtils.isNotBlank(board)) {
+                filter.setBoard(Board.of(board));
+                if (filter.getBoard() == null) {
+                    return ResultModel.error("不支持的板块：" + board);
+                }
             }
-
-            // 从统计结果中提取相应的排行榜数据
-            JSONObject statistics = result.getJSONObject("statistics");
-            String rankingField = getRankingFieldByType(type);
-
-            if (statistics.containsKey(rankingField)) {
-                JSONArray rankingData = statistics.getJSONArray(rankingField);
-                if (rankingData != null && !rankingData.isEmpty()) {
-                    // 限制返回数量
-                    JSONArray limitedData = new JSONArray();
-                    int count = Math.min(limit, rankingData.size());
-                    for (int i = 0; i < count; i++) {
-                        limitedData.add(rankingData.get(i));
-                    }
-
-                    JSONObject responseData = new JSONObject();
-                    responseData.put("type", type);
-                    responseData.put("limit", limit);
-                    responseData.put("data", limitedData);
-                    responseData.put("total", rankingData.size());
-
-                    return ResultModel.success(responseData, "获取排行榜数据成功");
-                } else {
-                    return ResultModel.success(new JSONObject(), "暂无该类型的排行榜数据");
+            if (StringUtils.isNotBlank(capBucket)) {
+                filter.setCapBucket(MarketCapBucket.of(capBucket));
+                if (filter.getCapBucket() == null) {
+                    return ResultModel.error("不支持的市值分档：" + capBucket);
                 }
-            } else {
-                return ResultModel.error("不支持的排行榜类型：" + type);
             }
+            filter.setSt(st);
+
+            QuoteRanking ranking = quoteRankingService.current();
+            List<QuoteDto> rankingData = quoteRankingService.top(ranking, field, "asc".equalsIgnoreCase(order), limit, filter);
+
+            JSONObject responseData = new JSONObject();
+            responseData.put("type", type);
+            responseData.put("field", field.getJsonName());
+            responseData.put("order", "asc".equalsIgnoreCase(order) ? "asc" : "desc");
+            responseData.put("limit", limit);
+            responseData.put("data", rankingData);
+            responseData.put("total", ranking.count(filter));
+
+            return ResultModel.success(responseData, "获取排行榜数据成功").withFreshness(ranking.getSnapshot().toFreshness());
         } catch (Exception e) {
             log.error("获取排行榜数据失败，类型：{}", type, e);
             return ResultModel.error("获取排行榜数据失败：" + e.getMessage());
         }
     }
 
-    private String getRankingFieldByType(String type) {
+    private QuoteField getRankingFieldByType(String type) {
         switch (type.toLowerCase()) {
             case "price":
-                return "top_price";
+                return QuoteField.CURRENT_PRICE;
             case "change":
-                return "top_change";
+                return QuoteField.CHANGE_PERCENT;
             case "volume":
-                return "top_volume";
+                return QuoteField.VOLUME;
             default:
-                return "top_change"; // 默认按涨跌幅排序
+                return QuoteField.of(type);
         }
     }
 }
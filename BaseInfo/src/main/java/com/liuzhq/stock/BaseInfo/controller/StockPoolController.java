@@ -3,6 +3,8 @@ package com.liuzhq.stock.BaseInfo.controller;
 import com.liuzhq.common.response.ResultModel;
 import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
 import com.liuzhq.stock.BaseInfo.dto.StockPoolDto;
+import com.liuzhq.stock.BaseInfo.dto.StockPoolSyncReport;
+import com.liuzhq.stock.BaseInfo.dto.innerClass.PoolSyncResult;
 import com.liuzhq.stock.BaseInfo.service.StockPoolService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -15,6 +17,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 股票池数据接口 - 修复404问题并使用新API客户端
@@ -32,37 +37,36 @@ public class StockPoolController {
     @Autowired
     private PythonApiClient pythonApiClient;
 
+    /**
+     * 同步指定股票池数据（异步返回，等待Python响应期间不占用请求线程）
+     */
     @ApiOperation("同步指定股票池数据")
     @PostMapping("/sync/{poolKey}")
-    public ResultModel<String> syncStockPool(
+    public CompletableFuture<ResultModel<PoolSyncResult>> syncStockPool(
             @ApiParam(value = "股票池类型（zt=涨停池, dt=跌停池, yesterday_zt=昨日涨停, broken_zt=炸板池, super_stock=强势股池）", required = true)
             @PathVariable String poolKey,
             @ApiParam(value = "交易日期，格式yyyy-MM-dd，默认当天", required = false)
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate) {
         log.info("开始同步股票池数据，类型：{}，日期：{}", poolKey, tradeDate);
 
-        try {
-            boolean success = StringUtils.isEmpty(tradeDate.toString()) ?
-                    stockPoolService.syncStockPoolData(poolKey) :
-                    stockPoolService.syncStockPoolData(poolKey, tradeDate);
-
-            if (success) {
-                return ResultModel.success("股票池数据同步成功");
-            } else {
-                return ResultModel.error("股票池数据同步失败");
-            }
-        } catch (Exception e) {
-            log.error("同步股票池数据失败，类型：{}", poolKey, e);
-            return ResultModel.error("同步股票池数据失败：" + e.getMessage());
-        }
+        return stockPoolService.syncStockPoolDataAsync(poolKey, tradeDate == null ? LocalDate.now() : tradeDate)
+                .handle((poolResult, e) -> {
+                    if (e != null) {
+                        Throwable cause = unwrap(e);
+                        log.error("同步股票池数据失败，类型：{}", poolKey, cause);
+                        return ResultModel.error("同步股票池数据失败：" + cause.getMessage());
+                    }
+                    return ResultModel.success(poolResult, "股票池数据同步成功，新增" + poolResult.getInsertCount()
+                            + "条，更新" + poolResult.getUpdateCount() + "条");
+                });
     }
 
     /**
-     * 查询指定日期的股票池数据
+     * 查询指定日期的股票池数据（本地无数据时异步同步，等待Python响应期间不占用请求线程）
      */
     @GetMapping("/query")
     @ApiOperation("查询指定日期的股票池数据")
-    public ResultModel<List<StockPoolDto>> queryStockPool(
+    public CompletableFuture<ResultModel<List<StockPoolDto>>> queryStockPool(
             @ApiParam(value = "交易日期，格式yyyy-MM-dd", required = true)
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate,
             @ApiParam(value = "股票池类型", required = true)
@@ -71,13 +75,21 @@ public class StockPoolController {
             @RequestParam(defaultValue = "1") Integer notShowSt) {
         log.info("查询股票池数据，日期：{}，类型：{}，是否显示ST：{}", tradeDate, poolType, notShowSt);
 
+        CompletableFuture<List<StockPoolDto>> future;
         try {
-            List<StockPoolDto> result = stockPoolService.queryByDateAndPoolType(tradeDate, poolType, notShowSt);
-            return ResultModel.success(result, "查询成功");
+            future = stockPoolService.queryByDateAndPoolType(tradeDate, poolType, notShowSt);
         } catch (Exception e) {
             log.error("查询股票池数据失败", e);
-            return ResultModel.error("查询股票池数据失败：" + e.getMessage());
+            return CompletableFuture.completedFuture(ResultModel.error("查询股票池数据失败：" + e.getMessage()));
         }
+        return future.handle((result, e) -> {
+            if (e != null) {
+                Throwable cause = unwrap(e);
+                log.error("查询股票池数据失败", cause);
+                return ResultModel.error("查询股票池数据失败：" + cause.getMessage());
+            }
+            return ResultModel.success(result, "查询成功");
+        });
     }
 
     /**
@@ -102,23 +114,40 @@ public class StockPoolController {
     }
 
     /**
-     * 同步所有股票池数据
+     * 同步所有股票池数据（并发拉取，各股票池分别比对写入；异步返回，等待Python响应期间不占用请求线程）
      */
     @PostMapping("/syncAll")
     @ApiOperation("同步所有股票池数据")
-    public ResultModel<String> syncAllStockPool() {
-        log.info("开始同步所有股票池数据");
+    public CompletableFuture<ResultModel<StockPoolSyncReport>> syncAllStockPool(
+            @ApiParam(value = "交易日期，格式yyyy-MM-dd，默认当天", required = false)
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate tradeDate) {
+        log.info("开始同步所有股票池数据，日期：{}", tradeDate);
 
-        try {
-            boolean success = stockPoolService.syncAllStockPoolData();
-            if (success) {
-                return ResultModel.success("所有股票池数据同步成功");
-            } else {
-                return ResultModel.error("所有股票池数据同步失败");
-            }
-        } catch (Exception e) {
-            log.error("同步所有股票池数据失败", e);
-            return ResultModel.error("同步所有股票池数据失败：" + e.getMessage());
-        }
+        return stockPoolService.syncAllStockPoolDataAsync(tradeDate == null ? LocalDate.now() : tradeDate)
+                .handle((report, e) -> {
+                    if (e != null) {
+                        Throwable cause = unwrap(e);
+                        log.error("同步所有股票池数据失败", cause);
+                        return ResultModel.error("同步所有股票池数据失败：" + cause.getMessage());
+                    }
+                    if (report.isAllSuccess()) {
+                        return ResultModel.success(report, "所有股票池数据同步成功");
+                    } else {
+                        return ResultModel.error(report, "部分股票池数据同步失败");
+                    }
+                });
+    }
+
+    /**
+     * 查询未命中触发同步的合并统计
+     */
+    @GetMapping("/sync/stats")
+    @ApiOperation("查询同步请求合并统计")
+    public ResultModel<Map<String, Object>> syncStats() {
+        return ResultModel.success(stockPoolService.getSyncStats());
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 }
@@ -0,0 +1,65 @@
+package com.liuzhq.stock.BaseInfo.controller;
+
+import com.liuzhq.common.response.ResultModel;
+import com.liuzhq.stock.BaseInfo.service.StockPushService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 服务端推送接口（SSE）
+ * 前端先通过查询接口加载全量数据，再订阅推送只接收变化；断线后 EventSource 自动重连并带上 Last-Event-ID 补发
+ */
+@RestController
+@RequestMapping("/baseInfo/push")
+@Api(tags = "服务端推送接口")
+@Slf4j
+public class StockPushController {
+
+    @Autowired
+    private StockPushService stockPushService;
+
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation("订阅股票池/行情/异动变化推送")
+    public SseEmitter subscribe(
+            @ApiParam(value = "订阅主题，逗号分隔（pool=股票池变化, quote=股票池内股票价格, event=盘面异动），默认全部", required = false)
+            @RequestParam(required = false) String topics,
+            @ApiParam(value = "断线重连时收到的最后一个事件ID（EventSource 自动携带）", required = false)
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @ApiParam(value = "最后一个事件ID（无法设置请求头时使用）", required = false)
+            @RequestParam(required = false) Long lastId) {
+        Set<String> topicSet = StringUtils.isBlank(topics) ? null : Arrays.stream(topics.split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toSet());
+        try {
+            return stockPushService.subscribe(topicSet, lastEventId != null ? lastEventId : lastId);
+        } catch (IllegalStateException e) {
+            log.warn("建立推送连接失败：{}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/stats")
+    @ApiOperation("获取推送状态")
+    public ResultModel<Map<String, Object>> getStats() {
+        return ResultModel.success(stockPushService.getStats(), "获取成功");
+    }
+}
@@ -0,0 +1,59 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * Python接口健康状态
+ */
+@Data
+public class ApiHealthDto {
+
+    @ApiModelProperty("接口名称")
+    private String apiName;
+
+    @ApiModelProperty("数据提供方")
+    private String provider;
+
+    @ApiModelProperty("状态：UNKNOWN/UP/DEGRADED/DOWN")
+    private String status;
+
+    @ApiModelProperty("熔断器状态：CLOSED/OPEN/HALF_OPEN，还没有调用过时为空")
+    private String breakerState;
+
+    @ApiModelProperty("统计窗口内的调用数（含健康探测）")
+    private long calls;
+
+    @ApiModelProperty("统计窗口内的失败率")
+    private double errorRate;
+
+    @ApiModelProperty("p50耗时（毫秒，取所在区间上界）")
+    private long p50;
+
+    @ApiModelProperty("p99耗时（毫秒，取所在区间上界）")
+    private long p99;
+
+    @ApiModelProperty("p99耗时目标（毫秒）")
+    private long sloMillis;
+
+    @ApiModelProperty("配置的读取超时（毫秒）")
+    private int timeoutMillis;
+
+    @ApiModelProperty("实际使用的读取超时（毫秒），状态正常时按p99收紧")
+    private int effectiveTimeoutMillis;
+
+    @ApiModelProperty("连续失败次数")
+    private int consecutiveFailures;
+
+    @ApiModelProperty("当前的探测间隔（毫秒）")
+    private long probeIntervalMillis;
+
+    @ApiModelProperty("最近一次业务调用时间（毫秒时间戳）")
+    private long lastCallAt;
+
+    @ApiModelProperty("最近一次健康探测时间（毫秒时间戳）")
+    private long lastProbeAt;
+
+    @ApiModelProperty("最近一次失败原因")
+    private String lastError;
+}
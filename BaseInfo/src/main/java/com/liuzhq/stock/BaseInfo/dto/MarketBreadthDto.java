@@ -0,0 +1,90 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 沪深京A股实时行情统计（市场宽度）
+ */
+@Data
+public class MarketBreadthDto {
+
+    @ApiModelProperty("交易日")
+    private LocalDate tradeDate;
+
+    @ApiModelProperty("行情快照版本")
+    private long snapshotVersion;
+
+    @ApiModelProperty("股票总数")
+    private int totalCount;
+
+    @ApiModelProperty("正常交易股票数")
+    private int tradingCount;
+
+    @ApiModelProperty("停牌股票数")
+    private int suspendedCount;
+
+    @ApiModelProperty("上涨家数")
+    private int upCount;
+
+    @ApiModelProperty("下跌家数")
+    private int downCount;
+
+    @ApiModelProperty("平盘家数")
+    private int flatCount;
+
+    @ApiModelProperty("涨停家数")
+    private int limitUpCount;
+
+    @ApiModelProperty("跌停家数")
+    private int limitDownCount;
+
+    @ApiModelProperty("涨跌幅分布（区间 -> 家数）")
+    private Map<String, Integer> changeDistribution;
+
+    @ApiModelProperty("平均价格")
+    private double avgPrice;
+
+    @ApiModelProperty("平均涨跌幅（%）")
+    private double avgChangePercent;
+
+    @ApiModelProperty("平均换手率（%）")
+    private double avgTurnoverRate;
+
+    @ApiModelProperty("平均市盈率（只统计市盈率为正的股票）")
+    private double avgPe;
+
+    @ApiModelProperty("平均市净率（只统计市净率为正的股票）")
+    private double avgPb;
+
+    @ApiModelProperty("总市值加权平均涨跌幅（%）")
+    private double marketValueWeightedChange;
+
+    @ApiModelProperty("流通市值加权平均涨跌幅（%）")
+    private double circulatingValueWeightedChange;
+
+    @ApiModelProperty("总市值")
+    private double totalMarketValue;
+
+    @ApiModelProperty("流通市值")
+    private double circulatingMarketValue;
+
+    @ApiModelProperty("总成交额")
+    private double totalTurnover;
+
+    @ApiModelProperty("总成交量（手）")
+    private double totalVolume;
+
+    @ApiModelProperty("价格前10")
+    private List<QuoteDto> topByPrice;
+
+    @ApiModelProperty("涨幅前10")
+    private List<QuoteDto> topByChange;
+
+    @ApiModelProperty("成交量前10")
+    private List<QuoteDto> topByVolume;
+}
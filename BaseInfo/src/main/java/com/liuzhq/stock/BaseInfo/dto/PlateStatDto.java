@@ -0,0 +1,34 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 板块统计（单个交易日）
+ */
+@Data
+public class PlateStatDto {
+
+    @ApiModelProperty("板块名称")
+    private String plateName;
+
+    @ApiModelProperty("涨停家数")
+    private int ztCount;
+
+    @ApiModelProperty("连板高度（板块内最高连板数）")
+    private int ladderHeight;
+
+    @ApiModelProperty("炸板家数")
+    private int brokenCount;
+
+    @ApiModelProperty("跌停家数")
+    private int dtCount;
+
+    @ApiModelProperty("统计股票数（涨停+炸板+跌停）")
+    private int stockCount;
+
+    @ApiModelProperty("平均涨跌幅（%）")
+    private BigDecimal avgChangePercent;
+}
@@ -0,0 +1,50 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 股票池变化（推送）
+ */
+@Data
+public class PoolChangeDto {
+
+    public static final String LIMIT_UP = "limit_up";
+    public static final String PROMOTION = "promotion";
+    public static final String BROKEN = "broken";
+    public static final String LIMIT_DOWN = "limit_down";
+    public static final String ADDED = "added";
+    public static final String UPDATE = "update";
+
+    @ApiModelProperty("变化类型：limit_up-新涨停，promotion-晋级（连板），broken-炸板，limit_down-跌停，added-新入池，update-数据变化")
+    private String type;
+
+    @ApiModelProperty("股票池类型")
+    private String poolType;
+
+    @ApiModelProperty("股票代码")
+    private String stockCode;
+
+    @ApiModelProperty("股票名称")
+    private String stockName;
+
+    @ApiModelProperty("最新价")
+    private BigDecimal price;
+
+    @ApiModelProperty("涨跌幅（%）")
+    private BigDecimal changePercent;
+
+    @ApiModelProperty("连板天数")
+    private Integer limitDays;
+
+    @ApiModelProperty("炸板次数")
+    private Integer breakLimitTimes;
+
+    @ApiModelProperty("当前封单金额")
+    private BigDecimal currentLockAmount;
+
+    @ApiModelProperty("几天几板")
+    private String mDaysNBoards;
+}
@@ -0,0 +1,23 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 实时价格变化（推送）
+ */
+@Data
+public class QuoteChangeDto {
+
+    @ApiModelProperty("股票代码")
+    private String symbol;
+
+    @ApiModelProperty("最新价")
+    private double price;
+
+    @ApiModelProperty("涨跌幅（%）")
+    private double changePercent;
+
+    @ApiModelProperty("涨速")
+    private double priceSpeed;
+}
@@ -0,0 +1,77 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 实时行情（单只股票）
+ */
+@Data
+public class QuoteDto {
+
+    @ApiModelProperty("股票代码")
+    private String symbol;
+
+    @ApiModelProperty("股票名称")
+    private String name;
+
+    @ApiModelProperty("最新价")
+    private double currentPrice;
+
+    @ApiModelProperty("涨跌幅（%）")
+    private double changePercent;
+
+    @ApiModelProperty("涨跌额")
+    private double changeAmount;
+
+    @ApiModelProperty("成交量（手）")
+    private long volume;
+
+    @ApiModelProperty("成交额")
+    private double turnover;
+
+    @ApiModelProperty("振幅（%）")
+    private double amplitude;
+
+    @ApiModelProperty("最高")
+    private double highPrice;
+
+    @ApiModelProperty("最低")
+    private double lowPrice;
+
+    @ApiModelProperty("今开")
+    private double openPrice;
+
+    @ApiModelProperty("昨收")
+    private double prevClose;
+
+    @ApiModelProperty("量比")
+    private double volumeRatio;
+
+    @ApiModelProperty("换手率（%）")
+    private double turnoverRate;
+
+    @ApiModelProperty("市盈率-动态")
+    private double peDynamic;
+
+    @ApiModelProperty("市净率")
+    private double pbRatio;
+
+    @ApiModelProperty("总市值")
+    private double totalMarketValue;
+
+    @ApiModelProperty("流通市值")
+    private double circulatingMarketValue;
+
+    @ApiModelProperty("涨速（%）")
+    private double priceSpeed;
+
+    @ApiModelProperty("5分钟涨跌（%）")
+    private double fiveMinuteChange;
+
+    @ApiModelProperty("60日涨跌幅（%）")
+    private double sixtyDayChange;
+
+    @ApiModelProperty("年初至今涨跌幅（%）")
+    private double yearToDateChange;
+}
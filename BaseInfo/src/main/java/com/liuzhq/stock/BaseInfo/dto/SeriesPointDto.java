@@ -0,0 +1,31 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalTime;
+
+/**
+ * 分时数据点
+ */
+@Data
+public class SeriesPointDto {
+
+    @ApiModelProperty("股票代码")
+    private String symbol;
+
+    @ApiModelProperty("快照时间")
+    private LocalTime time;
+
+    @ApiModelProperty("最新价")
+    private double price;
+
+    @ApiModelProperty("累计成交量（手）")
+    private long volume;
+
+    @ApiModelProperty("累计成交额")
+    private double turnover;
+
+    @ApiModelProperty("涨速")
+    private double priceSpeed;
+}
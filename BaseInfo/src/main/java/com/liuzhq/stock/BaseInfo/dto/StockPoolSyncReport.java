@@ -0,0 +1,44 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import com.liuzhq.stock.BaseInfo.dto.innerClass.PoolSyncResult;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全部股票池并发同步报告
+ */
+@Data
+public class StockPoolSyncReport {
+
+    @ApiModelProperty("同步的交易日期")
+    private LocalDate tradeDate;
+
+    @ApiModelProperty("总耗时（毫秒），取决于最慢的股票池")
+    private long totalCostMillis;
+
+    @ApiModelProperty("写库耗时（毫秒），各股票池写库耗时之和")
+    private long writeCostMillis;
+
+    @ApiModelProperty("新增的记录数")
+    private int insertCount;
+
+    @ApiModelProperty("更新的记录数（盘中数据有变化）")
+    private int updateCount;
+
+    @ApiModelProperty("未变化的记录数（不写库）")
+    private int unchangedCount;
+
+    @ApiModelProperty("各股票池同步明细")
+    private List<PoolSyncResult> pools = new ArrayList<>();
+
+    /**
+     * 是否全部成功
+     */
+    public boolean isAllSuccess() {
+        return pools.stream().allMatch(PoolSyncResult::isSuccess);
+    }
+}
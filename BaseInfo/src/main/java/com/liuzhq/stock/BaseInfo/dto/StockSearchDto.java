@@ -0,0 +1,29 @@
+package com.liuzhq.stock.BaseInfo.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 股票搜索结果
+ */
+@Data
+public class StockSearchDto {
+
+    @ApiModelProperty("股票代码")
+    private String symbol;
+
+    @ApiModelProperty("股票名称")
+    private String name;
+
+    @ApiModelProperty("拼音首字母")
+    private String initials;
+
+    @ApiModelProperty("匹配方式")
+    private String matchType;
+
+    @ApiModelProperty("最新价（不在行情快照中时为空）")
+    private Double currentPrice;
+
+    @ApiModelProperty("涨跌幅（%）（不在行情快照中时为空）")
+    private Double changePercent;
+}
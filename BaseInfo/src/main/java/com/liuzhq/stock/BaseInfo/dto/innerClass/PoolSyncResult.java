@@ -0,0 +1,38 @@
+package com.liuzhq.stock.BaseInfo.dto.innerClass;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+/**
+ * 单个股票池的同步结果
+ */
+@Data
+public class PoolSyncResult {
+
+    @ApiModelProperty("股票池类型")
+    private String poolKey;
+
+    @ApiModelProperty("是否成功")
+    private boolean success;
+
+    @ApiModelProperty("拉取到的记录数")
+    private int rowCount;
+
+    @ApiModelProperty("新增的记录数")
+    private int insertCount;
+
+    @ApiModelProperty("更新的记录数")
+    private int updateCount;
+
+    @ApiModelProperty("未变化的记录数")
+    private int unchangedCount;
+
+    @ApiModelProperty("同步耗时（毫秒），包括拉取、比对和写库")
+    private long costMillis;
+
+    @ApiModelProperty("写库耗时（毫秒），没有变化时为0")
+    private long writeCostMillis;
+
+    @ApiModelProperty("失败原因")
+    private String errorMsg;
+}
@@ -0,0 +1,106 @@
+package com.liuzhq.stock.BaseInfo.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 盘面异动事件实体
+ */
+@Data
+@TableName("t_stock_abnormal_event")
+public class StockAbnormalEvent {
+
+    /** 个股异动事件类型下限（100xx） */
+    public static final int STOCK_EVENT_TYPE_MIN = 10000;
+    /** 板块异动事件类型下限（110xx） */
+    public static final int PLATE_EVENT_TYPE_MIN = 11000;
+
+    /**
+     * 事件ID（选股宝事件id，连续递增）
+     */
+    @TableId(type = IdType.INPUT)
+    private Long id;
+
+    /**
+     * 交易日期
+     */
+    private LocalDate tradeDate;
+
+    /**
+     * 事件时间
+     */
+    private LocalDateTime eventTime;
+
+    /**
+     * 事件类型（100xx-个股异动，110xx-板块异动）
+     */
+    private Integer eventType;
+
+    /**
+     * 方向 1-利好（拉升） 2-利空（下跌）
+     */
+    private Integer direction;
+
+    /**
+     * 事件对象（股票代码或板块ID）
+     */
+    private String target;
+
+    /**
+     * 股票代码（个股异动，如603986.SS）
+     */
+    private String stockCode;
+
+    /**
+     * 股票名称（个股异动）
+     */
+    private String stockName;
+
+    /**
+     * 板块ID（板块异动）
+     */
+    private Long plateId;
+
+    /**
+     * 板块名称（板块异动）
+     */
+    private String plateName;
+
+    /**
+     * 最新价（元）
+     */
+    private BigDecimal price;
+
+    /**
+     * 涨跌幅（%）
+     */
+    private BigDecimal changePercent;
+
+    /**
+     * 异动幅度/涨速（%）
+     */
+    private BigDecimal speedPercent;
+
+    /**
+     * 关联板块/个股（JSON字符串）
+     */
+    private String relatedData;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 是否板块异动
+     */
+    public boolean isPlateEvent() {
+        return eventType != null && eventType >= PLATE_EVENT_TYPE_MIN;
+    }
+}
@@ -4,11 +4,9 @@ import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
-import com.liuzhq.common.utils.JsonUtils;
-import com.liuzhq.stock.BaseInfo.dto.innerClass.RelatedPlate;
+import com.liuzhq.stock.BaseInfo.plate.PlateNameTable;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
-import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,7 +14,6 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * 股票池数据实体
@@ -175,6 +172,11 @@ public class StockPool {
      */
     private String relatedPlates;
 
+    /**
+     * 相关板块名称（入库时由 relatedPlates 解析，| 分隔）
+     */
+    private String plateNames;
+
     /**
      * 创建时间
      */
@@ -190,13 +192,10 @@ public class StockPool {
     private List<String> reasonList = new ArrayList<>();
 
     public void buildStockNameAndReason() {
-        String relatedPlates = StringUtils.defaultIfBlank(getRelatedPlates(), "[]");
-        List<RelatedPlate> relatedPlateList = JsonUtils.parseArray(relatedPlates, RelatedPlate.class);
-        List<String> relatedPlateNameList = relatedPlateList.stream().map(RelatedPlate::getPlateName).collect(Collectors.toList());
-        List<String> relatedPlateReasonList = relatedPlateList.stream().map(RelatedPlate::getPlateReason).collect(Collectors.toList());
-//        setRelatedPlates(getStockReason());
-        setReasonList(relatedPlateNameList);
-//        setStockName(getStockName() + "[" + getPrice() + (reasonList.isEmpty() ? ("," + StringUtils.join(reasonList, ",")) : "") + "]");
-//        setStockReason(StringUtils.defaultIfBlank(StringUtils.join(relatedPlateReasonList, "\n"), null));
+        // 历史数据没有 plate_names，解析一次 JSON 补齐
+        if (getPlateNames() == null) {
+            setPlateNames(PlateNameTable.encodeFromJson(getRelatedPlates()));
+        }
+        setReasonList(PlateNameTable.decode(getPlateNames()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.liuzhq.stock.BaseInfo.event;
+
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+
+import java.util.List;
+
+/**
+ * 盘面异动事件订阅
+ * 实现类注册为 Spring Bean，或通过 AbnormalEventService.subscribe 动态注册；
+ * 回调在拉取线程中同步执行（先于入库），应尽快返回
+ */
+public interface AbnormalEventListener {
+
+    /**
+     * 新事件到达后回调
+     * @param events 本次拉取到的新事件（按id升序，已去重）
+     */
+    void onEvents(List<StockAbnormalEvent> events);
+}
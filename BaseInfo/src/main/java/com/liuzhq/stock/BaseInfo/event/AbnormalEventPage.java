@@ -0,0 +1,28 @@
+package com.liuzhq.stock.BaseInfo.event;
+
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 一次增量拉取的结果
+ */
+@Data
+public class AbnormalEventPage {
+
+    /**
+     * 新事件（按id升序）
+     */
+    private List<StockAbnormalEvent> events;
+
+    /**
+     * 本次拉取到的最大事件ID（无新事件时为请求的 since_id）
+     */
+    private Long lastId;
+
+    /**
+     * 向前翻页达到上限仍未接上 since_id（中间可能有缺口）
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,99 @@
+package com.liuzhq.stock.BaseInfo.event;
+
+import java.util.Arrays;
+
+/**
+ * 事件ID去重位图（事件id连续递增，只需记住最近一段id是否处理过）
+ * 1. 以 base 为起点的固定窗口，每个id占1位，默认65536个id只占8KB
+ * 2. 新id超出窗口时整体前移半个窗口，早于窗口起点的id一律视为已处理（不会再回放旧事件）
+ * 3. 首个id放在窗口中间，启动后仍能识别稍早一些的重复事件
+ */
+public final class EventIdBitmap {
+
+    private final long[] words;
+    /** 窗口起点（64的倍数） */
+    private long base = -1;
+    private long maxId = -1;
+    private int count;
+
+    /**
+     * @param windowBits 窗口大小（id数），向上取整为64的倍数
+     */
+    public EventIdBitmap(int windowBits) {
+        this.words = new long[Math.max(2, (windowBits + 63) >>> 6)];
+    }
+
+    /**
+     * 是否已处理过
+     */
+    public synchronized boolean contains(long id) {
+        if (base < 0) {
+            return false;
+        }
+        if (id < base) {
+            return true;
+        }
+        long offset = id - base;
+        if (offset >= (long) words.length << 6) {
+            return false;
+        }
+        return (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    /**
+     * 记录id
+     * @return 之前未处理过返回 true
+     */
+    public synchronized boolean add(long id) {
+        if (id < 0) {
+            return false;
+        }
+        if (base < 0) {
+            base = Math.max(0, ((id >>> 6) - (words.length >>> 1)) << 6);
+        }
+        if (id < base) {
+            return false;
+        }
+        long offset = id - base;
+        if (offset >= (long) words.length << 6) {
+            slide(id);
+            offset = id - base;
+        }
+        int index = (int) (offset >>> 6);
+        long mask = 1L << offset;
+        if ((words[index] & mask) != 0) {
+            return false;
+        }
+        words[index] |= mask;
+        count++;
+        maxId = Math.max(maxId, id);
+        return true;
+    }
+
+    /**
+     * 已记录的最大id，未记录过返回 -1
+     */
+    public synchronized long getMaxId() {
+        return maxId;
+    }
+
+    /**
+     * 自创建以来记录过的id数
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * 窗口前移，使 id 落在新窗口的中间
+     */
+    private void slide(long id) {
+        long newBase = ((id >>> 6) - (words.length >>> 1)) << 6;
+        int shift = (int) Math.min(words.length, (newBase - base) >>> 6);
+        if (shift < words.length) {
+            System.arraycopy(words, shift, words, 0, words.length - shift);
+        }
+        Arrays.fill(words, words.length - shift, words.length, 0L);
+        base = newBase;
+    }
+}
@@ -0,0 +1,87 @@
+package com.liuzhq.stock.BaseInfo.health;
+
+/**
+ * 单个接口的健康状态：滚动耗时直方图 + 连续失败次数 + 最近一次调用/探测时间
+ * 业务调用和健康探测都计入统计；状态由 ApiHealthRegistry 按阈值判定
+ */
+public class ApiHealth {
+
+    public enum Status {
+        /** 窗口内还没有调用 */
+        UNKNOWN,
+        UP,
+        /** 失败率或 p99 耗时超过阈值 */
+        DEGRADED,
+        /** 连续失败 */
+        DOWN
+    }
+
+    private final String apiName;
+    private final LatencyHistogram histogram;
+
+    private volatile int consecutiveFailures;
+    private volatile long lastCallAt;
+    private volatile long lastProbeAt;
+    private volatile String lastError;
+    private volatile Status status = Status.UNKNOWN;
+
+    public ApiHealth(String apiName, long windowMillis, int slotCount) {
+        this.apiName = apiName;
+        this.histogram = new LatencyHistogram(windowMillis, slotCount);
+    }
+
+    public void record(long latencyMillis, boolean success, String error, boolean probe) {
+        long now = System.currentTimeMillis();
+        histogram.record(latencyMillis, success, now);
+        synchronized (this) {
+            consecutiveFailures = success ? 0 : consecutiveFailures + 1;
+        }
+        if (!success) {
+            lastError = error;
+        }
+        if (probe) {
+            lastProbeAt = now;
+        } else {
+            lastCallAt = now;
+        }
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot(System.currentTimeMillis());
+    }
+
+    public String getApiName() {
+        return apiName;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * 最近一次业务调用或探测的时间
+     */
+    public long getLastActivityAt() {
+        return Math.max(lastCallAt, lastProbeAt);
+    }
+
+    public long getLastCallAt() {
+        return lastCallAt;
+    }
+
+    public long getLastProbeAt() {
+        return lastProbeAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    void setStatus(Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,139 @@
+package com.liuzhq.stock.BaseInfo.health;
+
+import com.liuzhq.stock.BaseInfo.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 各接口的健康状态登记
+ * 1. 业务调用（PythonApiGuard 的调用许可结束时）和健康探测都记录耗时和结果
+ * 2. evaluate 按阈值判定状态：连续失败达到 down-after-failures 为 DOWN；
+ *    窗口内调用数达到 min-samples 且失败率或 p99 超过阈值为 DEGRADED
+ * 3. 状态为 UP 且样本足够时，按 p99 收紧读取超时（不超过 ApiConfig.timeout），慢请求尽早失败
+ */
+@Slf4j
+@Component
+public class ApiHealthRegistry {
+
+    @Value("${python.api.health.window-ms:300000}")
+    private long windowMillis;
+
+    @Value("${python.api.health.slot-count:10}")
+    private int slotCount;
+
+    @Value("${python.api.health.min-samples:5}")
+    private int minSamples;
+
+    @Value("${python.api.health.error-rate-threshold:10}")
+    private int errorRateThreshold;
+
+    @Value("${python.api.health.down-after-failures:3}")
+    private int downAfterFailures;
+
+    @Value("${python.api.health.default-slo-ms:2000}")
+    private long defaultSloMillis;
+
+    @Value("${python.api.health.adaptive-timeout.enabled:true}")
+    private boolean adaptiveTimeoutEnabled;
+
+    @Value("${python.api.health.adaptive-timeout.multiplier:5}")
+    private int adaptiveTimeoutMultiplier;
+
+    @Value("${python.api.health.adaptive-timeout.min-ms:3000}")
+    private int adaptiveTimeoutMinMillis;
+
+    @Value("${python.api.health.adaptive-timeout.min-samples:20}")
+    private int adaptiveTimeoutMinSamples;
+
+    private final Map<String, ApiHealth> healths = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次判定时的统计，按接口名存放（超时计算读取，不在每次请求时合并直方图）
+     */
+    private final Map<String, LatencyHistogram.Snapshot> lastSnapshots = new ConcurrentHashMap<>();
+
+    public ApiHealth healthOf(String apiName) {
+        return healths.computeIfAbsent(apiName, name -> new ApiHealth(name, windowMillis, slotCount));
+    }
+
+    /**
+     * 记录一次调用
+     * @param probe 是否为健康探测
+     */
+    public void record(String apiName, long latencyMillis, boolean success, String error, boolean probe) {
+        healthOf(apiName).record(latencyMillis, success, error, probe);
+    }
+
+    /**
+     * 重新判定接口状态，状态变化时记录日志
+     */
+    public ApiHealth.Status evaluate(ApiConfig config) {
+        ApiHealth health = healthOf(config.getName());
+        LatencyHistogram.Snapshot snapshot = health.snapshot();
+        lastSnapshots.put(config.getName(), snapshot);
+
+        ApiHealth.Status status;
+        if (health.getConsecutiveFailures() >= downAfterFailures) {
+            status = ApiHealth.Status.DOWN;
+        } else if (snapshot.getCalls() == 0) {
+            status = ApiHealth.Status.UNKNOWN;
+        } else if (snapshot.getCalls() >= minSamples
+                && (snapshot.getErrorRate() * 100 >= errorRateThreshold || snapshot.getP99() > sloOf(config))) {
+            status = ApiHealth.Status.DEGRADED;
+        } else if (health.getConsecutiveFailures() > 0) {
+            status = ApiHealth.Status.DEGRADED;
+        } else {
+            status = ApiHealth.Status.UP;
+        }
+
+        ApiHealth.Status previous = health.getStatus();
+        if (status != previous) {
+            health.setStatus(status);
+            if (status == ApiHealth.Status.DOWN || status == ApiHealth.Status.DEGRADED) {
+                log.warn("Python接口{}状态 {} -> {}，调用数{}，失败率{}%，p50={}ms，p99={}ms，目标{}ms，最近错误：{}",
+                        config.getName(), previous, status, snapshot.getCalls(),
+                        Math.round(snapshot.getErrorRate() * 100), snapshot.getP50(), snapshot.getP99(),
+                        sloOf(config), health.getLastError());
+            } else {
+                log.info("Python接口{}状态 {} -> {}", config.getName(), previous, status);
+            }
+        }
+        return status;
+    }
+
+    /**
+     * 最近一次判定时的统计，尚未判定时返回 null
+     */
+    public LatencyHistogram.Snapshot lastSnapshotOf(String apiName) {
+        return lastSnapshots.get(apiName);
+    }
+
+    /**
+     * p99耗时目标
+     */
+    public long sloOf(ApiConfig config) {
+        return config.getSloMillis() > 0 ? config.getSloMillis() : defaultSloMillis;
+    }
+
+    /**
+     * 实际使用的读取超时：状态为 UP 且样本足够时取 max(p99 × multiplier, min-ms)，不超过配置的超时；
+     * 其他状态使用配置的超时，避免在接口变慢时把仍能返回的请求也切断
+     */
+    public int effectiveTimeout(ApiConfig config, int configuredTimeout) {
+        if (!adaptiveTimeoutEnabled) {
+            return configuredTimeout;
+        }
+        ApiHealth health = healths.get(config.getName());
+        LatencyHistogram.Snapshot snapshot = lastSnapshots.get(config.getName());
+        if (health == null || snapshot == null || health.getStatus() != ApiHealth.Status.UP
+                || snapshot.getCalls() < adaptiveTimeoutMinSamples) {
+            return configuredTimeout;
+        }
+        long adaptive = Math.max(snapshot.getP99() * adaptiveTimeoutMultiplier, adaptiveTimeoutMinMillis);
+        return (int) Math.min(adaptive, configuredTimeout);
+    }
+}
@@ -0,0 +1,117 @@
+package com.liuzhq.stock.BaseInfo.health;
+
+import lombok.Data;
+
+import java.util.Arrays;
+
+/**
+ * 滚动时间窗口的耗时直方图
+ * 1. 窗口按时间切成 slotCount 个槽，每个槽记录该时间段内各耗时区间的调用数及失败数，过期的槽在写入时复用
+ * 2. 耗时区间按固定边界划分（毫秒，近似对数分布），分位数取所在区间的上界，内存固定、记录为 O(1)
+ */
+public class LatencyHistogram {
+
+    /** 耗时区间上界（毫秒），最后一个区间为超过最大边界的调用 */
+    private static final long[] BOUNDS = {
+            5, 10, 20, 50, 100, 200, 300, 500, 750, 1000, 1500, 2000, 3000, 5000, 10000, 20000, 30000, 60000
+    };
+
+    private final long slotMillis;
+    private final long[] slotStarts;
+    private final long[][] slotCounts;
+    private final long[] slotErrors;
+
+    /**
+     * @param windowMillis 窗口总时长（毫秒）
+     * @param slotCount 槽数量
+     */
+    public LatencyHistogram(long windowMillis, int slotCount) {
+        this.slotMillis = Math.max(1, windowMillis / slotCount);
+        this.slotStarts = new long[slotCount];
+        this.slotCounts = new long[slotCount][BOUNDS.length + 1];
+        this.slotErrors = new long[slotCount];
+        Arrays.fill(slotStarts, -1);
+    }
+
+    public synchronized void record(long latencyMillis, boolean success, long now) {
+        int slot = slotOf(now);
+        slotCounts[slot][bucketOf(latencyMillis)]++;
+        if (!success) {
+            slotErrors[slot]++;
+        }
+    }
+
+    /**
+     * 合并窗口内各槽的统计
+     */
+    public synchronized Snapshot snapshot(long now) {
+        long[] merged = new long[BOUNDS.length + 1];
+        long calls = 0;
+        long errors = 0;
+        long windowStart = now - slotMillis * slotStarts.length;
+        for (int slot = 0; slot < slotStarts.length; slot++) {
+            if (slotStarts[slot] < 0 || slotStarts[slot] <= windowStart) {
+                continue;
+            }
+            for (int bucket = 0; bucket < merged.length; bucket++) {
+                merged[bucket] += slotCounts[slot][bucket];
+                calls += slotCounts[slot][bucket];
+            }
+            errors += slotErrors[slot];
+        }
+
+        Snapshot snapshot = new Snapshot();
+        snapshot.setCalls(calls);
+        snapshot.setErrors(errors);
+        snapshot.setP50(quantile(merged, calls, 0.5));
+        snapshot.setP99(quantile(merged, calls, 0.99));
+        return snapshot;
+    }
+
+    private int slotOf(long now) {
+        long start = now - now % slotMillis;
+        int slot = (int) ((now / slotMillis) % slotStarts.length);
+        if (slotStarts[slot] != start) {
+            slotStarts[slot] = start;
+            Arrays.fill(slotCounts[slot], 0);
+            slotErrors[slot] = 0;
+        }
+        return slot;
+    }
+
+    private static int bucketOf(long latencyMillis) {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            if (latencyMillis <= BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS.length;
+    }
+
+    private static long quantile(long[] counts, long total, double q) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * q);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return i < BOUNDS.length ? BOUNDS[i] : BOUNDS[BOUNDS.length - 1];
+            }
+        }
+        return BOUNDS[BOUNDS.length - 1];
+    }
+
+    @Data
+    public static class Snapshot {
+        private long calls;
+        private long errors;
+        private long p50;
+        private long p99;
+
+        public double getErrorRate() {
+            return calls == 0 ? 0 : (double) errors / calls;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.liuzhq.stock.BaseInfo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface StockAbnormalEventMapper extends BaseMapper<StockAbnormalEvent> {
+
+    /**
+     * 批量插入数据（忽略重复：事件ID唯一）
+     */
+    int batchInsertIgnore(@Param("list") List<StockAbnormalEvent> eventList);
+
+    /**
+     * 已入库的最大事件ID（启动时作为增量拉取的起点）
+     */
+    Long selectMaxId();
+}
@@ -18,7 +18,7 @@ public interface StockPoolMapper extends BaseMapper<StockPool> {
                                                     @Param("notShowSt") Integer notShowSt);
 
     /**
-     * 批量插入数据（忽略重复）
+     * 批量写入（已存在则只更新盘中会变化的列）
      */
-    int batchInsertIgnore(@Param("list") List<StockPool> stockPoolList);
+    int batchUpsert(@Param("list") List<StockPool> stockPoolList);
 }
\ No newline at end of file
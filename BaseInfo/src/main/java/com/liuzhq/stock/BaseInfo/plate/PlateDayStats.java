@@ -0,0 +1,268 @@
+package com.liuzhq.stock.BaseInfo.plate;
+
+import com.liuzhq.stock.BaseInfo.dto.PlateStatDto;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 单个交易日的板块计数器
+ * 1. 按 (股票池类型, 股票代码) 记录每只股票在各股票池中的数据，同一只股票重复同步时先扣减旧贡献再累加新贡献，保证幂等
+ * 2. 股票池记录不会删除，同一只股票可能同时在多个股票池中（如先涨停后炸板），
+ *    按 跌停 > 涨停 > 炸板 的优先级只取一个股票池计数（炸板后回封的股票同时在炸板池和涨停池中，按涨停计），不重复计算股票数和涨跌幅
+ * 3. 计数器按板块 id（PlateNameTable）存放，只做整数加减，不解析JSON
+ * 4. 从数据库构建期间收到的增量先缓存，数据库记录全部应用后再按到达顺序重放，避免构建结果覆盖更新的增量
+ * 5. 每次变更后重建一份按默认规则排好序的不可变快照，查询直接取快照，不加锁
+ */
+public class PlateDayStats {
+
+    /** 参与统计的股票池：涨停、炸板、跌停 */
+    public static final String POOL_ZT = "zt";
+    public static final String POOL_BROKEN_ZT = "broken_zt";
+    public static final String POOL_DT = "dt";
+
+    /** 同一只股票出现在多个股票池时的计数优先级，靠前的优先 */
+    private static final String[] POOL_PRECEDENCE = {POOL_DT, POOL_ZT, POOL_BROKEN_ZT};
+
+    /** 连板高度分桶上限，超过按上限计 */
+    private static final int MAX_LADDER = 31;
+
+    /** 默认排序：涨停数 > 连板高度 > 平均涨幅 */
+    public static final Comparator<PlateStatDto> DEFAULT_ORDER = Comparator
+            .comparingInt(PlateStatDto::getZtCount).reversed()
+            .thenComparing(Comparator.comparingInt(PlateStatDto::getLadderHeight).reversed())
+            .thenComparing(Comparator.comparing(PlateStatDto::getAvgChangePercent).reversed())
+            .thenComparing(PlateStatDto::getPlateName);
+
+    private final LocalDate tradeDate;
+
+    /** 股票池类型 -> 股票代码 -> 贡献 */
+    private final Map<String, Map<String, Contribution>> contributions = new HashMap<>();
+
+    /** 股票代码 -> 实际计入的 (股票池类型, 贡献) */
+    private final Map<String, Effective> effective = new HashMap<>();
+
+    /** 从数据库构建期间收到的增量，为 null 表示已构建完成 */
+    private List<PendingRows> pendingDuringLoad = new ArrayList<>();
+
+    /** 板块 id -> 计数器 */
+    private final Map<Integer, Counter> counters = new HashMap<>();
+
+    private volatile List<PlateStatDto> snapshot = Collections.emptyList();
+
+    public PlateDayStats(LocalDate tradeDate) {
+        this.tradeDate = tradeDate;
+    }
+
+    public LocalDate getTradeDate() {
+        return tradeDate;
+    }
+
+    /**
+     * 某个股票池同步落地后调用：只处理参与统计的股票池，其余直接忽略
+     * 构建完成前收到的增量先缓存，由 finishLoad 重放
+     * @return 是否有变更
+     */
+    public synchronized boolean apply(String poolKey, List<? extends StockPool> rows) {
+        if (!isTrackedPool(poolKey) || rows == null || rows.isEmpty()) {
+            return false;
+        }
+        if (pendingDuringLoad != null) {
+            pendingDuringLoad.add(new PendingRows(poolKey, new ArrayList<>(rows)));
+            return false;
+        }
+        applyRows(poolKey, rows);
+        rebuildSnapshot();
+        return true;
+    }
+
+    /**
+     * 从数据库构建：先应用库中记录，再重放构建期间收到的增量
+     */
+    public synchronized void finishLoad(Map<String, ? extends List<? extends StockPool>> rowsByPool) {
+        rowsByPool.forEach((poolKey, rows) -> {
+            if (isTrackedPool(poolKey)) {
+                applyRows(poolKey, rows);
+            }
+        });
+        for (PendingRows pending : pendingDuringLoad) {
+            applyRows(pending.poolKey, pending.rows);
+        }
+        pendingDuringLoad = null;
+        rebuildSnapshot();
+    }
+
+    public synchronized boolean isLoaded() {
+        return pendingDuringLoad == null;
+    }
+
+    private void applyRows(String poolKey, List<? extends StockPool> rows) {
+        Map<String, Contribution> poolContributions = contributions.computeIfAbsent(poolKey, key -> new HashMap<>());
+        for (StockPool row : rows) {
+            if (row.getStockCode() == null) {
+                continue;
+            }
+            poolContributions.put(row.getStockCode(), Contribution.of(row));
+            resolve(row.getStockCode());
+        }
+    }
+
+    /**
+     * 按优先级重新确定股票计入的股票池，与当前计入的不同时先扣减再累加
+     */
+    private void resolve(String stockCode) {
+        Effective resolved = null;
+        for (String poolKey : POOL_PRECEDENCE) {
+            Map<String, Contribution> poolContributions = contributions.get(poolKey);
+            Contribution contribution = poolContributions == null ? null : poolContributions.get(stockCode);
+            if (contribution != null) {
+                resolved = new Effective(poolKey, contribution);
+                break;
+            }
+        }
+        Effective current = resolved == null ? effective.remove(stockCode) : effective.put(stockCode, resolved);
+        if (current != null) {
+            accumulate(current.poolKey, current.contribution, -1);
+        }
+        if (resolved != null) {
+            accumulate(resolved.poolKey, resolved.contribution, 1);
+        }
+    }
+
+    /**
+     * 按默认规则排好序的全部板块（不可变）
+     */
+    public List<PlateStatDto> getSnapshot() {
+        return snapshot;
+    }
+
+    public static boolean isTrackedPool(String poolKey) {
+        return POOL_ZT.equals(poolKey) || POOL_BROKEN_ZT.equals(poolKey) || POOL_DT.equals(poolKey);
+    }
+
+    private void accumulate(String poolKey, Contribution contribution, int sign) {
+        for (int plateId : contribution.plateIds) {
+            Counter counter = counters.computeIfAbsent(plateId, key -> new Counter());
+            counter.stockCount += sign;
+            counter.changeSumBp += sign * contribution.changeBp;
+            switch (poolKey) {
+                case POOL_ZT:
+                    counter.ztCount += sign;
+                    counter.ladder[Math.min(Math.max(contribution.limitDays, 1), MAX_LADDER)] += sign;
+                    break;
+                case POOL_BROKEN_ZT:
+                    counter.brokenCount += sign;
+                    break;
+                case POOL_DT:
+                    counter.dtCount += sign;
+                    break;
+                default:
+                    break;
+            }
+            if (counter.stockCount == 0) {
+                counters.remove(plateId);
+            }
+        }
+    }
+
+    private void rebuildSnapshot() {
+        List<PlateStatDto> list = new ArrayList<>(counters.size());
+        counters.forEach((plateId, counter) -> {
+            PlateStatDto dto = new PlateStatDto();
+            dto.setPlateName(PlateNameTable.nameOf(plateId));
+            dto.setZtCount(counter.ztCount);
+            dto.setBrokenCount(counter.brokenCount);
+            dto.setDtCount(counter.dtCount);
+            dto.setStockCount(counter.stockCount);
+            dto.setLadderHeight(counter.ladderHeight());
+            dto.setAvgChangePercent(BigDecimal.valueOf(counter.changeSumBp)
+                    .divide(BigDecimal.valueOf(counter.stockCount * 100L), 2, RoundingMode.HALF_UP));
+            list.add(dto);
+        });
+        list.sort(DEFAULT_ORDER);
+        snapshot = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 单只股票对板块计数的贡献
+     */
+    private static final class Contribution {
+        private final int[] plateIds;
+        private final int limitDays;
+        /** 涨跌幅，单位：基点（0.01%） */
+        private final long changeBp;
+
+        private Contribution(int[] plateIds, int limitDays, long changeBp) {
+            this.plateIds = plateIds;
+            this.limitDays = limitDays;
+            this.changeBp = changeBp;
+        }
+
+        private static Contribution of(StockPool row) {
+            String plateNames = row.getPlateNames() != null
+                    ? row.getPlateNames()
+                    : PlateNameTable.encodeFromJson(row.getRelatedPlates());
+            return new Contribution(
+                    PlateNameTable.decodeIds(plateNames),
+                    row.getLimitDays() == null ? 0 : row.getLimitDays(),
+                    row.getChangePercent() == null ? 0L
+                            : row.getChangePercent().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue());
+        }
+    }
+
+    /**
+     * 股票实际计入的股票池及贡献
+     */
+    private static final class Effective {
+        private final String poolKey;
+        private final Contribution contribution;
+
+        private Effective(String poolKey, Contribution contribution) {
+            this.poolKey = poolKey;
+            this.contribution = contribution;
+        }
+    }
+
+    /**
+     * 构建期间收到的一批增量
+     */
+    private static final class PendingRows {
+        private final String poolKey;
+        private final List<StockPool> rows;
+
+        private PendingRows(String poolKey, List<StockPool> rows) {
+            this.poolKey = poolKey;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * 单个板块的计数器
+     */
+    private static final class Counter {
+        private int stockCount;
+        private int ztCount;
+        private int brokenCount;
+        private int dtCount;
+        private long changeSumBp;
+        /** 连板高度分桶：ladder[n] = n 连板的涨停股数量 */
+        private final int[] ladder = new int[MAX_LADDER + 1];
+
+        private int ladderHeight() {
+            for (int i = MAX_LADDER; i > 0; i--) {
+                if (ladder[i] > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+    }
+}
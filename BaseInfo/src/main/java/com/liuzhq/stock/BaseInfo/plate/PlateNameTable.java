@@ -0,0 +1,157 @@
+package com.liuzhq.stock.BaseInfo.plate;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 板块名称字典（进程内驻留表）
+ * 1. 相同板块名只保留一个 String 实例，并分配一个进程内稳定的 int id
+ * 2. 入库时把 related_plates 的 JSON 解析一次，编码成紧凑的 plate_names 列（板块名以 | 分隔）
+ * 3. 查询时只按分隔符切分 plate_names 并查字典，不再做 JSON 解析
+ */
+public final class PlateNameTable {
+
+    /** plate_names 列的分隔符 */
+    public static final char SEPARATOR = '|';
+
+    private static final Map<String, Integer> NAME_TO_ID = new ConcurrentHashMap<>();
+
+    /** id -> 板块名，只追加，扩容时整体替换 */
+    private static volatile String[] idToName = new String[256];
+
+    private static int size = 0;
+
+    private PlateNameTable() {
+    }
+
+    /**
+     * 返回驻留后的板块名实例
+     */
+    public static String intern(String plateName) {
+        if (plateName == null) {
+            return null;
+        }
+        return nameOf(idOf(plateName));
+    }
+
+    /**
+     * 板块名对应的 id（不存在时分配）
+     */
+    public static int idOf(String plateName) {
+        Integer id = NAME_TO_ID.get(plateName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (PlateNameTable.class) {
+            id = NAME_TO_ID.get(plateName);
+            if (id != null) {
+                return id;
+            }
+            String[] names = idToName;
+            if (size == names.length) {
+                String[] grown = new String[names.length << 1];
+                System.arraycopy(names, 0, grown, 0, size);
+                names = grown;
+            }
+            names[size] = plateName;
+            idToName = names;
+            id = size++;
+            NAME_TO_ID.put(plateName, id);
+            return id;
+        }
+    }
+
+    public static String nameOf(int id) {
+        return idToName[id];
+    }
+
+    public static int size() {
+        return NAME_TO_ID.size();
+    }
+
+    /**
+     * related_plates JSON -> plate_names 紧凑编码（仅在入库时调用一次）
+     * @return 板块名以 | 分隔；没有板块时返回空串
+     */
+    public static String encodeFromJson(String relatedPlatesJson) {
+        if (StringUtils.isBlank(relatedPlatesJson)) {
+            return "";
+        }
+        JSONArray array = JSON.parseArray(relatedPlatesJson);
+        if (array == null || array.isEmpty()) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(array.size() * 8);
+        for (int i = 0; i < array.size(); i++) {
+            JSONObject plate = array.getJSONObject(i);
+            String plateName = plate == null ? null : plate.getString("plate_name");
+            if (StringUtils.isBlank(plateName)) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(SEPARATOR);
+            }
+            // 板块名本身不应含分隔符，保险起见替换掉
+            builder.append(plateName.trim().replace(SEPARATOR, '/'));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * plate_names 紧凑编码 -> 板块名列表（元素为驻留实例）
+     */
+    public static List<String> decode(String plateNames) {
+        if (plateNames == null || plateNames.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        List<String> result = new ArrayList<>(4);
+        int start = 0;
+        int length = plateNames.length();
+        while (start <= length) {
+            int end = plateNames.indexOf(SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                result.add(intern(plateNames.substring(start, end)));
+            }
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * plate_names 紧凑编码 -> 板块 id 数组
+     */
+    public static int[] decodeIds(String plateNames) {
+        List<String> names = decode(plateNames);
+        if (names.isEmpty()) {
+            return new int[0];
+        }
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idOf(names.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * 当前字典快照（调试/监控用）
+     */
+    public static List<String> snapshot() {
+        String[] names = idToName;
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < names.length && names[i] != null; i++) {
+            result.add(names[i]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
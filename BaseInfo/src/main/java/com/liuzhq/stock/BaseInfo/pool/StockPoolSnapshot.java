@@ -0,0 +1,240 @@
+package com.liuzhq.stock.BaseInfo.pool;
+
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 股票池内存快照：记录每个 (交易日, 股票池类型) 最近一次写入数据库的数据，用于盘中增量同步
+ * 1. 新数据先按数据库列精度归一化，再与快照逐行比较易变列，只返回新增/变化的行
+ * 2. 快照只在写库成功（事务提交）后更新，写库失败时下次同步会重新比较、重新写入
+ * 3. 首次使用某个 (交易日, 股票池类型) 前需要先用数据库中的数据初始化
+ * 4. 最多保留 MAX_DAYS 个交易日，初始化和提交时淘汰最早的交易日，但不会淘汰正在写入的交易日
+ */
+public class StockPoolSnapshot {
+
+    /** 最多保留的交易日数 */
+    private static final int MAX_DAYS = 3;
+
+    /** 交易日 -> 股票池类型 -> 股票代码 -> 最近一次写入的数据 */
+    private final ConcurrentSkipListMap<LocalDate, Map<String, Map<String, StockPool>>> snapshots = new ConcurrentSkipListMap<>();
+
+    public boolean isLoaded(LocalDate tradeDate, String poolKey) {
+        Map<String, Map<String, StockPool>> poolMap = snapshots.get(tradeDate);
+        return poolMap != null && poolMap.containsKey(poolKey);
+    }
+
+    /**
+     * 用数据库中的数据初始化快照（已初始化过则忽略）
+     */
+    public synchronized void load(LocalDate tradeDate, String poolKey, List<? extends StockPool> dbRows) {
+        Map<String, StockPool> rows = new HashMap<>(Math.max(16, dbRows.size() * 2));
+        for (StockPool row : dbRows) {
+            rows.put(row.getStockCode(), row);
+        }
+        poolMapOf(tradeDate).putIfAbsent(poolKey, rows);
+        trim(tradeDate);
+    }
+
+    /**
+     * 与快照比较，返回需要写入的行；入参中的数值会被归一化为数据库列精度
+     */
+    public Diff diff(LocalDate tradeDate, String poolKey, List<StockPool> incoming) {
+        Map<String, Map<String, StockPool>> poolMap = snapshots.get(tradeDate);
+        Map<String, StockPool> current = poolMap == null ? Collections.emptyMap() : poolMap.getOrDefault(poolKey, Collections.emptyMap());
+        Diff diff = new Diff(tradeDate, poolKey);
+        for (StockPool row : incoming) {
+            normalize(row);
+            StockPool previous = current.get(row.getStockCode());
+            if (previous == null) {
+                diff.insertRows.add(row);
+                continue;
+            }
+            // 与 batchUpsert 一致：最高封单金额只增不减，快照与数据库保持相同的值
+            row.setMaxLockAmount(maxOf(previous.getMaxLockAmount(), row.getMaxLockAmount()));
+            if (!sameVolatileColumns(previous, row)) {
+                diff.updateRows.add(row);
+                diff.previousRows.put(row.getStockCode(), previous);
+            } else {
+                diff.unchangedCount++;
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * 写库成功后把新增/变化的行合并进快照
+     */
+    public synchronized void commit(Diff diff) {
+        if (diff.getChangedRows().isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, StockPool>> poolMap = poolMapOf(diff.tradeDate);
+        Map<String, StockPool> merged = new HashMap<>(poolMap.getOrDefault(diff.poolKey, Collections.emptyMap()));
+        for (StockPool row : diff.getChangedRows()) {
+            merged.put(row.getStockCode(), row);
+        }
+        // 整体替换，diff 读取时无需加锁
+        poolMap.put(diff.poolKey, merged);
+        trim(diff.tradeDate);
+    }
+
+    public void evict(LocalDate tradeDate) {
+        snapshots.remove(tradeDate);
+    }
+
+    /**
+     * 超过 MAX_DAYS 时淘汰最早的交易日（跳过正在写入的交易日，补写历史交易日时淘汰的是其余交易日中最早的）
+     */
+    private void trim(LocalDate writing) {
+        while (snapshots.size() > MAX_DAYS) {
+            LocalDate eldest = snapshots.firstKey();
+            if (eldest.equals(writing)) {
+                eldest = snapshots.higherKey(eldest);
+            }
+            snapshots.remove(eldest);
+        }
+    }
+
+    private Map<String, Map<String, StockPool>> poolMapOf(LocalDate tradeDate) {
+        return snapshots.computeIfAbsent(tradeDate, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * 按 t_stock_pool 列精度归一化，避免 10.5 与 10.50 这类差异被当成变化
+     */
+    private static void normalize(StockPool row) {
+        row.setPrice(scale(row.getPrice(), 2));
+        row.setChangePercent(scale(row.getChangePercent(), 2));
+        row.setTurnoverRatio(scale(row.getTurnoverRatio(), 2));
+        row.setCirculationMarketCap(scale(row.getCirculationMarketCap(), 2));
+        row.setTotalMarketCap(scale(row.getTotalMarketCap(), 2));
+        row.setIssuePrice(scale(row.getIssuePrice(), 2));
+        row.setBuyLockRatio(scale(row.getBuyLockRatio(), 4));
+        row.setSellLockRatio(scale(row.getSellLockRatio(), 4));
+        row.setCurrentLockAmount(scale(row.getCurrentLockAmount(), 2));
+        row.setMaxLockAmount(scale(row.getMaxLockAmount(), 2));
+    }
+
+    private static BigDecimal scale(BigDecimal value, int scale) {
+        return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 只比较盘中会变化的列（与 batchUpsert 的 UPDATE 列一致）
+     */
+    private static boolean sameVolatileColumns(StockPool a, StockPool b) {
+        return sameDecimal(a.getPrice(), b.getPrice())
+                && sameDecimal(a.getChangePercent(), b.getChangePercent())
+                && sameDecimal(a.getTurnoverRatio(), b.getTurnoverRatio())
+                && sameDecimal(a.getCirculationMarketCap(), b.getCirculationMarketCap())
+                && sameDecimal(a.getTotalMarketCap(), b.getTotalMarketCap())
+                && sameDecimal(a.getBuyLockRatio(), b.getBuyLockRatio())
+                && sameDecimal(a.getSellLockRatio(), b.getSellLockRatio())
+                && sameDecimal(a.getCurrentLockAmount(), b.getCurrentLockAmount())
+                && sameDecimal(a.getMaxLockAmount(), b.getMaxLockAmount())
+                && Objects.equals(a.getLimitDays(), b.getLimitDays())
+                && Objects.equals(a.getBreakLimitTimes(), b.getBreakLimitTimes())
+                && Objects.equals(a.getFirstLimitUpTime(), b.getFirstLimitUpTime())
+                && Objects.equals(a.getLastLimitUpTime(), b.getLastLimitUpTime())
+                && Objects.equals(a.getFirstLimitDownTime(), b.getFirstLimitDownTime())
+                && Objects.equals(a.getLastLimitDownTime(), b.getLastLimitDownTime())
+                && Objects.equals(a.getLastBreakLimitUpTime(), b.getLastBreakLimitUpTime())
+                && Objects.equals(a.getMDaysNBoards(), b.getMDaysNBoards())
+                && Objects.equals(a.getStockReason(), b.getStockReason())
+                && Objects.equals(a.getRelatedPlates(), b.getRelatedPlates());
+    }
+
+    /**
+     * 任一为空时取另一个，两者都为空时为空
+     */
+    private static BigDecimal maxOf(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static boolean sameDecimal(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
+    }
+
+    /**
+     * 单个 (交易日, 股票池类型) 的比较结果
+     */
+    public static class Diff {
+        private final LocalDate tradeDate;
+        private final String poolKey;
+        private final List<StockPool> insertRows = new ArrayList<>();
+        private final List<StockPool> updateRows = new ArrayList<>();
+        /** 变化行的上一次写入数据（股票代码 -> 行） */
+        private final Map<String, StockPool> previousRows = new HashMap<>();
+        private int unchangedCount;
+
+        private Diff(LocalDate tradeDate, String poolKey) {
+            this.tradeDate = tradeDate;
+            this.poolKey = poolKey;
+        }
+
+        public String getPoolKey() {
+            return poolKey;
+        }
+
+        public LocalDate getTradeDate() {
+            return tradeDate;
+        }
+
+        public int getInsertCount() {
+            return insertRows.size();
+        }
+
+        public int getUpdateCount() {
+            return updateRows.size();
+        }
+
+        public int getUnchangedCount() {
+            return unchangedCount;
+        }
+
+        public List<StockPool> getInsertRows() {
+            return insertRows;
+        }
+
+        public List<StockPool> getUpdateRows() {
+            return updateRows;
+        }
+
+        /**
+         * 变化行上一次写入的数据
+         */
+        public StockPool getPrevious(String stockCode) {
+            return previousRows.get(stockCode);
+        }
+
+        /**
+         * 需要写库的行（新增 + 变化）
+         */
+        public List<StockPool> getChangedRows() {
+            if (updateRows.isEmpty()) {
+                return insertRows;
+            }
+            List<StockPool> rows = new ArrayList<>(insertRows.size() + updateRows.size());
+            rows.addAll(insertRows);
+            rows.addAll(updateRows);
+            return rows;
+        }
+    }
+}
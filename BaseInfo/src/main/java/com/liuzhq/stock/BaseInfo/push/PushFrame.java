@@ -0,0 +1,63 @@
+package com.liuzhq.stock.BaseInfo.push;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 已序列化的推送帧（不可变）
+ * 发布时只序列化一次，广播给所有订阅者时直接复用同一个 JSON 字符串；
+ * 写出时为每个连接生成一个 SSE 事件（只拼接 id/event 等报文头，不重新序列化数据）
+ */
+public final class PushFrame {
+
+    private final long id;
+    private final String topic;
+    private final String idText;
+    private final String json;
+
+    private PushFrame(long id, String topic, String json) {
+        this.id = id;
+        this.topic = topic;
+        this.idText = String.valueOf(id);
+        this.json = json;
+    }
+
+    /**
+     * @param json 已序列化的数据
+     */
+    public static PushFrame of(long id, String topic, String json) {
+        return new PushFrame(id, topic, json);
+    }
+
+    /**
+     * 心跳（SSE 注释行，客户端忽略，用于保活和发现断开的连接）
+     */
+    public static PushFrame heartbeat() {
+        return new PushFrame(-1, null, null);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public boolean isHeartbeat() {
+        return json == null;
+    }
+
+    /**
+     * 生成写出用的 SSE 事件（SseEventBuilder 不能重复 build，每次写出生成一个）
+     */
+    public SseEmitter.SseEventBuilder toEvent() {
+        if (isHeartbeat()) {
+            return SseEmitter.event().comment("ping");
+        }
+        return SseEmitter.event()
+                .id(idText)
+                .name(topic)
+                .data(json, MediaType.APPLICATION_JSON);
+    }
+}
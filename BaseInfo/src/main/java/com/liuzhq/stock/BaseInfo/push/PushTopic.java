@@ -0,0 +1,24 @@
+package com.liuzhq.stock.BaseInfo.push;
+
+/**
+ * 推送主题（SSE 事件名）
+ */
+public final class PushTopic {
+
+    /** 股票池变化：新涨停、晋级、炸板、跌停、价格等 */
+    public static final String POOL = "pool";
+
+    /** 股票池内股票的实时价格变化 */
+    public static final String QUOTE = "quote";
+
+    /** 盘面异动事件 */
+    public static final String EVENT = "event";
+
+    /** 客户端落后太多（补发窗口已覆盖），需要重新全量查询 */
+    public static final String RESET = "reset";
+
+    public static final String[] ALL = {POOL, QUOTE, EVENT};
+
+    private PushTopic() {
+    }
+}
@@ -0,0 +1,229 @@
+package com.liuzhq.stock.BaseInfo.push;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.liuzhq.stock.BaseInfo.dto.PoolChangeDto;
+import com.liuzhq.stock.BaseInfo.dto.QuoteChangeDto;
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+import com.liuzhq.stock.BaseInfo.event.AbnormalEventListener;
+import com.liuzhq.stock.BaseInfo.mapper.StockPoolMapper;
+import com.liuzhq.stock.BaseInfo.pool.StockPoolSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshotListener;
+import com.liuzhq.stock.BaseInfo.quote.SymbolTable;
+import com.liuzhq.stock.BaseInfo.service.StockPushService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ObjectUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把股票池同步、行情刷新、盘面异动的变化转换为推送帧
+ * 1. 股票池：由同步写库后的差异生成（新涨停/晋级/炸板/跌停/数据变化），只推送当日的变化
+ * 2. 行情：只比较当日股票池（连板晋级涉及的股票）内股票的价格，没有订阅者时不计算
+ * 3. 盘面异动：新事件原样推送
+ */
+@Component
+@Slf4j
+public class StockChangePublisher implements QuoteSnapshotListener, AbnormalEventListener {
+
+    @Resource
+    private StockPushService stockPushService;
+
+    @Resource
+    private StockPoolMapper stockPoolMapper;
+
+    /** 当日股票池内的股票 id，变化时整体替换 */
+    private volatile WatchList watchList = new WatchList(null, new BitSet());
+
+    /**
+     * 股票池同步写库后调用
+     */
+    public void onPoolSynced(LocalDate tradeDate, List<StockPoolSnapshot.Diff> diffs) {
+        if (!tradeDate.equals(LocalDate.now())) {
+            return;
+        }
+        List<PoolChangeDto> changes = new ArrayList<>();
+        List<StockPool> inserted = new ArrayList<>();
+        for (StockPoolSnapshot.Diff diff : diffs) {
+            for (StockPool row : diff.getInsertRows()) {
+                changes.add(toChange(insertType(diff.getPoolKey(), row), diff.getPoolKey(), row));
+                inserted.add(row);
+            }
+            for (StockPool row : diff.getUpdateRows()) {
+                changes.add(toChange(updateType(diff.getPoolKey(), row, diff.getPrevious(row.getStockCode())),
+                        diff.getPoolKey(), row));
+            }
+        }
+        watch(tradeDate, inserted);
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tradeDate", tradeDate);
+        payload.put("changes", changes);
+        stockPushService.publish(PushTopic.POOL, payload);
+    }
+
+    @Override
+    public void onSnapshot(QuoteSnapshot previous, QuoteSnapshot current) {
+        if (current.isEmpty() || !stockPushService.hasSubscribers(PushTopic.QUOTE)) {
+            return;
+        }
+        BitSet ids = watchListOf(LocalDate.now()).ids;
+        double[] prices = current.column(QuoteField.CURRENT_PRICE);
+        double[] changePercents = current.column(QuoteField.CHANGE_PERCENT);
+        double[] speeds = current.column(QuoteField.PRICE_SPEED);
+        List<QuoteChangeDto> changes = new ArrayList<>();
+        for (int symbolId = ids.nextSetBit(0); symbolId >= 0; symbolId = ids.nextSetBit(symbolId + 1)) {
+            int row = current.rowOf(symbolId);
+            if (row < 0) {
+                continue;
+            }
+            int previousRow = previous.rowOf(symbolId);
+            if (previousRow >= 0
+                    && Double.compare(previous.get(previousRow, QuoteField.CURRENT_PRICE), prices[row]) == 0
+                    && Double.compare(previous.get(previousRow, QuoteField.CHANGE_PERCENT), changePercents[row]) == 0) {
+                continue;
+            }
+            QuoteChangeDto change = new QuoteChangeDto();
+            change.setSymbol(current.symbolAt(row));
+            change.setPrice(prices[row]);
+            change.setChangePercent(changePercents[row]);
+            change.setPriceSpeed(speeds[row]);
+            changes.add(change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tradeDate", current.getTradeDate());
+        payload.put("version", current.getVersion());
+        payload.put("changes", changes);
+        stockPushService.publish(PushTopic.QUOTE, payload);
+    }
+
+    @Override
+    public void onEvents(List<StockAbnormalEvent> events) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("events", events);
+        stockPushService.publish(PushTopic.EVENT, payload);
+    }
+
+    private static String insertType(String poolKey, StockPool row) {
+        switch (poolKey) {
+            case "zt":
+                return row.getLimitDays() != null && row.getLimitDays() > 1 ? PoolChangeDto.PROMOTION : PoolChangeDto.LIMIT_UP;
+            case "broken_zt":
+                return PoolChangeDto.BROKEN;
+            case "dt":
+                return PoolChangeDto.LIMIT_DOWN;
+            default:
+                return PoolChangeDto.ADDED;
+        }
+    }
+
+    private static String updateType(String poolKey, StockPool row, StockPool previous) {
+        if (previous != null && ("zt".equals(poolKey) || "broken_zt".equals(poolKey))
+                && row.getBreakLimitTimes() != null
+                && row.getBreakLimitTimes() > ObjectUtils.defaultIfNull(previous.getBreakLimitTimes(), 0)) {
+            return PoolChangeDto.BROKEN;
+        }
+        return PoolChangeDto.UPDATE;
+    }
+
+    private static PoolChangeDto toChange(String type, String poolKey, StockPool row) {
+        PoolChangeDto change = new PoolChangeDto();
+        change.setType(type);
+        change.setPoolType(poolKey);
+        change.setStockCode(row.getStockCode());
+        change.setStockName(row.getStockName());
+        change.setPrice(row.getPrice());
+        change.setChangePercent(row.getChangePercent());
+        change.setLimitDays(row.getLimitDays());
+        change.setBreakLimitTimes(row.getBreakLimitTimes());
+        change.setCurrentLockAmount(row.getCurrentLockAmount());
+        change.setMDaysNBoards(row.getMDaysNBoards());
+        return change;
+    }
+
+    /**
+     * 新入池的股票加入关注列表
+     */
+    private synchronized void watch(LocalDate tradeDate, List<StockPool> rows) {
+        WatchList current = watchListOf(tradeDate);
+        if (rows.isEmpty()) {
+            return;
+        }
+        BitSet ids = (BitSet) current.ids.clone();
+        for (StockPool row : rows) {
+            if (!"super_stock".equals(row.getPoolType())) {
+                watchSymbol(ids, row.getStockCode());
+            }
+        }
+        watchList = new WatchList(tradeDate, ids);
+    }
+
+    /**
+     * 指定交易日的关注列表；跨日或首次使用时从数据库加载当日股票池（强势股池除外）
+     */
+    private WatchList watchListOf(LocalDate tradeDate) {
+        WatchList current = watchList;
+        if (tradeDate.equals(current.tradeDate)) {
+            return current;
+        }
+        synchronized (this) {
+            current = watchList;
+            if (tradeDate.equals(current.tradeDate)) {
+                return current;
+            }
+            List<StockPool> rows;
+            try {
+                rows = stockPoolMapper.selectList(new LambdaQueryWrapper<StockPool>()
+                        .select(StockPool::getStockCode)
+                        .eq(StockPool::getTradeDate, tradeDate)
+                        .ne(StockPool::getPoolType, "super_stock"));
+            } catch (Exception e) {
+                // 读库失败时本次不推送行情，下次快照刷新再加载
+                log.warn("加载{}股票池推送关注列表失败：{}", tradeDate, e.getMessage());
+                return new WatchList(tradeDate, new BitSet());
+            }
+            BitSet ids = new BitSet();
+            for (StockPool row : rows) {
+                watchSymbol(ids, row.getStockCode());
+            }
+            current = new WatchList(tradeDate, ids);
+            watchList = current;
+            return current;
+        }
+    }
+
+    /**
+     * 只关注行情中已出现的股票：不为股票池中的代码分配行情 id（SymbolTable 的 id 分配后不回收），
+     * 没有行情的股票也不会有行情推送
+     */
+    private static void watchSymbol(BitSet ids, String stockCode) {
+        int symbolId = SymbolTable.find(SymbolTable.normalize(stockCode));
+        if (symbolId >= 0) {
+            ids.set(symbolId);
+        }
+    }
+
+    private static final class WatchList {
+        private final LocalDate tradeDate;
+        private final BitSet ids;
+
+        private WatchList(LocalDate tradeDate, BitSet ids) {
+            this.tradeDate = tradeDate;
+            this.ids = ids;
+        }
+    }
+}
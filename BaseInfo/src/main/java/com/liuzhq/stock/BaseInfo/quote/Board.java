@@ -0,0 +1,71 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+/**
+ * 股票所属板块（按股票代码前缀划分）
+ */
+public enum Board {
+    SH_MAIN("sh", "沪市主板"),
+    STAR("kcb", "科创板"),
+    SZ_MAIN("sz", "深市主板"),
+    CHINEXT("cyb", "创业板"),
+    BJ("bj", "北交所"),
+    OTHER("other", "其他"),
+
+    ;
+
+    private final String code;
+    private final String desc;
+
+    Board(String code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    /**
+     * 按股票代码判断板块
+     */
+    public static Board ofSymbol(String symbol) {
+        if (symbol == null || symbol.length() < 2) {
+            return OTHER;
+        }
+        if (symbol.startsWith("688") || symbol.startsWith("689")) {
+            return STAR;
+        }
+        if (symbol.startsWith("60")) {
+            return SH_MAIN;
+        }
+        if (symbol.startsWith("300") || symbol.startsWith("301")) {
+            return CHINEXT;
+        }
+        if (symbol.startsWith("00")) {
+            return SZ_MAIN;
+        }
+        if (symbol.startsWith("8") || symbol.startsWith("4") || symbol.startsWith("92")) {
+            return BJ;
+        }
+        return OTHER;
+    }
+
+    /**
+     * 按编码（sh/kcb/sz/cyb/bj）或枚举名查找，找不到返回null
+     */
+    public static Board of(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (Board board : values()) {
+            if (board.code.equalsIgnoreCase(code) || board.name().equalsIgnoreCase(code)) {
+                return board;
+            }
+        }
+        return null;
+    }
+}
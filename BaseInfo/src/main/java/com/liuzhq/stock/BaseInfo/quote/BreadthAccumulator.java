@@ -0,0 +1,190 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import java.util.Arrays;
+
+/**
+ * 市场宽度累加器（非线程安全，在快照刷新回调中顺序调用）
+ * 1. 各项计数和求和常驻在累加器中，新快照到来时只处理与上一份快照相比有变化的股票：
+ *    减去旧行情的贡献、加上新行情的贡献；新增/消失的股票只加/只减
+ * 2. 增量基准与上一次处理的快照不一致（首次加载、中间有快照未处理）或连续增量次数达到上限
+ *    （避免浮点误差累积）时全量重算
+ */
+public final class BreadthAccumulator {
+
+    /** 连续增量更新的最大次数，按5秒刷新约1小时全量重算一次 */
+    private static final int FULL_RECOMPUTE_INTERVAL = 720;
+
+    /** 参与统计的字段，都未变化的股票跳过 */
+    private static final QuoteField[] TRACKED_FIELDS = {
+            QuoteField.CURRENT_PRICE, QuoteField.CHANGE_PERCENT, QuoteField.PREV_CLOSE, QuoteField.TURNOVER_RATE,
+            QuoteField.PE_DYNAMIC, QuoteField.PB_RATIO, QuoteField.TOTAL_MARKET_VALUE,
+            QuoteField.CIRCULATING_MARKET_VALUE, QuoteField.TURNOVER, QuoteField.VOLUME
+    };
+
+    int totalCount;
+    int suspendedCount;
+    int upCount;
+    int downCount;
+    int flatCount;
+    int limitUpCount;
+    int limitDownCount;
+    final int[] changeHistogram = new int[MarketBreadth.CHANGE_BUCKETS.length];
+    double sumPrice;
+    double sumChangePercent;
+    double sumTurnoverRate;
+    double sumPe;
+    int peCount;
+    double sumPb;
+    int pbCount;
+    double totalMarketValue;
+    double circulatingMarketValue;
+    double totalTurnover;
+    double totalVolume;
+    double marketValueWeightedChange;
+    double circulatingValueWeightedChange;
+
+    /** 上一次处理的快照 */
+    private QuoteSnapshot applied;
+    private int incrementalCount;
+    private int lastChangedCount;
+
+    /**
+     * 处理新快照，返回新的统计结果
+     * @param previous 增量基准（上一份快照）
+     */
+    public MarketBreadth apply(QuoteSnapshot previous, QuoteSnapshot current) {
+        if (applied == null || applied != previous || incrementalCount >= FULL_RECOMPUTE_INTERVAL) {
+            recompute(current);
+        } else {
+            applyDiff(previous, current);
+        }
+        applied = current;
+        return new MarketBreadth(current, this);
+    }
+
+    /**
+     * 最近一次处理中有变化的股票数（全量重算时为股票总数）
+     */
+    public int getLastChangedCount() {
+        return lastChangedCount;
+    }
+
+    private void recompute(QuoteSnapshot snapshot) {
+        reset();
+        for (int row = 0; row < snapshot.size(); row++) {
+            accumulate(snapshot, row, 1);
+        }
+        incrementalCount = 0;
+        lastChangedCount = snapshot.size();
+    }
+
+    private void applyDiff(QuoteSnapshot previous, QuoteSnapshot current) {
+        int changed = 0;
+        for (int row = 0; row < current.size(); row++) {
+            int previousRow = previous.rowOf(current.symbolIdAt(row));
+            if (previousRow < 0) {
+                accumulate(current, row, 1);
+                changed++;
+            } else if (isChanged(previous, previousRow, current, row)) {
+                accumulate(previous, previousRow, -1);
+                accumulate(current, row, 1);
+                changed++;
+            }
+        }
+        for (int previousRow = 0; previousRow < previous.size(); previousRow++) {
+            if (current.rowOf(previous.symbolIdAt(previousRow)) < 0) {
+                accumulate(previous, previousRow, -1);
+                changed++;
+            }
+        }
+        incrementalCount++;
+        lastChangedCount = changed;
+    }
+
+    private static boolean isChanged(QuoteSnapshot previous, int previousRow, QuoteSnapshot current, int row) {
+        for (QuoteField field : TRACKED_FIELDS) {
+            if (Double.compare(previous.get(previousRow, field), current.get(row, field)) != 0) {
+                return true;
+            }
+        }
+        // 改名（戴帽/摘帽）会改变涨跌停限制
+        String previousName = previous.nameAt(previousRow);
+        return previousName == null ? current.nameAt(row) != null : !previousName.equals(current.nameAt(row));
+    }
+
+    /**
+     * 把一行行情的贡献加到（sign=1）或减出（sign=-1）累加器
+     */
+    private void accumulate(QuoteSnapshot snapshot, int row, int sign) {
+        totalCount += sign;
+        double price = snapshot.get(row, QuoteField.CURRENT_PRICE);
+        if (price <= 0) {
+            suspendedCount += sign;
+            return;
+        }
+
+        double change = snapshot.get(row, QuoteField.CHANGE_PERCENT);
+        if (change > 0) {
+            upCount += sign;
+        } else if (change < 0) {
+            downCount += sign;
+        } else {
+            flatCount += sign;
+        }
+
+        double prevClose = snapshot.get(row, QuoteField.PREV_CLOSE);
+        double ratio = PriceLimit.ratioOf(Board.ofSymbol(snapshot.symbolAt(row)), PriceLimit.isSt(snapshot.nameAt(row)));
+        if (PriceLimit.isLimitUp(price, prevClose, ratio)) {
+            limitUpCount += sign;
+        } else if (PriceLimit.isLimitDown(price, prevClose, ratio)) {
+            limitDownCount += sign;
+        }
+        changeHistogram[MarketBreadth.bucketOf(change)] += sign;
+
+        sumPrice += sign * price;
+        sumChangePercent += sign * change;
+        sumTurnoverRate += sign * snapshot.get(row, QuoteField.TURNOVER_RATE);
+        double pe = snapshot.get(row, QuoteField.PE_DYNAMIC);
+        if (pe > 0) {
+            sumPe += sign * pe;
+            peCount += sign;
+        }
+        double pb = snapshot.get(row, QuoteField.PB_RATIO);
+        if (pb > 0) {
+            sumPb += sign * pb;
+            pbCount += sign;
+        }
+        double marketValue = snapshot.get(row, QuoteField.TOTAL_MARKET_VALUE);
+        double circulatingValue = snapshot.get(row, QuoteField.CIRCULATING_MARKET_VALUE);
+        totalMarketValue += sign * marketValue;
+        circulatingMarketValue += sign * circulatingValue;
+        marketValueWeightedChange += sign * marketValue * change;
+        circulatingValueWeightedChange += sign * circulatingValue * change;
+        totalTurnover += sign * snapshot.get(row, QuoteField.TURNOVER);
+        totalVolume += sign * snapshot.get(row, QuoteField.VOLUME);
+    }
+
+    private void reset() {
+        totalCount = 0;
+        suspendedCount = 0;
+        upCount = 0;
+        downCount = 0;
+        flatCount = 0;
+        limitUpCount = 0;
+        limitDownCount = 0;
+        Arrays.fill(changeHistogram, 0);
+        sumPrice = 0;
+        sumChangePercent = 0;
+        sumTurnoverRate = 0;
+        sumPe = 0;
+        peCount = 0;
+        sumPb = 0;
+        pbCount = 0;
+        totalMarketValue = 0;
+        circulatingMarketValue = 0;
+        totalTurnover = 0;
+        totalVolume = 0;
+        marketValueWeightedChange = 0;
+        circulatingValueWeightedChange = 0;
+    }
+}
@@ -0,0 +1,319 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单个交易日的分时序列（按采样间隔每个间隔一个时间点，环形缓冲区）
+ * 1. 每个时间点保存全部股票的 最新价 / 成交量 / 成交额 / 涨速，按 float/int 原始数组存储，每只股票每个点16字节；
+ *    同一采样间隔内只保留第一次快照（isDue），收盘点除外
+ * 2. 数组按64个时间点分块、首次写入时才分配，块内按股票 id 连续存放，取单只股票的序列时顺序读取
+ * 3. 容量固定，写满后覆盖最早的时间点，内存上限 = 股票数 × 容量 × 16字节
+ * 4. 单线程写入（快照刷新回调），多线程读取：写完一个时间点后才推进 volatile 的写入计数，读方只读已发布的时间点
+ */
+public final class IntradaySeries {
+
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SLOTS - 1;
+
+    /** 分块按股票数分配时预留的余量（新股上市） */
+    private static final int SYMBOL_HEADROOM = 256;
+
+    private final LocalDate tradeDate;
+    private final int capacity;
+    /** 采样间隔（秒），0 表示每次快照都保留 */
+    private final int intervalSeconds;
+    private final Chunk[] chunks;
+    /** 环形下标 -> 时间（当日秒数） */
+    private final int[] slotSeconds;
+    /** 环形下标 -> 快照版本 */
+    private final long[] slotVersions;
+
+    /** 已写入的时间点总数（含被覆盖的） */
+    private volatile long appended;
+    /** 收盘后封存，不再写入 */
+    private volatile boolean sealed;
+
+    /**
+     * @param capacity 最多保留的时间点数，向上取整为64的倍数
+     * @param intervalSeconds 采样间隔（秒），0 表示每次快照都保留
+     */
+    public IntradaySeries(LocalDate tradeDate, int capacity, int intervalSeconds) {
+        this.tradeDate = tradeDate;
+        this.intervalSeconds = Math.max(0, intervalSeconds);
+        this.capacity = Math.max(CHUNK_SLOTS, (capacity + CHUNK_MASK) & ~CHUNK_MASK);
+        this.chunks = new Chunk[this.capacity >>> CHUNK_SHIFT];
+        this.slotSeconds = new int[this.capacity];
+        this.slotVersions = new long[this.capacity];
+    }
+
+    public LocalDate getTradeDate() {
+        return tradeDate;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * 当前可读的时间点数
+     */
+    public int size() {
+        return (int) Math.min(appended, readableCapacity());
+    }
+
+    /**
+     * 已分配的内存（字节）
+     */
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                bytes += (long) chunk.symbolCapacity * CHUNK_SLOTS * Chunk.BYTES_PER_POINT;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 指定时间是否进入了新的采样间隔（尚无时间点时总是 true）
+     */
+    public boolean isDue(LocalTime time) {
+        long sequence = appended;
+        if (sequence == 0 || intervalSeconds == 0) {
+            return true;
+        }
+        int lastSeconds = slotSeconds[(int) ((sequence - 1) % capacity)];
+        return time.toSecondOfDay() / intervalSeconds > lastSeconds / intervalSeconds;
+    }
+
+    /**
+     * 追加一个时间点（只能由一个线程调用）
+     */
+    public void append(QuoteSnapshot snapshot, LocalTime time) {
+        if (sealed) {
+            return;
+        }
+        long sequence = appended;
+        int slot = (int) (sequence % capacity);
+        int offset = slot & CHUNK_MASK;
+        int symbolCount = SymbolTable.size();
+
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        if (chunk == null || chunk.symbolCapacity < symbolCount) {
+            int symbolCapacity = symbolCount + SYMBOL_HEADROOM;
+            chunk = chunk == null ? new Chunk(symbolCapacity) : chunk.grow(symbolCapacity);
+            chunks[slot >>> CHUNK_SHIFT] = chunk;
+        }
+
+        double[] prices = snapshot.column(QuoteField.CURRENT_PRICE);
+        double[] volumes = snapshot.column(QuoteField.VOLUME);
+        double[] turnovers = snapshot.column(QuoteField.TURNOVER);
+        double[] speeds = snapshot.column(QuoteField.PRICE_SPEED);
+        for (int symbolId = 0; symbolId < chunk.symbolCapacity; symbolId++) {
+            int index = (symbolId << CHUNK_SHIFT) | offset;
+            int row = snapshot.rowOf(symbolId);
+            if (row < 0) {
+                // 不在本次快照中（或环形覆盖时清掉旧数据）
+                chunk.price[index] = Float.NaN;
+                continue;
+            }
+            chunk.price[index] = (float) prices[row];
+            chunk.volume[index] = (int) volumes[row];
+            chunk.turnover[index] = (float) turnovers[row];
+            chunk.priceSpeed[index] = (float) speeds[row];
+        }
+        slotSeconds[slot] = time.toSecondOfDay();
+        slotVersions[slot] = snapshot.getVersion();
+        appended = sequence + 1;
+    }
+
+    /**
+     * 收盘封存
+     */
+    public void seal() {
+        sealed = true;
+    }
+
+    /**
+     * 单只股票的分时序列（按时间升序）
+     */
+    public List<Point> series(int symbolId) {
+        if (symbolId < 0) {
+            return Collections.emptyList();
+        }
+        long end = appended;
+        long start = Math.max(0, end - readableCapacity());
+        List<Point> points = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Point point = pointAt((int) (sequence % capacity), symbolId);
+            if (point != null) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * 指定时间的横截面：取时间不晚于 time 的最近一个时间点
+     * @param symbolIds 为空时返回该时间点的全部股票
+     * @return 该时间点各股票的数据，time 早于第一个时间点时返回空列表
+     */
+    public List<Point> crossSection(LocalTime time, int[] symbolIds) {
+        int slot = slotAtOrBefore(time.toSecondOfDay());
+        if (slot < 0) {
+            return Collections.emptyList();
+        }
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        int[] ids = symbolIds;
+        if (ids == null) {
+            ids = new int[chunk.symbolCapacity];
+            Arrays.setAll(ids, i -> i);
+        }
+        List<Point> points = new ArrayList<>(ids.length);
+        for (int symbolId : ids) {
+            Point point = pointAt(slot, symbolId);
+            if (point != null) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * 时间不晚于 seconds 的最近一个时间点的环形下标，不存在返回 -1（同一交易日内时间单调递增，二分查找）
+     */
+    private int slotAtOrBefore(int seconds) {
+        long end = appended;
+        long low = Math.max(0, end - readableCapacity());
+        long high = end - 1;
+        long found = -1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            if (slotSeconds[(int) (mid % capacity)] <= seconds) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? -1 : (int) (found % capacity);
+    }
+
+    private Point pointAt(int slot, int symbolId) {
+        Chunk chunk = chunks[slot >>> CHUNK_SHIFT];
+        if (chunk == null || symbolId >= chunk.symbolCapacity) {
+            return null;
+        }
+        int index = (symbolId << CHUNK_SHIFT) | (slot & CHUNK_MASK);
+        float price = chunk.price[index];
+        if (Float.isNaN(price)) {
+            return null;
+        }
+        return new Point(symbolId, slotSeconds[slot], slotVersions[slot], price, chunk.volume[index],
+                chunk.turnover[index], chunk.priceSpeed[index]);
+    }
+
+    /**
+     * 可安全读取的时间点数：未封存时最早的一个时间点可能正被下一次写入覆盖，不读
+     */
+    private int readableCapacity() {
+        return sealed ? capacity : capacity - 1;
+    }
+
+    /**
+     * 64个时间点的数据块，下标为 (股票id << 6) | 块内时间点
+     */
+    private static final class Chunk {
+        private static final int BYTES_PER_POINT = 16;
+
+        private final int symbolCapacity;
+        private final float[] price;
+        private final int[] volume;
+        private final float[] turnover;
+        private final float[] priceSpeed;
+
+        private Chunk(int symbolCapacity) {
+            this.symbolCapacity = symbolCapacity;
+            int length = symbolCapacity << CHUNK_SHIFT;
+            this.price = new float[length];
+            this.volume = new int[length];
+            this.turnover = new float[length];
+            this.priceSpeed = new float[length];
+            Arrays.fill(price, Float.NaN);
+        }
+
+        /**
+         * 新股上市导致股票 id 超出容量时扩容（复制后整体替换，读方持有的旧块仍然可读）
+         */
+        private Chunk grow(int newSymbolCapacity) {
+            Chunk grown = new Chunk(newSymbolCapacity);
+            int length = symbolCapacity << CHUNK_SHIFT;
+            System.arraycopy(price, 0, grown.price, 0, length);
+            System.arraycopy(volume, 0, grown.volume, 0, length);
+            System.arraycopy(turnover, 0, grown.turnover, 0, length);
+            System.arraycopy(priceSpeed, 0, grown.priceSpeed, 0, length);
+            return grown;
+        }
+    }
+
+    /**
+     * 分时数据点
+     */
+    public static final class Point {
+        private final int symbolId;
+        private final int secondOfDay;
+        private final long version;
+        private final float price;
+        private final int volume;
+        private final float turnover;
+        private final float priceSpeed;
+
+        private Point(int symbolId, int secondOfDay, long version, float price, int volume, float turnover, float priceSpeed) {
+            this.symbolId = symbolId;
+            this.secondOfDay = secondOfDay;
+            this.version = version;
+            this.price = price;
+            this.volume = volume;
+            this.turnover = turnover;
+            this.priceSpeed = priceSpeed;
+        }
+
+        public int getSymbolId() {
+            return symbolId;
+        }
+
+        public LocalTime getTime() {
+            return LocalTime.ofSecondOfDay(secondOfDay);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public float getPrice() {
+            return price;
+        }
+
+        public int getVolume() {
+            return volume;
+        }
+
+        public float getTurnover() {
+            return turnover;
+        }
+
+        public float getPriceSpeed() {
+            return priceSpeed;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import java.util.Arrays;
+
+/**
+ * 市场宽度统计结果（不可变，由 BreadthAccumulator 在每次快照刷新后生成）
+ * 停牌（最新价为0）的股票只计入总数和停牌数，其余统计只针对正常交易的股票
+ */
+public final class MarketBreadth {
+
+    /** 涨跌幅分布区间（%），与 changeHistogram 下标一一对应 */
+    public static final String[] CHANGE_BUCKETS = {"<=-7", "-7~-5", "-5~-3", "-3~0", "0", "0~3", "3~5", "5~7", ">=7"};
+
+    private final QuoteSnapshot snapshot;
+    private final int totalCount;
+    private final int suspendedCount;
+    private final int upCount;
+    private final int downCount;
+    private final int flatCount;
+    private final int limitUpCount;
+    private final int limitDownCount;
+    private final int[] changeHistogram;
+    private final double sumPrice;
+    private final double sumChangePercent;
+    private final double sumTurnoverRate;
+    private final double sumPe;
+    private final int peCount;
+    private final double sumPb;
+    private final int pbCount;
+    private final double totalMarketValue;
+    private final double circulatingMarketValue;
+    private final double totalTurnover;
+    private final double totalVolume;
+    /** Σ 总市值 × 涨跌幅 */
+    private final double marketValueWeightedChange;
+    /** Σ 流通市值 × 涨跌幅 */
+    private final double circulatingValueWeightedChange;
+
+    MarketBreadth(QuoteSnapshot snapshot, BreadthAccumulator acc) {
+        this.snapshot = snapshot;
+        this.totalCount = acc.totalCount;
+        this.suspendedCount = acc.suspendedCount;
+        this.upCount = acc.upCount;
+        this.downCount = acc.downCount;
+        this.flatCount = acc.flatCount;
+        this.limitUpCount = acc.limitUpCount;
+        this.limitDownCount = acc.limitDownCount;
+        this.changeHistogram = Arrays.copyOf(acc.changeHistogram, acc.changeHistogram.length);
+        this.sumPrice = acc.sumPrice;
+        this.sumChangePercent = acc.sumChangePercent;
+        this.sumTurnoverRate = acc.sumTurnoverRate;
+        this.sumPe = acc.sumPe;
+        this.peCount = acc.peCount;
+        this.sumPb = acc.sumPb;
+        this.pbCount = acc.pbCount;
+        this.totalMarketValue = acc.totalMarketValue;
+        this.circulatingMarketValue = acc.circulatingMarketValue;
+        this.totalTurnover = acc.totalTurnover;
+        this.totalVolume = acc.totalVolume;
+        this.marketValueWeightedChange = acc.marketValueWeightedChange;
+        this.circulatingValueWeightedChange = acc.circulatingValueWeightedChange;
+    }
+
+    /**
+     * 统计对应的行情快照
+     */
+    public QuoteSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getSuspendedCount() {
+        return suspendedCount;
+    }
+
+    /**
+     * 正常交易的股票数
+     */
+    public int getTradingCount() {
+        return totalCount - suspendedCount;
+    }
+
+    public int getUpCount() {
+        return upCount;
+    }
+
+    public int getDownCount() {
+        return downCount;
+    }
+
+    public int getFlatCount() {
+        return flatCount;
+    }
+
+    public int getLimitUpCount() {
+        return limitUpCount;
+    }
+
+    public int getLimitDownCount() {
+        return limitDownCount;
+    }
+
+    /**
+     * 涨跌幅分布（各区间的股票数，区间见 CHANGE_BUCKETS）
+     */
+    public int[] getChangeHistogram() {
+        return Arrays.copyOf(changeHistogram, changeHistogram.length);
+    }
+
+    public double getAvgPrice() {
+        return average(sumPrice, getTradingCount());
+    }
+
+    public double getAvgChangePercent() {
+        return average(sumChangePercent, getTradingCount());
+    }
+
+    public double getAvgTurnoverRate() {
+        return average(sumTurnoverRate, getTradingCount());
+    }
+
+    /**
+     * 平均市盈率（只统计市盈率为正的股票）
+     */
+    public double getAvgPe() {
+        return average(sumPe, peCount);
+    }
+
+    /**
+     * 平均市净率（只统计市净率为正的股票）
+     */
+    public double getAvgPb() {
+        return average(sumPb, pbCount);
+    }
+
+    /**
+     * 总市值加权平均涨跌幅
+     */
+    public double getMarketValueWeightedChange() {
+        return totalMarketValue > 0 ? marketValueWeightedChange / totalMarketValue : 0.0;
+    }
+
+    /**
+     * 流通市值加权平均涨跌幅
+     */
+    public double getCirculatingValueWeightedChange() {
+        return circulatingMarketValue > 0 ? circulatingValueWeightedChange / circulatingMarketValue : 0.0;
+    }
+
+    public double getTotalMarketValue() {
+        return totalMarketValue;
+    }
+
+    public double getCirculatingMarketValue() {
+        return circulatingMarketValue;
+    }
+
+    public double getTotalTurnover() {
+        return totalTurnover;
+    }
+
+    public double getTotalVolume() {
+        return totalVolume;
+    }
+
+    private static double average(double sum, int count) {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    /**
+     * 涨跌幅所在区间（CHANGE_BUCKETS 的下标）
+     */
+    static int bucketOf(double changePercent) {
+        if (changePercent == 0) {
+            return 4;
+        }
+        if (changePercent < 0) {
+            return changePercent <= -7 ? 0 : changePercent <= -5 ? 1 : changePercent <= -3 ? 2 : 3;
+        }
+        return changePercent < 3 ? 5 : changePercent < 5 ? 6 : changePercent < 7 ? 7 : 8;
+    }
+}
@@ -0,0 +1,61 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+/**
+ * 总市值分档（单位：元）
+ */
+public enum MarketCapBucket {
+    SMALL("small", "50亿以下", 0, 5e9),
+    MID("mid", "50亿-200亿", 5e9, 2e10),
+    LARGE("large", "200亿-1000亿", 2e10, 1e11),
+    MEGA("mega", "1000亿以上", 1e11, Double.MAX_VALUE),
+
+    ;
+
+    private static final MarketCapBucket[] VALUES = values();
+
+    private final String code;
+    private final String desc;
+    /** 下限（含） */
+    private final double lower;
+    /** 上限（不含） */
+    private final double upper;
+
+    MarketCapBucket(String code, String desc, double lower, double upper) {
+        this.code = code;
+        this.desc = desc;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public static MarketCapBucket ofValue(double totalMarketValue) {
+        for (MarketCapBucket bucket : VALUES) {
+            if (totalMarketValue >= bucket.lower && totalMarketValue < bucket.upper) {
+                return bucket;
+            }
+        }
+        return SMALL;
+    }
+
+    /**
+     * 按编码（small/mid/large/mega）或枚举名查找，找不到返回null
+     */
+    public static MarketCapBucket of(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (MarketCapBucket bucket : VALUES) {
+            if (bucket.code.equalsIgnoreCase(code) || bucket.name().equalsIgnoreCase(code)) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+/**
+ * 涨跌停判断
+ * 涨跌幅限制：沪深主板10%（ST 5%），科创板/创业板20%（含ST），北交所30%；
+ * 涨停价 = 昨收 × (1 ± 限制比例)，四舍五入到分，最新价达到涨停价即视为涨停
+ */
+public final class PriceLimit {
+
+    private PriceLimit() {
+    }
+
+    /**
+     * 是否ST股票（名称含 ST，包括 *ST）
+     */
+    public static boolean isSt(String name) {
+        return name != null && name.toUpperCase().contains("ST");
+    }
+
+    /**
+     * 涨跌幅限制比例
+     */
+    public static double ratioOf(Board board, boolean st) {
+        switch (board) {
+            case STAR:
+            case CHINEXT:
+                return 0.2;
+            case BJ:
+                return 0.3;
+            default:
+                return st ? 0.05 : 0.1;
+        }
+    }
+
+    public static boolean isLimitUp(double price, double prevClose, double ratio) {
+        return price > 0 && prevClose > 0 && price >= round2(prevClose * (1 + ratio)) - 0.001;
+    }
+
+    public static boolean isLimitDown(double price, double prevClose, double ratio) {
+        return price > 0 && prevClose > 0 && price <= round2(prevClose * (1 - ratio)) + 0.001;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 实时行情数值字段（与 Python 接口 parse_stock_data 的字段一一对应）
+ * 每个字段在 QuoteSnapshot 中占一列 double[]，列下标为 ordinal()
+ */
+public enum QuoteField {
+    CURRENT_PRICE("current_price", "最新价"),
+    CHANGE_PERCENT("change_percent", "涨跌幅"),
+    CHANGE_AMOUNT("change_amount", "涨跌额"),
+    VOLUME("volume", "成交量"),
+    TURNOVER("turnover", "成交额"),
+    AMPLITUDE("amplitude", "振幅"),
+    HIGH_PRICE("high_price", "最高"),
+    LOW_PRICE("low_price", "最低"),
+    OPEN_PRICE("open_price", "今开"),
+    PREV_CLOSE("prev_close", "昨收"),
+    VOLUME_RATIO("volume_ratio", "量比"),
+    TURNOVER_RATE("turnover_rate", "换手率"),
+    PE_DYNAMIC("pe_dynamic", "市盈率-动态"),
+    PB_RATIO("pb_ratio", "市净率"),
+    TOTAL_MARKET_VALUE("total_market_value", "总市值"),
+    CIRCULATING_MARKET_VALUE("circulating_market_value", "流通市值"),
+    PRICE_SPEED("price_speed", "涨速"),
+    FIVE_MINUTE_CHANGE("five_minute_change", "5分钟涨跌"),
+    SIXTY_DAY_CHANGE("sixty_day_change", "60日涨跌幅"),
+    YEAR_TO_DATE_CHANGE("year_to_date_change", "年初至今涨跌幅"),
+
+    ;
+
+    /** 字段数（列数） */
+    public static final int COUNT = values().length;
+
+    private static final Map<String, QuoteField> BY_JSON_NAME = new HashMap<>();
+
+    static {
+        for (QuoteField field : values()) {
+            BY_JSON_NAME.put(field.jsonName, field);
+        }
+    }
+
+    private final String jsonName;
+    private final String desc;
+
+    QuoteField(String jsonName, String desc) {
+        this.jsonName = jsonName;
+        this.desc = desc;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    /**
+     * 按 JSON 字段名查找，找不到返回null
+     */
+    public static QuoteField ofJsonName(String jsonName) {
+        return BY_JSON_NAME.get(jsonName);
+    }
+
+    /**
+     * 按 JSON 字段名或枚举名（忽略大小写）查找，找不到返回null
+     */
+    public static QuoteField of(String name) {
+        if (name == null) {
+            return null;
+        }
+        QuoteField field = BY_JSON_NAME.get(name);
+        if (field != null) {
+            return field;
+        }
+        for (QuoteField value : values()) {
+            if (value.name().equalsIgnoreCase(name)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import java.util.Arrays;
+
+/**
+ * 行情排行索引（不可变，跟随 QuoteSnapshot 一起替换）
+ * 1. 每个数值字段一份按值降序排列的行号数组，升序时反向遍历
+ * 2. 新快照沿用上一份索引的顺序（按股票 id 映射到新行号）再排序，行情每次只变动少量名次，
+ *    自适应归并排序对已有序的区段直接跳过合并，接近线性
+ * 3. 预先计算每行的板块 / ST / 市值分档，TopN 查询从头遍历、跳过不满足筛选条件的行，凑满即停
+ */
+public final class QuoteRanking {
+
+    /** 插入排序的区间长度阈值 */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static final Board[] BOARDS = Board.values();
+    private static final MarketCapBucket[] CAP_BUCKETS = MarketCapBucket.values();
+
+    private final QuoteSnapshot snapshot;
+    /** 下标为 QuoteField.ordinal()，值为按该字段降序排列的行号 */
+    private final int[][] descendingRows;
+    private final byte[] boards;
+    private final byte[] capBuckets;
+    private final boolean[] st;
+
+    private QuoteRanking(QuoteSnapshot snapshot, int[][] descendingRows, byte[] boards, byte[] capBuckets, boolean[] st) {
+        this.snapshot = snapshot;
+        this.descendingRows = descendingRows;
+        this.boards = boards;
+        this.capBuckets = capBuckets;
+        this.st = st;
+    }
+
+    public QuoteSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 基于上一份索引构建新快照的索引
+     * @param previous 上一份索引，可为null（全量排序）
+     */
+    public static QuoteRanking build(QuoteSnapshot snapshot, QuoteRanking previous) {
+        int size = snapshot.size();
+        byte[] boards = new byte[size];
+        byte[] capBuckets = new byte[size];
+        boolean[] st = new boolean[size];
+        double[] marketValues = snapshot.column(QuoteField.TOTAL_MARKET_VALUE);
+        for (int row = 0; row < size; row++) {
+            boards[row] = (byte) Board.ofSymbol(snapshot.symbolAt(row)).ordinal();
+            capBuckets[row] = (byte) MarketCapBucket.ofValue(marketValues[row]).ordinal();
+            st[row] = PriceLimit.isSt(snapshot.nameAt(row));
+        }
+
+        int[][] descendingRows = new int[QuoteField.COUNT][];
+        int[] buffer = new int[size];
+        for (QuoteField field : QuoteField.values()) {
+            int[] rows = previous == null ? identity(size) : carryOver(previous, field, snapshot);
+            sort(rows, buffer, snapshot.column(field), snapshot);
+            descendingRows[field.ordinal()] = rows;
+        }
+        return new QuoteRanking(snapshot, descendingRows, boards, capBuckets, st);
+    }
+
+    /**
+     * 按字段取 TopN
+     * @return 行号（对应 getSnapshot() 的快照）
+     */
+    public int[] top(QuoteField field, boolean ascending, int limit, RankingFilter filter) {
+        int[] rows = descendingRows[field.ordinal()];
+        int[] result = new int[Math.max(0, Math.min(limit, rows.length))];
+        int count = 0;
+        for (int i = 0; i < rows.length && count < result.length; i++) {
+            int row = rows[ascending ? rows.length - 1 - i : i];
+            if (matches(row, filter)) {
+                result[count++] = row;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 满足筛选条件的股票数
+     */
+    public int count(RankingFilter filter) {
+        int count = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (matches(row, filter)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Board boardAt(int row) {
+        return BOARDS[boards[row]];
+    }
+
+    public MarketCapBucket capBucketAt(int row) {
+        return CAP_BUCKETS[capBuckets[row]];
+    }
+
+    public boolean isSt(int row) {
+        return st[row];
+    }
+
+    private boolean matches(int row, RankingFilter filter) {
+        if (!filter.isIncludeSuspended() && snapshot.get(row, QuoteField.CURRENT_PRICE) <= 0) {
+            return false;
+        }
+        if (filter.getBoard() != null && boards[row] != filter.getBoard().ordinal()) {
+            return false;
+        }
+        if (filter.getSt() != null && st[row] != filter.getSt()) {
+            return false;
+        }
+        return filter.getCapBucket() == null || capBuckets[row] == filter.getCapBucket().ordinal();
+    }
+
+    private static int[] identity(int size) {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    /**
+     * 按上一份索引的名次顺序排列新快照的行号，新上市的股票追加在末尾
+     */
+    private static int[] carryOver(QuoteRanking previous, QuoteField field, QuoteSnapshot snapshot) {
+        int size = snapshot.size();
+        int[] rows = new int[size];
+        boolean[] placed = new boolean[size];
+        int count = 0;
+        QuoteSnapshot prevSnapshot = previous.snapshot;
+        for (int prevRow : previous.descendingRows[field.ordinal()]) {
+            int row = snapshot.rowOf(prevSnapshot.symbolIdAt(prevRow));
+            if (row >= 0 && !placed[row]) {
+                placed[row] = true;
+                rows[count++] = row;
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            if (!placed[row]) {
+                rows[count++] = row;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 自适应归并排序（降序，值相同按股票 id 升序）
+     */
+    private static void sort(int[] rows, int[] buffer, double[] values, QuoteSnapshot snapshot) {
+        mergeSort(rows, buffer, 0, rows.length, values, snapshot);
+    }
+
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, double[] values, QuoteSnapshot snapshot) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && before(row, rows[j], values, snapshot)) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid, values, snapshot);
+        mergeSort(rows, buffer, mid, to, values, snapshot);
+        // 两段已整体有序，无需合并
+        if (!before(rows[mid], rows[mid - 1], values, snapshot)) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, mid - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            rows[k++] = before(rows[j], buffer[i], values, snapshot) ? rows[j++] : buffer[i++];
+        }
+        while (i < mid) {
+            rows[k++] = buffer[i++];
+        }
+    }
+
+    /**
+     * a 是否应排在 b 之前
+     */
+    private static boolean before(int a, int b, double[] values, QuoteSnapshot snapshot) {
+        int cmp = Double.compare(values[b], values[a]);
+        if (cmp != 0) {
+            return cmp < 0;
+        }
+        return snapshot.symbolIdAt(a) < snapshot.symbolIdAt(b);
+    }
+}
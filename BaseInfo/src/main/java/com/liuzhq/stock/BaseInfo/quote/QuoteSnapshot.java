@@ -0,0 +1,190 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import com.liuzhq.common.response.Freshness;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 全市场实时行情快照（列式存储，不可变，每次刷新整体替换）
+ * 结构：
+ * 1. 每个数值字段一列 double[]，行号为本次快照内的顺序
+ * 2. 行号 -> 股票 id（SymbolTable），股票 id -> 行号（不在本快照中为 -1）
+ * 排序、筛选、统计直接遍历原始数组，不再解析 JSON；返回的数组为内部数组，调用方只读
+ */
+public final class QuoteSnapshot {
+
+    /** 空快照：尚未加载过行情时使用 */
+    public static final QuoteSnapshot EMPTY = new QuoteSnapshot(0, null, 0, 0, new int[0], new String[0],
+            new int[0], new double[QuoteField.COUNT][0]);
+
+    /** 快照版本号，每次刷新递增 */
+    private final long version;
+    private final LocalDate tradeDate;
+    /** 刷新完成时间（毫秒时间戳） */
+    private final long refreshedAtMillis;
+    private final int size;
+    /** 行号 -> 股票 id */
+    private final int[] symbolIds;
+    /** 行号 -> 股票名称 */
+    private final String[] names;
+    /** 股票 id -> 行号 */
+    private final int[] rowOfId;
+    /** 列数据，下标为 QuoteField.ordinal() */
+    private final double[][] columns;
+
+    private QuoteSnapshot(long version, LocalDate tradeDate, long refreshedAtMillis, int size,
+                          int[] symbolIds, String[] names, int[] rowOfId, double[][] columns) {
+        this.version = version;
+        this.tradeDate = tradeDate;
+        this.refreshedAtMillis = refreshedAtMillis;
+        this.size = size;
+        this.symbolIds = symbolIds;
+        this.names = names;
+        this.rowOfId = rowOfId;
+        this.columns = columns;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDate getTradeDate() {
+        return tradeDate;
+    }
+
+    public long getRefreshedAtMillis() {
+        return refreshedAtMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int symbolIdAt(int row) {
+        return symbolIds[row];
+    }
+
+    public String symbolAt(int row) {
+        return SymbolTable.symbolOf(symbolIds[row]);
+    }
+
+    public String nameAt(int row) {
+        return names[row];
+    }
+
+    public double get(int row, QuoteField field) {
+        return columns[field.ordinal()][row];
+    }
+
+    /**
+     * 整列数据（内部数组，只读）
+     */
+    public double[] column(QuoteField field) {
+        return columns[field.ordinal()];
+    }
+
+    /**
+     * 股票 id 对应的行号，不在本快照中返回 -1
+     */
+    public int rowOf(int symbolId) {
+        return symbolId >= 0 && symbolId < rowOfId.length ? rowOfId[symbolId] : -1;
+    }
+
+    /**
+     * 股票代码对应的行号，不在本快照中返回 -1
+     */
+    public int rowOf(String symbol) {
+        return rowOf(SymbolTable.find(symbol));
+    }
+
+    /**
+     * 快照新鲜度（随 ResultModel 返回）
+     */
+    public Freshness toFreshness() {
+        Freshness freshness = new Freshness();
+        freshness.setRefreshedAt(refreshedAtMillis);
+        freshness.setAgeMillis(refreshedAtMillis == 0 ? 0 : Math.max(0, System.currentTimeMillis() - refreshedAtMillis));
+        return freshness;
+    }
+
+    /**
+     * 快照构建器（非线程安全，解析时逐行追加）
+     */
+    public static final class Builder {
+
+        private LocalDate tradeDate;
+        private int size;
+        private int[] symbolIds = new int[6144];
+        private String[] names = new String[6144];
+        private final double[][] columns = new double[QuoteField.COUNT][6144];
+
+        public Builder tradeDate(LocalDate tradeDate) {
+            this.tradeDate = tradeDate;
+            return this;
+        }
+
+        /**
+         * 新增一行，返回行号
+         */
+        public int addRow(String symbol, String name) {
+            int symbolId = SymbolTable.idOf(symbol);
+            if (size == symbolIds.length) {
+                grow();
+            }
+            symbolIds[size] = symbolId;
+            names[size] = name;
+            return size++;
+        }
+
+        public void set(int row, QuoteField field, double value) {
+            columns[field.ordinal()][row] = value;
+        }
+
+        /**
+         * 生成快照（同一股票重复出现时只保留最后一行）
+         */
+        public QuoteSnapshot build(long version) {
+            int[] rowOfId = new int[SymbolTable.size()];
+            Arrays.fill(rowOfId, -1);
+            for (int row = 0; row < size; row++) {
+                rowOfId[symbolIds[row]] = row;
+            }
+            // 去重后的行：保持原有顺序
+            int count = 0;
+            int[] keptRows = new int[size];
+            for (int row = 0; row < size; row++) {
+                if (rowOfId[symbolIds[row]] == row) {
+                    keptRows[count++] = row;
+                }
+            }
+
+            int[] ids = new int[count];
+            String[] rowNames = new String[count];
+            double[][] cols = new double[QuoteField.COUNT][count];
+            for (int i = 0; i < count; i++) {
+                int row = keptRows[i];
+                ids[i] = symbolIds[row];
+                rowNames[i] = names[row];
+                rowOfId[ids[i]] = i;
+                for (int c = 0; c < QuoteField.COUNT; c++) {
+                    cols[c][i] = columns[c][row];
+                }
+            }
+            return new QuoteSnapshot(version, tradeDate, System.currentTimeMillis(), count, ids, rowNames, rowOfId, cols);
+        }
+
+        private void grow() {
+            int capacity = symbolIds.length << 1;
+            symbolIds = Arrays.copyOf(symbolIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            for (int i = 0; i < QuoteField.COUNT; i++) {
+                columns[i] = Arrays.copyOf(columns[i], capacity);
+            }
+        }
+    }
+}
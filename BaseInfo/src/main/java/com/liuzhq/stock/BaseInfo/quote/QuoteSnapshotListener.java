@@ -0,0 +1,15 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+/**
+ * 行情快照替换监听（排行榜、搜索、市场统计、分时序列等在快照刷新后增量更新）
+ * 实现类注册为 Spring Bean 即可，回调在刷新线程中同步执行，应尽快返回
+ */
+public interface QuoteSnapshotListener {
+
+    /**
+     * 新快照生效后回调
+     * @param previous 上一份快照（首次加载时为 QuoteSnapshot.EMPTY）
+     * @param current 新快照
+     */
+    void onSnapshot(QuoteSnapshot previous, QuoteSnapshot current);
+}
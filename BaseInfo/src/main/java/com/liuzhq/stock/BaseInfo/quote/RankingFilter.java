@@ -0,0 +1,22 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import lombok.Data;
+
+/**
+ * 排行榜筛选条件（字段为空表示不限）
+ */
+@Data
+public class RankingFilter {
+
+    /** 板块 */
+    private Board board;
+
+    /** ST：true 只看ST，false 排除ST */
+    private Boolean st;
+
+    /** 总市值分档 */
+    private MarketCapBucket capBucket;
+
+    /** 是否包含停牌（最新价为0）的股票，默认不包含 */
+    private boolean includeSuspended;
+}
@@ -0,0 +1,85 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 股票代码字典（进程内驻留表）
+ * 每个股票代码分配一个进程内稳定的 int id，只追加不回收；
+ * 行情快照、排行榜、分时序列等都以 id 作为下标，快照替换后 id 不变
+ */
+public final class SymbolTable {
+
+    private static final Map<String, Integer> SYMBOL_TO_ID = new ConcurrentHashMap<>();
+
+    /** id -> 股票代码，只追加，扩容时整体替换 */
+    private static volatile String[] idToSymbol = new String[8192];
+
+    private static int size = 0;
+
+    private SymbolTable() {
+    }
+
+    /**
+     * 股票代码对应的 id（不存在时分配）
+     */
+    public static int idOf(String symbol) {
+        Integer id = SYMBOL_TO_ID.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        synchronized (SymbolTable.class) {
+            id = SYMBOL_TO_ID.get(symbol);
+            if (id != null) {
+                return id;
+            }
+            String[] symbols = idToSymbol;
+            if (size == symbols.length) {
+                String[] grown = new String[symbols.length << 1];
+                System.arraycopy(symbols, 0, grown, 0, size);
+                symbols = grown;
+            }
+            symbols[size] = symbol;
+            idToSymbol = symbols;
+            id = size++;
+            SYMBOL_TO_ID.put(symbol, id);
+            return id;
+        }
+    }
+
+    /**
+     * 已分配的 id，不存在返回 -1（不分配）
+     */
+    public static int find(String symbol) {
+        if (symbol == null) {
+            return -1;
+        }
+        Integer id = SYMBOL_TO_ID.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    public static String symbolOf(int id) {
+        return idToSymbol[id];
+    }
+
+    /**
+     * 已分配的 id 个数（id 取值范围为 [0, size)）
+     */
+    public static int size() {
+        return SYMBOL_TO_ID.size();
+    }
+
+    /**
+     * 股票池等外部代码统一为行情中的6位代码（去掉 .SS/.SZ 后缀和 sh/sz 前缀）
+     */
+    public static String normalize(String stockCode) {
+        String code = StringUtils.substringBefore(StringUtils.trimToEmpty(stockCode), ".");
+        int start = 0;
+        while (start < code.length() && Character.isLetter(code.charAt(start))) {
+            start++;
+        }
+        return code.substring(start);
+    }
+}
@@ -0,0 +1,26 @@
+package com.liuzhq.stock.BaseInfo.search;
+
+/**
+ * 搜索匹配方式，声明顺序即排序优先级（越靠前越优先）
+ */
+public enum MatchType {
+    CODE_EXACT("代码完全匹配"),
+    NAME_EXACT("名称完全匹配"),
+    CODE_PREFIX("代码前缀"),
+    NAME_PREFIX("名称前缀"),
+    PINYIN_PREFIX("拼音首字母前缀"),
+    INFIX("名称/拼音中间匹配"),
+    FUZZY("模糊匹配"),
+
+    ;
+
+    private final String desc;
+
+    MatchType(String desc) {
+        this.desc = desc;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+}
@@ -0,0 +1,89 @@
+package com.liuzhq.stock.BaseInfo.search;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 股票名称的拼音首字母（如 贵州茅台 -> gzmt）
+ * 1. 汉字取拼音首字母，多音字取全部读音的首字母组合（如 银行 -> yh、yx），组合数有上限
+ * 2. 英文字母、数字转小写保留，其余字符（*、空格等）忽略
+ */
+public final class PinyinInitials {
+
+    /** 多音字组合的最大个数 */
+    private static final int MAX_VARIANTS = 8;
+
+    private PinyinInitials() {
+    }
+
+    /**
+     * 名称的拼音首字母组合，第一个为每个字取第一个读音的结果
+     */
+    public static List<String> of(String name) {
+        if (name == null || name.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<StringBuilder> variants = new ArrayList<>();
+        variants.add(new StringBuilder(name.length()));
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            char[] initials = initialsOf(ch);
+            if (initials.length == 0) {
+                continue;
+            }
+            int size = variants.size();
+            for (int v = 0; v < size; v++) {
+                StringBuilder variant = variants.get(v);
+                // 其余读音派生新的组合（先派生再追加第一个读音，避免修改被复制的内容）
+                for (int k = 1; k < initials.length && variants.size() < MAX_VARIANTS; k++) {
+                    variants.add(new StringBuilder(variant).append(initials[k]));
+                }
+                variant.append(initials[0]);
+            }
+        }
+
+        Set<String> result = new LinkedHashSet<>(variants.size() * 2);
+        for (StringBuilder variant : variants) {
+            if (variant.length() > 0) {
+                result.add(variant.toString());
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 单个字符的首字母（去重），无法转换返回空数组
+     */
+    static char[] initialsOf(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            return new char[]{(char) (ch + ('a' - 'A'))};
+        }
+        if ((ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')) {
+            return new char[]{ch};
+        }
+        // 全角字母、数字
+        if (ch >= '０' && ch <= 'ｚ') {
+            return initialsOf((char) (ch - 0xFEE0));
+        }
+        String[] pinyins = PinyinHelper.toHanyuPinyinStringArray(ch);
+        if (pinyins == null || pinyins.length == 0) {
+            return new char[0];
+        }
+        StringBuilder distinct = new StringBuilder(pinyins.length);
+        for (String pinyin : pinyins) {
+            if (pinyin.isEmpty()) {
+                continue;
+            }
+            char initial = Character.toLowerCase(pinyin.charAt(0));
+            if (distinct.indexOf(String.valueOf(initial)) < 0) {
+                distinct.append(initial);
+            }
+        }
+        return distinct.toString().toCharArray();
+    }
+}
@@ -0,0 +1,433 @@
+package com.liuzhq.stock.BaseInfo.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 股票搜索索引（不可变，股票集合变化时在后台重建后整体替换）
+ * 1. 股票代码、名称、拼音首字母（含多音字组合）及名称/拼音的后缀全部插入一棵前缀树，
+ *    构建完成后压缩为数组（子节点按字符排序，二分查找）
+ * 2. 每个节点预先保存排好序的前 MAX_LIMIT 个候选（按匹配方式、再按成交额降序），
+ *    一次搜索只需沿关键词走到对应节点、顺序读取候选，耗时与股票总数无关
+ * 3. 前缀候选不足时再对全部股票做一次模糊匹配（代码错一位/相邻颠倒、按顺序包含关键词的各个字）
+ */
+public final class StockSearchIndex {
+
+    /** 单次搜索的最大返回数（每个节点预存的候选数） */
+    public static final int MAX_LIMIT = 50;
+
+    /** 模糊匹配的最短关键词长度 */
+    private static final int FUZZY_MIN_LENGTH = 2;
+
+    /** 候选编码：高位为匹配方式，低位为股票下标 */
+    private static final int TYPE_SHIFT = 24;
+    private static final int ENTRY_MASK = (1 << TYPE_SHIFT) - 1;
+
+    private static final MatchType[] MATCH_TYPES = MatchType.values();
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final int[] NO_INTS = new int[0];
+
+    /** 空索引：尚未构建时使用（依赖上面的常量，需在其后声明） */
+    public static final StockSearchIndex EMPTY = new Builder().build(0);
+
+    /** 股票集合指纹，用于判断是否需要重建 */
+    private final long fingerprint;
+    private final long builtAtMillis;
+
+    /** 股票按成交额降序排列，下标即排序名次 */
+    private final String[] symbols;
+    private final String[] names;
+    private final String[] normalizedNames;
+    private final String[][] initials;
+    private final Map<String, Integer> codeIndex;
+    private final Map<String, Integer> nameIndex;
+
+    /** 压缩后的前缀树，下标为节点号，0 为根节点 */
+    private final char[][] labels;
+    private final int[][] children;
+    private final int[][] candidates;
+
+    private StockSearchIndex(long fingerprint, String[] symbols, String[] names, String[] normalizedNames,
+                             String[][] initials, Map<String, Integer> codeIndex, Map<String, Integer> nameIndex,
+                             char[][] labels, int[][] children, int[][] candidates) {
+        this.fingerprint = fingerprint;
+        this.builtAtMillis = System.currentTimeMillis();
+        this.symbols = symbols;
+        this.names = names;
+        this.normalizedNames = normalizedNames;
+        this.initials = initials;
+        this.codeIndex = codeIndex;
+        this.nameIndex = nameIndex;
+        this.labels = labels;
+        this.children = children;
+        this.candidates = candidates;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    /**
+     * 股票数
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * 前缀树节点数
+     */
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * 搜索股票
+     * @param keyword 代码、名称或拼音首字母（忽略大小写、空格、*）
+     * @param limit 返回数量，最多 MAX_LIMIT
+     */
+    public List<Hit> search(String keyword, int limit) {
+        String query = normalize(keyword);
+        limit = Math.min(limit, MAX_LIMIT);
+        if (query.isEmpty() || limit <= 0 || symbols.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Hit> hits = new ArrayList<>(limit);
+        BitSet added = new BitSet(symbols.length);
+        addHit(hits, added, codeIndex.get(query), MatchType.CODE_EXACT);
+        addHit(hits, added, nameIndex.get(query), MatchType.NAME_EXACT);
+
+        int node = find(query);
+        if (node >= 0) {
+            for (int encoded : candidates[node]) {
+                if (hits.size() >= limit) {
+                    return hits;
+                }
+                addHit(hits, added, encoded & ENTRY_MASK, MATCH_TYPES[encoded >>> TYPE_SHIFT]);
+            }
+        }
+
+        if (query.length() >= FUZZY_MIN_LENGTH) {
+            boolean digits = isDigits(query);
+            for (int entry = 0; entry < symbols.length && hits.size() < limit; entry++) {
+                if (!added.get(entry) && fuzzyMatches(query, digits, entry)) {
+                    addHit(hits, added, entry, MatchType.FUZZY);
+                }
+            }
+        }
+        return hits;
+    }
+
+    private void addHit(List<Hit> hits, BitSet added, Integer entry, MatchType matchType) {
+        if (entry == null || added.get(entry)) {
+            return;
+        }
+        added.set(entry);
+        String[] variants = initials[entry];
+        hits.add(new Hit(symbols[entry], names[entry], variants.length == 0 ? "" : variants[0], matchType));
+    }
+
+    /**
+     * 关键词对应的节点号，不存在返回 -1
+     */
+    private int find(String query) {
+        int node = 0;
+        for (int i = 0; i < query.length(); i++) {
+            int index = Arrays.binarySearch(labels[node], query.charAt(i));
+            if (index < 0) {
+                return -1;
+            }
+            node = children[node][index];
+        }
+        return node;
+    }
+
+    private boolean fuzzyMatches(String query, boolean digits, int entry) {
+        String code = symbols[entry];
+        if (digits) {
+            return code.contains(query) || withinOneEdit(query, code);
+        }
+        if (isSubsequence(query, normalizedNames[entry])) {
+            return true;
+        }
+        for (String variant : initials[entry]) {
+            if (isSubsequence(query, variant)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 等长且只错一位或相邻两位颠倒
+     */
+    private static boolean withinOneEdit(String query, String code) {
+        if (query.length() != code.length()) {
+            return false;
+        }
+        int first = -1;
+        for (int i = 0; i < query.length(); i++) {
+            if (query.charAt(i) != code.charAt(i)) {
+                if (first < 0) {
+                    first = i;
+                } else if (i == first + 1 && query.charAt(first) == code.charAt(i) && query.charAt(i) == code.charAt(first)) {
+                    // 相邻颠倒，剩余部分必须完全一致
+                    return query.regionMatches(i + 1, code, i + 1, query.length() - i - 1);
+                } else {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSubsequence(String query, String text) {
+        int i = 0;
+        for (int j = 0; j < text.length() && i < query.length(); j++) {
+            if (query.charAt(i) == text.charAt(j)) {
+                i++;
+            }
+        }
+        return i == query.length();
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 统一关键词和索引键：全角转半角、转小写，去掉空白和 *
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch >= '！' && ch <= '～') {
+                ch = (char) (ch - 0xFEE0);
+            }
+            if (Character.isWhitespace(ch) || ch == '　' || ch == '*') {
+                continue;
+            }
+            builder.append(Character.toLowerCase(ch));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 搜索结果
+     */
+    public static final class Hit {
+        private final String symbol;
+        private final String name;
+        private final String initials;
+        private final MatchType matchType;
+
+        private Hit(String symbol, String name, String initials, MatchType matchType) {
+            this.symbol = symbol;
+            this.name = name;
+            this.initials = initials;
+            this.matchType = matchType;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 拼音首字母（多音字取第一个读音）
+         */
+        public String getInitials() {
+            return initials;
+        }
+
+        public MatchType getMatchType() {
+            return matchType;
+        }
+    }
+
+    /**
+     * 索引构建器（非线程安全），同一股票代码只保留第一次添加的名称
+     */
+    public static final class Builder {
+
+        private final Map<String, String> nameOf = new LinkedHashMap<>();
+        private final Map<String, Double> weightOf = new HashMap<>();
+
+        /**
+         * 添加股票
+         * @param weight 排序权重（成交额），越大越靠前
+         */
+        public Builder add(String symbol, String name, double weight) {
+            if (symbol == null || symbol.isEmpty() || name == null || name.isEmpty()) {
+                return this;
+            }
+            if (nameOf.putIfAbsent(symbol, name) == null) {
+                weightOf.put(symbol, weight);
+            }
+            return this;
+        }
+
+        public int size() {
+            return nameOf.size();
+        }
+
+        public StockSearchIndex build(long fingerprint) {
+            List<String> sorted = new ArrayList<>(nameOf.keySet());
+            sorted.sort(Comparator.comparingDouble((String symbol) -> weightOf.get(symbol)).reversed()
+                    .thenComparing(Comparator.naturalOrder()));
+
+            int size = sorted.size();
+            String[] symbols = sorted.toArray(new String[0]);
+            String[] names = new String[size];
+            String[] normalizedNames = new String[size];
+            String[][] initials = new String[size][];
+            Map<String, Integer> codeIndex = new HashMap<>(size * 2);
+            Map<String, Integer> nameIndex = new HashMap<>(size * 2);
+            BuildNode root = new BuildNode();
+            for (int entry = 0; entry < size; entry++) {
+                names[entry] = nameOf.get(symbols[entry]);
+                normalizedNames[entry] = normalize(names[entry]);
+                initials[entry] = PinyinInitials.of(names[entry]).toArray(new String[0]);
+                codeIndex.putIfAbsent(symbols[entry], entry);
+                nameIndex.putIfAbsent(normalizedNames[entry], entry);
+
+                insert(root, symbols[entry], 0, encode(MatchType.CODE_PREFIX, entry));
+                insertSuffixes(root, normalizedNames[entry], MatchType.NAME_PREFIX, entry);
+                for (String variant : initials[entry]) {
+                    insertSuffixes(root, variant, MatchType.PINYIN_PREFIX, entry);
+                }
+            }
+            return freeze(fingerprint, root, symbols, names, normalizedNames, initials, codeIndex, nameIndex);
+        }
+
+        private static int encode(MatchType matchType, int entry) {
+            return (matchType.ordinal() << TYPE_SHIFT) | entry;
+        }
+
+        private static void insertSuffixes(BuildNode root, String key, MatchType prefixType, int entry) {
+            for (int from = 0; from < key.length(); from++) {
+                insert(root, key, from, encode(from == 0 ? prefixType : MatchType.INFIX, entry));
+            }
+        }
+
+        private static void insert(BuildNode root, String key, int from, int encoded) {
+            BuildNode node = root;
+            for (int i = from; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+                node.addCandidate(encoded);
+            }
+        }
+
+        /**
+         * 按层次遍历给节点编号并压缩为数组；候选按 (匹配方式, 名次) 排序、按股票去重后截断
+         */
+        private static StockSearchIndex freeze(long fingerprint, BuildNode root, String[] symbols, String[] names,
+                                               String[] normalizedNames, String[][] initials,
+                                               Map<String, Integer> codeIndex, Map<String, Integer> nameIndex) {
+            List<BuildNode> order = new ArrayList<>();
+            ArrayDeque<BuildNode> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                BuildNode node = queue.poll();
+                node.id = order.size();
+                order.add(node);
+                if (node.children != null) {
+                    queue.addAll(node.children.values());
+                }
+            }
+
+            int nodeCount = order.size();
+            char[][] labels = new char[nodeCount][];
+            int[][] children = new int[nodeCount][];
+            int[][] candidates = new int[nodeCount][];
+            int[] seen = new int[symbols.length];
+            for (BuildNode node : order) {
+                if (node.children == null) {
+                    labels[node.id] = NO_LABELS;
+                    children[node.id] = NO_INTS;
+                } else {
+                    char[] chars = new char[node.children.size()];
+                    int i = 0;
+                    for (Character ch : node.children.keySet()) {
+                        chars[i++] = ch;
+                    }
+                    Arrays.sort(chars);
+                    int[] ids = new int[chars.length];
+                    for (i = 0; i < chars.length; i++) {
+                        ids[i] = node.children.get(chars[i]).id;
+                    }
+                    labels[node.id] = chars;
+                    children[node.id] = ids;
+                }
+
+                int[] raw = node.candidates == null ? NO_INTS : node.candidates;
+                Arrays.sort(raw, 0, node.candidateCount);
+                int[] kept = new int[Math.min(node.candidateCount, MAX_LIMIT)];
+                int count = 0;
+                for (int i = 0; i < node.candidateCount && count < kept.length; i++) {
+                    int entry = raw[i] & ENTRY_MASK;
+                    // 同一股票只保留最优的匹配方式（排在最前的一条）
+                    if (seen[entry] != node.id + 1) {
+                        seen[entry] = node.id + 1;
+                        kept[count++] = raw[i];
+                    }
+                }
+                candidates[node.id] = count == kept.length ? kept : Arrays.copyOf(kept, count);
+                // 释放构建期数据
+                node.candidates = null;
+                node.children = null;
+            }
+            return new StockSearchIndex(fingerprint, symbols, names, normalizedNames, initials,
+                    codeIndex, nameIndex, labels, children, candidates);
+        }
+    }
+
+    private static final class BuildNode {
+        private Map<Character, BuildNode> children;
+        private int[] candidates;
+        private int candidateCount;
+        private int id;
+
+        private BuildNode child(char ch) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            return children.computeIfAbsent(ch, key -> new BuildNode());
+        }
+
+        private void addCandidate(int encoded) {
+            if (candidates == null) {
+                candidates = new int[2];
+            } else if (candidateCount == candidates.length) {
+                candidates = Arrays.copyOf(candidates, candidateCount << 1);
+            }
+            candidates[candidateCount++] = encoded;
+        }
+    }
+}
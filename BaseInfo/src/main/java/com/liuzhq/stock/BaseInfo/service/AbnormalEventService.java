@@ -0,0 +1,49 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import com.liuzhq.stock.BaseInfo.event.AbnormalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 盘面异动事件服务：按最大事件ID增量拉取，位图去重后先推送给订阅者、再批量入库
+ */
+public interface AbnormalEventService {
+
+    /**
+     * 拉取一次新事件
+     * @return 新事件数
+     */
+    int poll();
+
+    /**
+     * 内存中最近的事件（按id升序）
+     * @param sinceId 只返回id大于该值的事件，为空则不限
+     * @param stockCode 只返回该股票的事件，为空则不限
+     * @param limit 最多返回条数（取最新的）
+     */
+    List<StockAbnormalEvent> recent(Long sinceId, String stockCode, int limit);
+
+    /**
+     * 查询指定交易日已入库的事件（按id升序）
+     * @param stockCode 为空则返回全部
+     */
+    List<StockAbnormalEvent> queryByDate(LocalDate tradeDate, String stockCode);
+
+    /**
+     * 动态订阅新事件
+     */
+    void subscribe(AbnormalEventListener listener);
+
+    /**
+     * 取消订阅
+     */
+    void unsubscribe(AbnormalEventListener listener);
+
+    /**
+     * 拉取状态：最大事件ID、累计事件数、待入库数、最近一次拉取耗时
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,33 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.liuzhq.stock.BaseInfo.dto.SeriesPointDto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分时序列服务：交易时段内按采样间隔（默认每分钟）把行情快照记入当日的分时环形缓冲区，收盘后封存，下一交易日重新开始
+ */
+public interface IntradaySeriesService {
+
+    /**
+     * 单只股票的分时序列
+     * @param tradeDate 交易日，为空时取最近一个有数据的交易日
+     */
+    List<SeriesPointDto> series(String symbol, LocalDate tradeDate);
+
+    /**
+     * 指定时间的横截面（取不晚于该时间的最近一次快照）
+     * @param symbols 为空时返回全部股票
+     * @param tradeDate 交易日，为空时取最近一个有数据的交易日
+     */
+    List<SeriesPointDto> crossSection(LocalTime time, Collection<String> symbols, LocalDate tradeDate);
+
+    /**
+     * 缓冲区状态：交易日、时间点数、容量、已分配内存
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,21 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.liuzhq.stock.BaseInfo.dto.MarketBreadthDto;
+import com.liuzhq.stock.BaseInfo.quote.MarketBreadth;
+
+/**
+ * 市场宽度统计服务：涨跌家数、涨跌停、涨跌幅分布、成交额、市值加权涨跌幅等，
+ * 随行情快照刷新增量更新，不再调用Python统计接口
+ */
+public interface MarketBreadthService {
+
+    /**
+     * 当前统计结果（尚未加载行情时同步加载一次）
+     */
+    MarketBreadth current();
+
+    /**
+     * 当前统计结果及价格/涨幅/成交量前10
+     */
+    MarketBreadthDto getStatistics();
+}
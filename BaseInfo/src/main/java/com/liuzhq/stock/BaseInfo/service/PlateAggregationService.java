@@ -0,0 +1,24 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.liuzhq.stock.BaseInfo.dto.PlateStatDto;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 板块聚合服务：按交易日增量维护各板块的涨停/连板/炸板/跌停/平均涨幅
+ */
+public interface PlateAggregationService {
+
+    /**
+     * 股票池同步落地后调用，增量更新当日板块计数（重复同步幂等）
+     */
+    void onPoolSynced(LocalDate tradeDate, String poolKey, List<? extends StockPool> rows);
+
+    /**
+     * 热门板块 TopN
+     * @param sortBy 排序方式：zt（默认）、ladder、change、broken、dt
+     */
+    List<PlateStatDto> topPlates(LocalDate tradeDate, int limit, String sortBy);
+}
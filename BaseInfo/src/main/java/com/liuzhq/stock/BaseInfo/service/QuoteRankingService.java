@@ -0,0 +1,33 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.liuzhq.stock.BaseInfo.dto.QuoteDto;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteRanking;
+import com.liuzhq.stock.BaseInfo.quote.RankingFilter;
+
+import java.util.List;
+
+/**
+ * 实时行情排行榜服务：基于内存行情快照，任意数值字段升序/降序 TopN，支持板块/ST/市值分档筛选
+ */
+public interface QuoteRankingService {
+
+    /**
+     * TopN
+     * @param field 排序字段
+     * @param ascending 是否升序（默认降序）
+     * @param limit 返回数量
+     * @param filter 筛选条件
+     */
+    List<QuoteDto> top(QuoteField field, boolean ascending, int limit, RankingFilter filter);
+
+    /**
+     * 在指定排行索引上取 TopN（与 count、新鲜度读取同一份索引时使用）
+     */
+    List<QuoteDto> top(QuoteRanking ranking, QuoteField field, boolean ascending, int limit, RankingFilter filter);
+
+    /**
+     * 当前生效的排行索引（尚未加载行情时同步加载一次）
+     */
+    QuoteRanking current();
+}
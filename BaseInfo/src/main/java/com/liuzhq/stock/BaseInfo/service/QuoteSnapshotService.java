@@ -0,0 +1,44 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.alibaba.fastjson.JSONObject;
+import com.liuzhq.stock.BaseInfo.dto.QuoteDto;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 全市场实时行情快照服务：定时从Python接口拉取行情，解析为列式快照后整体替换
+ */
+public interface QuoteSnapshotService {
+
+    /**
+     * 当前生效的快照（从未加载过时同步加载一次）
+     */
+    QuoteSnapshot current();
+
+    /**
+     * 立即从Python接口刷新，成功后替换快照并通知监听者
+     */
+    QuoteSnapshot refresh();
+
+    /**
+     * 按股票代码查询行情，不存在的代码跳过
+     */
+    List<QuoteDto> getQuotes(Collection<String> symbols);
+
+    /**
+     * 在指定快照中按股票代码查询行情，不存在的代码跳过
+     */
+    List<QuoteDto> getQuotes(QuoteSnapshot snapshot, Collection<String> symbols);
+
+    /**
+     * 整份快照转换为与 Python 实时行情接口相同结构的 JSON（code、msg、trade_date、data、count，data 中字段名、类型与接口一致）
+     */
+    JSONObject toJson(QuoteSnapshot snapshot);
+
+    /**
+     * 快照中指定行转换为 DTO
+     */
+    QuoteDto toDto(QuoteSnapshot snapshot, int row);
+}
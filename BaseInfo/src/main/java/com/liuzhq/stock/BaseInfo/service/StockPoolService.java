@@ -2,11 +2,15 @@ package com.liuzhq.stock.BaseInfo.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.liuzhq.stock.BaseInfo.dto.StockPoolDto;
+import com.liuzhq.stock.BaseInfo.dto.StockPoolSyncReport;
+import com.liuzhq.stock.BaseInfo.dto.innerClass.PoolSyncResult;
 import com.liuzhq.stock.BaseInfo.entity.StockPool;
 
 import java.io.UnsupportedEncodingException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface StockPoolService extends IService<StockPool> {
 
@@ -14,9 +18,38 @@ public interface StockPoolService extends IService<StockPool> {
 
     boolean syncStockPoolData(String poolKey, LocalDate tradeDate) throws UnsupportedEncodingException;
 
-    List<StockPoolDto> queryByDateAndPoolType(LocalDate tradeDate, String poolType, Integer notShowSt) throws UnsupportedEncodingException;
+    /**
+     * 异步同步指定日期、指定股票池类型的数据，等待Python响应期间不占用调用线程
+     * 数据无变化也视为成功，新增/更新条数见返回结果
+     */
+    CompletableFuture<PoolSyncResult> syncStockPoolDataAsync(String poolKey, LocalDate tradeDate);
+
+    /**
+     * 查询指定日期和股票池类型的数据，本地无数据时异步同步后再查询，等待Python响应期间不占用调用线程
+     */
+    CompletableFuture<List<StockPoolDto>> queryByDateAndPoolType(LocalDate tradeDate, String poolType, Integer notShowSt);
 
     boolean syncAllStockPoolData();
 
+    /**
+     * 并发同步指定日期的全部股票池，各股票池分别比对写入，返回各股票池耗时及失败明细
+     */
+    StockPoolSyncReport syncAllStockPoolData(LocalDate tradeDate);
+
+    /**
+     * 异步并发同步指定日期的全部股票池，等待Python响应期间不占用调用线程
+     */
+    CompletableFuture<StockPoolSyncReport> syncAllStockPoolDataAsync(LocalDate tradeDate);
+
+    /**
+     * 预热指定交易日：同步全部股票池并预先构建各股票池视图和连板晋级视图的缓存
+     */
+    StockPoolSyncReport warmUp(LocalDate tradeDate);
+
+    /**
+     * 查询未命中触发同步的合并统计（实际执行次数/被合并次数）
+     */
+    Map<String, Object> getSyncStats();
+
     List<StockPoolDto> lbjjStockPool(LocalDate tradeDate, Integer notShowSt);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 服务端推送（SSE）：同步/行情刷新后只推送变化，每个变化序列化一次后广播给所有订阅者
+ */
+public interface StockPushService {
+
+    /**
+     * 建立推送连接
+     * @param topics 订阅的主题（见 PushTopic），为空则订阅全部
+     * @param lastEventId 断线重连时客户端收到的最后一个事件ID，补发之后的事件；
+     *                    已超出补发窗口时推送 reset，客户端需重新全量查询
+     */
+    SseEmitter subscribe(Set<String> topics, Long lastEventId);
+
+    /**
+     * 发布一个变化：序列化一次后异步广播给订阅了该主题的连接
+     */
+    void publish(String topic, Object payload);
+
+    /**
+     * 是否有连接订阅了该主题（没有时发布方可以跳过变化计算）
+     */
+    boolean hasSubscribers(String topic);
+
+    /**
+     * 向所有连接发送心跳，清理已断开和写出超时的连接
+     */
+    void heartbeat();
+
+    /**
+     * 推送状态：连接数、已发布/已发送帧数、断开连接数
+     */
+    Map<String, Object> getStats();
+}
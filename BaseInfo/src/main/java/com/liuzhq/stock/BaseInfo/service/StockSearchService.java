@@ -0,0 +1,29 @@
+package com.liuzhq.stock.BaseInfo.service;
+
+import com.liuzhq.stock.BaseInfo.dto.StockSearchDto;
+import com.liuzhq.stock.BaseInfo.search.StockSearchIndex;
+
+import java.util.List;
+
+/**
+ * 股票搜索服务：基于内存索引按代码、名称、拼音首字母搜索，不再调用Python接口
+ */
+public interface StockSearchService {
+
+    /**
+     * 搜索股票，结果按匹配方式、成交额排序
+     * @param keyword 代码、名称或拼音首字母
+     * @param limit 返回数量，最多 StockSearchIndex.MAX_LIMIT
+     */
+    List<StockSearchDto> search(String keyword, int limit);
+
+    /**
+     * 当前生效的索引（尚未构建时同步构建一次）
+     */
+    StockSearchIndex current();
+
+    /**
+     * 立即按当前行情快照和股票池名称重建索引
+     */
+    StockSearchIndex rebuild();
+}
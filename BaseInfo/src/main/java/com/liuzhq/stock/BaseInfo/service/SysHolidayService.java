@@ -1,6 +1,7 @@
 package com.liuzhq.stock.BaseInfo.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.liuzhq.stock.BaseInfo.calendar.TradeCalendar;
 import com.liuzhq.stock.BaseInfo.entity.SysHoliday;
 import java.time.LocalDate;
 import java.util.List;
@@ -24,5 +25,23 @@ public interface SysHolidayService extends IService<SysHoliday> {
 
     LocalDate getValidTradeDate(LocalDate targetDate);
 
+    /**
+     * 查询指定年份（可选月份）的节假日明细，返回只读列表
+     */
     List<SysHoliday> query(Integer year, Integer month);
+
+    /**
+     * 从数据库重建指定年份的节假日缓存并整体替换
+     */
+    void refreshHolidayYear(Integer year);
+
+    /**
+     * 获取当前生效的交易日历（首次调用时从数据库构建）
+     */
+    TradeCalendar getTradeCalendar();
+
+    /**
+     * 从数据库重建交易日历并整体替换
+     */
+    void refreshTradeCalendar();
 }
\ No newline at end of file
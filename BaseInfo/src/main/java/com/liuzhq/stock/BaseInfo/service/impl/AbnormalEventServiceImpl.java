@@ -0,0 +1,252 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
+import com.liuzhq.stock.BaseInfo.entity.StockAbnormalEvent;
+import com.liuzhq.stock.BaseInfo.event.AbnormalEventListener;
+import com.liuzhq.stock.BaseInfo.event.AbnormalEventPage;
+import com.liuzhq.stock.BaseInfo.event.EventIdBitmap;
+import com.liuzhq.stock.BaseInfo.mapper.StockAbnormalEventMapper;
+import com.liuzhq.stock.BaseInfo.service.AbnormalEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 盘面异动事件服务
+ * 1. 以已处理的最大事件ID为游标增量拉取（启动时取库中最大ID），不重复读取旧事件
+ * 2. 新事件经ID位图去重后，立即放入最近事件缓冲区并推送给订阅者，再批量 INSERT IGNORE 入库；
+ *    入库失败的事件留在待入库队列，下次拉取时重试，不影响推送
+ * 3. 拉取由 AbnormalEventPollTask 单线程按固定间隔调用
+ */
+@Service
+@Slf4j
+public class AbnormalEventServiceImpl implements AbnormalEventService {
+
+    /** 去重窗口（事件ID数） */
+    private static final int DEDUP_WINDOW = 1 << 16;
+
+    /** 待入库队列上限，超过后丢弃最早的（数据库长时间不可用） */
+    private static final int MAX_PENDING = 20000;
+
+    /** 单次批量入库条数 */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    @Resource
+    private PythonApiClient pythonApiClient;
+
+    @Resource
+    private StockAbnormalEventMapper stockAbnormalEventMapper;
+
+    @Resource
+    private ObjectProvider<AbnormalEventListener> listenerBeans;
+
+    @Value("${stock.event.recent-size:2000}")
+    private int recentSize;
+
+    private final EventIdBitmap seen = new EventIdBitmap(DEDUP_WINDOW);
+
+    /** 动态订阅者（如推送连接） */
+    private final List<AbnormalEventListener> subscribers = new CopyOnWriteArrayList<>();
+
+    /** 最近的事件（按id升序），读写都持有自身的锁 */
+    private final ArrayDeque<StockAbnormalEvent> recentEvents = new ArrayDeque<>();
+
+    /** 待入库的事件，只在拉取线程中访问 */
+    private final List<StockAbnormalEvent> pending = new ArrayList<>();
+
+    /** 增量拉取游标（已处理的最大事件ID），未初始化时为 null */
+    private volatile Long cursor;
+    private volatile boolean cursorLoaded;
+
+    private volatile long pollCount;
+    private volatile long eventCount;
+    private volatile long lastPollMillis;
+    private volatile long droppedCount;
+    private volatile int pendingCount;
+
+    @Override
+    public synchronized int poll() {
+        long start = System.currentTimeMillis();
+        loadCursor();
+
+        AbnormalEventPage page;
+        try {
+            page = pythonApiClient.getAbnormalEvents(cursor);
+        } catch (Exception e) {
+            log.warn("拉取盘面异动事件失败，游标：{}，原因：{}", cursor, e.getMessage());
+            flushPending();
+            return 0;
+        }
+        if (page.isHasMore()) {
+            log.warn("盘面异动事件超过单次拉取上限，游标{}之后可能有事件缺失", cursor);
+        }
+
+        List<StockAbnormalEvent> fresh = new ArrayList<>(page.getEvents().size());
+        for (StockAbnormalEvent event : page.getEvents()) {
+            if (seen.add(event.getId())) {
+                fresh.add(event);
+            }
+        }
+        long maxId = seen.getMaxId();
+        if (maxId >= 0 && (cursor == null || maxId > cursor)) {
+            cursor = maxId;
+        } else if (cursor == null && page.getLastId() != null) {
+            cursor = page.getLastId();
+        }
+
+        if (!fresh.isEmpty()) {
+            appendRecent(fresh);
+            publish(fresh);
+            pending.addAll(fresh);
+            eventCount += fresh.size();
+        }
+        flushPending();
+
+        pollCount++;
+        lastPollMillis = System.currentTimeMillis() - start;
+        if (!fresh.isEmpty()) {
+            log.debug("盘面异动新事件{}条，游标：{}，耗时{}ms", fresh.size(), cursor, lastPollMillis);
+        }
+        return fresh.size();
+    }
+
+    /**
+     * 首次拉取前以库中最大事件ID为游标（读库失败时下次再试，期间只取最新一页）
+     */
+    private void loadCursor() {
+        if (cursorLoaded) {
+            return;
+        }
+        try {
+            Long maxId = stockAbnormalEventMapper.selectMaxId();
+            if (maxId != null && (cursor == null || maxId > cursor)) {
+                cursor = maxId;
+                seen.add(maxId);
+            }
+            cursorLoaded = true;
+            log.info("盘面异动事件拉取游标初始化为：{}", cursor);
+        } catch (Exception e) {
+            log.warn("读取盘面异动事件最大ID失败：{}", e.getMessage());
+        }
+    }
+
+    private void appendRecent(List<StockAbnormalEvent> events) {
+        synchronized (recentEvents) {
+            for (StockAbnormalEvent event : events) {
+                recentEvents.addLast(event);
+            }
+            while (recentEvents.size() > recentSize) {
+                recentEvents.pollFirst();
+            }
+        }
+    }
+
+    private void publish(List<StockAbnormalEvent> events) {
+        List<StockAbnormalEvent> readOnly = Collections.unmodifiableList(events);
+        listenerBeans.orderedStream().forEach(listener -> notify(listener, readOnly));
+        for (AbnormalEventListener listener : subscribers) {
+            notify(listener, readOnly);
+        }
+    }
+
+    private static void notify(AbnormalEventListener listener, List<StockAbnormalEvent> events) {
+        try {
+            listener.onEvents(events);
+        } catch (Exception e) {
+            log.error("盘面异动事件订阅处理失败：{}", listener.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 批量入库待入库的事件，失败的留到下次
+     */
+    private void flushPending() {
+        while (!pending.isEmpty()) {
+            List<StockAbnormalEvent> batch = pending.subList(0, Math.min(INSERT_BATCH_SIZE, pending.size()));
+            try {
+                stockAbnormalEventMapper.batchInsertIgnore(new ArrayList<>(batch));
+                batch.clear();
+            } catch (Exception e) {
+                log.warn("盘面异动事件入库失败，待入库：{}条，原因：{}", pending.size(), e.getMessage());
+                break;
+            }
+        }
+        if (pending.size() > MAX_PENDING) {
+            int dropped = pending.size() - MAX_PENDING;
+            pending.subList(0, dropped).clear();
+            droppedCount += dropped;
+            log.error("盘面异动待入库事件超过{}条，丢弃最早的{}条", MAX_PENDING, dropped);
+        }
+        pendingCount = pending.size();
+    }
+
+    @Override
+    public List<StockAbnormalEvent> recent(Long sinceId, String stockCode, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<StockAbnormalEvent> result = new ArrayList<>(Math.min(limit, 64));
+        synchronized (recentEvents) {
+            Iterator<StockAbnormalEvent> iterator = recentEvents.descendingIterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                StockAbnormalEvent event = iterator.next();
+                if (sinceId != null && event.getId() <= sinceId) {
+                    break;
+                }
+                if (StringUtils.isEmpty(stockCode) || stockCode.equals(event.getStockCode())) {
+                    result.add(event);
+                }
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public List<StockAbnormalEvent> queryByDate(LocalDate tradeDate, String stockCode) {
+        return stockAbnormalEventMapper.selectList(new LambdaQueryWrapper<StockAbnormalEvent>()
+                .eq(StockAbnormalEvent::getTradeDate, tradeDate)
+                .eq(StringUtils.isNotEmpty(stockCode), StockAbnormalEvent::getStockCode, stockCode)
+                .orderByAsc(StockAbnormalEvent::getId));
+    }
+
+    @Override
+    public void subscribe(AbnormalEventListener listener) {
+        subscribers.add(listener);
+    }
+
+    @Override
+    public void unsubscribe(AbnormalEventListener listener) {
+        subscribers.remove(listener);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cursor", cursor);
+        stats.put("pollCount", pollCount);
+        stats.put("eventCount", eventCount);
+        stats.put("lastPollMillis", lastPollMillis);
+        stats.put("pendingCount", pendingCount);
+        stats.put("droppedCount", droppedCount);
+        synchronized (recentEvents) {
+            stats.put("recentCount", recentEvents.size());
+        }
+        stats.put("subscriberCount", subscribers.size());
+        return stats;
+    }
+}
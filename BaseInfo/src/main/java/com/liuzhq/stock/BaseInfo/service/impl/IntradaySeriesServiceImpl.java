@@ -0,0 +1,193 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.liuzhq.stock.BaseInfo.calendar.TradingSession;
+import com.liuzhq.stock.BaseInfo.dto.SeriesPointDto;
+import com.liuzhq.stock.BaseInfo.quote.IntradaySeries;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshotListener;
+import com.liuzhq.stock.BaseInfo.quote.SymbolTable;
+import com.liuzhq.stock.BaseInfo.service.IntradaySeriesService;
+import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分时序列服务
+ * 1. 交易日的交易时段内，每个采样间隔（stock.quote.series.interval-ms，默认1分钟）的第一次行情快照追加到当日的分时序列
+ * 2. 收盘后的第一次快照作为收盘点追加后封存当日序列，并释放上一交易日的序列；
+ *    下一交易日的第一次快照新建序列，开盘到收盘期间上一交易日的序列仍可查询
+ * 3. 容量默认按交易时段时长 / 采样间隔计算（分钟线约256个点，5500只股票约22MB），可通过 stock.quote.series.capacity 指定
+ */
+@Service
+@Slf4j
+public class IntradaySeriesServiceImpl implements IntradaySeriesService, QuoteSnapshotListener {
+
+    @Resource
+    private SysHolidayService sysHolidayService;
+
+    @Value("${stock.quote.series.enabled:true}")
+    private boolean enabled;
+
+    @Value("${stock.quote.series.capacity:0}")
+    private int capacity;
+
+    @Value("${stock.quote.series.interval-ms:60000}")
+    private long intervalMs;
+
+    @Value("${stock.quote.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+
+    /** 当前交易日的序列 */
+    private volatile IntradaySeries current;
+
+    /** 上一交易日的序列 */
+    private volatile IntradaySeries last;
+
+    @PostConstruct
+    public void init() {
+        if (capacity <= 0) {
+            long sessionMillis = Duration.between(TradingSession.MORNING_OPEN, TradingSession.MORNING_CLOSE)
+                    .plus(Duration.between(TradingSession.AFTERNOON_OPEN, TradingSession.AFTERNOON_CLOSE))
+                    .toMillis();
+            // 两端各一个点 + 收盘点
+            capacity = (int) (sessionMillis / Math.max(1000, Math.max(intervalMs, refreshIntervalMs))) + 3;
+        }
+        log.info("分时序列{}，采样间隔{}ms，每个交易日最多保留{}个时间点", enabled ? "已开启" : "未开启", intervalMs, capacity);
+    }
+
+    @Override
+    public void onSnapshot(QuoteSnapshot previous, QuoteSnapshot snapshot) {
+        if (!enabled || snapshot.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalTime time = now.toLocalTime();
+        boolean closing = TradingSession.isClosed(time);
+        if (!TradingSession.isOpen(time) && !closing) {
+            return;
+        }
+        LocalDate today = now.toLocalDate();
+        if (!sysHolidayService.isTradeDay(today)) {
+            return;
+        }
+
+        IntradaySeries series = current;
+        if (series == null || !series.getTradeDate().equals(today)) {
+            series = roll(today);
+        }
+        if (series.isSealed() || !(closing || series.isDue(time))) {
+            return;
+        }
+        series.append(snapshot, time);
+        if (closing) {
+            series.seal();
+            // 当日已可完整查询，不再保留上一交易日
+            last = null;
+            log.info("{}分时序列已封存，时间点：{}，占用内存：{}MB",
+                    today, series.size(), series.allocatedBytes() >> 20);
+        }
+    }
+
+    private IntradaySeries roll(LocalDate tradeDate) {
+        IntradaySeries previousSeries = current;
+        if (previousSeries != null && previousSeries.size() > 0) {
+            previousSeries.seal();
+            last = previousSeries;
+        }
+        IntradaySeries series = new IntradaySeries(tradeDate, capacity, (int) (intervalMs / 1000));
+        current = series;
+        log.info("分时序列滚动到{}，容量：{}", tradeDate, series.getCapacity());
+        return series;
+    }
+
+    @Override
+    public List<SeriesPointDto> series(String symbol, LocalDate tradeDate) {
+        IntradaySeries series = seriesOf(tradeDate);
+        int symbolId = SymbolTable.find(symbol);
+        if (series == null || symbolId < 0) {
+            return Collections.emptyList();
+        }
+        return toDtoList(series.series(symbolId));
+    }
+
+    @Override
+    public List<SeriesPointDto> crossSection(LocalTime time, Collection<String> symbols, LocalDate tradeDate) {
+        IntradaySeries series = seriesOf(tradeDate);
+        if (series == null) {
+            return Collections.emptyList();
+        }
+        int[] symbolIds = null;
+        if (symbols != null && !symbols.isEmpty()) {
+            symbolIds = symbols.stream().mapToInt(SymbolTable::find).filter(id -> id >= 0).toArray();
+        }
+        return toDtoList(series.crossSection(time, symbolIds));
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("intervalMs", intervalMs);
+        stats.put("capacity", capacity);
+        stats.put("current", statsOf(current));
+        stats.put("last", statsOf(last));
+        return stats;
+    }
+
+    private static Map<String, Object> statsOf(IntradaySeries series) {
+        if (series == null) {
+            return null;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tradeDate", series.getTradeDate());
+        stats.put("size", series.size());
+        stats.put("sealed", series.isSealed());
+        stats.put("allocatedBytes", series.allocatedBytes());
+        return stats;
+    }
+
+    /**
+     * 指定交易日的序列；未指定时取最近一个有数据的
+     */
+    private IntradaySeries seriesOf(LocalDate tradeDate) {
+        IntradaySeries currentSeries = current;
+        IntradaySeries lastSeries = last;
+        if (tradeDate == null) {
+            return currentSeries != null && currentSeries.size() > 0 ? currentSeries : lastSeries;
+        }
+        if (currentSeries != null && currentSeries.getTradeDate().equals(tradeDate)) {
+            return currentSeries;
+        }
+        return lastSeries != null && lastSeries.getTradeDate().equals(tradeDate) ? lastSeries : null;
+    }
+
+    private static List<SeriesPointDto> toDtoList(List<IntradaySeries.Point> points) {
+        List<SeriesPointDto> result = new ArrayList<>(points.size());
+        for (IntradaySeries.Point point : points) {
+            SeriesPointDto dto = new SeriesPointDto();
+            dto.setSymbol(SymbolTable.symbolOf(point.getSymbolId()));
+            dto.setTime(point.getTime());
+            // float 存储，按原始精度还原
+            dto.setPrice(Math.round(point.getPrice() * 1000d) / 1000d);
+            dto.setVolume(point.getVolume());
+            dto.setTurnover(Math.round(point.getTurnover()));
+            dto.setPriceSpeed(Math.round(point.getPriceSpeed() * 100d) / 100d);
+            result.add(dto);
+        }
+        return result;
+    }
+}
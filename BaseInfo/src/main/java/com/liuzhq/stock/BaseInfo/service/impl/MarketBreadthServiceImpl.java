@@ -0,0 +1,117 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.liuzhq.stock.BaseInfo.dto.MarketBreadthDto;
+import com.liuzhq.stock.BaseInfo.quote.BreadthAccumulator;
+import com.liuzhq.stock.BaseInfo.quote.MarketBreadth;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshotListener;
+import com.liuzhq.stock.BaseInfo.quote.RankingFilter;
+import com.liuzhq.stock.BaseInfo.service.MarketBreadthService;
+import com.liuzhq.stock.BaseInfo.service.QuoteRankingService;
+import com.liuzhq.stock.BaseInfo.service.QuoteSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 市场宽度统计服务
+ * 1. 每次行情快照刷新后，由累加器按与上一份快照的差异增量更新各项统计，生成新结果后整体替换
+ * 2. 查询直接返回当前结果，前10榜单取自排行索引
+ */
+@Service
+@Slf4j
+public class MarketBreadthServiceImpl implements MarketBreadthService, QuoteSnapshotListener {
+
+    private static final int TOP_SIZE = 10;
+
+    @Resource
+    private QuoteSnapshotService quoteSnapshotService;
+
+    @Resource
+    private QuoteRankingService quoteRankingService;
+
+    /** 只在持有锁时使用 */
+    private final BreadthAccumulator accumulator = new BreadthAccumulator();
+
+    private volatile MarketBreadth breadth;
+
+    @Override
+    public void onSnapshot(QuoteSnapshot previous, QuoteSnapshot current) {
+        long start = System.nanoTime();
+        int changed;
+        synchronized (accumulator) {
+            breadth = accumulator.apply(previous, current);
+            changed = accumulator.getLastChangedCount();
+        }
+        log.debug("市场统计已更新，版本：{}，变化股票数：{}，耗时{}us",
+                current.getVersion(), changed, (System.nanoTime() - start) / 1000);
+    }
+
+    @Override
+    public MarketBreadth current() {
+        MarketBreadth current = breadth;
+        if (current == null) {
+            QuoteSnapshot snapshot = quoteSnapshotService.current();
+            synchronized (accumulator) {
+                current = breadth;
+                if (current == null || current.getSnapshot() != snapshot) {
+                    // 刷新失败（EMPTY）或监听尚未执行时，直接按当前快照计算
+                    current = accumulator.apply(null, snapshot);
+                    breadth = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public MarketBreadthDto getStatistics() {
+        MarketBreadth current = current();
+        QuoteSnapshot snapshot = current.getSnapshot();
+
+        MarketBreadthDto dto = new MarketBreadthDto();
+        dto.setTradeDate(snapshot.getTradeDate());
+        dto.setSnapshotVersion(snapshot.getVersion());
+        dto.setTotalCount(current.getTotalCount());
+        dto.setTradingCount(current.getTradingCount());
+        dto.setSuspendedCount(current.getSuspendedCount());
+        dto.setUpCount(current.getUpCount());
+        dto.setDownCount(current.getDownCount());
+        dto.setFlatCount(current.getFlatCount());
+        dto.setLimitUpCount(current.getLimitUpCount());
+        dto.setLimitDownCount(current.getLimitDownCount());
+
+        int[] histogram = current.getChangeHistogram();
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            distribution.put(MarketBreadth.CHANGE_BUCKETS[i], histogram[i]);
+        }
+        dto.setChangeDistribution(distribution);
+
+        dto.setAvgPrice(round2(current.getAvgPrice()));
+        dto.setAvgChangePercent(round2(current.getAvgChangePercent()));
+        dto.setAvgTurnoverRate(round2(current.getAvgTurnoverRate()));
+        dto.setAvgPe(round2(current.getAvgPe()));
+        dto.setAvgPb(round2(current.getAvgPb()));
+        dto.setMarketValueWeightedChange(round2(current.getMarketValueWeightedChange()));
+        dto.setCirculatingValueWeightedChange(round2(current.getCirculatingValueWeightedChange()));
+        dto.setTotalMarketValue(round2(current.getTotalMarketValue()));
+        dto.setCirculatingMarketValue(round2(current.getCirculatingMarketValue()));
+        dto.setTotalTurnover(round2(current.getTotalTurnover()));
+        dto.setTotalVolume(current.getTotalVolume());
+
+        RankingFilter filter = new RankingFilter();
+        dto.setTopByPrice(quoteRankingService.top(QuoteField.CURRENT_PRICE, false, TOP_SIZE, filter));
+        dto.setTopByChange(quoteRankingService.top(QuoteField.CHANGE_PERCENT, false, TOP_SIZE, filter));
+        dto.setTopByVolume(quoteRankingService.top(QuoteField.VOLUME, false, TOP_SIZE, filter));
+        return dto;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.liuzhq.common.utils.SingleFlight;
+import com.liuzhq.stock.BaseInfo.dto.PlateStatDto;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+import com.liuzhq.stock.BaseInfo.mapper.StockPoolMapper;
+import com.liuzhq.stock.BaseInfo.plate.PlateDayStats;
+import com.liuzhq.stock.BaseInfo.service.PlateAggregationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * 板块聚合服务
+ * 1. 每个交易日一份 PlateDayStats，首次查询时从数据库加载，之后随同步增量更新
+ * 2. 未加载过的交易日不接收增量（避免只有部分股票池的残缺统计），等首次查询时整体从库里构建；
+ *    构建前先登记该交易日，查询数据库期间提交的同步增量由 PlateDayStats 缓存并在构建后重放，不会丢失
+ * 3. 查询直接读取预排序快照，默认排序无需再排序
+ */
+@Service
+@Slf4j
+public class PlateAggregationServiceImpl implements PlateAggregationService {
+
+    /** 内存中最多保留的交易日数 */
+    private static final int MAX_DAYS = 20;
+
+    private static final Map<String, Comparator<PlateStatDto>> SORTERS = new HashMap<>();
+
+    static {
+        SORTERS.put("ladder", Comparator.comparingInt(PlateStatDto::getLadderHeight).reversed()
+                .thenComparing(PlateDayStats.DEFAULT_ORDER));
+        SORTERS.put("change", Comparator.comparing(PlateStatDto::getAvgChangePercent).reversed()
+                .thenComparing(PlateDayStats.DEFAULT_ORDER));
+        SORTERS.put("broken", Comparator.comparingInt(PlateStatDto::getBrokenCount).reversed()
+                .thenComparing(PlateDayStats.DEFAULT_ORDER));
+        SORTERS.put("dt", Comparator.comparingInt(PlateStatDto::getDtCount).reversed()
+                .thenComparing(PlateDayStats.DEFAULT_ORDER));
+    }
+
+    @Resource
+    private StockPoolMapper stockPoolMapper;
+
+    private final ConcurrentSkipListMap<LocalDate, PlateDayStats> dayStatsMap = new ConcurrentSkipListMap<>();
+
+    private final SingleFlight<LocalDate, PlateDayStats> loadSingleFlight = new SingleFlight<>();
+
+    @Override
+    public void onPoolSynced(LocalDate tradeDate, String poolKey, List<? extends StockPool> rows) {
+        PlateDayStats dayStats = dayStatsMap.get(tradeDate);
+        if (dayStats == null) {
+            return;
+        }
+        if (dayStats.apply(poolKey, rows)) {
+            log.info("板块统计增量更新：{} {}股票池 {}条", tradeDate, poolKey, rows.size());
+        }
+    }
+
+    @Override
+    public List<PlateStatDto> topPlates(LocalDate tradeDate, int limit, String sortBy) {
+        List<PlateStatDto> snapshot = getOrLoad(tradeDate).getSnapshot();
+        Comparator<PlateStatDto> sorter = sortBy == null ? null : SORTERS.get(sortBy);
+        if (sorter != null) {
+            List<PlateStatDto> sorted = new ArrayList<>(snapshot);
+            sorted.sort(sorter);
+            snapshot = sorted;
+        }
+        int size = limit <= 0 ? snapshot.size() : Math.min(limit, snapshot.size());
+        return new ArrayList<>(snapshot.subList(0, size));
+    }
+
+    private PlateDayStats getOrLoad(LocalDate tradeDate) {
+        PlateDayStats dayStats = dayStatsMap.get(tradeDate);
+        if (dayStats != null && dayStats.isLoaded()) {
+            return dayStats;
+        }
+        try {
+            return loadSingleFlight.execute(tradeDate, () -> {
+                PlateDayStats existing = dayStatsMap.get(tradeDate);
+                return existing != null && existing.isLoaded() ? existing : loadFromDb(tradeDate);
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("加载" + tradeDate + "板块统计失败: " + e.getMessage(), e);
+        }
+    }
+
+    private PlateDayStats loadFromDb(LocalDate tradeDate) {
+        long start = System.currentTimeMillis();
+        PlateDayStats dayStats = new PlateDayStats(tradeDate);
+        // 已缓存满 MAX_DAYS 天且比缓存中最早的交易日还早时只构建不缓存，避免加载后立即被自己淘汰
+        boolean cached = dayStatsMap.size() < MAX_DAYS || !tradeDate.isBefore(dayStatsMap.firstKey());
+        if (cached) {
+            // 先登记再查询：查询期间提交的同步增量会进入该对象的待重放队列
+            dayStatsMap.put(tradeDate, dayStats);
+        }
+        List<StockPool> rows;
+        try {
+            rows = stockPoolMapper.selectList(new LambdaQueryWrapper<StockPool>()
+                    .eq(StockPool::getTradeDate, tradeDate)
+                    .in(StockPool::getPoolType, Arrays.asList(PlateDayStats.POOL_ZT, PlateDayStats.POOL_BROKEN_ZT, PlateDayStats.POOL_DT)));
+        } catch (RuntimeException e) {
+            dayStatsMap.remove(tradeDate, dayStats);
+            throw e;
+        }
+
+        dayStats.finishLoad(rows.stream().collect(Collectors.groupingBy(StockPool::getPoolType)));
+        // 淘汰最早的交易日，不淘汰刚加载的交易日
+        while (dayStatsMap.size() > MAX_DAYS) {
+            LocalDate eldest = dayStatsMap.firstKey();
+            dayStatsMap.remove(eldest.equals(tradeDate) ? dayStatsMap.higherKey(eldest) : eldest);
+        }
+        log.info("从数据库构建{}板块统计完成，{}条股票记录，{}个板块，耗时{}ms",
+                tradeDate, rows.size(), dayStats.getSnapshot().size(), System.currentTimeMillis() - start);
+        return dayStats;
+    }
+}
@@ -0,0 +1,68 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.liuzhq.stock.BaseInfo.dto.QuoteDto;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteRanking;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshotListener;
+import com.liuzhq.stock.BaseInfo.quote.RankingFilter;
+import com.liuzhq.stock.BaseInfo.service.QuoteRankingService;
+import com.liuzhq.stock.BaseInfo.service.QuoteSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 实时行情排行榜服务
+ * 1. 每次行情快照刷新后，沿用上一份排行顺序增量重排所有数值字段，生成新索引后整体替换
+ * 2. 查询只读内存索引，不再调用Python接口
+ */
+@Service
+@Slf4j
+public class QuoteRankingServiceImpl implements QuoteRankingService, QuoteSnapshotListener {
+
+    @Resource
+    private QuoteSnapshotService quoteSnapshotService;
+
+    private volatile QuoteRanking ranking;
+
+    @Override
+    public void onSnapshot(QuoteSnapshot previous, QuoteSnapshot current) {
+        long start = System.currentTimeMillis();
+        QuoteRanking old = ranking;
+        ranking = QuoteRanking.build(current, old != null && old.getSnapshot() == previous ? old : null);
+        log.debug("排行索引已重建，版本：{}，耗时{}ms", current.getVersion(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public QuoteRanking current() {
+        QuoteRanking current = ranking;
+        if (current == null) {
+            QuoteSnapshot snapshot = quoteSnapshotService.current();
+            current = ranking;
+            if (current == null || current.getSnapshot() != snapshot) {
+                // 刷新失败（EMPTY）或监听尚未执行时，直接按当前快照构建
+                current = QuoteRanking.build(snapshot, null);
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public List<QuoteDto> top(QuoteField field, boolean ascending, int limit, RankingFilter filter) {
+        return top(current(), field, ascending, limit, filter);
+    }
+
+    @Override
+    public List<QuoteDto> top(QuoteRanking ranking, QuoteField field, boolean ascending, int limit, RankingFilter filter) {
+        int[] rows = ranking.top(field, ascending, limit, filter == null ? new RankingFilter() : filter);
+        List<QuoteDto> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(quoteSnapshotService.toDto(ranking.getSnapshot(), row));
+        }
+        return result;
+    }
+}
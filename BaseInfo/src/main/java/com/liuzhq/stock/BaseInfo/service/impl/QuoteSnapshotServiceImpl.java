@@ -0,0 +1,159 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.liuzhq.common.utils.SingleFlight;
+import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
+import com.liuzhq.stock.BaseInfo.client.PythonApiUnavailableException;
+import com.liuzhq.stock.BaseInfo.dto.QuoteDto;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshotListener;
+import com.liuzhq.stock.BaseInfo.service.QuoteSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 全市场实时行情快照服务
+ * 1. 刷新时流式解析Python接口响应，生成新的列式快照后整体替换（读方始终看到完整的一份快照，无需加锁）
+ * 2. 并发刷新合并为一次；刷新失败保留上一份快照
+ * 3. 替换后依次通知 QuoteSnapshotListener，由排行榜、搜索等组件增量更新
+ */
+@Service
+@Slf4j
+public class QuoteSnapshotServiceImpl implements QuoteSnapshotService {
+
+    private static final String REFRESH_KEY = "quote";
+
+    @Resource
+    private PythonApiClient pythonApiClient;
+
+    @Resource
+    private ObjectProvider<QuoteSnapshotListener> listeners;
+
+    private volatile QuoteSnapshot snapshot = QuoteSnapshot.EMPTY;
+
+    private final AtomicLong versionSequence = new AtomicLong(0);
+
+    private final SingleFlight<String, QuoteSnapshot> refreshSingleFlight = new SingleFlight<>();
+
+    @Override
+    public QuoteSnapshot current() {
+        QuoteSnapshot current = snapshot;
+        if (current.getVersion() == 0) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    @Override
+    public QuoteSnapshot refresh() {
+        try {
+            return refreshSingleFlight.execute(REFRESH_KEY, this::doRefresh);
+        } catch (PythonApiUnavailableException e) {
+            log.warn("{}，继续使用版本{}的快照", e.getMessage(), snapshot.getVersion());
+            return snapshot;
+        } catch (Exception e) {
+            log.error("刷新实时行情快照失败，继续使用版本{}的快照", snapshot.getVersion(), e);
+            return snapshot;
+        }
+    }
+
+    private QuoteSnapshot doRefresh() throws Exception {
+        long start = System.currentTimeMillis();
+        QuoteSnapshot loaded = pythonApiClient.getRealTimeQuoteSnapshot(versionSequence.incrementAndGet());
+        QuoteSnapshot previous = snapshot;
+        snapshot = loaded;
+        log.info("实时行情快照已刷新，版本：{}，股票数：{}，耗时{}ms",
+                loaded.getVersion(), loaded.size(), System.currentTimeMillis() - start);
+
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onSnapshot(previous, loaded);
+            } catch (Exception e) {
+                log.error("行情快照监听处理失败：{}", listener.getClass().getSimpleName(), e);
+            }
+        });
+        return loaded;
+    }
+
+    @Override
+    public List<QuoteDto> getQuotes(Collection<String> symbols) {
+        return getQuotes(current(), symbols);
+    }
+
+    @Override
+    public List<QuoteDto> getQuotes(QuoteSnapshot snapshot, Collection<String> symbols) {
+        List<QuoteDto> result = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            int row = snapshot.rowOf(symbol);
+            if (row >= 0) {
+                result.add(toDto(snapshot, row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public JSONObject toJson(QuoteSnapshot snapshot) {
+        JSONArray data = new JSONArray(snapshot.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            JSONObject item = new JSONObject(QuoteField.COUNT + 3, true);
+            item.put("symbol", snapshot.symbolAt(row));
+            item.put("name", snapshot.nameAt(row));
+            for (QuoteField field : QuoteField.values()) {
+                if (field == QuoteField.VOLUME) {
+                    // 成交量在 Python 接口中为整数
+                    item.put(field.getJsonName(), (long) snapshot.get(row, field));
+                } else {
+                    item.put(field.getJsonName(), snapshot.get(row, field));
+                }
+            }
+            // Python 接口的序号即行情列表中的位置（从1开始），快照保持接口返回的行顺序
+            item.put("serial_number", row + 1);
+            data.add(item);
+        }
+        JSONObject result = new JSONObject(true);
+        result.put("code", 200);
+        result.put("msg", "success");
+        result.put("trade_date", snapshot.getTradeDate() == null ? null : snapshot.getTradeDate().toString());
+        result.put("data", data);
+        result.put("count", data.size());
+        return result;
+    }
+
+    @Override
+    public QuoteDto toDto(QuoteSnapshot snapshot, int row) {
+        QuoteDto dto = new QuoteDto();
+        dto.setSymbol(snapshot.symbolAt(row));
+        dto.setName(snapshot.nameAt(row));
+        dto.setCurrentPrice(snapshot.get(row, QuoteField.CURRENT_PRICE));
+        dto.setChangePercent(snapshot.get(row, QuoteField.CHANGE_PERCENT));
+        dto.setChangeAmount(snapshot.get(row, QuoteField.CHANGE_AMOUNT));
+        dto.setVolume((long) snapshot.get(row, QuoteField.VOLUME));
+        dto.setTurnover(snapshot.get(row, QuoteField.TURNOVER));
+        dto.setAmplitude(snapshot.get(row, QuoteField.AMPLITUDE));
+        dto.setHighPrice(snapshot.get(row, QuoteField.HIGH_PRICE));
+        dto.setLowPrice(snapshot.get(row, QuoteField.LOW_PRICE));
+        dto.setOpenPrice(snapshot.get(row, QuoteField.OPEN_PRICE));
+        dto.setPrevClose(snapshot.get(row, QuoteField.PREV_CLOSE));
+        dto.setVolumeRatio(snapshot.get(row, QuoteField.VOLUME_RATIO));
+        dto.setTurnoverRate(snapshot.get(row, QuoteField.TURNOVER_RATE));
+        dto.setPeDynamic(snapshot.get(row, QuoteField.PE_DYNAMIC));
+        dto.setPbRatio(snapshot.get(row, QuoteField.PB_RATIO));
+        dto.setTotalMarketValue(snapshot.get(row, QuoteField.TOTAL_MARKET_VALUE));
+        dto.setCirculatingMarketValue(snapshot.get(row, QuoteField.CIRCULATING_MARKET_VALUE));
+        dto.setPriceSpeed(snapshot.get(row, QuoteField.PRICE_SPEED));
+        dto.setFiveMinuteChange(snapshot.get(row, QuoteField.FIVE_MINUTE_CHANGE));
+        dto.setSixtyDayChange(snapshot.get(row, QuoteField.SIXTY_DAY_CHANGE));
+        dto.setYearToDateChange(snapshot.get(row, QuoteField.YEAR_TO_DATE_CHANGE));
+        return dto;
+    }
+}
@@ -2,30 +2,43 @@ package com.liuzhq.stock.BaseInfo.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.liuzhq.common.enums.CacheKey;
+import com.liuzhq.common.utils.BeanCopierUtils;
+import com.liuzhq.common.utils.CacheUtils;
 import com.liuzhq.common.utils.CollectionUtils;
 import com.liuzhq.common.utils.JsonUtils;
+import com.liuzhq.common.utils.SingleFlight;
 import com.liuzhq.common.utils.StockNameStyleUtil;
 import com.liuzhq.stock.BaseInfo.client.PythonApiClient;
+import com.liuzhq.stock.BaseInfo.client.PythonApiUnavailableException;
 import com.liuzhq.stock.BaseInfo.dto.StockPoolDto;
+import com.liuzhq.stock.BaseInfo.dto.StockPoolSyncReport;
+import com.liuzhq.stock.BaseInfo.dto.innerClass.PoolSyncResult;
 import com.liuzhq.stock.BaseInfo.dto.innerClass.RelatedPlate;
 import com.liuzhq.stock.BaseInfo.entity.StockPool;
 import com.liuzhq.stock.BaseInfo.mapper.StockPoolMapper;
+import com.liuzhq.stock.BaseInfo.pool.StockPoolSnapshot;
+import com.liuzhq.stock.BaseInfo.push.StockChangePublisher;
+import com.liuzhq.stock.BaseInfo.service.PlateAggregationService;
 import com.liuzhq.stock.BaseInfo.service.StockPoolService;
 import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.annotation.Resource;
 import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -43,15 +56,44 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
     private PythonApiClient pythonApiClient;
     @Resource
     private SysHolidayService sysHolidayService; // 注入节假日服务
+    @Resource
+    private PlateAggregationService plateAggregationService;
+    @Resource
+    private StockChangePublisher stockChangePublisher;
+    @Resource(name = "stockPoolSyncExecutor")
+    private Executor stockPoolSyncExecutor;
+
+    /**
+     * 全部股票池类型
+     */
+    private static final String[] POOL_KEYS = {"zt", "dt", "yesterday_zt", "broken_zt", "super_stock"};
+
+    /**
+     * 单个股票池的同步请求合并：同一 (股票池类型, 交易日) 同时只有一个请求调用Python API，其余请求等待同一结果
+     * 所有写库路径（查询未命中、/sync/{poolKey}、全部股票池同步）都经过这里，同一份快照的比对和提交不会并发执行，
+     * 避免重复写入、重复推送，以及较早的拉取结果覆盖较新的结果
+     */
+    private final SingleFlight<String, PoolSyncResult> poolSyncSingleFlight = new SingleFlight<>();
+    private final SingleFlight<String, StockPoolSyncReport> allSyncSingleFlight = new SingleFlight<>();
+
+    /**
+     * 股票池视图（分组视图/连板晋级）缓存版本号，每次同步失效时递增
+     * 失效（递增+删除）与写入缓存（比较版本+写入）在同一把锁内执行，构建期间发生的失效不会被旧视图覆盖
+     */
+    private final AtomicLong poolViewCacheVersion = new AtomicLong(0);
+    private final Object poolViewCacheLock = new Object();
+
+    /**
+     * 最近一次写库的股票池快照，盘中同步只写入变化的行
+     */
+    private final StockPoolSnapshot stockPoolSnapshot = new StockPoolSnapshot();
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
      * 同步指定股票池数据到数据库（默认同步当日数据）
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public boolean syncStockPoolData(String poolKey) throws UnsupportedEncodingException {
         // 调用重载方法，默认同步当日数据
         return syncStockPoolData(poolKey, LocalDate.now());
@@ -61,56 +103,135 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
      * 新增：同步指定日期、指定股票池类型的数据
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public boolean syncStockPoolData(String poolKey, LocalDate tradeDate) throws UnsupportedEncodingException {
         // 先校验并获取有效交易日
         LocalDate validTradeDate = sysHolidayService.getValidTradeDate(tradeDate);
+        return syncStockPoolDataOnce(poolKey, validTradeDate);
+    }
+
+    /**
+     * 调用Python API获取指定日期的股票池数据并比对入库
+     */
+    private PoolSyncResult fetchAndApply(String poolKey, LocalDate validTradeDate) throws UnsupportedEncodingException {
+        long start = System.currentTimeMillis();
+        List<StockPool> stockPoolList = pythonApiClient.getStockPoolList(poolKey, validTradeDate);
+        return applyPoolData(poolKey, validTradeDate, stockPoolList, start);
+    }
+
+    /**
+     * 异步同步指定日期、指定股票池类型的数据
+     * 请求由异步HTTP客户端发出，响应返回后在股票池同步线程池中比对入库，调用线程不等待；
+     * 同一 (股票池类型, 交易日) 正在同步时直接返回进行中的结果
+     */
+    @Override
+    public CompletableFuture<PoolSyncResult> syncStockPoolDataAsync(String poolKey, LocalDate tradeDate) {
+        return syncPoolAsync(poolKey, sysHolidayService.getValidTradeDate(tradeDate));
+    }
 
-        // 调用Python API获取指定日期的股票池数据
-        List<Map<String, Object>> pythonData = pythonApiClient.getStockPoolData(poolKey, validTradeDate);
+    private CompletableFuture<PoolSyncResult> syncPoolAsync(String poolKey, LocalDate validTradeDate) {
+        return poolSyncSingleFlight.executeAsync(poolSyncKey(poolKey, validTradeDate), () -> {
+            long start = System.currentTimeMillis();
+            return pythonApiClient.getStockPoolListAsync(poolKey, validTradeDate)
+                    .thenApplyAsync(stockPoolList -> applyPoolData(poolKey, validTradeDate, stockPoolList, start), stockPoolSyncExecutor);
+        });
+    }
 
-        if (pythonData.isEmpty()) {
+    /**
+     * 与内存快照比较，只写入新增/变化的行
+     * 拉取和比较成功即视为同步成功（数据无变化也是成功），新增/更新条数在结果中单独给出
+     */
+    private PoolSyncResult applyPoolData(String poolKey, LocalDate validTradeDate, List<StockPool> stockPoolList, long start) {
+        PoolSyncResult poolResult = new PoolSyncResult();
+        poolResult.setPoolKey(poolKey);
+        poolResult.setSuccess(true);
+        poolResult.setRowCount(stockPoolList.size());
+        if (stockPoolList.isEmpty()) {
             log.info("Python API返回{}股票池{}日期无数据", poolKey, validTradeDate.format(DATE_FORMATTER));
-            return true;
+            poolResult.setCostMillis(System.currentTimeMillis() - start);
+            return poolResult;
         }
 
-        List<StockPool> stockPoolList = convertToStockPoolList(pythonData, poolKey);
-        int insertCount = getBaseMapper().batchInsertIgnore(stockPoolList);
-        log.info("同步{}股票池{}日期数据完成，插入{}条记录", poolKey, validTradeDate.format(DATE_FORMATTER), insertCount);
-        return insertCount > 0;
+        StockPoolSnapshot.Diff diff = diffWithSnapshot(validTradeDate, poolKey, stockPoolList);
+        List<StockPool> changedRows = diff.getChangedRows();
+        if (!changedRows.isEmpty()) {
+            long writeStart = System.currentTimeMillis();
+            getBaseMapper().batchUpsert(changedRows);
+            poolResult.setWriteCostMillis(System.currentTimeMillis() - writeStart);
+            afterWrite(validTradeDate, Collections.singletonList(diff));
+        }
+        log.info("同步{}股票池{}日期数据完成，新增{}条，更新{}条，未变化{}条", poolKey, validTradeDate.format(DATE_FORMATTER),
+                diff.getInsertCount(), diff.getUpdateCount(), diff.getUnchangedCount());
+        poolResult.setInsertCount(diff.getInsertCount());
+        poolResult.setUpdateCount(diff.getUpdateCount());
+        poolResult.setUnchangedCount(diff.getUnchangedCount());
+        poolResult.setCostMillis(System.currentTimeMillis() - start);
+        return poolResult;
     }
 
     /**
      * 查询指定日期和股票池类型的数据
      * 核心优化：从数据库查询交易日，性能大幅提升
      * 新增：查询不到数据时自动同步指定日期数据
+     * 结果按 (有效交易日, 股票池类型, 是否过滤ST) 缓存，同步写入后由同步流程主动失效
+     * 本地无数据时异步同步，等待Python响应期间不占用调用线程，同步完成后在股票池同步线程池中重新查询
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    public List<StockPoolDto> queryByDateAndPoolType(LocalDate tradeDate,
-                                                     String poolType,
-                                                     Integer notShowSt) throws UnsupportedEncodingException {
+    public CompletableFuture<List<StockPoolDto>> queryByDateAndPoolType(LocalDate tradeDate,
+                                                                        String poolType,
+                                                                        Integer notShowSt) {
         // 1. 校验并获取有效交易日
         Result result = getValidateTradeDateResult(tradeDate);
         log.info("查询 {} 股票池，有效日期：{}", DATE_FORMATTER.format(tradeDate), result.format);
+        String cacheKey = poolViewCacheKey(result.validTradeDate, poolType, notShowSt);
+        List<StockPoolDto> cachedList = CacheUtils.getEnhanced(cacheKey);
+        if (cachedList != null) {
+            return CompletableFuture.completedFuture(cachedList);
+        }
+
+        long version = poolViewCacheVersion.get();
         List<StockPoolDto> stockPoolList = getBaseMapper().selectByTradeDateAndPoolType(result.format, poolType, notShowSt);
+        if (!CollectionUtils.isEmpty(stockPoolList) || "lbjj".equals(poolType)) {
+            return CompletableFuture.completedFuture(cachePoolView(cacheKey, version, buildPoolView(poolType, stockPoolList)));
+        }
 
-        // 4. 新增逻辑：查询不到数据时，自动同步指定日期的股票池数据
-        if (CollectionUtils.isEmpty(stockPoolList)) {
-            if ("lbjj".equals(poolType)) {
-                return stockPoolList;
-            }
-            log.info("{}股票池{}日期本地无数据，开始从Python API同步", poolType, result.format);
-            // 同步指定日期、指定类型的股票池数据
-            boolean syncSuccess = syncStockPoolData(poolType, result.validTradeDate);
-            if (syncSuccess) {
-                // 同步成功后重新查询
-                stockPoolList = getBaseMapper().selectByTradeDateAndPoolType(result.format, poolType, notShowSt);
-                log.info("同步后重新查询到{}条{}股票池 {} 日期数据", stockPoolList.size(), poolType, result.format);
-            } else {
+        // 4. 新增逻辑：查询不到数据时，自动同步指定日期的股票池数据（并发请求合并为一次）；
+        // Python接口熔断时不等待，本次返回空列表（空结果不缓存，接口恢复后的查询会重新同步）
+        log.info("{}股票池{}日期本地无数据，开始从Python API同步", poolType, result.format);
+        return syncPoolAsync(poolType, result.validTradeDate).handleAsync((poolResult, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof PythonApiUnavailableException) {
+                    log.warn("{}，{}股票池 {} 日期本地无数据，返回空列表", cause.getMessage(), poolType, result.format);
+                    return Collections.<StockPoolDto>emptyList();
+                }
                 log.warn("{}股票池 {} 日期数据同步失败", poolType, result.format);
+                throw new CompletionException(cause);
             }
+            // 同步成功后重新查询（同步写入会使版本号递增，以重新查询前的版本为准）
+            long syncedVersion = poolViewCacheVersion.get();
+            List<StockPoolDto> syncedList = getBaseMapper().selectByTradeDateAndPoolType(result.format, poolType, notShowSt);
+            log.info("同步后重新查询到{}条{}股票池 {} 日期数据", syncedList.size(), poolType, result.format);
+            return cachePoolView(cacheKey, syncedVersion, buildPoolView(poolType, syncedList));
+        }, stockPoolSyncExecutor);
+    }
+
+    /**
+     * 构建期间没有发生同步失效时写入缓存（空结果不缓存），版本比较与写入和失效互斥
+     */
+    private List<StockPoolDto> cachePoolView(String cacheKey, long version, List<StockPoolDto> resultList) {
+        if (resultList.isEmpty()) {
+            return resultList;
         }
+        resultList = Collections.unmodifiableList(resultList);
+        synchronized (poolViewCacheLock) {
+            if (version == poolViewCacheVersion.get()) {
+                CacheUtils.putEnhanced(cacheKey, resultList);
+            }
+        }
+        return resultList;
+    }
+
+    private List<StockPoolDto> buildPoolView(String poolType, List<StockPoolDto> stockPoolList) {
         if ("dt".equals(poolType)) {
             stockPoolList = stockPoolList.stream()
                     .sorted(Comparator.comparing(StockPool::getChangePercent)
@@ -127,9 +248,7 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
 
         Map<Integer, List<StockPoolDto>> limitDaysGroupMap = stockPoolList.stream().map(stock -> {
             stock.buildStockNameAndReason();
-            StockPoolDto child = new StockPoolDto();
-            BeanUtils.copyProperties(stock, child);
-            return child;
+            return BeanCopierUtils.copy(stock, new StockPoolDto());
         }).collect(Collectors.groupingBy(StockPoolDto::getLimitDays));
 
         List<StockPoolDto> rootList = new ArrayList<>();
@@ -179,156 +298,209 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
      * 同步所有股票池数据
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public boolean syncAllStockPoolData() {
-        String[] poolKeys = {"zt", "dt", "yesterday_zt", "broken_zt", "super_stock"};
-        boolean allSuccess = true;
-        for (String poolKey : poolKeys) {
-            try {
-                syncStockPoolData(poolKey);
-            } catch (Exception e) {
-                log.error("同步{}股票池数据失败", poolKey, e);
-                allSuccess = false;
-            }
+        return syncAllStockPoolData(LocalDate.now()).isAllSuccess();
+    }
+
+    /**
+     * 并发同步所有股票池数据（等待异步同步完成）
+     */
+    @Override
+    public StockPoolSyncReport syncAllStockPoolData(LocalDate tradeDate) {
+        try {
+            return syncAllStockPoolDataAsync(tradeDate).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         }
-        return allSuccess;
     }
 
-    // ========== 以下原有方法保持不变 ==========
-    private List<StockPool> convertToStockPoolList(List<Map<String, Object>> pythonData, String poolKey) {
-        // 原有逻辑不变，此处省略（保持你原来的实现）
-        List<StockPool> result = new ArrayList<>();
-        for (Map<String, Object> data : pythonData) {
-            StockPool stockPool = new StockPool();
-
-            String tradeDateStr = (String) data.get("trade_date");
-            stockPool.setTradeDate(tradeDateStr != null ? LocalDate.parse(tradeDateStr, DATE_FORMATTER) : LocalDate.now());
-
-            stockPool.setStockCode((String) data.get("stock_code"));
-            stockPool.setStockName((String) data.get("stock_name"));
-            stockPool.setStockType(convertToInteger(data.get("stock_type")));
-            stockPool.setPrice(convertToBigDecimal(data.get("price")));
-            stockPool.setChangePercent(convertToBigDecimal(data.get("change_percent")));
-            stockPool.setTurnoverRatio(convertToBigDecimal(data.get("turnover_ratio")));
-            stockPool.setCirculationMarketCap(convertToBigDecimal(data.get("circulation_market_cap")));
-            stockPool.setTotalMarketCap(convertToBigDecimal(data.get("total_market_cap")));
-            stockPool.setIssuePrice(convertToBigDecimal(data.get("issue_price")));
-            stockPool.setListedDate(convertToLocalDateTime(data.get("listed_date")));
-            stockPool.setPoolType(poolKey);
-            stockPool.setBuyLockRatio(convertToBigDecimal(data.get("buy_lock_ratio")));
-            stockPool.setSellLockRatio(convertToBigDecimal(data.get("sell_lock_ratio")));
-            stockPool.setCurrentLockAmount(convertToBigDecimal(data.get("current_lock_amount")));
-            stockPool.setMaxLockAmount(convertToBigDecimal(data.get("max_lock_amount")));
-            stockPool.setStockReason((String) data.get("stock_reason"));
-            stockPool.setRelatedPlates((String) data.get("related_plates"));
-            stockPool.setCreateTime(LocalDateTime.now());
-            stockPool.setUpdateTime(LocalDateTime.now());
-
-            switch (poolKey) {
-                case "zt":
-                    stockPool.setLimitDays(convertToInteger(data.get("limit_up_days")));
-                    stockPool.setBreakLimitTimes(convertToInteger(data.get("break_limit_up_times")));
-                    stockPool.setFirstLimitUpTime(convertToLocalDateTime(data.get("first_limit_up_time")));
-                    stockPool.setLastLimitUpTime(convertToLocalDateTime(data.get("last_limit_up_time")));
-                    break;
-                case "dt":
-                    stockPool.setLimitDays(convertToInteger(data.get("limit_down_days")));
-                    stockPool.setBreakLimitTimes(convertToInteger(data.get("break_limit_down_times")));
-                    stockPool.setFirstLimitDownTime(convertToLocalDateTime(data.get("first_limit_down_time")));
-                    stockPool.setLastLimitDownTime(convertToLocalDateTime(data.get("last_limit_down_time")));
-                    break;
-                case "yesterday_zt":
-                    stockPool.setLimitDays(convertToInteger(data.get("yesterday_limit_up_days")));
-                    stockPool.setYesterdayBreakLimitUpTimes(convertToInteger(data.get("yesterday_break_limit_up_times")));
-                    stockPool.setYesterdayFirstLimitUpTime(convertToLocalDateTime(data.get("yesterday_first_limit_up_time")));
-                    stockPool.setYesterdayLastLimitUpTime(convertToLocalDateTime(data.get("yesterday_last_limit_up_time")));
-                    break;
-                case "broken_zt":
-                    stockPool.setLimitDays(1);
-                    stockPool.setBreakLimitTimes(convertToInteger(data.get("break_limit_up_times")));
-                    stockPool.setFirstLimitUpTime(convertToLocalDateTime(data.get("first_limit_up_time")));
-                    stockPool.setLastBreakLimitUpTime(convertToLocalDateTime(data.get("last_break_limit_up_time")));
-                    break;
-                case "super_stock":
-                    stockPool.setLimitDays(convertToInteger(data.get("limit_up_days")));
-                    stockPool.setMDaysNBoards((String) data.get("m_days_n_boards"));
-                    stockPool.setFirstLimitUpTime(convertToLocalDateTime(data.get("first_limit_up_time")));
-                    stockPool.setLastLimitUpTime(convertToLocalDateTime(data.get("last_limit_up_time")));
-                    break;
+    /**
+     * 异步并发同步所有股票池数据
+     * 1. 5个股票池的请求由异步HTTP客户端同时发出，等待期间不占用线程，总耗时取决于最慢的一个
+     * 2. 每个股票池经过单个股票池的同步合并，与同时进行的查询未命中同步、/sync/{poolKey} 共用一次拉取和写入
+     * 3. 同一交易日的全部股票池同步同时只执行一次，单个股票池失败不影响其他股票池入库，失败原因记录在报告中
+     */
+    @Override
+    public CompletableFuture<StockPoolSyncReport> syncAllStockPoolDataAsync(LocalDate tradeDate) {
+        LocalDate validTradeDate = sysHolidayService.getValidTradeDate(tradeDate);
+        return allSyncSingleFlight.executeAsync(validTradeDate.toString(), () -> {
+            long start = System.currentTimeMillis();
+            Map<String, CompletableFuture<PoolSyncResult>> futureMap = new LinkedHashMap<>();
+            for (String poolKey : POOL_KEYS) {
+                long poolStart = System.currentTimeMillis();
+                futureMap.put(poolKey, syncPoolAsync(poolKey, validTradeDate)
+                        .exceptionally(e -> failedPoolResult(poolKey, validTradeDate, e, poolStart)));
             }
+            return CompletableFuture.allOf(futureMap.values().toArray(new CompletableFuture[0]))
+                    .thenApply(ignored -> buildSyncReport(validTradeDate, start, futureMap));
+        });
+    }
 
-            result.add(stockPool);
-        }
-        return result;
+    private PoolSyncResult failedPoolResult(String poolKey, LocalDate validTradeDate, Throwable e, long start) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("同步{}股票池{}日期数据失败", poolKey, validTradeDate.format(DATE_FORMATTER), cause);
+        PoolSyncResult poolResult = new PoolSyncResult();
+        poolResult.setPoolKey(poolKey);
+        poolResult.setSuccess(false);
+        poolResult.setErrorMsg(cause.getMessage());
+        poolResult.setCostMillis(System.currentTimeMillis() - start);
+        return poolResult;
     }
 
-    private Integer convertToInteger(Object value) {
-        if (value == null || "".equals(value)) {
-            return 0;
+    /**
+     * 汇总各股票池的同步结果（各 future 均已完成）
+     */
+    private StockPoolSyncReport buildSyncReport(LocalDate validTradeDate, long start,
+                                                Map<String, CompletableFuture<PoolSyncResult>> futureMap) {
+        List<PoolSyncResult> pools = futureMap.values().stream().map(CompletableFuture::join).collect(Collectors.toList());
+        StockPoolSyncReport report = new StockPoolSyncReport();
+        report.setTradeDate(validTradeDate);
+        report.setPools(pools);
+        report.setInsertCount(pools.stream().mapToInt(PoolSyncResult::getInsertCount).sum());
+        report.setUpdateCount(pools.stream().mapToInt(PoolSyncResult::getUpdateCount).sum());
+        report.setUnchangedCount(pools.stream().mapToInt(PoolSyncResult::getUnchangedCount).sum());
+        report.setWriteCostMillis(pools.stream().mapToLong(PoolSyncResult::getWriteCostMillis).sum());
+        report.setTotalCostMillis(System.currentTimeMillis() - start);
+
+        log.info("并发同步{}日期全部股票池完成，新增{}条，更新{}条，未变化{}条，总耗时{}ms，明细：{}",
+                validTradeDate.format(DATE_FORMATTER), report.getInsertCount(), report.getUpdateCount(),
+                report.getUnchangedCount(), report.getTotalCostMillis(),
+                report.getPools().stream()
+                        .map(item -> item.getPoolKey() + "=" + (item.isSuccess() ? item.getRowCount() + "条/" : "失败/") + item.getCostMillis() + "ms")
+                        .collect(Collectors.joining(", ")));
+        return report;
+    }
+
+    /**
+     * 合并同一 (股票池类型, 交易日) 的并发同步
+     * 注意：调用方不能处于事务中，否则等待方在领头请求提交前重新查询会读不到数据
+     */
+    private boolean syncStockPoolDataOnce(String poolKey, LocalDate tradeDate) throws UnsupportedEncodingException {
+        try {
+            return poolSyncSingleFlight.execute(poolSyncKey(poolKey, tradeDate), () -> fetchAndApply(poolKey, tradeDate)).isSuccess();
+        } catch (UnsupportedEncodingException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("同步" + poolKey + "股票池数据失败: " + e.getMessage(), e);
         }
-        if (value instanceof Integer) {
-            return (Integer) value;
+    }
+
+    private static String poolSyncKey(String poolKey, LocalDate tradeDate) {
+        return poolKey + "@" + tradeDate;
+    }
+
+    /**
+     * 与内存快照比较（首次使用时从数据库初始化快照），返回需要写库的行
+     */
+    private StockPoolSnapshot.Diff diffWithSnapshot(LocalDate tradeDate, String poolKey, List<StockPool> rows) {
+        if (!stockPoolSnapshot.isLoaded(tradeDate, poolKey)) {
+            stockPoolSnapshot.load(tradeDate, poolKey, getBaseMapper().selectList(new LambdaQueryWrapper<StockPool>()
+                    .eq(StockPool::getTradeDate, tradeDate)
+                    .eq(StockPool::getPoolType, poolKey)));
         }
-        if (value instanceof String) {
-            try {
-                return Integer.parseInt((String) value);
-            } catch (NumberFormatException e) {
-                log.warn("转换Integer失败：{}", value, e);
-                return 0;
+        return stockPoolSnapshot.diff(tradeDate, poolKey, rows);
+    }
+
+    /**
+     * 写库后：更新快照、增量更新板块统计、失效视图缓存、推送变化；处于事务中时等提交后再执行，回滚则下次同步重新写入
+     */
+    private void afterWrite(LocalDate tradeDate, List<StockPoolSnapshot.Diff> diffs) {
+        Runnable action = () -> {
+            for (StockPoolSnapshot.Diff diff : diffs) {
+                stockPoolSnapshot.commit(diff);
+                plateAggregationService.onPoolSynced(tradeDate, diff.getPoolKey(), diff.getChangedRows());
             }
+            evictPoolViewCache(tradeDate);
+            stockChangePublisher.onPoolSynced(tradeDate, diffs);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        if (value instanceof Double) {
-            return ((Double) value).intValue();
-        }
-        if (value instanceof Long) {
-            return ((Long) value).intValue();
-        }
-        return 0;
     }
 
-    private BigDecimal convertToBigDecimal(Object value) {
-        if (value == null || "".equals(value)) {
-            return BigDecimal.ZERO;
-        }
-        if (value instanceof BigDecimal) {
-            return (BigDecimal) value;
-        }
-        if (value instanceof String) {
-            try {
-                return new BigDecimal((String) value).setScale(2, BigDecimal.ROUND_HALF_UP);
-            } catch (NumberFormatException e) {
-                log.warn("转换BigDecimal失败：{}", value, e);
-                return BigDecimal.ZERO;
+    /**
+     * 预热：同步全部股票池，并预先构建各股票池分组视图及连板晋级视图（含/不含ST）
+     */
+    @Override
+    public StockPoolSyncReport warmUp(LocalDate tradeDate) {
+        StockPoolSyncReport report = syncAllStockPoolData(tradeDate);
+        for (int stFlag = 0; stFlag <= 1; stFlag++) {
+            lbjjStockPool(tradeDate, stFlag);
+            for (String poolKey : POOL_KEYS) {
+                try {
+                    queryByDateAndPoolType(tradeDate, poolKey, stFlag).join();
+                } catch (Exception e) {
+                    log.error("预热{}股票池{}日期视图失败", poolKey, tradeDate.format(DATE_FORMATTER), e);
+                }
             }
         }
-        if (value instanceof Double) {
-            return BigDecimal.valueOf((Double) value).setScale(2, BigDecimal.ROUND_HALF_UP);
-        }
-        if (value instanceof Integer) {
-            return BigDecimal.valueOf((Integer) value).setScale(2);
-        }
-        if (value instanceof Long) {
-            return BigDecimal.valueOf((Long) value).setScale(2);
-        }
-        return BigDecimal.ZERO;
+        return report;
     }
 
-    private LocalDateTime convertToLocalDateTime(Object value) {
-        if (value == null || "".equals(value)) {
-            return null;
-        }
-        try {
-            return LocalDateTime.parse((String) value, DATETIME_FORMATTER);
-        } catch (Exception e) {
-            log.error("日期转换失败：{}", value, e);
-            return null;
-        }
+    @Override
+    public Map<String, Object> getSyncStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pool", poolSyncSingleFlight.getStats());
+        stats.put("all", allSyncSingleFlight.getStats());
+        stats.put("executedCount", poolSyncSingleFlight.getExecutedCount() + allSyncSingleFlight.getExecutedCount());
+        stats.put("coalescedCount", poolSyncSingleFlight.getCoalescedCount() + allSyncSingleFlight.getCoalescedCount());
+        return stats;
     }
 
+    /**
+     * 获取连板晋级梯度
+     * 结果按 (有效交易日, 是否过滤ST) 缓存，不设过期时间（CacheKey.LBJJ）：历史交易日数据不再变化，常驻缓存直到按容量淘汰；
+     * 当日数据只在同步写入后变化，由同步流程主动失效，重复刷新只需一次缓存查找
+     */
     @Override
     public List<StockPoolDto> lbjjStockPool(LocalDate tradeDate, Integer notShowSt) {
         Result result = getValidateTradeDateResult(tradeDate);
+        String cacheKey = lbjjCacheKey(result.validTradeDate, notShowSt);
+        List<StockPoolDto> cachedList = CacheUtils.getEnhanced(cacheKey);
+        if (cachedList != null) {
+            return cachedList;
+        }
 
+        // 构建期间若发生同步失效，则本次结果不写入缓存，避免旧数据常驻
+        long version = poolViewCacheVersion.get();
+        List<StockPoolDto> resultList = buildLbjjStockPool(result, notShowSt);
+        boolean hasData = resultList.stream().anyMatch(item -> !CollectionUtils.isEmpty(item.getChildren()));
+        return hasData ? cachePoolView(cacheKey, version, resultList) : resultList;
+    }
+
+    /**
+     * 同步写入后失效对应交易日的股票池分组视图及连板晋级缓存
+     */
+    private void evictPoolViewCache(LocalDate tradeDate) {
+        synchronized (poolViewCacheLock) {
+            poolViewCacheVersion.incrementAndGet();
+            for (int stFlag = 0; stFlag <= 1; stFlag++) {
+                CacheUtils.removeEnhanced(lbjjCacheKey(tradeDate, stFlag));
+                for (String poolKey : POOL_KEYS) {
+                    CacheUtils.removeEnhanced(poolViewCacheKey(tradeDate, poolKey, stFlag));
+                }
+            }
+        }
+    }
+
+    private static String poolViewCacheKey(LocalDate tradeDate, String poolType, Integer notShowSt) {
+        int stFlag = notShowSt != null && notShowSt == 1 ? 1 : 0;
+        return CacheKey.STOCK_POOL.getKey() + tradeDate + ":" + poolType + ":" + stFlag;
+    }
+
+    private static String lbjjCacheKey(LocalDate tradeDate, Integer notShowSt) {
+        int stFlag = notShowSt != null && notShowSt == 1 ? 1 : 0;
+        return CacheKey.LBJJ.getKey() + tradeDate + ":" + stFlag;
+    }
+
+    private List<StockPoolDto> buildLbjjStockPool(Result result, Integer notShowSt) {
         List<StockPool> stockPoolList = getBaseMapper().selectList(new LambdaQueryWrapper<StockPool>()
                 .eq(StockPool::getTradeDate, result.format)
                 .ne(StockPool::getPoolType, "super_stock")
@@ -336,7 +508,7 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
         );
 
         if (CollectionUtils.isEmpty(stockPoolList)) {
-            syncAllStockPoolData();
+            syncAllStockPoolData(result.validTradeDate);
             stockPoolList = getBaseMapper().selectList(new LambdaQueryWrapper<StockPool>()
                     .eq(StockPool::getTradeDate, result.format)
                     .ne(StockPool::getPoolType, "super_stock")
@@ -405,17 +577,13 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
             Map<String, StockPool> todayZtStockMap = ztMap.getOrDefault(ztTimes + 1, new ArrayList<>()).stream().collect(Collectors.toMap(StockPool::getStockCode, Function.identity()));
             stockPoolDto.setChance(new BigDecimal(todayZtStockMap.size() * 100.0 / yesterdayZtSize).setScale(2, RoundingMode.HALF_UP).doubleValue() + "%");
 
-            stockPoolDto.setChildren(yesterdayZtList.stream().map(stock -> {
-                StockPoolDto child = new StockPoolDto();
-                BeanUtils.copyProperties(stock, child);
-                return child;
-            }).collect(Collectors.toList()));
+            stockPoolDto.setChildren(BeanCopierUtils.copyList(yesterdayZtList, StockPoolDto::new));
 
             stockPoolDto.getChildren().forEach(item -> {
                 String stockCode = item.getStockCode();
                 StockPool todayZtStock = ztStockMap.get(stockCode);
                 if (todayZtStock != null) {
-                    BeanUtils.copyProperties(todayZtStock, item);
+                    BeanCopierUtils.copy(todayZtStock, item);
                     item.setStockName(StockNameStyleUtil.addStyledTag(item.getStockName(), "成"));
                     item.setJjType(0);
                 } else if (dtStockMap.containsKey(stockCode)) {
@@ -439,8 +607,7 @@ public class StockPoolServiceImpl extends ServiceImpl<StockPoolMapper, StockPool
         });
 
         firstLimitUpStockDto.getChildren().addAll(ztStockMap.values().stream().map(item -> {
-                    StockPoolDto stockPoolDto = new StockPoolDto();
-                    BeanUtils.copyProperties(item, stockPoolDto);
+                    StockPoolDto stockPoolDto = BeanCopierUtils.copy(item, new StockPoolDto());
                     if (item.getPoolType().equals("zt")) {
                         stockPoolDto.setStockName(StockNameStyleUtil.addStyledTag(stockPoolDto.getStockName(), "成"));
                         stockPoolDto.setJjType(0);
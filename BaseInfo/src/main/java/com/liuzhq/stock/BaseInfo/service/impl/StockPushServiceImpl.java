@@ -0,0 +1,329 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liuzhq.stock.BaseInfo.push.PushFrame;
+import com.liuzhq.stock.BaseInfo.push.PushTopic;
+import com.liuzhq.stock.BaseInfo.service.StockPushService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 服务端推送服务
+ * 1. 发布方线程只做一次序列化，生成 PushFrame 后交给单线程推送线程池，按发布顺序分发
+ * 2. 推送线程只把帧放入各连接自己的有界发送队列，不做网络写出；写出在发送线程池中按连接串行执行，
+ *    慢连接只会积压自己的队列，不影响其他连接和后续发布
+ * 3. 发送队列满时丢弃积压的帧，改为发送 reset，客户端收到后重新全量查询
+ * 4. 最近的帧保存在补发环形缓冲区（只在推送线程中读写），断线重连按 Last-Event-ID 补发；
+ *    新连接的补发也在推送线程中执行，与广播不会交错、不会重复
+ * 5. 写出失败或单次写出超过 send-timeout-ms 的连接直接关闭，心跳定期发现已断开的连接
+ */
+@Service
+@Slf4j
+public class StockPushServiceImpl implements StockPushService {
+
+    /** 补发窗口（帧数） */
+    private static final int REPLAY_SIZE = 512;
+
+    private static final PushFrame HEARTBEAT = PushFrame.heartbeat();
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Resource(name = "stockPushExecutor")
+    private Executor stockPushExecutor;
+
+    @Resource(name = "stockPushSendExecutor")
+    private Executor stockPushSendExecutor;
+
+    @Value("${stock.push.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${stock.push.max-subscribers:500}")
+    private int maxSubscribers;
+
+    @Value("${stock.push.queue-size:512}")
+    private int queueSize;
+
+    @Value("${stock.push.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 补发环形缓冲区，只在推送线程中访问 */
+    private final PushFrame[] replay = new PushFrame[REPLAY_SIZE];
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong disconnectedCount = new AtomicLong();
+
+    @Override
+    public SseEmitter subscribe(Set<String> topics, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("推送连接数已达上限：" + maxSubscribers);
+        }
+        Set<String> subscribed = topics == null || topics.isEmpty()
+                ? new HashSet<>(Arrays.asList(PushTopic.ALL)) : new HashSet<>(topics);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, Collections.unmodifiableSet(subscribed), queueSize);
+        // 先加入再注册回调：回调可能在注册后立即触发，加入在后会留下已关闭的连接
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        try {
+            // 补发完成后才开始接收广播（都在推送线程中执行），补发与广播不会交错、不会重复
+            stockPushExecutor.execute(() -> {
+                if (lastEventId != null) {
+                    replay(subscriber, lastEventId);
+                }
+                subscriber.active = true;
+            });
+        } catch (RejectedExecutionException e) {
+            remove(subscriber);
+            emitter.completeWithError(e);
+            throw new IllegalStateException("推送队列已满，请稍后重试");
+        }
+        return emitter;
+    }
+
+    /**
+     * 补发 lastEventId 之后的帧；超出补发窗口，或 lastEventId 大于当前序号（服务重启后序号从0开始）时发送 reset
+     */
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long latest = sequence.get();
+        if (lastEventId == latest) {
+            return;
+        }
+        if (lastEventId > latest || latest - lastEventId > REPLAY_SIZE) {
+            enqueue(subscriber, resetFrame(latest));
+            return;
+        }
+        for (long id = lastEventId + 1; id <= latest; id++) {
+            PushFrame frame = replay[(int) (id % REPLAY_SIZE)];
+            if (frame == null || frame.getId() != id) {
+                // 已分配序号但尚未广播的帧，随后的广播会发出
+                break;
+            }
+            if (subscriber.topics.contains(frame.getTopic())) {
+                enqueue(subscriber, frame);
+            }
+        }
+    }
+
+    @Override
+    public void publish(String topic, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("推送数据序列化失败，主题：{}", topic, e);
+            return;
+        }
+        try {
+            stockPushExecutor.execute(() -> {
+                // 序号在推送线程中分配，补发缓冲区与广播顺序一致
+                PushFrame frame = PushFrame.of(sequence.get() + 1, topic, json);
+                replay[(int) (frame.getId() % REPLAY_SIZE)] = frame;
+                sequence.set(frame.getId());
+                publishedCount.incrementAndGet();
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.active && subscriber.topics.contains(topic)) {
+                        enqueue(subscriber, frame);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            log.warn("推送队列已满，丢弃{}帧", topic);
+        }
+    }
+
+    @Override
+    public boolean hasSubscribers(String topic) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.topics.contains(topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            stockPushExecutor.execute(() -> {
+                long now = System.currentTimeMillis();
+                for (Subscriber subscriber : subscribers) {
+                    long sendStartedAt = subscriber.sendStartedAt;
+                    if (sendStartedAt > 0 && now - sendStartedAt > sendTimeoutMs) {
+                        // 写出长时间阻塞（客户端不再读取），关闭连接，释放发送线程
+                        close(subscriber, new TimeoutException("推送写出超时：" + (now - sendStartedAt) + "ms"));
+                    } else if (subscriber.active && subscriber.queue.isEmpty()) {
+                        // 队列中还有待发送的帧时不需要心跳
+                        enqueue(subscriber, HEARTBEAT);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+        }
+    }
+
+    private PushFrame resetFrame(long latest) {
+        return PushFrame.of(latest, PushTopic.RESET, "{\"lastEventId\":" + latest + "}");
+    }
+
+    /**
+     * 放入连接的发送队列（只在推送线程中调用）；队列已满说明客户端跟不上，
+     * 丢弃积压的帧并改为发送 reset（序号为当前最新序号，之后的帧照常发送）
+     */
+    private void enqueue(Subscriber subscriber, PushFrame frame) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(frame)) {
+            subscriber.queue.clear();
+            subscriber.queue.offer(resetFrame(sequence.get()));
+            overflowCount.incrementAndGet();
+            log.debug("推送连接发送队列已满，丢弃积压的帧并发送reset");
+        }
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * 同一连接同时只有一个写出任务，保证写出顺序
+     */
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            stockPushSendExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // 队列中的帧保留，下一次入队时重新调度
+            subscriber.draining.set(false);
+            rejectedCount.incrementAndGet();
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            PushFrame frame;
+            while (!subscriber.closed && (frame = subscriber.queue.poll()) != null) {
+                if (!send(subscriber, frame)) {
+                    return;
+                }
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // 结束前入队的帧可能没有触发调度
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * 写出一帧，失败时关闭连接
+     */
+    private boolean send(Subscriber subscriber, PushFrame frame) {
+        subscriber.sendStartedAt = System.currentTimeMillis();
+        try {
+            subscriber.emitter.send(frame.toEvent());
+            sentCount.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            close(subscriber, e);
+            return false;
+        } finally {
+            subscriber.sendStartedAt = 0;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        subscriber.queue.clear();
+    }
+
+    private void close(Subscriber subscriber, Exception cause) {
+        if (subscriber.closed) {
+            return;
+        }
+        remove(subscriber);
+        disconnectedCount.incrementAndGet();
+        log.debug("推送连接已断开：{}", cause.getMessage());
+        try {
+            subscriber.emitter.completeWithError(cause);
+        } catch (Exception ignored) {
+            // 连接已关闭
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscriberCount", subscribers.size());
+        Map<String, Integer> topicCounts = new LinkedHashMap<>();
+        for (String topic : PushTopic.ALL) {
+            topicCounts.put(topic, (int) subscribers.stream().filter(item -> item.topics.contains(topic)).count());
+        }
+        stats.put("topicSubscribers", topicCounts);
+        stats.put("queuedFrames", subscribers.stream().mapToInt(item -> item.queue.size()).sum());
+        stats.put("lastEventId", sequence.get());
+        stats.put("publishedCount", publishedCount.get());
+        stats.put("sentCount", sentCount.get());
+        stats.put("rejectedCount", rejectedCount.get());
+        stats.put("overflowCount", overflowCount.get());
+        stats.put("disconnectedCount", disconnectedCount.get());
+        return stats;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+        /** 待写出的帧，只在推送线程中入队 */
+        private final BlockingQueue<PushFrame> queue;
+        /** 是否已有写出任务在执行或排队 */
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** 补发完成，开始接收广播（只在推送线程中修改） */
+        private volatile boolean active;
+        private volatile boolean closed;
+        /** 当前写出开始的时刻，0表示没有在写出 */
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, Set<String> topics, int queueSize) {
+            this.emitter = emitter;
+            this.topics = topics;
+            this.queue = new LinkedBlockingQueue<>(queueSize);
+        }
+    }
+}
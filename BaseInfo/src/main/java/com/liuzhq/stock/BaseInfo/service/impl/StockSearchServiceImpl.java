@@ -0,0 +1,185 @@
+package com.liuzhq.stock.BaseInfo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.liuzhq.common.utils.SingleFlight;
+import com.liuzhq.stock.BaseInfo.dto.StockSearchDto;
+import com.liuzhq.stock.BaseInfo.entity.StockPool;
+import com.liuzhq.stock.BaseInfo.mapper.StockPoolMapper;
+import com.liuzhq.stock.BaseInfo.quote.QuoteField;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshot;
+import com.liuzhq.stock.BaseInfo.quote.QuoteSnapshotListener;
+import com.liuzhq.stock.BaseInfo.quote.SymbolTable;
+import com.liuzhq.stock.BaseInfo.search.StockSearchIndex;
+import com.liuzhq.stock.BaseInfo.service.QuoteSnapshotService;
+import com.liuzhq.stock.BaseInfo.service.StockSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 股票搜索服务
+ * 1. 索引由行情快照（代码、名称、成交额）和近期股票池中的名称构建，构建完成后整体替换
+ * 2. 行情快照刷新后比较股票集合指纹（代码+名称），有新股上市、改名（如戴帽摘帽）时在后台重建；
+ *    集合不变时每隔一段时间也重建一次，使排序跟上最新成交额
+ * 3. 搜索只读内存索引，行情快照中的最新价/涨跌幅随结果一并返回
+ */
+@Service
+@Slf4j
+public class StockSearchServiceImpl implements StockSearchService, QuoteSnapshotListener {
+
+    private static final String REBUILD_KEY = "search";
+
+    /** 股票池名称回溯的天数 */
+    private static final int POOL_NAME_DAYS = 30;
+
+    /** 股票集合不变时按最新成交额重建的间隔 */
+    private static final long REWEIGHT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    @Resource
+    private QuoteSnapshotService quoteSnapshotService;
+
+    @Resource
+    private StockPoolMapper stockPoolMapper;
+
+    @Resource(name = "stockSearchIndexExecutor")
+    private Executor stockSearchIndexExecutor;
+
+    private volatile StockSearchIndex index = StockSearchIndex.EMPTY;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean(false);
+
+    private final SingleFlight<String, StockSearchIndex> rebuildSingleFlight = new SingleFlight<>();
+
+    @Override
+    public void onSnapshot(QuoteSnapshot previous, QuoteSnapshot current) {
+        StockSearchIndex currentIndex = index;
+        if (currentIndex != StockSearchIndex.EMPTY
+                && currentIndex.getFingerprint() == fingerprint(current)
+                && System.currentTimeMillis() - currentIndex.getBuiltAtMillis() < REWEIGHT_INTERVAL_MILLIS) {
+            return;
+        }
+        rebuildAsync();
+    }
+
+    @Override
+    public List<StockSearchDto> search(String keyword, int limit) {
+        List<StockSearchIndex.Hit> hits = current().search(keyword, limit);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        QuoteSnapshot snapshot = quoteSnapshotService.current();
+        List<StockSearchDto> result = new ArrayList<>(hits.size());
+        for (StockSearchIndex.Hit hit : hits) {
+            StockSearchDto dto = new StockSearchDto();
+            dto.setSymbol(hit.getSymbol());
+            dto.setName(hit.getName());
+            dto.setInitials(hit.getInitials());
+            dto.setMatchType(hit.getMatchType().name());
+            int row = snapshot.rowOf(hit.getSymbol());
+            if (row >= 0) {
+                dto.setCurrentPrice(snapshot.get(row, QuoteField.CURRENT_PRICE));
+                dto.setChangePercent(snapshot.get(row, QuoteField.CHANGE_PERCENT));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Override
+    public StockSearchIndex current() {
+        StockSearchIndex current = index;
+        if (current == StockSearchIndex.EMPTY) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    @Override
+    public StockSearchIndex rebuild() {
+        try {
+            return rebuildSingleFlight.execute(REBUILD_KEY, this::doRebuild);
+        } catch (Exception e) {
+            log.error("重建股票搜索索引失败，继续使用原索引（{}只股票）", index.size(), e);
+            return index;
+        }
+    }
+
+    private void rebuildAsync() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            stockSearchIndexExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuildPending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildPending.set(false);
+            log.warn("股票搜索索引重建任务被拒绝，下次行情刷新时重试");
+        }
+    }
+
+    private StockSearchIndex doRebuild() {
+        long start = System.currentTimeMillis();
+        QuoteSnapshot snapshot = quoteSnapshotService.current();
+        StockSearchIndex.Builder builder = new StockSearchIndex.Builder();
+        double[] turnover = snapshot.column(QuoteField.TURNOVER);
+        for (int row = 0; row < snapshot.size(); row++) {
+            builder.add(snapshot.symbolAt(row), snapshot.nameAt(row), turnover[row]);
+        }
+        int quoteCount = builder.size();
+        // 行情中没有的股票（如行情加载失败、已退市）用股票池中最近的名称补充
+        for (StockPool stockPool : loadPoolNames()) {
+            builder.add(SymbolTable.normalize(stockPool.getStockCode()), stockPool.getStockName(), 0);
+        }
+
+        StockSearchIndex built = builder.build(fingerprint(snapshot));
+        index = built;
+        log.info("股票搜索索引已重建，股票数：{}（行情{}，股票池补充{}），节点数：{}，耗时{}ms",
+                built.size(), quoteCount, built.size() - quoteCount, built.nodeCount(), System.currentTimeMillis() - start);
+        return built;
+    }
+
+    /**
+     * 近期股票池中的代码和名称（按交易日倒序，同一股票取最近的名称）
+     */
+    private List<StockPool> loadPoolNames() {
+        try {
+            return stockPoolMapper.selectList(new LambdaQueryWrapper<StockPool>()
+                    .select(StockPool::getStockCode, StockPool::getStockName)
+                    .ge(StockPool::getTradeDate, LocalDate.now().minusDays(POOL_NAME_DAYS))
+                    .orderByDesc(StockPool::getTradeDate));
+        } catch (Exception e) {
+            log.warn("查询股票池名称失败，搜索索引只使用行情数据：{}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 股票集合指纹：与行顺序无关，代码或名称有变化时改变
+     */
+    private static long fingerprint(QuoteSnapshot snapshot) {
+        long hash = snapshot.size();
+        for (int row = 0; row < snapshot.size(); row++) {
+            long h = snapshot.symbolIdAt(row) * 0x9E3779B97F4A7C15L ^ Objects.hashCode(snapshot.nameAt(row));
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            hash += h;
+        }
+        return hash;
+    }
+}
@@ -1,19 +1,20 @@
 package com.liuzhq.stock.BaseInfo.service.impl;
 
-import com.alibaba.fastjson.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.liuzhq.common.cache.CacheManager;
+import com.liuzhq.common.cache.LocalCache;
 import com.liuzhq.common.enums.CacheKey;
-import com.liuzhq.common.utils.CacheUtils;
 import com.liuzhq.common.utils.CollectionUtils;
+import com.liuzhq.stock.BaseInfo.calendar.HolidayYear;
+import com.liuzhq.stock.BaseInfo.calendar.TradeCalendar;
 import com.liuzhq.stock.BaseInfo.entity.SysHoliday;
 import com.liuzhq.stock.BaseInfo.mapper.SysHolidayMapper;
 import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
 import com.liuzhq.stock.BaseInfo.task.HolidayDataSyncTask;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +35,6 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -48,6 +48,11 @@ public class SysHolidayServiceImpl extends ServiceImpl<SysHolidayMapper, SysHoli
     @Resource
     private HolidayDataSyncTask holidayDataSyncTask;
 
+    /**
+     * 交易日历，节假日同步完成后整体替换
+     */
+    private volatile TradeCalendar tradeCalendar;
+
     /**
      * 创建适配Spring 5.2.8.RELEASE的RestTemplate
      */
@@ -395,6 +400,14 @@ public class SysHolidayServiceImpl extends ServiceImpl<SysHolidayMapper, SysHoli
 
     @Override
     public SysHoliday getHolidayByDate(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        // 该年份已缓存时直接二分查找，否则查库
+        HolidayYear holidayYear = CacheManager.<HolidayYear>getCache(CacheKey.HOLIDAY).get(CacheKey.HOLIDAY.getKey() + date.getYear());
+        if (holidayYear != null) {
+            return holidayYear.get(date);
+        }
         try {
             return baseMapper.selectByHolidayDate(date);
         } catch (Exception e) {
@@ -409,40 +422,14 @@ public class SysHolidayServiceImpl extends ServiceImpl<SysHolidayMapper, SysHoli
             log.warn("判断交易日失败：日期为空");
             return false;
         }
-
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        SysHoliday holiday = getHolidayByDate(date);
-
-        if (holiday != null) {
-            if (holiday.getIsHoliday() == 1) {
-                log.debug("{} 是法定节假日，非交易日", date);
-                return false;
-            }
-            if (holiday.getIsMakeupWork() == 1) {
-                log.debug("{} 是调休补班日，属于交易日", date);
-                return true;
-            }
-        }
-
-        boolean isWeekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
-        boolean isTradeDay = !isWeekend;
-
-        log.debug("{} 星期{}，{}交易日", date, dayOfWeek.getValue(), isTradeDay ? "是" : "非");
-        return isTradeDay;
+        return getTradeCalendar().isTradeDay(date);
     }
 
     /**
      * 获取有效交易日
+     * 当天 9:25 之前取上一个交易日；节假日/周末回退到最近交易日（查交易日历，O(1)）
      */
     public LocalDate getValidTradeDate(LocalDate targetDate) {
-        int year = targetDate.getYear();
-        List<String> currentHolidayList = query(null, null).stream()
-                .map(item -> FULL_DATE_FORMATTER.format(item.getHolidayDate()))
-                .collect(Collectors.toList());
-        List<String> preYearHolidayList = query(year - 1, null).stream()
-                .map(item -> FULL_DATE_FORMATTER.format(item.getHolidayDate()))
-                .collect(Collectors.toList());
-
         LocalDate now = LocalDate.now();
 
         if (!targetDate.isBefore(now)) {
@@ -454,49 +441,101 @@ public class SysHolidayServiceImpl extends ServiceImpl<SysHolidayMapper, SysHoli
             }
         }
 
-        LocalDate currentDate = targetDate;
-        int maxTryCount = 60;
-        int tryCount = 0;
+        return getTradeCalendar().prevOrSameTradeDate(targetDate);
+    }
 
-        while (tryCount < maxTryCount) {
-            String currentDateStr = FULL_DATE_FORMATTER.format(currentDate);
-            if (!currentHolidayList.contains(currentDateStr) && !preYearHolidayList.contains(currentDateStr)) {
-                return currentDate;
+    @Override
+    public TradeCalendar getTradeCalendar() {
+        TradeCalendar calendar = tradeCalendar;
+        if (calendar == null) {
+            synchronized (this) {
+                calendar = tradeCalendar;
+                if (calendar == null) {
+                    calendar = buildTradeCalendar();
+                    tradeCalendar = calendar;
+                }
             }
-            currentDate = currentDate.minusDays(1);
-            tryCount++;
         }
+        return calendar;
+    }
 
-        log.warn("查找最近交易日失败（已尝试{}天），返回日期：{}", maxTryCount, currentDate);
-        return currentDate;
+    @Override
+    public void refreshTradeCalendar() {
+        TradeCalendar calendar = buildTradeCalendar();
+        tradeCalendar = calendar;
+        log.info("交易日历已重建，覆盖{}-{}年", calendar.getFirstYear(), calendar.getLastYear());
+    }
+
+    /**
+     * 从数据库加载全部休市日期构建交易日历
+     * 覆盖范围：库中最早年份 ~ max(库中最晚年份, 当前年份+1)，缺数据的年份只按周末判断（由节假日同步任务补齐后重建）
+     */
+    private TradeCalendar buildTradeCalendar() {
+        int currentYear = LocalDate.now().getYear();
+        List<SysHoliday> holidayList = getBaseMapper().selectList(new LambdaQueryWrapper<SysHoliday>()
+                .select(SysHoliday::getHolidayDate, SysHoliday::getIsHoliday, SysHoliday::getYear));
+        if (CollectionUtils.isEmpty(holidayList)) {
+            log.warn("节假日数据为空，交易日历只排除周末");
+            return TradeCalendar.EMPTY;
+        }
+
+        int firstYear = currentYear;
+        int lastYear = currentYear + 1;
+        List<LocalDate> closedDates = new ArrayList<>(holidayList.size());
+        for (SysHoliday holiday : holidayList) {
+            if (holiday.getHolidayDate() == null) {
+                continue;
+            }
+            firstYear = Math.min(firstYear, holiday.getHolidayDate().getYear());
+            lastYear = Math.max(lastYear, holiday.getHolidayDate().getYear());
+            // 调休补班日（周末）交易所同样休市，只需记录法定节假日
+            if (Objects.equals(holiday.getIsHoliday(), 1)) {
+                closedDates.add(holiday.getHolidayDate());
+            }
+        }
+        return TradeCalendar.of(closedDates, firstYear, lastYear);
     }
 
     @Override
     public List<SysHoliday> query(Integer year, Integer month) {
-        List<SysHoliday> holidayList;
-        String holidayListJson = CacheUtils.get(CacheKey.HOLIDAY.getKey() + year);
-
-        if (StringUtils.isBlank(holidayListJson)) {
-            holidayList = getBaseMapper().selectList(new LambdaQueryWrapper<SysHoliday>()
-                    .eq(year != null, SysHoliday::getYear, year));
-            if (CollectionUtils.isEmpty(holidayList)) {
+        if (year == null) {
+            return Collections.emptyList();
+        }
+        LocalCache<HolidayYear> cache = CacheManager.getCache(CacheKey.HOLIDAY);
+        String cacheKey = CacheKey.HOLIDAY.getKey() + year;
+        HolidayYear holidayYear = cache.get(cacheKey);
+        if (holidayYear == null) {
+            holidayYear = loadHolidayYear(year);
+            if (holidayYear.isEmpty()) {
                 holidayDataSyncTask.manualSyncHolidayData(year);
-                holidayList = getBaseMapper().selectList(new LambdaQueryWrapper<SysHoliday>()
-                        .eq(year != null, SysHoliday::getYear, year)
-                        .eq(month != null, SysHoliday::getMonth, month)
-                );
+                holidayYear = loadHolidayYear(year);
+            }
+            // 空年份不缓存，下次查询时重新尝试同步
+            if (!holidayYear.isEmpty()) {
+                cache.put(cacheKey, holidayYear);
             }
-            CacheUtils.put(CacheKey.HOLIDAY.getKey() + year, JSON.toJSONString(holidayList));
-        } else {
-            holidayList = JSON.parseArray(holidayListJson, SysHoliday.class);
         }
+        return holidayYear.list(month);
+    }
 
-        if (CollectionUtils.isEmpty(holidayList)) {
-            holidayDataSyncTask.manualSyncHolidayData(year);
+    @Override
+    public void refreshHolidayYear(Integer year) {
+        if (year == null) {
+            return;
         }
+        HolidayYear holidayYear = loadHolidayYear(year);
+        String cacheKey = CacheKey.HOLIDAY.getKey() + year;
+        if (holidayYear.isEmpty()) {
+            CacheManager.getCache(CacheKey.HOLIDAY).remove(cacheKey);
+        } else {
+            CacheManager.<HolidayYear>getCache(CacheKey.HOLIDAY).put(cacheKey, holidayYear);
+        }
+        log.info("{}年节假日缓存已重建，共{}条", year, holidayYear.size());
+    }
 
-        return holidayList.stream()
-                .filter(item -> year != null && Objects.equals(item.getYear(), year) && (month == null || Objects.equals(item.getMonth(), month)))
-                .collect(Collectors.toList());
+    private HolidayYear loadHolidayYear(int year) {
+        List<SysHoliday> holidayList = getBaseMapper().selectList(new LambdaQueryWrapper<SysHoliday>()
+                .eq(SysHoliday::getYear, year));
+        return HolidayYear.of(year, CollectionUtils.isEmpty(holidayList) ? Collections.emptyList() : holidayList);
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.liuzhq.stock.BaseInfo.task;
+
+import com.liuzhq.stock.BaseInfo.calendar.TradingSession;
+import com.liuzhq.stock.BaseInfo.service.AbnormalEventService;
+import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 盘面异动事件拉取定时任务（仅交易日的交易时段执行）
+ * 按 stock.event.poll-interval-ms 固定间隔（默认1秒）增量拉取，每次只取游标之后的新事件
+ */
+@Component
+@Slf4j
+public class AbnormalEventPollTask {
+
+    @Autowired
+    private AbnormalEventService abnormalEventService;
+
+    @Autowired
+    private SysHolidayService sysHolidayService;
+
+    @Value("${stock.event.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(initialDelayString = "${stock.event.initial-delay-ms:10000}",
+            fixedDelayString = "${stock.event.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled || !TradingSession.isOpen(LocalTime.now()) || !sysHolidayService.isTradeDay(LocalDate.now())) {
+            return;
+        }
+        abnormalEventService.poll();
+    }
+}
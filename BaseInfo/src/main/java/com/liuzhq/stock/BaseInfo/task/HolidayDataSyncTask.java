@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -72,6 +74,9 @@ public class HolidayDataSyncTask {
 
             log.info("{}年节假日+周末数据同步完成（清空重插）", year);
 
+            // 3. 数据落库后重建交易日历和该年份的节假日缓存
+            refreshCachesAfterCommit(year);
+
         } catch (Exception e) {
             log.error("同步{}年节假日数据失败", year, e);
             throw new RuntimeException(String.format("同步%d年节假日数据异常", year), e);
@@ -79,6 +84,26 @@ public class HolidayDataSyncTask {
     }
 
 
+    /**
+     * 事务提交后再重建交易日历和节假日缓存，避免回滚时缓存与数据库不一致；无事务时立即重建
+     */
+    private void refreshCachesAfterCommit(int year) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    refreshCaches(year);
+                }
+            });
+        } else {
+            refreshCaches(year);
+        }
+    }
+
+    private void refreshCaches(int year) {
+        sysHolidayService.refreshTradeCalendar();
+        sysHolidayService.refreshHolidayYear(year);
+    }
 
     /**
      * 手动触发同步任务（可选，用于紧急更新）
@@ -0,0 +1,28 @@
+package com.liuzhq.stock.BaseInfo.task;
+
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Python 接口异步连接池清理：异步连接池没有内置的清理线程，定期关闭过期和空闲连接
+ */
+@Component
+public class PythonApiConnectionEvictTask {
+
+    @Autowired
+    private PoolingNHttpClientConnectionManager pythonApiAsyncConnectionManager;
+
+    @Value("${python.api.http.idle-evict-ms:30000}")
+    private long idleEvictMillis;
+
+    @Scheduled(fixedDelayString = "${python.api.http.idle-evict-ms:30000}")
+    public void evictAsyncConnections() {
+        pythonApiAsyncConnectionManager.closeExpiredConnections();
+        pythonApiAsyncConnectionManager.closeIdleConnections(idleEvictMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,60 @@
+package com.liuzhq.stock.BaseInfo.task;
+
+import com.liuzhq.stock.BaseInfo.calendar.TradingSession;
+import com.liuzhq.stock.BaseInfo.service.QuoteSnapshotService;
+import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 实时行情快照刷新定时任务（仅交易日执行）
+ * 1. 盘中按配置的间隔刷新（默认5秒，仅在 9:25-11:30、13:00-15:00 之间）
+ * 2. 收盘后再刷新一次，保留当日收盘快照
+ * 非交易时段的查询使用最后一份快照（首次查询时会同步加载一次）
+ */
+@Component
+@Slf4j
+public class QuoteSnapshotRefreshTask {
+
+    @Autowired
+    private QuoteSnapshotService quoteSnapshotService;
+
+    @Autowired
+    private SysHolidayService sysHolidayService;
+
+    @Value("${stock.quote.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 盘中刷新，间隔由 stock.quote.refresh-interval-ms 配置
+     */
+    @Scheduled(initialDelayString = "${stock.quote.initial-delay-ms:10000}",
+            fixedDelayString = "${stock.quote.refresh-interval-ms:5000}")
+    public void intradayRefresh() {
+        if (!TradingSession.isOpen(LocalTime.now())) {
+            return;
+        }
+        refresh();
+    }
+
+    /**
+     * 收盘刷新
+     */
+    @Scheduled(cron = "${stock.quote.post-close-cron:0 1 15 * * MON-FRI}")
+    public void postCloseRefresh() {
+        refresh();
+    }
+
+    private void refresh() {
+        if (!enabled || !sysHolidayService.isTradeDay(LocalDate.now())) {
+            return;
+        }
+        quoteSnapshotService.refresh();
+    }
+}
@@ -0,0 +1,90 @@
+package com.liuzhq.stock.BaseInfo.task;
+
+import com.liuzhq.stock.BaseInfo.calendar.TradingSession;
+import com.liuzhq.stock.BaseInfo.dto.StockPoolSyncReport;
+import com.liuzhq.stock.BaseInfo.service.StockPoolService;
+import com.liuzhq.stock.BaseInfo.service.SysHolidayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 股票池数据预热定时任务（仅交易日执行）
+ * 1. 开盘前（默认 9:26，集合竞价结束、getValidTradeDate 切换到当日之后）同步全部股票池，并预先构建各股票池视图和连板晋级视图
+ * 2. 盘中按配置的间隔刷新（默认60秒，仅在 9:25-11:30、13:00-15:00 之间），收盘后再做一次最终刷新
+ * 用户请求直接命中缓存，不再同步调用Python接口
+ */
+@Component
+@Slf4j
+public class StockPoolWarmUpTask {
+
+    @Autowired
+    private StockPoolService stockPoolService;
+
+    @Autowired
+    private SysHolidayService sysHolidayService;
+
+    @Value("${stock.warmup.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 上一次预热尚未结束时跳过本次，避免盘中刷新堆积
+     */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 开盘前预热
+     */
+    @Scheduled(cron = "${stock.warmup.pre-open-cron:0 26 9 * * MON-FRI}")
+    public void preOpenWarmUp() {
+        warmUp("开盘预热");
+    }
+
+    /**
+     * 收盘后最终刷新
+     */
+    @Scheduled(cron = "${stock.warmup.post-close-cron:0 5 15 * * MON-FRI}")
+    public void postCloseWarmUp() {
+        warmUp("收盘刷新");
+    }
+
+    /**
+     * 盘中刷新，间隔由 stock.warmup.intraday-interval-ms 配置
+     */
+    @Scheduled(initialDelayString = "${stock.warmup.intraday-initial-delay-ms:30000}",
+            fixedDelayString = "${stock.warmup.intraday-interval-ms:60000}")
+    public void intradayRefresh() {
+        if (!TradingSession.isOpen(LocalTime.now())) {
+            return;
+        }
+        warmUp("盘中刷新");
+    }
+
+    private void warmUp(String scene) {
+        LocalDate today = LocalDate.now();
+        if (!enabled || !sysHolidayService.isTradeDay(today)) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("{}：上一次预热尚未完成，跳过本次", scene);
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            StockPoolSyncReport report = stockPoolService.warmUp(today);
+            log.info("{}完成，交易日：{}，新增{}条，更新{}条，未变化{}条，全部成功：{}，耗时{}ms",
+                    scene, report.getTradeDate(), report.getInsertCount(), report.getUpdateCount(), report.getUnchangedCount(),
+                    report.isAllSuccess(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("{}失败", scene, e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.liuzhq.stock.BaseInfo.task;
+
+import com.liuzhq.stock.BaseInfo.service.StockPushService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 推送连接心跳：保持连接不被代理/浏览器判定为空闲，并及时清理已断开的连接
+ */
+@Component
+public class StockPushHeartbeatTask {
+
+    @Autowired
+    private StockPushService stockPushService;
+
+    @Scheduled(fixedDelayString = "${stock.push.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        stockPushService.heartbeat();
+    }
+}
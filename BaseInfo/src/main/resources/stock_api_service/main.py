@@ -16,6 +16,7 @@ sys.path.append(os.path.dirname(os.path.abspath(__file__)))
 
 from fastapi import FastAPI
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.middleware.gzip import GZipMiddleware
 import uvicorn
 
 # 导入各厂商的API路由
@@ -61,6 +62,9 @@ app.add_middleware(
     allow_headers=["*"],
 )
 
+# 响应压缩（Java端请求默认带 Accept-Encoding: gzip，全市场行情等大响应压缩后传输）
+app.add_middleware(GZipMiddleware, minimum_size=1024)
+
 # 注册各厂商的API路由（添加前缀区分）
 app.include_router(eastmoney_router, prefix="/api/eastmoney", tags=["东方财富API"])
 app.include_router(xuangubao_router, prefix="/api/xuangubao", tags=["选股宝API"])
@@ -134,5 +138,6 @@ if __name__ == "__main__":
         port=8000,
         log_level="info",
         access_log=True,
-        reload=False  # 生产环境关闭热重载
+        reload=False,  # 生产环境关闭热重载
+        timeout_keep_alive=75  # 长于Java端连接池的keep-alive时间，由客户端先关闭空闲连接
     )
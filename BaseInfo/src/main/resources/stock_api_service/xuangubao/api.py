@@ -45,6 +45,16 @@ POOL_TYPES = {
     "super_stock": "super_stock"           # 强势股池
 }
 
+# 盘面异动（事件id连续递增，按时间倒序分页返回）
+XUANGUBAO_EVENT_API = "https://flash-api.xuangubao.com.cn/api/event/history"
+# 100xx 为个股异动，110xx 为板块异动
+EVENT_TYPES = "10001,10005,10003,10007,10002,10006,10004,10008,10012,10014,10009,10010,11000,11001"
+EVENT_PAGE_SIZE = 30
+# 增量拉取时最多向前翻的页数（正常轮询只需要第一页）
+EVENT_MAX_PAGES = 10
+# 轮询接口的单次请求超时（秒），不走 tenacity 重试，失败由下一次轮询补上
+EVENT_TIMEOUT = 3
+
 # 禁用代理，确保接口访问正常
 proxy_env_vars = ['http_proxy', 'https_proxy', 'HTTP_PROXY', 'HTTPS_PROXY', 'all_proxy', 'ALL_PROXY']
 for var in proxy_env_vars:
@@ -337,6 +347,118 @@ def get_stock_pool_statistics(pool_key: str, trade_date: Optional[str] = None) -
         "detail_data": stock_data
     }
 
+def ratio_to_percent(value: Union[int, float, None]) -> Optional[float]:
+    """比例（0.0123）转换为百分比（1.23）"""
+    if value is None:
+        return None
+    return round(value * 100, 2)
+
+def parse_event(event: Dict[str, Any]) -> Dict[str, Any]:
+    """解析单条盘面异动事件（个股异动和板块异动统一为一条记录，关联的板块/个股放在 related 中）"""
+    event_timestamp = event.get("event_timestamp") or 0
+    parsed = {
+        "id": event.get("id"),
+        "event_type": event.get("event_type"),
+        "good_or_bad": event.get("good_or_bad"),
+        "target": event.get("target", ""),
+        "event_timestamp": event_timestamp,
+        "event_time": timestamp_to_datetime(event_timestamp),
+        "stock_code": None,
+        "stock_name": None,
+        "price": None,
+        "pcp": None,
+        "mtm": None,
+        "plate_id": None,
+        "plate_name": None,
+        "related": []
+    }
+
+    stock_data = event.get("stock_abnormal_event_data")
+    plate_data = event.get("plate_abnormal_event_data")
+    if stock_data:
+        parsed.update({
+            "stock_code": stock_data.get("symbol"),
+            "stock_name": stock_data.get("name"),
+            "price": stock_data.get("price"),
+            "pcp": ratio_to_percent(stock_data.get("pcp")),
+            "mtm": ratio_to_percent(stock_data.get("mtm")),
+            "related": [{
+                "plate_id": plate.get("plate_id"),
+                "plate_name": plate.get("plate_name"),
+                "pcp": ratio_to_percent(plate.get("plate_pcp"))
+            } for plate in (stock_data.get("related_plates") or [])]
+        })
+    elif plate_data:
+        parsed.update({
+            "plate_id": plate_data.get("plate_id"),
+            "plate_name": plate_data.get("plate_name"),
+            "pcp": ratio_to_percent(plate_data.get("pcp")),
+            "related": [{
+                "stock_code": stock.get("symbol"),
+                "stock_name": stock.get("name"),
+                "pcp": ratio_to_percent(stock.get("pcp")),
+                "mtm": ratio_to_percent(stock.get("mtm"))
+            } for stock in (plate_data.get("related_stocks") or [])]
+        })
+    return parsed
+
+def fetch_event_page(timestamp: int, count: int, types: str) -> List[Dict[str, Any]]:
+    """获取 timestamp（含）之前的一页异动事件（倒序）"""
+    params = {"timestamp": timestamp, "count": count, "types": types}
+    response = session.get(XUANGUBAO_EVENT_API, params=params, timeout=EVENT_TIMEOUT)
+    response.raise_for_status()
+    # 轮询频率高，原始响应只在 debug 级别记录
+    xuangubao_logger.debug(f"选股宝异动原始API响应: {response.text}")
+
+    result = response.json()
+    if result.get("code") != 20000:
+        xuangubao_logger.error(f"选股宝异动API返回错误：{result.get('message')}")
+        raise HTTPException(status_code=500, detail=f"选股宝API错误：{result.get('message')}")
+    return result.get("data", []) or []
+
+def fetch_event_history(since_id: Optional[int], timestamp: Optional[int], count: int, types: str) -> Dict[str, Any]:
+    """
+    增量获取盘面异动事件
+    1. 从 timestamp（为空则当前时间）开始向前翻页，直到遇到 id <= since_id 的事件
+    2. since_id 为空时只取一页（首次启动不回放历史）
+    3. 按 id 去重后升序返回；翻到 EVENT_MAX_PAGES 仍未接上 since_id 时 has_more=True（中间可能有缺口）
+    """
+    cursor = timestamp or int(datetime.now().timestamp())
+    events: Dict[int, Dict[str, Any]] = {}
+    reached = since_id is None
+    pages = 0
+    while pages < EVENT_MAX_PAGES:
+        page = fetch_event_page(cursor, count, types)
+        pages += 1
+        if not page:
+            reached = True
+            break
+        oldest = cursor
+        for event in page:
+            event_id = event.get("id")
+            if event_id is None:
+                continue
+            oldest = min(oldest, event.get("event_timestamp") or oldest)
+            if since_id is not None and event_id <= since_id:
+                reached = True
+                continue
+            events.setdefault(event_id, event)
+        if reached or len(page) < count:
+            reached = True
+            break
+        if oldest >= cursor:
+            # 同一秒内的事件超过一页，时间戳无法继续向前，退到上一秒
+            oldest = cursor - 1
+        cursor = oldest
+
+    data = [parse_event(events[event_id]) for event_id in sorted(events)]
+    return {
+        "data": data,
+        "last_id": data[-1]["id"] if data else since_id,
+        "has_more": not reached,
+        "pages": pages
+    }
+
 # ========== 选股宝API接口 ==========
 @router.get("/stock/pool/{pool_key}", summary="获取指定股票池数据")
 def get_stock_pool_api(
@@ -415,3 +537,32 @@ def get_all_stock_pools_api(
             "data": {},
             "total_count": 0
         }
+
+@router.get("/event/history", summary="增量获取盘面异动事件")
+def get_event_history_api(
+    since_id: Optional[int] = Query(None, description="上次拉取到的最大事件id，为空则只取最新一页"),
+    timestamp: Optional[int] = Query(None, description="从该时间（unix秒，含）向前拉取，为空则当前时间"),
+    count: int = Query(EVENT_PAGE_SIZE, ge=1, le=100, description="每页条数"),
+    types: str = Query(EVENT_TYPES, description="事件类型，逗号分隔")
+):
+    """盘面异动事件（按id升序），供Java端按 since_id 轮询"""
+    try:
+        result = fetch_event_history(since_id, timestamp, count, types)
+        return {
+            "code": 200,
+            "msg": "success",
+            "data": result["data"],
+            "count": len(result["data"]),
+            "last_id": result["last_id"],
+            "has_more": result["has_more"]
+        }
+    except Exception as e:
+        xuangubao_logger.error(f"获取盘面异动事件失败，since_id={since_id}", exc_info=True)
+        return {
+            "code": 500,
+            "msg": str(e) if not isinstance(e, HTTPException) else e.detail,
+            "data": [],
+            "count": 0,
+            "last_id": since_id,
+            "has_more": False
+        }
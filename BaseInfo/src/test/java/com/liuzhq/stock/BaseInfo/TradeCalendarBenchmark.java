@@ -0,0 +1,106 @@
+package com.liuzhq.stock.BaseInfo;
+
+import com.alibaba.fastjson.JSON;
+import com.liuzhq.stock.BaseInfo.calendar.TradeCalendar;
+import com.liuzhq.stock.BaseInfo.entity.SysHoliday;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 交易日历微基准：对比原 getValidTradeDate 路径（缓存JSON反序列化 + List.contains 逐日回退）与 TradeCalendar
+ * 直接运行 main 方法即可，不依赖数据库
+ */
+public class TradeCalendarBenchmark {
+
+    private static final DateTimeFormatter FULL_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int WARMUP = 2_000;
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) {
+        List<SysHoliday> holidays = new ArrayList<>();
+        holidays.addAll(mockYear(2025));
+        holidays.addAll(mockYear(2026));
+        String cachedJson = JSON.toJSONString(holidays);
+
+        TradeCalendar calendar = TradeCalendar.of(
+                holidays.stream().map(SysHoliday::getHolidayDate).collect(Collectors.toList()), 2025, 2027);
+
+        LocalDate[] targets = new LocalDate[64];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = LocalDate.of(2026, 1, 1).plusDays(i * 5L);
+        }
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += legacy(cachedJson, targets[i & 63]).toEpochDay();
+            sink += calendar.prevOrSameTradeDay((int) targets[i & 63].toEpochDay());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += legacy(cachedJson, targets[i & 63]).toEpochDay();
+        }
+        long legacyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS * 100; i++) {
+            sink += calendar.prevOrSameTradeDay((int) targets[i & 63].toEpochDay());
+        }
+        long calendarNanos = System.nanoTime() - start;
+
+        System.out.printf("原路径      : %.1f ns/次%n", (double) legacyNanos / ROUNDS);
+        System.out.printf("TradeCalendar: %.1f ns/次%n", (double) calendarNanos / (ROUNDS * 100));
+        System.out.println("sink=" + sink);
+    }
+
+    /**
+     * 原实现：每次调用都反序列化两份节假日列表，再逐日 List.contains
+     */
+    private static LocalDate legacy(String cachedJson, LocalDate targetDate) {
+        List<String> currentHolidayList = JSON.parseArray(cachedJson, SysHoliday.class).stream()
+                .map(item -> FULL_DATE_FORMATTER.format(item.getHolidayDate()))
+                .collect(Collectors.toList());
+        List<String> preYearHolidayList = JSON.parseArray(cachedJson, SysHoliday.class).stream()
+                .map(item -> FULL_DATE_FORMATTER.format(item.getHolidayDate()))
+                .collect(Collectors.toList());
+
+        LocalDate currentDate = targetDate;
+        for (int tryCount = 0; tryCount < 60; tryCount++) {
+            String currentDateStr = FULL_DATE_FORMATTER.format(currentDate);
+            if (!currentHolidayList.contains(currentDateStr) && !preYearHolidayList.contains(currentDateStr)) {
+                return currentDate;
+            }
+            currentDate = currentDate.minusDays(1);
+        }
+        return currentDate;
+    }
+
+    /**
+     * 模拟一年的节假日表：全部周末 + 元旦/春节/国庆
+     */
+    private static List<SysHoliday> mockYear(int year) {
+        List<SysHoliday> list = new ArrayList<>();
+        for (LocalDate d = LocalDate.of(year, 1, 1); d.getYear() == year; d = d.plusDays(1)) {
+            boolean weekend = d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY;
+            boolean festival = d.getDayOfYear() == 1
+                    || (d.getMonthValue() == 2 && d.getDayOfMonth() >= 10 && d.getDayOfMonth() <= 17)
+                    || (d.getMonthValue() == 10 && d.getDayOfMonth() <= 7);
+            if (weekend || festival) {
+                SysHoliday holiday = new SysHoliday();
+                holiday.setHolidayDate(d);
+                holiday.setHolidayName(weekend ? "周末" : "节假日");
+                holiday.setIsHoliday(1);
+                holiday.setIsMakeupWork(0);
+                holiday.setYear(year);
+                holiday.setMonth(d.getMonthValue());
+                list.add(holiday);
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,145 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 市场宽度增量累加与全量重算对比：连续50份快照，每份约20%的股票行情变化，并有股票新增/消失，
+ * 每处理一份快照都与对同一快照全量重算的结果比较
+ */
+public class BreadthAccumulatorTest {
+
+    private static final String[] PREFIXES = {"600", "000", "300", "688", "830"};
+    private static final int STOCK_COUNT = 1000;
+    private static final int SNAPSHOTS = 50;
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    public void incrementalMatchesFullRecompute() {
+        Random random = new Random(20240102L);
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < STOCK_COUNT; i++) {
+            stocks.add(Stock.random(random, i));
+        }
+
+        BreadthAccumulator incremental = new BreadthAccumulator();
+        QuoteSnapshot previous = null;
+        for (int version = 1; version <= SNAPSHOTS; version++) {
+            if (version > 1) {
+                for (Stock stock : stocks) {
+                    if (random.nextInt(5) == 0) {
+                        stock.tick(random);
+                    }
+                }
+                // 偶尔有股票消失（停牌退出行情列表）和新上市
+                stocks.remove(random.nextInt(stocks.size()));
+                stocks.add(Stock.random(random, STOCK_COUNT + version));
+            }
+            QuoteSnapshot snapshot = build(stocks, version);
+
+            MarketBreadth actual = incremental.apply(previous, snapshot);
+            MarketBreadth expected = new BreadthAccumulator().apply(null, snapshot);
+            assertSame(expected, actual, version);
+            previous = snapshot;
+        }
+    }
+
+    private static void assertSame(MarketBreadth expected, MarketBreadth actual, int version) {
+        String message = "snapshot " + version;
+        assertEquals(expected.getTotalCount(), actual.getTotalCount(), message);
+        assertEquals(expected.getSuspendedCount(), actual.getSuspendedCount(), message);
+        assertEquals(expected.getUpCount(), actual.getUpCount(), message);
+        assertEquals(expected.getDownCount(), actual.getDownCount(), message);
+        assertEquals(expected.getFlatCount(), actual.getFlatCount(), message);
+        assertEquals(expected.getLimitUpCount(), actual.getLimitUpCount(), message);
+        assertEquals(expected.getLimitDownCount(), actual.getLimitDownCount(), message);
+        assertArrayEquals(expected.getChangeHistogram(), actual.getChangeHistogram(), message);
+        assertEquals(expected.getAvgPrice(), actual.getAvgPrice(), EPSILON, message);
+        assertEquals(expected.getAvgChangePercent(), actual.getAvgChangePercent(), EPSILON, message);
+        assertEquals(expected.getAvgTurnoverRate(), actual.getAvgTurnoverRate(), EPSILON, message);
+        assertEquals(expected.getAvgPe(), actual.getAvgPe(), EPSILON, message);
+        assertEquals(expected.getAvgPb(), actual.getAvgPb(), EPSILON, message);
+        assertEquals(expected.getMarketValueWeightedChange(), actual.getMarketValueWeightedChange(), EPSILON, message);
+        assertEquals(expected.getCirculatingValueWeightedChange(), actual.getCirculatingValueWeightedChange(), EPSILON, message);
+        assertEquals(expected.getTotalMarketValue(), actual.getTotalMarketValue(), Math.abs(expected.getTotalMarketValue()) * EPSILON, message);
+        assertEquals(expected.getCirculatingMarketValue(), actual.getCirculatingMarketValue(), Math.abs(expected.getCirculatingMarketValue()) * EPSILON, message);
+        assertEquals(expected.getTotalTurnover(), actual.getTotalTurnover(), Math.abs(expected.getTotalTurnover()) * EPSILON, message);
+        assertEquals(expected.getTotalVolume(), actual.getTotalVolume(), Math.abs(expected.getTotalVolume()) * EPSILON, message);
+    }
+
+    private static QuoteSnapshot build(List<Stock> stocks, long version) {
+        QuoteSnapshot.Builder builder = new QuoteSnapshot.Builder();
+        for (Stock stock : stocks) {
+            int row = builder.addRow(stock.symbol, stock.name);
+            builder.set(row, QuoteField.CURRENT_PRICE, stock.price);
+            builder.set(row, QuoteField.PREV_CLOSE, stock.prevClose);
+            builder.set(row, QuoteField.CHANGE_PERCENT, stock.changePercent());
+            builder.set(row, QuoteField.TURNOVER_RATE, stock.turnoverRate);
+            builder.set(row, QuoteField.PE_DYNAMIC, stock.pe);
+            builder.set(row, QuoteField.PB_RATIO, stock.pb);
+            builder.set(row, QuoteField.TOTAL_MARKET_VALUE, stock.shares * stock.price);
+            builder.set(row, QuoteField.CIRCULATING_MARKET_VALUE, stock.shares * 0.6 * stock.price);
+            builder.set(row, QuoteField.VOLUME, stock.volume);
+            builder.set(row, QuoteField.TURNOVER, stock.volume * stock.price);
+        }
+        return builder.build(version);
+    }
+
+    private static final class Stock {
+        private String symbol;
+        private String name;
+        private double prevClose;
+        private double price;
+        private double turnoverRate;
+        private double pe;
+        private double pb;
+        private double shares;
+        private double volume;
+
+        private static Stock random(Random random, int index) {
+            Stock stock = new Stock();
+            stock.symbol = PREFIXES[index % PREFIXES.length] + String.format("%03d", index % 1000) + "-breadth-" + index;
+            stock.name = random.nextInt(20) == 0 ? "*ST测试" + index : "测试" + index;
+            stock.prevClose = round2(3 + random.nextDouble() * 60);
+            // 约5%停牌（价格为0）
+            stock.price = random.nextInt(20) == 0 ? 0 : stock.prevClose;
+            stock.pe = random.nextInt(10) == 0 ? -random.nextDouble() * 50 : random.nextDouble() * 80;
+            stock.pb = random.nextDouble() * 8;
+            stock.shares = 1e8 + random.nextDouble() * 5e9;
+            return stock;
+        }
+
+        private void tick(Random random) {
+            if (price <= 0) {
+                // 复牌
+                price = prevClose;
+                return;
+            }
+            double ratio = PriceLimit.ratioOf(Board.ofSymbol(symbol), PriceLimit.isSt(name));
+            int move = random.nextInt(10);
+            if (move == 0) {
+                price = round2(prevClose * (1 + ratio));
+            } else if (move == 1) {
+                price = round2(prevClose * (1 - ratio));
+            } else {
+                price = round2(prevClose * (1 + (random.nextDouble() * 2 - 1) * ratio * 0.9));
+            }
+            turnoverRate = random.nextDouble() * 20;
+            volume += random.nextInt(100_000);
+        }
+
+        private double changePercent() {
+            return price <= 0 ? 0 : round2((price - prevClose) / prevClose * 100);
+        }
+
+        private static double round2(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
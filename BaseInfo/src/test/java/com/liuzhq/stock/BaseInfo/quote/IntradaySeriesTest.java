@@ -0,0 +1,66 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 分时序列按采样间隔取点：每5秒一次快照，分钟线只保留每分钟的第一次快照
+ */
+public class IntradaySeriesTest {
+
+    private static final String SYMBOL = "series-test-000001";
+
+    @Test
+    public void keepsFirstSnapshotOfEachInterval() {
+        IntradaySeries series = new IntradaySeries(LocalDate.of(2024, 1, 2), 248, 60);
+        assertEquals(256, series.getCapacity());
+
+        LocalTime start = LocalTime.of(9, 30);
+        for (int i = 0; i <= 360; i++) {
+            LocalTime time = start.plusSeconds(i * 5L);
+            if (series.isDue(time)) {
+                series.append(snapshot(i, 10.0 + i * 0.01), time);
+            }
+        }
+
+        // 9:30 - 10:00 每分钟一个点
+        List<IntradaySeries.Point> points = series.series(SymbolTable.find(SYMBOL));
+        assertEquals(31, points.size());
+        for (int minute = 0; minute < points.size(); minute++) {
+            IntradaySeries.Point point = points.get(minute);
+            assertEquals(start.plusMinutes(minute), point.getTime());
+            // 第 minute 分钟的第一次快照序号为 minute * 12
+            assertEquals(10.0 + minute * 12 * 0.01, point.getPrice(), 1e-4);
+        }
+
+        List<IntradaySeries.Point> crossSection = series.crossSection(LocalTime.of(9, 45, 30), new int[]{SymbolTable.find(SYMBOL)});
+        assertEquals(1, crossSection.size());
+        assertEquals(LocalTime.of(9, 45), crossSection.get(0).getTime());
+    }
+
+    @Test
+    public void closingSnapshotIsAlwaysKept() {
+        IntradaySeries series = new IntradaySeries(LocalDate.of(2024, 1, 2), 248, 60);
+        series.append(snapshot(1, 10.0), LocalTime.of(15, 0));
+        assertFalse(series.isDue(LocalTime.of(15, 0, 30)));
+
+        // 收盘点不受采样间隔限制
+        series.append(snapshot(2, 10.5), LocalTime.of(15, 0, 30));
+        series.seal();
+        assertEquals(2, series.size());
+        assertEquals(10.5, series.series(SymbolTable.find(SYMBOL)).get(1).getPrice(), 1e-4);
+    }
+
+    private static QuoteSnapshot snapshot(long version, double price) {
+        QuoteSnapshot.Builder builder = new QuoteSnapshot.Builder();
+        int row = builder.addRow(SYMBOL, "测试");
+        builder.set(row, QuoteField.CURRENT_PRICE, price);
+        return builder.build(version);
+    }
+}
@@ -0,0 +1,188 @@
+package com.liuzhq.stock.BaseInfo.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 行情排行索引：连续30份快照增量重排与全量排序结果一致（值相同按股票 id 排列，与历史顺序无关），
+ * 板块 / ST / 市值分档 / 停牌各筛选组合的 TopN 与逐行筛选的结果一致
+ */
+public class QuoteRankingTest {
+
+    private static final String[] PREFIXES = {"600", "688", "000", "300", "830", "920", "900"};
+    private static final int STOCK_COUNT = 800;
+    private static final int SNAPSHOTS = 30;
+
+    @Test
+    public void incrementalOrderMatchesFullSort() {
+        Random random = new Random(20240103L);
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < STOCK_COUNT; i++) {
+            stocks.add(Stock.random(random, i));
+        }
+
+        QuoteRanking ranking = null;
+        for (int version = 1; version <= SNAPSHOTS; version++) {
+            if (version > 1) {
+                for (Stock stock : stocks) {
+                    if (random.nextInt(10) == 0) {
+                        stock.tick(random);
+                    }
+                }
+                stocks.remove(random.nextInt(stocks.size()));
+                stocks.add(Stock.random(random, STOCK_COUNT + version));
+                // 新快照的行顺序与上一份不同
+                Collections.shuffle(stocks, random);
+            }
+            QuoteSnapshot snapshot = build(stocks, version);
+            ranking = QuoteRanking.build(snapshot, ranking);
+            QuoteRanking full = QuoteRanking.build(snapshot, null);
+
+            RankingFilter all = new RankingFilter();
+            all.setIncludeSuspended(true);
+            for (QuoteField field : QuoteField.values()) {
+                String message = "snapshot " + version + " " + field;
+                int[] expected = expectedOrder(snapshot, field);
+                assertArrayEquals(expected, full.top(field, false, snapshot.size(), all), message);
+                assertArrayEquals(expected, ranking.top(field, false, snapshot.size(), all), message);
+                assertArrayEquals(reverse(expected), ranking.top(field, true, snapshot.size(), all), message);
+            }
+        }
+    }
+
+    @Test
+    public void filterCombinationsMatchRowScan() {
+        Random random = new Random(20240104L);
+        List<Stock> stocks = new ArrayList<>();
+        for (int i = 0; i < STOCK_COUNT; i++) {
+            stocks.add(Stock.random(random, STOCK_COUNT * 2 + i));
+        }
+        QuoteSnapshot snapshot = build(stocks, 1);
+        QuoteRanking ranking = QuoteRanking.build(snapshot, null);
+
+        List<Board> boards = new ArrayList<>(Arrays.asList(Board.values()));
+        boards.add(null);
+        List<MarketCapBucket> capBuckets = new ArrayList<>(Arrays.asList(MarketCapBucket.values()));
+        capBuckets.add(null);
+        Boolean[] stValues = {null, true, false};
+
+        for (Board board : boards) {
+            for (Boolean st : stValues) {
+                for (MarketCapBucket capBucket : capBuckets) {
+                    for (boolean includeSuspended : new boolean[]{false, true}) {
+                        RankingFilter filter = new RankingFilter();
+                        filter.setBoard(board);
+                        filter.setSt(st);
+                        filter.setCapBucket(capBucket);
+                        filter.setIncludeSuspended(includeSuspended);
+                        String message = board + " st=" + st + " " + capBucket + " suspended=" + includeSuspended;
+
+                        int[] order = expectedOrder(snapshot, QuoteField.CHANGE_PERCENT);
+                        int[] descending = filter(snapshot, order, filter);
+                        int[] ascending = filter(snapshot, reverse(order), filter);
+                        assertEquals(descending.length, ranking.count(filter), message);
+                        assertArrayEquals(descending, ranking.top(QuoteField.CHANGE_PERCENT, false, snapshot.size(), filter), message);
+                        assertArrayEquals(ascending, ranking.top(QuoteField.CHANGE_PERCENT, true, snapshot.size(), filter), message);
+                        // 凑满即停
+                        assertArrayEquals(Arrays.copyOf(descending, Math.min(10, descending.length)),
+                                ranking.top(QuoteField.CHANGE_PERCENT, false, 10, filter), message);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 全部行按值降序、值相同按股票 id 升序
+     */
+    private static int[] expectedOrder(QuoteSnapshot snapshot, QuoteField field) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparing((Integer row) -> snapshot.get(row, field), Comparator.reverseOrder())
+                .thenComparingInt(snapshot::symbolIdAt));
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] filter(QuoteSnapshot snapshot, int[] order, RankingFilter filter) {
+        return Arrays.stream(order).filter(row -> {
+            String symbol = snapshot.symbolAt(row);
+            return (filter.isIncludeSuspended() || snapshot.get(row, QuoteField.CURRENT_PRICE) > 0)
+                    && (filter.getBoard() == null || Board.ofSymbol(symbol) == filter.getBoard())
+                    && (filter.getSt() == null || PriceLimit.isSt(snapshot.nameAt(row)) == filter.getSt())
+                    && (filter.getCapBucket() == null
+                    || MarketCapBucket.ofValue(snapshot.get(row, QuoteField.TOTAL_MARKET_VALUE)) == filter.getCapBucket());
+        }).toArray();
+    }
+
+    private static int[] reverse(int[] rows) {
+        int[] reversed = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            reversed[i] = rows[rows.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    private static QuoteSnapshot build(List<Stock> stocks, long version) {
+        QuoteSnapshot.Builder builder = new QuoteSnapshot.Builder();
+        for (Stock stock : stocks) {
+            int row = builder.addRow(stock.symbol, stock.name);
+            builder.set(row, QuoteField.CURRENT_PRICE, stock.price);
+            builder.set(row, QuoteField.PREV_CLOSE, stock.prevClose);
+            builder.set(row, QuoteField.CHANGE_PERCENT, stock.changePercent());
+            builder.set(row, QuoteField.TURNOVER_RATE, stock.turnoverRate);
+            builder.set(row, QuoteField.TOTAL_MARKET_VALUE, stock.shares * stock.price);
+            builder.set(row, QuoteField.VOLUME, stock.volume);
+            builder.set(row, QuoteField.TURNOVER, stock.volume * stock.price);
+        }
+        return builder.build(version);
+    }
+
+    private static final class Stock {
+        private String symbol;
+        private String name;
+        private double prevClose;
+        private double price;
+        private double turnoverRate;
+        private double shares;
+        private double volume;
+
+        private static Stock random(Random random, int index) {
+            Stock stock = new Stock();
+            stock.symbol = PREFIXES[index % PREFIXES.length] + String.format("%03d", index % 1000) + "-ranking-" + index;
+            stock.name = random.nextInt(10) == 0 ? "*ST测试" + index : "测试" + index;
+            // 价格只取少数几档，制造大量相同的值
+            stock.prevClose = 5 + random.nextInt(20);
+            // 约5%停牌（价格为0）
+            stock.price = random.nextInt(20) == 0 ? 0 : stock.prevClose;
+            // 股本跨越各市值分档
+            stock.shares = Math.pow(10, 7 + random.nextDouble() * 4);
+            return stock;
+        }
+
+        private void tick(Random random) {
+            if (price <= 0) {
+                // 复牌
+                price = prevClose;
+                return;
+            }
+            price = Math.round(prevClose * (1 + (random.nextInt(21) - 10) / 100.0) * 100) / 100.0;
+            turnoverRate = random.nextInt(5);
+            volume += random.nextInt(3) * 10_000;
+        }
+
+        private double changePercent() {
+            return price <= 0 ? 0 : Math.round((price - prevClose) / prevClose * 10000) / 100.0;
+        }
+    }
+}
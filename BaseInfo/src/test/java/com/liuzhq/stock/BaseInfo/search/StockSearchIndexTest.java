@@ -0,0 +1,140 @@
+package com.liuzhq.stock.BaseInfo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 股票搜索索引：代码前缀、拼音首字母匹配，按匹配方式再按成交额排序并截断，股票集合变化后重建
+ */
+public class StockSearchIndexTest {
+
+    @Test
+    public void matchesCodePrefix() {
+        StockSearchIndex index = sample().build(1);
+
+        List<StockSearchIndex.Hit> hits = index.search("6000", 10);
+        assertSymbols(hits, "600036", "600000", "600030");
+        for (StockSearchIndex.Hit hit : hits) {
+            assertEquals(MatchType.CODE_PREFIX, hit.getMatchType());
+        }
+
+        // 完全匹配排在最前，代码错一位的作为模糊匹配补充
+        hits = index.search("600000", 10);
+        assertSymbols(hits, "600000", "600030");
+        assertEquals(MatchType.CODE_EXACT, hits.get(0).getMatchType());
+        assertEquals(MatchType.FUZZY, hits.get(1).getMatchType());
+    }
+
+    @Test
+    public void matchesPinyinInitials() {
+        StockSearchIndex index = sample().build(1);
+
+        List<StockSearchIndex.Hit> hits = index.search("gzmt", 10);
+        assertSymbols(hits, "600519");
+        assertEquals(MatchType.PINYIN_PREFIX, hits.get(0).getMatchType());
+        assertEquals("gzmt", hits.get(0).getInitials());
+
+        // 忽略大小写；多音字（行 hang/xing）的各个读音都能匹配
+        assertSymbols(index.search("PAYH", 10), "000001");
+        assertSymbols(index.search("payx", 10), "000001");
+
+        // 首字母前缀按成交额排序，中间匹配（贵州茅台 gzmt）排在所有前缀匹配之后
+        hits = index.search("z", 10);
+        assertSymbols(hits, "601318", "600036", "600030", "600519");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(MatchType.PINYIN_PREFIX, hits.get(i).getMatchType());
+        }
+        assertEquals(MatchType.INFIX, hits.get(3).getMatchType());
+
+        // 中间匹配
+        hits = index.search("yh", 10);
+        assertSymbols(hits, "000001", "600036", "600000");
+        for (StockSearchIndex.Hit hit : hits) {
+            assertEquals(MatchType.INFIX, hit.getMatchType());
+        }
+    }
+
+    @Test
+    public void ranksByMatchTypeThenWeightAndLimits() {
+        StockSearchIndex index = sample().build(1);
+
+        // 名称前缀优先于中间匹配，即使中间匹配的成交额更大
+        List<StockSearchIndex.Hit> hits = index.search("平安", 10);
+        assertSymbols(hits, "000001", "601318");
+        assertEquals(MatchType.NAME_PREFIX, hits.get(0).getMatchType());
+        assertEquals(MatchType.INFIX, hits.get(1).getMatchType());
+
+        assertSymbols(index.search("6", 2), "600519", "601318");
+        assertTrue(index.search("6", 0).isEmpty());
+
+        // 超过 MAX_LIMIT 时按 MAX_LIMIT 截断，保留成交额最大的
+        StockSearchIndex.Builder builder = new StockSearchIndex.Builder();
+        for (int i = 0; i < StockSearchIndex.MAX_LIMIT + 20; i++) {
+            builder.add(String.format("300%03d", i), "测试" + i, i);
+        }
+        hits = builder.build(2).search("300", 100);
+        assertEquals(StockSearchIndex.MAX_LIMIT, hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            assertEquals(String.format("300%03d", StockSearchIndex.MAX_LIMIT + 19 - i), hits.get(i).getSymbol());
+        }
+    }
+
+    @Test
+    public void rebuildsAfterSymbolChange() {
+        StockSearchIndex before = sample().build(1);
+
+        // 万科A 戴帽改名，新股上市
+        StockSearchIndex.Builder builder = new StockSearchIndex.Builder();
+        builder.add("000002", "ST万科", 60);
+        builder.add("688981", "中芯国际", 95);
+        StockSearchIndex after = sample(builder).build(2);
+
+        assertEquals(7, before.size());
+        assertEquals(8, after.size());
+        assertSymbols(after.search("688", 10), "688981");
+        assertSymbols(after.search("zxgj", 10), "688981");
+        List<StockSearchIndex.Hit> hits = after.search("stwk", 10);
+        assertSymbols(hits, "000002");
+        assertEquals("ST万科", hits.get(0).getName());
+        // 首字母 z 的排序包含新股
+        assertSymbols(after.search("z", 10), "688981", "601318", "600036", "600030", "600519");
+
+        // 原索引不受影响
+        assertTrue(before.search("688", 10).isEmpty());
+        hits = before.search("wka", 10);
+        assertSymbols(hits, "000002");
+        assertEquals("万科A", hits.get(0).getName());
+    }
+
+    private static StockSearchIndex.Builder sample() {
+        return sample(new StockSearchIndex.Builder());
+    }
+
+    /**
+     * 示例股票，权重为成交额（同一代码先添加的名称优先）
+     */
+    private static StockSearchIndex.Builder sample(StockSearchIndex.Builder builder) {
+        return builder
+                .add("600519", "贵州茅台", 100)
+                .add("601318", "中国平安", 90)
+                .add("000001", "平安银行", 80)
+                .add("600036", "招商银行", 70)
+                .add("000002", "万科A", 60)
+                .add("600000", "浦发银行", 50)
+                .add("600030", "中信证券", 40);
+    }
+
+    private static void assertSymbols(List<StockSearchIndex.Hit> hits, String... expected) {
+        List<String> symbols = new ArrayList<>(hits.size());
+        for (StockSearchIndex.Hit hit : hits) {
+            symbols.add(hit.getSymbol());
+        }
+        assertEquals(Arrays.asList(expected), symbols);
+    }
+}
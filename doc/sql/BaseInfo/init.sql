@@ -29,6 +29,7 @@ CREATE TABLE `t_stock_pool` (
                                 `m_days_n_boards` varchar(20) DEFAULT '' COMMENT '几天几板',
                                 `stock_reason` varchar(500) DEFAULT '' COMMENT '上涨/下跌原因',
                                 `related_plates` text COMMENT '相关板块（JSON字符串）',
+                                `plate_names` varchar(500) DEFAULT NULL COMMENT '相关板块名称（入库时解析，|分隔）',
                                 `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
                                 `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
                                 PRIMARY KEY (`id`),
@@ -80,4 +81,26 @@ CREATE TABLE IF NOT EXISTS t_delivery_order (
     INDEX idx_account (account_no),
     INDEX idx_trade_time (trade_time),
     INDEX idx_security_code (security_code)
-    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='证券交割单表';
\ No newline at end of file
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='证券交割单表';
+
+-- 盘面异动事件（主键为选股宝事件id，重复拉取时INSERT IGNORE忽略）
+CREATE TABLE IF NOT EXISTS `t_stock_abnormal_event` (
+                                            `id` bigint(20) NOT NULL COMMENT '事件ID（选股宝事件id，连续递增）',
+                                            `trade_date` date NOT NULL COMMENT '交易日期',
+                                            `event_time` datetime NOT NULL COMMENT '事件时间',
+                                            `event_type` int(11) NOT NULL COMMENT '事件类型（100xx-个股异动，110xx-板块异动）',
+                                            `direction` tinyint(1) DEFAULT NULL COMMENT '方向 1-利好（拉升） 2-利空（下跌）',
+                                            `target` varchar(20) DEFAULT '' COMMENT '事件对象（股票代码或板块ID）',
+                                            `stock_code` varchar(20) DEFAULT NULL COMMENT '股票代码（个股异动）',
+                                            `stock_name` varchar(50) DEFAULT NULL COMMENT '股票名称（个股异动）',
+                                            `plate_id` bigint(20) DEFAULT NULL COMMENT '板块ID（板块异动）',
+                                            `plate_name` varchar(50) DEFAULT NULL COMMENT '板块名称（板块异动）',
+                                            `price` decimal(10,3) DEFAULT NULL COMMENT '最新价（元）',
+                                            `change_percent` decimal(10,2) DEFAULT NULL COMMENT '涨跌幅（%）',
+                                            `speed_percent` decimal(10,2) DEFAULT NULL COMMENT '异动幅度/涨速（%）',
+                                            `related_data` text COMMENT '关联板块/个股（JSON字符串）',
+                                            `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+                                            PRIMARY KEY (`id`),
+                                            KEY `idx_trade_date_stock` (`trade_date`,`stock_code`),
+                                            KEY `idx_event_time` (`event_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='盘面异动事件表';
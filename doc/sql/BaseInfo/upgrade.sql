@@ -0,0 +1,27 @@
+-- 已有库升级脚本（新建库直接执行 init.sql，无需执行本文件）
+
+-- 股票池：新增板块名称列（入库时由related_plates解析，查询时不再解析JSON）
+ALTER TABLE t_stock_pool
+    ADD COLUMN `plate_names` varchar(500) DEFAULT NULL COMMENT '相关板块名称（入库时解析，|分隔）' AFTER `related_plates`;
+
+-- 盘面异动事件（主键为选股宝事件id，重复拉取时INSERT IGNORE忽略）
+CREATE TABLE IF NOT EXISTS `t_stock_abnormal_event` (
+                                            `id` bigint(20) NOT NULL COMMENT '事件ID（选股宝事件id，连续递增）',
+                                            `trade_date` date NOT NULL COMMENT '交易日期',
+                                            `event_time` datetime NOT NULL COMMENT '事件时间',
+                                            `event_type` int(11) NOT NULL COMMENT '事件类型（100xx-个股异动，110xx-板块异动）',
+                                            `direction` tinyint(1) DEFAULT NULL COMMENT '方向 1-利好（拉升） 2-利空（下跌）',
+                                            `target` varchar(20) DEFAULT '' COMMENT '事件对象（股票代码或板块ID）',
+                                            `stock_code` varchar(20) DEFAULT NULL COMMENT '股票代码（个股异动）',
+                                            `stock_name` varchar(50) DEFAULT NULL COMMENT '股票名称（个股异动）',
+                                            `plate_id` bigint(20) DEFAULT NULL COMMENT '板块ID（板块异动）',
+                                            `plate_name` varchar(50) DEFAULT NULL COMMENT '板块名称（板块异动）',
+                                            `price` decimal(10,3) DEFAULT NULL COMMENT '最新价（元）',
+                                            `change_percent` decimal(10,2) DEFAULT NULL COMMENT '涨跌幅（%）',
+                                            `speed_percent` decimal(10,2) DEFAULT NULL COMMENT '异动幅度/涨速（%）',
+                                            `related_data` text COMMENT '关联板块/个股（JSON字符串）',
+                                            `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+                                            PRIMARY KEY (`id`),
+                                            KEY `idx_trade_date_stock` (`trade_date`,`stock_code`),
+                                            KEY `idx_event_time` (`event_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='盘面异动事件表';
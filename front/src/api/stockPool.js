@@ -17,4 +17,15 @@ export const getStockPoolData = (params) => {
         method: 'GET',
         params
     })
-}
\ No newline at end of file
+}
+
+// 订阅股票池/行情/异动变化推送（SSE），先用查询接口加载全量数据，再按推送合并变化
+// handlers: { pool, quote, event, reset }，reset 表示断线太久，需要重新全量查询
+export const subscribeStockPush = (topics, handlers) => {
+    const query = topics && topics.length ? `?topics=${topics.join(',')}` : ''
+    const source = new EventSource(`/baseInfo/baseInfo/push/subscribe${query}`)
+    Object.keys(handlers).forEach(topic => {
+        source.addEventListener(topic, e => handlers[topic](JSON.parse(e.data)))
+    })
+    return source
+}
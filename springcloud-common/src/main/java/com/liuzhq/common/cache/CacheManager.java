@@ -0,0 +1,95 @@
+package com.liuzhq.common.cache;
+
+import com.liuzhq.common.annotation.Description;
+import com.liuzhq.common.enums.CacheKey;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存管理器
+ * 1. 按名称注册缓存，CacheKey 的每一类key对应一个缓存，容量和过期时间取自 CacheKey
+ * 2. 共用一个后台守护线程，每秒推进所有缓存的时间轮
+ */
+@Description("本地缓存管理器：按名称注册缓存并统一驱动过期清理")
+@Slf4j
+public final class CacheManager {
+
+    private static final ConcurrentMap<String, LocalCache<?>> CACHES = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "local-cache-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        TIMER.scheduleWithFixedDelay(CacheManager::expireAllQuietly, 1, 1, TimeUnit.SECONDS);
+    }
+
+    private CacheManager() {
+    }
+
+    /**
+     * 获取 CacheKey 对应的缓存，首次访问时按 CacheKey 的策略创建
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> LocalCache<V> getCache(CacheKey cacheKey) {
+        return (LocalCache<V>) CACHES.computeIfAbsent(cacheKey.name(), name -> new LocalCache<>(name, cacheKey.policy()));
+    }
+
+    /**
+     * 获取指定名称的缓存，首次访问时按给定策略创建（已存在时忽略 policy）
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> LocalCache<V> getCache(String name, CachePolicy policy) {
+        return (LocalCache<V>) CACHES.computeIfAbsent(name, n -> new LocalCache<>(n, policy));
+    }
+
+    /**
+     * 替换指定名称的缓存（原缓存内容丢弃），用于运行时调整容量
+     */
+    public static <V> LocalCache<V> replaceCache(String name, CachePolicy policy) {
+        LocalCache<V> cache = new LocalCache<>(name, policy);
+        CACHES.put(name, cache);
+        return cache;
+    }
+
+    public static List<LocalCache<?>> allCaches() {
+        return new ArrayList<>(CACHES.values());
+    }
+
+    public static List<CacheStats> allStats() {
+        List<CacheStats> stats = new ArrayList<>(CACHES.size());
+        for (LocalCache<?> cache : CACHES.values()) {
+            stats.add(cache.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * 推进所有缓存的时间轮
+     * @return 清理的条目数
+     */
+    public static int expireAll() {
+        int removed = 0;
+        for (LocalCache<?> cache : CACHES.values()) {
+            removed += cache.expire();
+        }
+        return removed;
+    }
+
+    private static void expireAllQuietly() {
+        try {
+            expireAll();
+        } catch (Exception e) {
+            log.error("清理过期缓存失败", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.liuzhq.common.cache;
+
+import com.liuzhq.common.annotation.Description;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存策略（不可变）
+ * maximumSize：最大条目数，超过后按分段LRU淘汰
+ * expireAfterWriteMillis：默认写入后过期时间，0表示永不过期（单次写入可覆盖）
+ */
+@Description("缓存策略：容量上限 + 默认过期时间")
+public final class CachePolicy {
+
+    private final long maximumSize;
+    private final long expireAfterWriteMillis;
+
+    private CachePolicy(long maximumSize, long expireAfterWriteMillis) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize必须大于0: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteMillis = Math.max(0, expireAfterWriteMillis);
+    }
+
+    public static CachePolicy of(long maximumSize) {
+        return new CachePolicy(maximumSize, 0);
+    }
+
+    public static CachePolicy of(long maximumSize, long expireAfterWrite, TimeUnit timeUnit) {
+        return new CachePolicy(maximumSize, timeUnit.toMillis(expireAfterWrite));
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getExpireAfterWriteMillis() {
+        return expireAfterWriteMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy{maximumSize=" + maximumSize + ", expireAfterWriteMillis=" + expireAfterWriteMillis + "}";
+    }
+}
@@ -0,0 +1,95 @@
+package com.liuzhq.common.cache;
+
+import com.liuzhq.common.annotation.Description;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单个缓存的统计快照
+ */
+@Description("缓存统计快照：命中/未命中/淘汰/过期/加载")
+public final class CacheStats {
+
+    private final String name;
+    private final long size;
+    private final long maximumSize;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expiredCount;
+    private final long loadCount;
+    private final long totalLoadTimeNanos;
+
+    CacheStats(String name, long size, long maximumSize, long hitCount, long missCount,
+               long evictionCount, long expiredCount, long loadCount, long totalLoadTimeNanos) {
+        this.name = name;
+        this.size = size;
+        this.maximumSize = maximumSize;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expiredCount = expiredCount;
+        this.loadCount = loadCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * 平均加载耗时（毫秒）
+     */
+    public double getAverageLoadMillis() {
+        return loadCount == 0 ? 0.0 : totalLoadTimeNanos / 1_000_000.0 / loadCount;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", size);
+        map.put("maximumSize", maximumSize);
+        map.put("hitCount", hitCount);
+        map.put("missCount", missCount);
+        map.put("hitRate", getHitRate());
+        map.put("evictionCount", evictionCount);
+        map.put("expiredCount", expiredCount);
+        map.put("loadCount", loadCount);
+        map.put("averageLoadMillis", getAverageLoadMillis());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return name + toMap();
+    }
+}
@@ -0,0 +1,384 @@
+package com.liuzhq.common.cache;
+
+import com.liuzhq.common.annotation.Description;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 本地缓存（有界 + 过期 + 类型化）
+ * 1. 淘汰：分段LRU（SLRU），新条目进入试用区，再次命中后晋升到保护区（占总容量80%）；
+ *    超过容量时优先淘汰试用区最久未访问的条目，只访问过一次的数据不会挤掉热点数据
+ * 2. 过期：哈希时间轮（512格，每格1秒），写入时按过期时刻挂到对应格子，
+ *    后台线程每秒只处理到期的格子，不做全量扫描；读取时也会精确判断是否过期
+ * 3. 读取路径无锁：命中后尝试获取锁调整LRU顺序，锁被占用时直接跳过（丢失少量访问顺序信息，不影响正确性）
+ * 4. 值直接以对象形式存储，不经过JSON序列化
+ */
+@Description("本地缓存：分段LRU淘汰 + 时间轮过期 + 命中/淘汰统计")
+public class LocalCache<V> {
+
+    /** 保护区占总容量的比例 */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /** 时间轮格数（2的幂）与每格时长 */
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long TICK_MILLIS = 1000;
+
+    private final String name;
+    private final CachePolicy policy;
+    private final long protectedMaximum;
+
+    private final ConcurrentHashMap<String, Node<V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // LRU 链表（头部最久未访问），仅在持有锁时修改
+    private final Node<V> probation = Node.sentinel();
+    private final Node<V> protectedSegment = Node.sentinel();
+    private long protectedSize;
+
+    // 时间轮，仅在持有锁时修改
+    @SuppressWarnings("unchecked")
+    private final Node<V>[] wheel = new Node[WHEEL_SIZE];
+    private long lastTick = System.currentTimeMillis() / TICK_MILLIS;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    public LocalCache(String name, CachePolicy policy) {
+        this.name = name;
+        this.policy = policy;
+        this.protectedMaximum = Math.max(1, (long) (policy.getMaximumSize() * PROTECTED_RATIO));
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = Node.sentinel();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CachePolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * 获取缓存，不存在或已过期返回null
+     */
+    public V get(String key) {
+        Node<V> node = data.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        if (node.isExpired(System.currentTimeMillis())) {
+            lock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    unlink(node);
+                    expiredCount.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        if (lock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * 获取缓存，不存在时调用 loader 加载并写入（loader 返回 null 时不缓存）
+     * 并发加载同一个key时可能重复加载，需要合并时由调用方配合 SingleFlight 使用
+     */
+    public V get(String key, Function<String, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long start = System.nanoTime();
+        value = loader.apply(key);
+        loadCount.increment();
+        totalLoadTimeNanos.add(System.nanoTime() - start);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存，使用策略中的默认过期时间
+     */
+    public void put(String key, V value) {
+        putWithTtl(key, value, policy.getExpireAfterWriteMillis());
+    }
+
+    /**
+     * 写入缓存并指定过期时间（timeout<=0 时使用策略中的默认过期时间）
+     */
+    public void put(String key, V value, long timeout, TimeUnit timeUnit) {
+        putWithTtl(key, value, timeout <= 0 ? policy.getExpireAfterWriteMillis() : timeUnit.toMillis(timeout));
+    }
+
+    /**
+     * key不存在（或已过期）时写入，使用策略中的默认过期时间
+     * @return 已存在的值，写入成功返回null
+     */
+    public V putIfAbsent(String key, V value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Node<V> node = data.get(key);
+            if (node != null && !node.isExpired(System.currentTimeMillis())) {
+                return node.value;
+            }
+            putWithTtl(key, value, policy.getExpireAfterWriteMillis());
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putWithTtl(String key, V value, long ttlMillis) {
+        if (key == null || value == null) {
+            return;
+        }
+        long expireAt = ttlMillis <= 0 ? 0 : System.currentTimeMillis() + ttlMillis;
+        lock.lock();
+        try {
+            Node<V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.expireAt = expireAt;
+                unlinkWheel(node);
+                schedule(node);
+                onAccess(node);
+                return;
+            }
+            node = new Node<>(key, value, expireAt);
+            data.put(key, node);
+            linkLast(probation, node);
+            schedule(node);
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V remove(String key) {
+        lock.lock();
+        try {
+            Node<V> node = data.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            // 先断开各条目的链表指针：读取路径拿到锁后按 prev==null 判断条目已移除，不会把它重新挂回链表
+            for (Node<V> node : data.values()) {
+                node.prev = node.next = null;
+                node.wheelPrev = node.wheelNext = null;
+                node.inProtected = false;
+            }
+            data.clear();
+            probation.prev = probation.next = probation;
+            protectedSegment.prev = protectedSegment.next = protectedSegment;
+            protectedSize = 0;
+            for (Node<V> bucket : wheel) {
+                bucket.wheelPrev = bucket.wheelNext = bucket;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        return data.size();
+    }
+
+    /**
+     * 推进时间轮，清理到期条目（由 CacheManager 的后台线程每秒调用）
+     * @return 本次清理的条目数
+     */
+    public int expire() {
+        long now = System.currentTimeMillis();
+        long currentTick = now / TICK_MILLIS;
+        int removed = 0;
+        lock.lock();
+        try {
+            long from = lastTick;
+            // 停顿超过一圈时每个格子只需处理一次
+            long to = Math.min(currentTick, from + WHEEL_SIZE - 1);
+            for (long tick = from; tick <= to; tick++) {
+                Node<V> bucket = wheel[(int) (tick & WHEEL_MASK)];
+                Node<V> node = bucket.wheelNext;
+                while (node != bucket) {
+                    Node<V> next = node.wheelNext;
+                    // 同一格子里可能挂着若干圈之后才到期的条目，未到期的保留
+                    if (node.isExpired(now) && data.remove(node.key, node)) {
+                        unlink(node);
+                        expiredCount.increment();
+                        removed++;
+                    }
+                    node = next;
+                }
+            }
+            lastTick = currentTick;
+        } finally {
+            lock.unlock();
+        }
+        return removed;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, data.size(), policy.getMaximumSize(),
+                hitCount.sum(), missCount.sum(), evictionCount.sum(), expiredCount.sum(),
+                loadCount.sum(), totalLoadTimeNanos.sum());
+    }
+
+    public void resetStats() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+        expiredCount.reset();
+        loadCount.reset();
+        totalLoadTimeNanos.reset();
+    }
+
+    // ==================== 分段LRU ====================
+
+    private void onAccess(Node<V> node) {
+        if (node.prev == null) {
+            // 已被移除
+            return;
+        }
+        unlinkAccess(node);
+        if (!node.inProtected) {
+            node.inProtected = true;
+            protectedSize++;
+        }
+        linkLast(protectedSegment, node);
+        // 保护区超限：最久未访问的降级回试用区
+        while (protectedSize > protectedMaximum) {
+            Node<V> demoted = protectedSegment.next;
+            unlinkAccess(demoted);
+            demoted.inProtected = false;
+            protectedSize--;
+            linkLast(probation, demoted);
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (data.size() > policy.getMaximumSize()) {
+            Node<V> victim = probation.next != probation ? probation.next : protectedSegment.next;
+            if (victim == protectedSegment) {
+                return;
+            }
+            data.remove(victim.key, victim);
+            unlink(victim);
+            evictionCount.increment();
+        }
+    }
+
+    private void linkLast(Node<V> head, Node<V> node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private void unlinkAccess(Node<V> node) {
+        if (node.prev == null) {
+            return;
+        }
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+
+    private void unlink(Node<V> node) {
+        if (node.inProtected) {
+            node.inProtected = false;
+            protectedSize--;
+        }
+        unlinkAccess(node);
+        unlinkWheel(node);
+    }
+
+    // ==================== 时间轮 ====================
+
+    private void schedule(Node<V> node) {
+        if (node.expireAt == 0) {
+            return;
+        }
+        Node<V> bucket = wheel[(int) ((node.expireAt / TICK_MILLIS) & WHEEL_MASK)];
+        node.wheelPrev = bucket.wheelPrev;
+        node.wheelNext = bucket;
+        bucket.wheelPrev.wheelNext = node;
+        bucket.wheelPrev = node;
+    }
+
+    private void unlinkWheel(Node<V> node) {
+        if (node.wheelPrev == null) {
+            return;
+        }
+        node.wheelPrev.wheelNext = node.wheelNext;
+        node.wheelNext.wheelPrev = node.wheelPrev;
+        node.wheelPrev = node.wheelNext = null;
+    }
+
+    private static final class Node<V> {
+        private final String key;
+        private volatile V value;
+        /** 过期时刻（毫秒），0表示永不过期 */
+        private volatile long expireAt;
+        private boolean inProtected;
+        private Node<V> prev;
+        private Node<V> next;
+        private Node<V> wheelPrev;
+        private Node<V> wheelNext;
+
+        private Node(String key, V value, long expireAt) {
+            this.key = key;
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private static <V> Node<V> sentinel() {
+            Node<V> node = new Node<>(null, null, 0);
+            node.prev = node.next = node;
+            node.wheelPrev = node.wheelNext = node;
+            return node;
+        }
+
+        private boolean isExpired(long now) {
+            long expire = expireAt;
+            return expire != 0 && now >= expire;
+        }
+    }
+}
@@ -35,17 +35,5 @@ public class RestTemplateConfig {
 
         return new RestTemplate(factory);
     }
-
-    /**
-     * 专门用于Python API的RestTemplate
-     */
-    @Bean("pythonApiRestTemplate")
-    public RestTemplate pythonApiRestTemplate() {
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectTimeout(15000);
-        factory.setReadTimeout(30000);
-
-        return new RestTemplate(factory);
-    }
 }
 
@@ -1,22 +1,56 @@
 package com.liuzhq.common.enums;
 
 import com.liuzhq.common.annotation.Description;
+import com.liuzhq.common.cache.CachePolicy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存key，每一类key对应 CacheManager 中一个独立的缓存（容量上限、默认过期时间各自独立）
+ */
 @Description("缓存key")
 @Slf4j
 @Getter
 public enum CacheKey {
-    HOLIDAY("holiday:", "节假日"),
+    HOLIDAY("holiday:", "节假日", 64, 0),
+    // 历史交易日数据不再变化，不设过期时间，当日数据由同步流程主动失效，容量满后按LRU淘汰
+    LBJJ("lbjj:", "连板晋级梯度", 64, 0),
+    STOCK_POOL("stockPool:", "股票池分组视图", 512, TimeUnit.DAYS.toSeconds(1)),
 
     ;
 
     private final String key;
     private final String desc;
+    /** 最大条目数 */
+    private final long maximumSize;
+    /** 默认写入后过期时间（秒），0表示永不过期 */
+    private final long expireAfterWriteSeconds;
 
-    CacheKey(String key, String desc) {
+    CacheKey(String key, String desc, long maximumSize, long expireAfterWriteSeconds) {
         this.key = key;
         this.desc = desc;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+
+    public CachePolicy policy() {
+        return CachePolicy.of(maximumSize, expireAfterWriteSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 根据完整缓存key的前缀找到所属的key类别，找不到返回null
+     */
+    public static CacheKey ofFullKey(String fullKey) {
+        if (fullKey == null) {
+            return null;
+        }
+        for (CacheKey cacheKey : values()) {
+            if (fullKey.startsWith(cacheKey.key)) {
+                return cacheKey;
+            }
+        }
+        return null;
     }
 }
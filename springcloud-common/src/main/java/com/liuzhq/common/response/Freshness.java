@@ -0,0 +1,30 @@
+package com.liuzhq.common.response;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 数据新鲜度（缓存数据随 ResultModel 一起返回，便于调用方判断数据时效）
+ */
+@Data
+public class Freshness implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @ApiModelProperty(value = "数据刷新时间（毫秒时间戳）")
+    private Long refreshedAt;
+
+    @ApiModelProperty(value = "数据年龄（毫秒）")
+    private Long ageMillis;
+
+    @ApiModelProperty(value = "缓存有效期（毫秒）")
+    private Long ttlMillis;
+
+    @ApiModelProperty(value = "是否已超过有效期（后台正在刷新，先返回上一次的数据）")
+    private Boolean stale;
+
+    @ApiModelProperty(value = "最近一次刷新耗时（毫秒）")
+    private Long lastRefreshMillis;
+}
@@ -37,6 +37,9 @@ public class ResultModel<T> implements Serializable {
     @ApiModelProperty(value = "数据长度（集合类型自动计算，非集合为0）")
     private Integer count;
 
+    @ApiModelProperty(value = "数据新鲜度（仅缓存数据返回）")
+    private Freshness freshness;
+
     // ==================== 私有构造器（外部通过静态方法创建） ====================
     /**
      * 基础构造器：仅初始化默认成功状态
@@ -211,4 +214,12 @@ public class ResultModel<T> implements Serializable {
     public static <T> ResultModel<T> error(Integer code, String message, T data) {
         return new ResultModel<>(code, message, data, false);
     }
+
+    /**
+     * 附加数据新鲜度
+     */
+    public ResultModel<T> withFreshness(Freshness freshness) {
+        this.freshness = freshness;
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.liuzhq.common.utils;
+
+import com.liuzhq.common.annotation.Description;
+import org.springframework.cglib.beans.BeanCopier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 对象属性拷贝工具类（基于cglib BeanCopier）
+ * 每对 (源类型, 目标类型) 首次使用时生成一次字节码拷贝器并缓存，之后拷贝为直接的 getter/setter 调用，无反射；
+ * 拷贝语义比 Spring BeanUtils.copyProperties 严格，替换前需确认属性类型一致：
+ * 1. 按运行时类型匹配同名属性，只拷贝 getter 返回类型与 setter 参数类型完全相同的属性
+ * 2. 基本类型与包装类型（int/Integer）、子类型到父类型的属性不拷贝，不报错
+ * 3. 只识别返回 void 的 setter，链式 setter（@Accessors(chain = true)）的属性不拷贝
+ * 适用于同一类型或子类与父类之间的拷贝（如实体 -> 继承该实体的DTO）
+ */
+@Description("对象属性拷贝工具类，基于cglib BeanCopier，首次生成后无反射")
+public class BeanCopierUtils {
+
+    // 源类型 -> 目标类型 -> 拷贝器（两级Map，查找时不产生组合key对象）
+    private static final Map<Class<?>, Map<Class<?>, BeanCopier>> COPIER_CACHE = new ConcurrentHashMap<>();
+
+    private BeanCopierUtils() {
+    }
+
+    /**
+     * 获取（必要时生成）拷贝器，可在启动时调用以预热
+     */
+    public static BeanCopier getCopier(Class<?> sourceClass, Class<?> targetClass) {
+        Map<Class<?>, BeanCopier> targetMap = COPIER_CACHE.get(sourceClass);
+        if (targetMap == null) {
+            targetMap = COPIER_CACHE.computeIfAbsent(sourceClass, key -> new ConcurrentHashMap<>());
+        }
+        BeanCopier copier = targetMap.get(targetClass);
+        if (copier == null) {
+            copier = targetMap.computeIfAbsent(targetClass, key -> BeanCopier.create(sourceClass, targetClass, false));
+        }
+        return copier;
+    }
+
+    /**
+     * 拷贝属性到已有对象
+     */
+    public static <T> T copy(Object source, T target) {
+        if (source == null || target == null) {
+            return target;
+        }
+        getCopier(source.getClass(), target.getClass()).copy(source, target, null);
+        return target;
+    }
+
+    /**
+     * 拷贝属性到新对象
+     */
+    public static <T> T copy(Object source, Supplier<T> targetSupplier) {
+        if (source == null) {
+            return null;
+        }
+        return copy(source, targetSupplier.get());
+    }
+
+    /**
+     * 批量拷贝
+     */
+    public static <S, T> List<T> copyList(List<S> sourceList, Supplier<T> targetSupplier) {
+        if (sourceList == null) {
+            return new ArrayList<>();
+        }
+        List<T> result = new ArrayList<>(sourceList.size());
+        for (S source : sourceList) {
+            result.add(copy(source, targetSupplier));
+        }
+        return result;
+    }
+}
@@ -1,64 +1,48 @@
 package com.liuzhq.common.utils;
 
 import com.liuzhq.common.annotation.Description;
+import com.liuzhq.common.cache.CacheManager;
+import com.liuzhq.common.cache.CachePolicy;
+import com.liuzhq.common.cache.CacheStats;
+import com.liuzhq.common.cache.LocalCache;
+import com.liuzhq.common.enums.CacheKey;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 通用缓存工具类（基于JDK ConcurrentHashMap实现）
+ * 通用缓存工具类（基于 CacheManager 本地缓存实现，保持原有静态方法签名）
  * 特性：
- * 1. 支持键值对的增删改查
- * 2. 支持过期时间设置
- * 3. 支持缓存大小限制
- * 4. 线程安全，基于ConcurrentHashMap实现
- * 5. 自动清理过期缓存（懒加载+定时清理可选）
+ * 1. 按 CacheKey 前缀路由：每一类key使用独立的缓存，容量和默认过期时间取自 CacheKey
+ * 2. 不属于任何 CacheKey 的key进入默认缓存（有容量上限，超出后按分段LRU淘汰，不再拒绝写入）
+ * 3. 过期由时间轮驱动，不做全量扫描
+ * 4. 值以对象形式存储，不经过JSON序列化
+ * 新代码建议直接使用 CacheManager.getCache(CacheKey) 获取类型化的缓存
  */
-@Description("缓存工具类，基于JDK ConcurrentHashMap实现，支持过期时间、缓存清理")
+@Description("缓存工具类，基于 CacheManager 本地缓存实现，支持容量上限、过期时间、分缓存统计")
 @Slf4j
 public class CacheUtils {
 
-    // 原始的字符串缓存Map（保持向下兼容）
-    public static final Map<String, String> cacheMap = new ConcurrentHashMap<>();
+    /** 默认缓存容量 */
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
 
-    // 增强版缓存容器：存储带过期时间的缓存项
-    private static final Map<String, CacheEntry> ENHANCED_CACHE = new ConcurrentHashMap<>();
+    private static final String STRING_CACHE_NAME = "default-string";
+    private static final String ENHANCED_CACHE_NAME = "default";
 
-    // 缓存最大容量（默认无限制，0表示不限制）
-    private static volatile long MAX_CAPACITY = 0;
+    // 字符串缓存（保持向下兼容）
+    private static volatile LocalCache<String> stringCache =
+            CacheManager.getCache(STRING_CACHE_NAME, CachePolicy.of(DEFAULT_MAXIMUM_SIZE));
 
-    // 缓存命中数统计
-    private static final AtomicLong HIT_COUNT = new AtomicLong(0);
-
-    // 缓存未命中数统计
-    private static final AtomicLong MISS_COUNT = new AtomicLong(0);
-
-    // 缓存项实体类
-    private static class CacheEntry {
-        private Object value;          // 缓存值（支持任意类型）
-        private long expireTimeMillis; // 过期时间戳（毫秒），0表示永不过期
-
-        public CacheEntry(Object value, long expireTimeMillis) {
-            this.value = value;
-            this.expireTimeMillis = expireTimeMillis;
-        }
-
-        public boolean isExpired() {
-            // 0表示永不过期
-            if (expireTimeMillis == 0) {
-                return false;
-            }
-            return System.currentTimeMillis() > expireTimeMillis;
-        }
-    }
+    // 增强版默认缓存（任意类型）
+    private static volatile LocalCache<Object> enhancedCache =
+            CacheManager.getCache(ENHANCED_CACHE_NAME, CachePolicy.of(DEFAULT_MAXIMUM_SIZE));
 
     // ==================== 兼容原有字符串缓存的方法 ====================
 
     /**
-     * 存入字符串缓存（永不过期）
+     * 存入字符串缓存（CacheKey 类的key使用该类的默认过期时间，其余永不过期）
      * @param key 缓存键
      * @param value 缓存值
      */
@@ -67,8 +51,12 @@ public class CacheUtils {
             log.warn("缓存键或值不能为空");
             return;
         }
-        cacheMap.put(key, value);
-        log.debug("存入字符串缓存，key: {}, value: {}", key, value);
+        CacheKey cacheKey = CacheKey.ofFullKey(key);
+        if (cacheKey != null) {
+            CacheManager.getCache(cacheKey).put(key, value);
+        } else {
+            stringCache.put(key, value);
+        }
     }
 
     /**
@@ -80,15 +68,12 @@ public class CacheUtils {
         if (key == null) {
             return null;
         }
-        String value = cacheMap.get(key);
-        if (value != null) {
-            HIT_COUNT.incrementAndGet();
-            log.debug("获取字符串缓存命中，key: {}", key);
-        } else {
-            MISS_COUNT.incrementAndGet();
-            log.debug("获取字符串缓存未命中，key: {}", key);
+        CacheKey cacheKey = CacheKey.ofFullKey(key);
+        if (cacheKey == null) {
+            return stringCache.get(key);
         }
-        return value;
+        Object value = CacheManager.getCache(cacheKey).get(key);
+        return value instanceof String ? (String) value : null;
     }
 
     /**
@@ -100,15 +85,18 @@ public class CacheUtils {
         if (key == null) {
             return null;
         }
-        String removedValue = cacheMap.remove(key);
-        log.debug("删除字符串缓存，key: {}, removedValue: {}", key, removedValue);
-        return removedValue;
+        CacheKey cacheKey = CacheKey.ofFullKey(key);
+        if (cacheKey == null) {
+            return stringCache.remove(key);
+        }
+        Object removedValue = CacheManager.getCache(cacheKey).remove(key);
+        return removedValue instanceof String ? (String) removedValue : null;
     }
 
     // ==================== 增强版缓存方法（支持任意类型+过期时间） ====================
 
     /**
-     * 存入增强版缓存（永不过期）
+     * 存入增强版缓存（使用所属缓存的默认过期时间）
      * @param key 缓存键
      * @param value 缓存值（支持任意类型）
      */
@@ -120,7 +108,7 @@ public class CacheUtils {
      * 存入增强版缓存（带过期时间）
      * @param key 缓存键
      * @param value 缓存值（支持任意类型）
-     * @param timeout 过期时间
+     * @param timeout 过期时间，小于等于0时使用所属缓存的默认过期时间
      * @param timeUnit 时间单位
      */
     public static <T> void putEnhanced(String key, T value, long timeout, TimeUnit timeUnit) {
@@ -128,21 +116,7 @@ public class CacheUtils {
             log.warn("增强版缓存键或值不能为空");
             return;
         }
-
-        // 检查缓存容量限制
-        if (MAX_CAPACITY > 0 && ENHANCED_CACHE.size() >= MAX_CAPACITY) {
-            // 简单的缓存淘汰策略：清理所有过期缓存
-            cleanExpiredCache();
-            // 清理后仍满，则打印警告
-            if (ENHANCED_CACHE.size() >= MAX_CAPACITY) {
-                log.warn("缓存容量已达上限({})，无法存入新缓存，key: {}", MAX_CAPACITY, key);
-                return;
-            }
-        }
-
-        long expireTime = timeout <= 0 ? 0 : System.currentTimeMillis() + timeUnit.toMillis(timeout);
-        ENHANCED_CACHE.put(key, new CacheEntry(value, expireTime));
-        log.debug("存入增强版缓存，key: {}, value: {}, 过期时间: {}ms", key, value, timeout);
+        cacheOf(key).put(key, value, timeout, timeUnit);
     }
 
     /**
@@ -156,27 +130,7 @@ public class CacheUtils {
         if (key == null) {
             return null;
         }
-
-        CacheEntry entry = ENHANCED_CACHE.get(key);
-        // 缓存不存在
-        if (entry == null) {
-            MISS_COUNT.incrementAndGet();
-            log.debug("增强版缓存未命中，key: {}", key);
-            return null;
-        }
-
-        // 缓存已过期
-        if (entry.isExpired()) {
-            ENHANCED_CACHE.remove(key);
-            MISS_COUNT.incrementAndGet();
-            log.debug("增强版缓存已过期，自动清理，key: {}", key);
-            return null;
-        }
-
-        // 缓存命中
-        HIT_COUNT.incrementAndGet();
-        log.debug("增强版缓存命中，key: {}", key);
-        return (T) entry.value;
+        return (T) cacheOf(key).get(key);
     }
 
     /**
@@ -190,58 +144,52 @@ public class CacheUtils {
         if (key == null) {
             return null;
         }
+        return (T) cacheOf(key).remove(key);
+    }
 
-        CacheEntry entry = ENHANCED_CACHE.remove(key);
-        if (entry == null) {
-            log.debug("增强版缓存删除失败，key不存在: {}", key);
-            return null;
-        }
-
-        log.debug("删除增强版缓存，key: {}", key);
-        return (T) entry.value;
+    private static LocalCache<Object> cacheOf(String key) {
+        CacheKey cacheKey = CacheKey.ofFullKey(key);
+        return cacheKey != null ? CacheManager.getCache(cacheKey) : enhancedCache;
     }
 
     // ==================== 缓存管理方法 ====================
 
     /**
-     * 设置缓存最大容量
-     * @param maxCapacity 最大容量，0表示不限制
+     * 设置默认缓存的最大容量（重建默认缓存，原有内容丢弃；CacheKey 类缓存的容量在 CacheKey 中配置）
+     * @param maxCapacity 最大容量，小于等于0时使用默认容量
      */
     public static void setMaxCapacity(long maxCapacity) {
-        MAX_CAPACITY = maxCapacity;
-        log.info("设置缓存最大容量为: {}", maxCapacity);
+        long maximumSize = maxCapacity > 0 ? maxCapacity : DEFAULT_MAXIMUM_SIZE;
+        enhancedCache = CacheManager.replaceCache(ENHANCED_CACHE_NAME, CachePolicy.of(maximumSize));
+        log.info("设置缓存最大容量为: {}", maximumSize);
     }
 
     /**
-     * 清理所有过期的增强版缓存
+     * 立即清理所有缓存中已到期的条目（后台线程每秒会自动执行）
      * @return 清理的缓存数量
      */
     public static int cleanExpiredCache() {
-        int cleanedCount = 0;
-        for (Map.Entry<String, CacheEntry> entry : ENHANCED_CACHE.entrySet()) {
-            if (entry.getValue().isExpired()) {
-                ENHANCED_CACHE.remove(entry.getKey());
-                cleanedCount++;
-                log.debug("清理过期缓存，key: {}", entry.getKey());
-            }
-        }
+        int cleanedCount = CacheManager.expireAll();
         log.info("清理过期缓存完成，共清理{}条", cleanedCount);
         return cleanedCount;
     }
 
     /**
-     * 清空所有字符串缓存
+     * 清空默认字符串缓存
      */
     public static void clearStringCache() {
-        cacheMap.clear();
+        stringCache.clear();
         log.info("清空所有字符串缓存完成");
     }
 
     /**
-     * 清空所有增强版缓存
+     * 清空默认缓存及所有 CacheKey 类缓存
      */
     public static void clearEnhancedCache() {
-        ENHANCED_CACHE.clear();
+        enhancedCache.clear();
+        for (CacheKey cacheKey : CacheKey.values()) {
+            CacheManager.getCache(cacheKey).clear();
+        }
         log.info("清空所有增强版缓存完成");
     }
 
@@ -255,19 +203,31 @@ public class CacheUtils {
     }
 
     /**
-     * 获取缓存统计信息
+     * 获取缓存统计信息：汇总值 + 按缓存名称的明细（caches）
      * @return 统计信息Map
      */
     public static Map<String, Object> getCacheStats() {
-        Map<String, Object> stats = new ConcurrentHashMap<>();
-        stats.put("stringCacheSize", cacheMap.size());
-        stats.put("enhancedCacheSize", ENHANCED_CACHE.size());
-        stats.put("hitCount", HIT_COUNT.get());
-        stats.put("missCount", MISS_COUNT.get());
-        stats.put("hitRate", HIT_COUNT.get() + MISS_COUNT.get() == 0
-                ? 0.0
-                : (double) HIT_COUNT.get() / (HIT_COUNT.get() + MISS_COUNT.get()));
-        stats.put("maxCapacity", MAX_CAPACITY);
+        long size = 0;
+        long hitCount = 0;
+        long missCount = 0;
+        long evictionCount = 0;
+        Map<String, Object> caches = new LinkedHashMap<>();
+        for (CacheStats cacheStats : CacheManager.allStats()) {
+            size += cacheStats.getSize();
+            hitCount += cacheStats.getHitCount();
+            missCount += cacheStats.getMissCount();
+            evictionCount += cacheStats.getEvictionCount();
+            caches.put(cacheStats.getName(), cacheStats.toMap());
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stringCacheSize", stringCache.size());
+        stats.put("enhancedCacheSize", size - stringCache.size());
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictionCount", evictionCount);
+        stats.put("maxCapacity", enhancedCache.getPolicy().getMaximumSize());
+        stats.put("caches", caches);
         return stats;
     }
 
@@ -275,8 +235,9 @@ public class CacheUtils {
      * 重置缓存统计信息
      */
     public static void resetCacheStats() {
-        HIT_COUNT.set(0);
-        MISS_COUNT.set(0);
+        for (LocalCache<?> cache : CacheManager.allCaches()) {
+            cache.resetStats();
+        }
         log.info("重置缓存统计信息完成");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.liuzhq.common.utils;
+
+import com.liuzhq.common.annotation.Description;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 按key合并并发请求（single-flight）
+ * 同一个key同一时刻只有一个调用真正执行，其余调用等待并共享同一个结果/异常；
+ * 执行结束后立即移除，下一次调用会重新执行（不做结果缓存）
+ * 同步调用 execute 与异步调用 executeAsync 共用同一组进行中的调用，可以互相合并
+ */
+@Description("按key合并并发请求，同一key同时只执行一次")
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // 真正执行的次数
+    private final AtomicLong executedCount = new AtomicLong(0);
+
+    // 被合并（等待他人结果）的次数
+    private final AtomicLong coalescedCount = new AtomicLong(0);
+
+    /**
+     * 执行或加入正在执行的调用
+     * @param key 合并维度
+     * @param loader 真正的执行逻辑
+     * @return 执行结果（合并调用返回同一个结果）
+     * @throws Exception loader 抛出的原始异常
+     */
+    public V execute(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return await(existing);
+        }
+
+        executedCount.incrementAndGet();
+        try {
+            V value = loader.call();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 异步执行或加入正在执行的调用，调用线程不等待
+     * @param key 合并维度
+     * @param loader 发起真正的异步执行
+     * @return 执行结果（合并调用返回同一个 future，异常为 loader 的原始异常）
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return existing;
+        }
+
+        executedCount.incrementAndGet();
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.get();
+        } catch (Throwable e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            return future;
+        }
+        loading.whenComplete((value, e) -> {
+            // 先移除再完成，结果回调中发起的新调用不会加入已结束的调用
+            inFlight.remove(key, future);
+            if (e != null) {
+                future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    private V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = CollectionUtils.newCurrentHashMap();
+        stats.put("executedCount", executedCount.get());
+        stats.put("coalescedCount", coalescedCount.get());
+        stats.put("inFlightCount", inFlight.size());
+        return stats;
+    }
+}